@@ -26,20 +26,26 @@ import org.thingsboard.common.util.ThingsBoardExecutors;
 import org.thingsboard.common.util.ThingsBoardThreadFactory;
 import org.thingsboard.server.actors.ActorSystemContext;
 import org.thingsboard.server.actors.DefaultTbActorSystem;
+import org.thingsboard.server.actors.TbActorMailboxType;
 import org.thingsboard.server.actors.TbActorRef;
 import org.thingsboard.server.actors.TbActorSystem;
 import org.thingsboard.server.actors.TbActorSystemSettings;
+import org.thingsboard.server.actors.TbActorSystemStats;
 import org.thingsboard.server.actors.app.AppActor;
 import org.thingsboard.server.actors.app.AppInitMsg;
 import org.thingsboard.server.actors.stats.StatsActor;
+import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.msg.queue.PartitionChangeMsg;
 import org.thingsboard.server.common.msg.queue.ServiceType;
 import org.thingsboard.server.queue.discovery.TbApplicationEventListener;
 import org.thingsboard.server.queue.discovery.event.PartitionChangeEvent;
 import org.thingsboard.server.queue.util.AfterStartUp;
 
+import java.util.Arrays;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -55,6 +61,12 @@ public class DefaultActorService extends TbApplicationEventListener<PartitionCha
     @Autowired
     private ActorSystemContext actorContext;
 
+    @Autowired
+    private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @Autowired
+    private TbActorSystemStats actorSystemStats;
+
     private TbActorSystem system;
 
     private TbActorRef appActor;
@@ -65,6 +77,15 @@ public class DefaultActorService extends TbApplicationEventListener<PartitionCha
     @Value("${actors.system.max_actor_init_attempts:10}")
     private int maxActorInitAttempts;
 
+    @Value("${actors.system.mailbox_type:DEFAULT}")
+    private TbActorMailboxType mailboxType;
+
+    @Value("${actors.system.mailbox_drain_limit:1024}")
+    private int mailboxDrainLimit;
+
+    @Value("${actors.system.virtual_thread_dispatchers:}")
+    private String virtualThreadDispatchers;
+
     @Value("${actors.system.scheduler_pool_size:1}")
     private int schedulerPoolSize;
 
@@ -91,15 +112,16 @@ public class DefaultActorService extends TbApplicationEventListener<PartitionCha
     public void initActorSystem() {
         log.info("Initializing actor system.");
         actorContext.setActorService(this);
-        TbActorSystemSettings settings = new TbActorSystemSettings(actorThroughput, schedulerPoolSize, maxActorInitAttempts);
-        system = new DefaultTbActorSystem(settings);
+        TbActorSystemSettings settings = new TbActorSystemSettings(actorThroughput, schedulerPoolSize, maxActorInitAttempts, mailboxType, mailboxDrainLimit);
+        settings.setVirtualThreadDispatchers(parseDispatcherNames(virtualThreadDispatchers));
+        system = new DefaultTbActorSystem(settings, actorSystemStats);
 
-        system.createDispatcher(APP_DISPATCHER_NAME, initDispatcherExecutor(APP_DISPATCHER_NAME, appDispatcherSize));
-        system.createDispatcher(TENANT_DISPATCHER_NAME, initDispatcherExecutor(TENANT_DISPATCHER_NAME, tenantDispatcherSize));
-        system.createDispatcher(DEVICE_DISPATCHER_NAME, initDispatcherExecutor(DEVICE_DISPATCHER_NAME, deviceDispatcherSize));
-        system.createDispatcher(RULE_DISPATCHER_NAME, initDispatcherExecutor(RULE_DISPATCHER_NAME, ruleDispatcherSize));
-        system.createDispatcher(CF_MANAGER_DISPATCHER_NAME, initDispatcherExecutor(CF_MANAGER_DISPATCHER_NAME, calculatedFieldManagerDispatcherSize));
-        system.createDispatcher(CF_ENTITY_DISPATCHER_NAME, initDispatcherExecutor(CF_ENTITY_DISPATCHER_NAME, calculatedFieldEntityDispatcherSize));
+        system.createDispatcher(APP_DISPATCHER_NAME, initDispatcherExecutor(settings, APP_DISPATCHER_NAME, appDispatcherSize));
+        system.createDispatcher(TENANT_DISPATCHER_NAME, initDispatcherExecutor(settings, TENANT_DISPATCHER_NAME, tenantDispatcherSize));
+        system.createDispatcher(DEVICE_DISPATCHER_NAME, initDispatcherExecutor(settings, DEVICE_DISPATCHER_NAME, deviceDispatcherSize));
+        system.createDispatcher(RULE_DISPATCHER_NAME, initDispatcherExecutor(settings, RULE_DISPATCHER_NAME, ruleDispatcherSize));
+        system.createDispatcher(CF_MANAGER_DISPATCHER_NAME, initDispatcherExecutor(settings, CF_MANAGER_DISPATCHER_NAME, calculatedFieldManagerDispatcherSize));
+        system.createDispatcher(CF_ENTITY_DISPATCHER_NAME, initDispatcherExecutor(settings, CF_ENTITY_DISPATCHER_NAME, calculatedFieldEntityDispatcherSize));
 
         actorContext.setActorSystem(system);
 
@@ -112,7 +134,16 @@ public class DefaultActorService extends TbApplicationEventListener<PartitionCha
         log.info("Actor system initialized.");
     }
 
-    private ExecutorService initDispatcherExecutor(String dispatcherName, int poolSize) {
+    private ExecutorService initDispatcherExecutor(TbActorSystemSettings settings, String dispatcherName, int poolSize) {
+        if (settings.isVirtualThreadDispatcher(dispatcherName)) {
+            if (ThingsBoardExecutors.isVirtualThreadsSupported()) {
+                log.info("[{}] Using virtual threads for the dispatcher", dispatcherName);
+                virtualThreadPinningMonitor.start();
+                return ThingsBoardExecutors.newVirtualThreadPerTaskExecutor(dispatcherName);
+            } else {
+                log.warn("[{}] Virtual threads are not supported by the current JVM, falling back to the platform thread pool", dispatcherName);
+            }
+        }
         if (poolSize == 0) {
             int cores = Runtime.getRuntime().availableProcessors();
             poolSize = Math.max(1, cores / 2);
@@ -124,6 +155,16 @@ public class DefaultActorService extends TbApplicationEventListener<PartitionCha
         }
     }
 
+    private static Set<String> parseDispatcherNames(String dispatcherNames) {
+        if (StringUtils.isBlank(dispatcherNames)) {
+            return Set.of();
+        }
+        return Arrays.stream(dispatcherNames.split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .collect(Collectors.toSet());
+    }
+
     @AfterStartUp(order = AfterStartUp.ACTOR_SYSTEM)
     public void onApplicationEvent(ApplicationReadyEvent applicationReadyEvent) {
         log.info("Received application ready event. Sending application init message to actor system");
@@ -0,0 +1,97 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors.service;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thingsboard.server.common.stats.StatsFactory;
+import org.thingsboard.server.common.stats.StatsTimer;
+import org.thingsboard.server.common.stats.StatsType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the 'jdk.VirtualThreadPinned' JFR events, i.e. the cases when a virtual thread blocks
+ * while pinned to its carrier thread (inside synchronized blocks or native frames).
+ * Pinned time is exported as the 'actors' timer with the 'virtualThreadPinned' stats name, tagged by the thread name prefix (dispatcher name).
+ */
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final String VIRTUAL_THREAD_PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Autowired
+    private StatsFactory statsFactory;
+
+    @Value("${actors.system.virtual_thread_pinned_threshold_ms:20}")
+    private long pinnedThresholdMs;
+
+    private final Map<String, StatsTimer> pinnedTimers = new ConcurrentHashMap<>();
+
+    private RecordingStream recordingStream;
+
+    public synchronized void start() {
+        if (recordingStream != null) {
+            return;
+        }
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable(VIRTUAL_THREAD_PINNED_EVENT).withThreshold(Duration.ofMillis(pinnedThresholdMs)).withStackTrace();
+            stream.onEvent(VIRTUAL_THREAD_PINNED_EVENT, this::onPinnedEvent);
+            stream.startAsync();
+            recordingStream = stream;
+            log.info("Started virtual thread pinning monitor with threshold {} ms", pinnedThresholdMs);
+        } catch (Throwable t) {
+            log.warn("Failed to start virtual thread pinning monitor", t);
+        }
+    }
+
+    private void onPinnedEvent(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        String threadName = thread != null ? thread.getJavaName() : null;
+        String dispatcher = getThreadNamePrefix(threadName);
+        pinnedTimers.computeIfAbsent(dispatcher, name -> statsFactory.createStatsTimer(StatsType.ACTORS.getName(), "virtualThreadPinned", "dispatcher", name))
+                .record(event.getDuration().toNanos(), TimeUnit.NANOSECONDS);
+        log.debug("[{}] Virtual thread was pinned to the carrier thread for {} ms: {}", threadName, event.getDuration().toMillis(), event.getStackTrace());
+    }
+
+    static String getThreadNamePrefix(String threadName) {
+        if (threadName == null || threadName.isEmpty()) {
+            return "unknown";
+        }
+        int idx = threadName.lastIndexOf('-');
+        return idx > 0 ? threadName.substring(0, idx) : threadName;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors.stats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.thingsboard.server.actors.TbActorId;
+import org.thingsboard.server.actors.TbActorSystemStats;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.msg.MsgType;
+import org.thingsboard.server.common.msg.TbActorMsg;
+import org.thingsboard.server.common.msg.aware.TenantAwareMsg;
+import org.thingsboard.server.common.stats.DefaultCounter;
+import org.thingsboard.server.common.stats.StatsFactory;
+
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Exports actor system metrics through the {@link StatsFactory}:
+ * mailbox size and time spent in the mailbox per dispatcher, processing time per dispatcher and message type.
+ * Additionally, tracks processing time per rule chain and rule node actor and per tenant and periodically logs the slowest ones.
+ * Other actors (e.g. device actors) are not tracked individually, since their number grows with the number of entities.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DefaultTbActorSystemStats implements TbActorSystemStats {
+
+    private static final String MAILBOX_SIZE = "actors_mailbox_size";
+    private static final String TIME_IN_MAILBOX = "actors_time_in_mailbox";
+    private static final String PROCESSING_TIME = "actors_processing_time";
+    private static final String INIT_FAILURES = "actors_init_failures";
+    private static final String DISPATCHER_TAG = "dispatcher";
+    private static final String MSG_TYPE_TAG = "msgType";
+    private static final String UNKNOWN_DISPATCHER = "unknown";
+    private static final Set<EntityType> TRACKED_ACTOR_TYPES = EnumSet.of(EntityType.RULE_CHAIN, EntityType.RULE_NODE);
+
+    private final StatsFactory statsFactory;
+
+    @Value("${actors.system.stats.enabled:false}")
+    private boolean enabled;
+
+    @Value("${actors.system.stats.top_actors_count:10}")
+    private int topActorsCount;
+
+    private final ConcurrentMap<String, DispatcherStats> dispatcherStats = new ConcurrentHashMap<>();
+    private volatile ConcurrentMap<TbActorId, ProcessingStats> actorStats = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void onMailboxSize(String dispatcherId, TbActorId actorId, int size) {
+        getDispatcherStats(dispatcherId).getMailboxSize().record(size);
+    }
+
+    @Override
+    public void onMsgProcessed(String dispatcherId, TbActorId actorId, TbActorMsg msg, long timeInMailboxNanos, long processingTimeNanos) {
+        DispatcherStats stats = getDispatcherStats(dispatcherId);
+        stats.getTimeInMailbox().record(timeInMailboxNanos, TimeUnit.NANOSECONDS);
+        stats.getProcessingTimer(msg.getMsgType()).record(processingTimeNanos, TimeUnit.NANOSECONDS);
+        if (actorId != null && TRACKED_ACTOR_TYPES.contains(actorId.getEntityType())) {
+            actorStats.computeIfAbsent(actorId, id -> new ProcessingStats(stats.getDispatcherId())).record(processingTimeNanos);
+        }
+        if (msg instanceof TenantAwareMsg tenantAwareMsg && tenantAwareMsg.getTenantId() != null) {
+            stats.getTenantStats().computeIfAbsent(tenantAwareMsg.getTenantId(), id -> new ProcessingStats(stats.getDispatcherId())).record(processingTimeNanos);
+        }
+    }
+
+    @Override
+    public void onInitFailure(String dispatcherId, TbActorId actorId, int attempt) {
+        getDispatcherStats(dispatcherId).getInitFailures().increment();
+    }
+
+    @Scheduled(fixedDelayString = "${actors.system.stats.print_interval_ms:60000}")
+    public void printStats() {
+        if (!enabled) {
+            return;
+        }
+        Map<TbActorId, ProcessingStats> actors = actorStats;
+        actorStats = new ConcurrentHashMap<>();
+        if (!actors.isEmpty()) {
+            log.info("Top {} actors by processing time: {}", topActorsCount, topToString(actors));
+        }
+        dispatcherStats.values().forEach(stats -> {
+            Map<TenantId, ProcessingStats> tenants = stats.getTenantStats();
+            stats.setTenantStats(new ConcurrentHashMap<>());
+            if (!tenants.isEmpty()) {
+                log.info("[{}] Top {} tenants by processing time: {}", stats.getDispatcherId(), topActorsCount, topToString(tenants));
+            }
+        });
+    }
+
+    private <K> String topToString(Map<K, ProcessingStats> stats) {
+        return stats.entrySet().stream()
+                .sorted(Map.Entry.<K, ProcessingStats>comparingByValue(Comparator.comparingLong(ProcessingStats::getTotalTime)).reversed())
+                .limit(topActorsCount)
+                .map(e -> "[" + e.getKey() + "] " + e.getValue())
+                .collect(Collectors.joining(", "));
+    }
+
+    private DispatcherStats getDispatcherStats(String dispatcherId) {
+        return dispatcherStats.computeIfAbsent(dispatcherId != null ? dispatcherId : UNKNOWN_DISPATCHER, DispatcherStats::new);
+    }
+
+    @Getter
+    private class DispatcherStats {
+
+        private final String dispatcherId;
+        private final DistributionSummary mailboxSize;
+        private final Timer timeInMailbox;
+        private final DefaultCounter initFailures;
+        private final ConcurrentMap<MsgType, Timer> processingTimers = new ConcurrentHashMap<>();
+        @Setter
+        private volatile ConcurrentMap<TenantId, ProcessingStats> tenantStats = new ConcurrentHashMap<>();
+
+        DispatcherStats(String dispatcherId) {
+            this.dispatcherId = dispatcherId;
+            this.mailboxSize = statsFactory.createDistributionSummary(MAILBOX_SIZE, DISPATCHER_TAG, dispatcherId);
+            this.timeInMailbox = statsFactory.createTimer(TIME_IN_MAILBOX, DISPATCHER_TAG, dispatcherId);
+            this.initFailures = statsFactory.createDefaultCounter(INIT_FAILURES, DISPATCHER_TAG, dispatcherId);
+        }
+
+        Timer getProcessingTimer(MsgType msgType) {
+            return processingTimers.computeIfAbsent(msgType, type ->
+                    statsFactory.createTimer(PROCESSING_TIME, DISPATCHER_TAG, dispatcherId, MSG_TYPE_TAG, type.name()));
+        }
+
+    }
+
+    @RequiredArgsConstructor
+    private static class ProcessingStats {
+
+        private final String dispatcherId;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+
+        void record(long processingTimeNanos) {
+            count.increment();
+            totalTime.add(processingTimeNanos);
+            maxTime.accumulate(processingTimeNanos);
+        }
+
+        long getTotalTime() {
+            return totalTime.sum();
+        }
+
+        @Override
+        public String toString() {
+            long msgs = count.sum();
+            long total = totalTime.sum();
+            return String.format("dispatcher: %s, msgs: %d, total: %d ms, avg: %.3f ms, max: %.3f ms", dispatcherId, msgs,
+                    TimeUnit.NANOSECONDS.toMillis(total), msgs > 0 ? total / (double) msgs / 1_000_000 : 0.0, maxTime.get() / 1_000_000.0);
+        }
+
+    }
+
+}
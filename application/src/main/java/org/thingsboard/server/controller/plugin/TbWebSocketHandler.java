@@ -33,12 +33,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.adapter.NativeWebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.server.cache.limits.RateLimitService;
 import org.thingsboard.server.common.data.TenantProfile;
@@ -62,12 +64,16 @@ import org.thingsboard.server.service.ws.WebSocketMsgEndpoint;
 import org.thingsboard.server.service.ws.WebSocketService;
 import org.thingsboard.server.service.ws.WebSocketSessionRef;
 import org.thingsboard.server.service.ws.WebSocketSessionType;
+import org.thingsboard.server.service.ws.WsBinaryProtocol;
 import org.thingsboard.server.service.ws.WsCommandsWrapper;
 import org.thingsboard.server.service.ws.notification.cmd.NotificationCmdsWrapper;
 import org.thingsboard.server.service.ws.telemetry.cmd.TelemetryCmdsWrapper;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.security.InvalidParameterException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
@@ -87,7 +93,7 @@ import static org.thingsboard.server.service.ws.DefaultWebSocketService.NUMBER_O
 @TbCoreComponent
 @Slf4j
 @RequiredArgsConstructor
-public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocketMsgEndpoint {
+public class TbWebSocketHandler extends AbstractWebSocketHandler implements WebSocketMsgEndpoint, SubProtocolCapable {
 
     private final ConcurrentMap<String, SessionMetaData> internalSessionMap = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, String> externalSessionMap = new ConcurrentHashMap<>();
@@ -109,6 +115,8 @@ public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocke
     private int wsMaxQueueMessagesPerSession;
     @Value("${server.ws.auth_timeout_ms:10000}")
     private int authTimeoutMs;
+    @Value("${server.ws.binary_protocol.enabled:false}")
+    private boolean binaryProtocolEnabled;
 
     private final ConcurrentMap<String, WebSocketSessionRef> blacklistedSessions = new ConcurrentHashMap<>();
 
@@ -140,6 +148,11 @@ public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocke
         internalSessionMap.clear();
     }
 
+    @Override
+    public List<String> getSubProtocols() {
+        return binaryProtocolEnabled ? List.of(WsBinaryProtocol.CBOR_SUBPROTOCOL) : Collections.emptyList();
+    }
+
     @Override
     public void handleTextMessage(WebSocketSession session, TextMessage message) {
         try {
@@ -155,19 +168,50 @@ public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocke
         }
     }
 
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        try {
+            SessionMetaData sessionMd = getSessionMd(session.getId());
+            if (sessionMd == null) {
+                log.trace("[{}] Failed to find session", session.getId());
+                session.close(CloseStatus.SERVER_ERROR.withReason("Session not found!"));
+                return;
+            }
+            if (!sessionMd.sessionRef.isBinary()) {
+                session.close(CloseStatus.NOT_ACCEPTABLE.withReason("Binary messages not supported"));
+                return;
+            }
+            // the payload buffer may be reused by the container once this method returns
+            ByteBuffer payload = message.getPayload();
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            sessionMd.onMsg(ByteBuffer.wrap(bytes));
+        } catch (IOException e) {
+            log.warn("IO error", e);
+        }
+    }
+
     void processMsg(SessionMetaData sessionMd, String msg) throws IOException {
+        doProcessMsg(sessionMd, msg);
+    }
+
+    void processBinaryMsg(SessionMetaData sessionMd, ByteBuffer msg) throws IOException {
+        doProcessMsg(sessionMd, msg);
+    }
+
+    private void doProcessMsg(SessionMetaData sessionMd, Object msg) throws IOException {
         WebSocketSessionRef sessionRef = sessionMd.sessionRef;
         WsCommandsWrapper cmdsWrapper;
         try {
             switch (sessionRef.getSessionType()) {
                 case GENERAL:
-                    cmdsWrapper = JacksonUtil.fromString(msg, WsCommandsWrapper.class);
+                    cmdsWrapper = decode(msg, WsCommandsWrapper.class);
                     break;
                 case TELEMETRY:
-                    cmdsWrapper = JacksonUtil.fromString(msg, TelemetryCmdsWrapper.class).toCommonCmdsWrapper();
+                    cmdsWrapper = decode(msg, TelemetryCmdsWrapper.class).toCommonCmdsWrapper();
                     break;
                 case NOTIFICATIONS:
-                    cmdsWrapper = JacksonUtil.fromString(msg, NotificationCmdsWrapper.class).toCommonCmdsWrapper();
+                    cmdsWrapper = decode(msg, NotificationCmdsWrapper.class).toCommonCmdsWrapper();
                     break;
                 default:
                     return;
@@ -338,9 +382,18 @@ public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocke
                 .localAddress(session.getLocalAddress())
                 .remoteAddress(session.getRemoteAddress())
                 .sessionType(sessionType)
+                .binary(WsBinaryProtocol.CBOR_SUBPROTOCOL.equals(session.getAcceptedProtocol()))
                 .build();
     }
 
+    private static <T> T decode(Object msg, Class<T> type) {
+        if (msg instanceof ByteBuffer binaryMsg) {
+            return WsBinaryProtocol.decode(binaryMsg, type);
+        } else {
+            return JacksonUtil.fromString((String) msg, type);
+        }
+    }
+
     private SessionMetaData getSessionMd(String internalSessionId) {
         SessionMetaData sessionMd = internalSessionMap.get(internalSessionId);
         if (sessionMd == null) {
@@ -360,7 +413,7 @@ public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocke
         @Setter
         private int maxMsgQueueSize = wsMaxQueueMessagesPerSession;
 
-        private final Queue<String> inboundMsgQueue = new ConcurrentLinkedQueue<>();
+        private final Queue<TbWebSocketMsg<?>> inboundMsgQueue = new ConcurrentLinkedQueue<>();
         private final Lock inboundMsgQueueProcessorLock = new ReentrantLock();
 
         private volatile long lastActivityTime;
@@ -407,6 +460,10 @@ public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocke
             sendMsg(new TbWebSocketTextMsg(msg));
         }
 
+        void sendMsg(byte[] msg) {
+            sendMsg(new TbWebSocketBinaryMsg(ByteBuffer.wrap(msg)));
+        }
+
         void sendMsg(TbWebSocketMsg<?> msg) {
             if (outboundMsgQueueSize.get() < maxMsgQueueSize) {
                 outboundMsgQueue.add(msg);
@@ -424,6 +481,9 @@ public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocke
                     TbWebSocketTextMsg textMsg = (TbWebSocketTextMsg) msg;
                     this.asyncRemote.sendText(textMsg.getMsg(), this);
                     // isSending status will be reset in the onResult method by call back
+                } else if (TbWebSocketMsgType.BINARY.equals(msg.getType())) {
+                    TbWebSocketBinaryMsg binaryMsg = (TbWebSocketBinaryMsg) msg;
+                    this.asyncRemote.sendBinary(binaryMsg.getMsg(), this);
                 } else {
                     TbWebSocketPingMsg pingMsg = (TbWebSocketPingMsg) msg;
                     this.asyncRemote.sendPing(pingMsg.getMsg()); // blocking call
@@ -462,7 +522,12 @@ public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocke
         }
 
         public void onMsg(String msg) throws IOException {
-            inboundMsgQueue.add(msg);
+            inboundMsgQueue.add(new TbWebSocketTextMsg(msg));
+            tryProcessInboundMsgs();
+        }
+
+        public void onMsg(ByteBuffer msg) throws IOException {
+            inboundMsgQueue.add(new TbWebSocketBinaryMsg(msg));
             tryProcessInboundMsgs();
         }
 
@@ -470,9 +535,13 @@ public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocke
             while (!inboundMsgQueue.isEmpty()) {
                 if (inboundMsgQueueProcessorLock.tryLock()) {
                     try {
-                        String msg;
+                        TbWebSocketMsg<?> msg;
                         while ((msg = inboundMsgQueue.poll()) != null) {
-                            processMsg(this, msg);
+                            if (TbWebSocketMsgType.BINARY.equals(msg.getType())) {
+                                processBinaryMsg(this, ((TbWebSocketBinaryMsg) msg).getMsg());
+                            } else {
+                                processMsg(this, ((TbWebSocketTextMsg) msg).getMsg());
+                            }
                         }
                     } finally {
                         inboundMsgQueueProcessorLock.unlock();
@@ -487,6 +556,16 @@ public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocke
     @Override
     public void send(WebSocketSessionRef sessionRef, int subscriptionId, String msg) throws IOException {
         log.debug("{} Sending {}", sessionRef, msg);
+        send(sessionRef, subscriptionId, new TbWebSocketTextMsg(msg));
+    }
+
+    @Override
+    public void send(WebSocketSessionRef sessionRef, int subscriptionId, byte[] msg) throws IOException {
+        log.debug("{} Sending {} bytes", sessionRef, msg.length);
+        send(sessionRef, subscriptionId, new TbWebSocketBinaryMsg(ByteBuffer.wrap(msg)));
+    }
+
+    private void send(WebSocketSessionRef sessionRef, int subscriptionId, TbWebSocketMsg<?> msg) {
         String externalId = sessionRef.getSessionId();
         String internalId = externalSessionMap.get(externalId);
         if (internalId != null) {
@@ -496,7 +575,12 @@ public class TbWebSocketHandler extends TextWebSocketHandler implements WebSocke
                 if (!rateLimitService.checkRateLimit(LimitedApi.WS_UPDATES_PER_SESSION, tenantId, (Object) sessionRef.getSessionId())) {
                     if (blacklistedSessions.putIfAbsent(externalId, sessionRef) == null) {
                         log.info("{} Failed to process session update. Max session updates limit reached", sessionRef);
-                        sessionMd.sendMsg("{\"subscriptionId\":" + subscriptionId + ", \"errorCode\":" + ThingsboardErrorCode.TOO_MANY_UPDATES.getErrorCode() + ", \"errorMsg\":\"Too many updates!\"}");
+                        String errorMsg = "{\"subscriptionId\":" + subscriptionId + ", \"errorCode\":" + ThingsboardErrorCode.TOO_MANY_UPDATES.getErrorCode() + ", \"errorMsg\":\"Too many updates!\"}";
+                        if (sessionRef.isBinary()) {
+                            sessionMd.sendMsg(WsBinaryProtocol.encode(JacksonUtil.toJsonNode(errorMsg)));
+                        } else {
+                            sessionMd.sendMsg(errorMsg);
+                        }
                     }
                     return;
                 } else {
@@ -59,6 +59,7 @@ import org.thingsboard.server.common.msg.edge.EdgeEventUpdateMsg;
 import org.thingsboard.server.common.msg.plugin.ComponentLifecycleMsg;
 import org.thingsboard.server.common.msg.rule.engine.DeviceCredentialsUpdateNotificationMsg;
 import org.thingsboard.server.common.util.ProtoUtils;
+import org.thingsboard.server.dao.device.DeviceCredentialsCreatedEvent;
 import org.thingsboard.server.dao.edge.EdgeSynchronizationManager;
 import org.thingsboard.server.dao.eventsourcing.ActionEntityEvent;
 import org.thingsboard.server.dao.eventsourcing.DeleteEntityEvent;
@@ -238,6 +239,7 @@ public class EntityStateSourcingListener {
                     event.getEntity() instanceof DeviceCredentials deviceCredentials) {
                     tbClusterService.pushMsgToCore(new DeviceCredentialsUpdateNotificationMsg(tenantId,
                             (DeviceId) event.getEntityId(), deviceCredentials), null);
+                    tbClusterService.onDeviceCredentialsUpdated(tenantId, deviceCredentials);
                 }
             }
             case ASSIGNED_TO_TENANT -> {
@@ -272,6 +274,12 @@ public class EntityStateSourcingListener {
         }
     }
 
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(DeviceCredentialsCreatedEvent event) {
+        log.trace("[{}] DeviceCredentialsCreatedEvent called: {}", event.getTenantId(), event);
+        tbClusterService.onDeviceCredentialsUpdated(event.getTenantId(), event.getDeviceCredentials());
+    }
+
     @TransactionalEventListener(fallbackExecution = true)
     public void handleEvent(RelationActionEvent relationEvent) {
         EntityRelation relation = relationEvent.getRelation();
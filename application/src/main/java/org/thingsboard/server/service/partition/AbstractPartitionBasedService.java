@@ -125,14 +125,18 @@ public abstract class AbstractPartitionBasedService<T extends EntityId> extends
             boolean partitionListChanged = false;
             // We no longer manage current partition of entities;
             for (var partition : removedPartitions) {
-                Set<T> entities = partitionedEntities.remove(partition);
-                if (entities != null) {
-                    entities.forEach(this::cleanupEntityOnPartitionRemoval);
-                }
                 List<ListenableFuture<?>> fetchTasks = partitionedFetchTasks.remove(partition);
+                boolean initialized = fetchTasks == null || fetchTasks.stream().allMatch(f -> f.isDone() && !f.isCancelled());
                 if (fetchTasks != null) {
                     fetchTasks.forEach(f -> f.cancel(false));
                 }
+                Set<T> entities = partitionedEntities.remove(partition);
+                if (entities != null) {
+                    if (initialized) {
+                        onRemovedPartition(partition, entities);
+                    }
+                    entities.forEach(this::cleanupEntityOnPartitionRemoval);
+                }
                 partitionListChanged = true;
             }
 
@@ -178,6 +182,13 @@ public abstract class AbstractPartitionBasedService<T extends EntityId> extends
     protected void onRepartitionEvent() {
     }
 
+    /**
+     * Called for the fully initialized partition that is no longer managed by the current service,
+     * before the entities of the partition are cleaned up.
+     */
+    protected void onRemovedPartition(TopicPartitionInfo partition, Set<T> entities) {
+    }
+
     private Set<TopicPartitionInfo> getLatestPartitions() {
         log.debug("getLatestPartitionsFromQueue, queue size {}", subscribeQueue.size());
         Set<TopicPartitionInfo> partitions = null;
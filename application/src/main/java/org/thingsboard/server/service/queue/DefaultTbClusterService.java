@@ -57,6 +57,7 @@ import org.thingsboard.server.common.data.page.PageLink;
 import org.thingsboard.server.common.data.plugin.ComponentLifecycleEvent;
 import org.thingsboard.server.common.data.queue.Queue;
 import org.thingsboard.server.common.data.relation.EntityRelation;
+import org.thingsboard.server.common.data.security.DeviceCredentials;
 import org.thingsboard.server.common.msg.TbMsg;
 import org.thingsboard.server.common.msg.ToDeviceActorNotificationMsg;
 import org.thingsboard.server.common.msg.edge.EdgeEventUpdateMsg;
@@ -73,6 +74,7 @@ import org.thingsboard.server.common.util.ProtoUtils;
 import org.thingsboard.server.dao.edge.EdgeService;
 import org.thingsboard.server.gen.transport.TransportProtos;
 import org.thingsboard.server.gen.transport.TransportProtos.ComponentLifecycleMsgProto;
+import org.thingsboard.server.gen.transport.TransportProtos.DeviceCredentialsUpdateMsg;
 import org.thingsboard.server.gen.transport.TransportProtos.DeviceStateServiceMsgProto;
 import org.thingsboard.server.gen.transport.TransportProtos.EdgeNotificationMsgProto;
 import org.thingsboard.server.gen.transport.TransportProtos.EntityDeleteMsg;
@@ -123,6 +125,8 @@ public class DefaultTbClusterService implements TbClusterService {
     private boolean statsEnabled;
     @Value("${edges.enabled:true}")
     protected boolean edgesEnabled;
+    @Value("${cache.deviceCredentials.maxSize:0}")
+    private int deviceCredentialsCacheMaxSize;
 
     private final AtomicInteger toCoreMsgs = new AtomicInteger(0);
     private final AtomicInteger toCoreNfs = new AtomicInteger(0);
@@ -424,6 +428,21 @@ public class DefaultTbClusterService implements TbClusterService {
         broadcastEntityStateChangeEvent(tenantId, deviceId, ComponentLifecycleEvent.DELETED);
     }
 
+    @Override
+    public void onDeviceCredentialsUpdated(TenantId tenantId, DeviceCredentials deviceCredentials) {
+        if (deviceCredentialsCacheMaxSize <= 0) {
+            return;
+        }
+        log.trace("[{}][{}] Processing device credentials update event", tenantId, deviceCredentials.getDeviceId());
+        DeviceCredentialsUpdateMsg deviceCredentialsUpdateMsg = DeviceCredentialsUpdateMsg.newBuilder()
+                .setDeviceIdMSB(deviceCredentials.getDeviceId().getId().getMostSignificantBits())
+                .setDeviceIdLSB(deviceCredentials.getDeviceId().getId().getLeastSignificantBits())
+                .setCredentialsType(deviceCredentials.getCredentialsType().name())
+                .setCredentialsId(deviceCredentials.getCredentialsId())
+                .build();
+        broadcast(ToTransportMsg.newBuilder().setDeviceCredentialsUpdateMsg(deviceCredentialsUpdateMsg).build(), null);
+    }
+
     @Override
     public void onAssetDeleted(TenantId tenantId, Asset asset, TbQueueCallback callback) {
         AssetId assetId = asset.getId();
@@ -298,6 +298,9 @@ public class DefaultTbCoreConsumerService extends AbstractConsumerService<ToCore
                     } else if (toCoreMsg.hasDeviceInactivityTimeoutUpdateMsg()) {
                         log.trace("[{}] Forwarding message to device state service {}", id, toCoreMsg.getDeviceInactivityTimeoutUpdateMsg());
                         forwardToStateService(toCoreMsg.getDeviceInactivityTimeoutUpdateMsg(), callback);
+                    } else if (toCoreMsg.hasDeviceStateSnapshotMsg()) {
+                        log.trace("[{}] Forwarding device state snapshot from [{}] to device state service", id, toCoreMsg.getDeviceStateSnapshotMsg().getServiceId());
+                        forwardToStateService(toCoreMsg.getDeviceStateSnapshotMsg(), callback);
                     } else if (toCoreMsg.hasToDeviceActorNotification()) {
                         TbActorMsg actorMsg = ProtoUtils.fromProto(toCoreMsg.getToDeviceActorNotification());
                         if (actorMsg != null) {
@@ -603,6 +606,13 @@ public class DefaultTbCoreConsumerService extends AbstractConsumerService<ToCore
         stateService.onQueueMsg(deviceStateServiceMsg, callback);
     }
 
+    void forwardToStateService(TransportProtos.DeviceStateSnapshotMsgProto deviceStateSnapshotMsg, TbCallback callback) {
+        if (statsEnabled) {
+            stats.log(deviceStateSnapshotMsg);
+        }
+        stateService.onQueueMsg(deviceStateSnapshotMsg, callback);
+    }
+
     void forwardToStateService(TransportProtos.DeviceConnectProto deviceConnectMsg, TbCallback callback) {
         if (statsEnabled) {
             stats.log(deviceConnectMsg);
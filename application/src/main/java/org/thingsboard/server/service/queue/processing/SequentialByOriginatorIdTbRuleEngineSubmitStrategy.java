@@ -15,15 +15,11 @@
  */
 package org.thingsboard.server.service.queue.processing;
 
-import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.extern.slf4j.Slf4j;
 import org.thingsboard.server.common.data.id.EntityId;
-import org.thingsboard.server.common.data.id.EntityIdFactory;
-import org.thingsboard.server.common.msg.gen.MsgProtos;
-import org.thingsboard.server.common.util.ProtoUtils;
 import org.thingsboard.server.gen.transport.TransportProtos;
-
-import java.util.UUID;
+import org.thingsboard.server.queue.common.TbProtoQueueMsg;
+import org.thingsboard.server.queue.common.TbRuleEngineProtoQueueMsg;
 
 @Slf4j
 public class SequentialByOriginatorIdTbRuleEngineSubmitStrategy extends SequentialByEntityIdTbRuleEngineSubmitStrategy {
@@ -33,11 +29,10 @@ public class SequentialByOriginatorIdTbRuleEngineSubmitStrategy extends Sequenti
     }
 
     @Override
-    protected EntityId getEntityId(TransportProtos.ToRuleEngineMsg msg) {
+    protected EntityId getEntityId(TbProtoQueueMsg<TransportProtos.ToRuleEngineMsg> msg) {
         try {
-            MsgProtos.TbMsgProto proto = ProtoUtils.getTbMsgProto(msg);
-            return EntityIdFactory.getByTypeAndUuid(proto.getEntityType(), new UUID(proto.getEntityIdMSB(), proto.getEntityIdLSB()));
-        } catch (InvalidProtocolBufferException e) {
+            return TbRuleEngineProtoQueueMsg.originatorOf(msg);
+        } catch (RuntimeException e) {
             log.warn("[{}] Failed to parse TbMsg: {}", queueName, msg);
             return null;
         }
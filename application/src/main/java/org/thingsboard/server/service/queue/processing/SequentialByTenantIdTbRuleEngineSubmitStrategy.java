@@ -16,10 +16,9 @@
 package org.thingsboard.server.service.queue.processing;
 
 import org.thingsboard.server.common.data.id.EntityId;
-import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.gen.transport.TransportProtos;
-
-import java.util.UUID;
+import org.thingsboard.server.queue.common.TbProtoQueueMsg;
+import org.thingsboard.server.queue.common.TbRuleEngineProtoQueueMsg;
 
 public class SequentialByTenantIdTbRuleEngineSubmitStrategy extends SequentialByEntityIdTbRuleEngineSubmitStrategy {
 
@@ -28,7 +27,7 @@ public class SequentialByTenantIdTbRuleEngineSubmitStrategy extends SequentialBy
     }
 
     @Override
-    protected EntityId getEntityId(TransportProtos.ToRuleEngineMsg msg) {
-        return TenantId.fromUUID(new UUID(msg.getTenantIdMSB(), msg.getTenantIdLSB()));
+    protected EntityId getEntityId(TbProtoQueueMsg<TransportProtos.ToRuleEngineMsg> msg) {
+        return TbRuleEngineProtoQueueMsg.tenantIdOf(msg);
     }
 }
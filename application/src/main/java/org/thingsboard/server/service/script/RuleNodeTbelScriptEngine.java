@@ -50,7 +50,9 @@ public class RuleNodeTbelScriptEngine extends RuleNodeScriptEngine<TbelInvokeSer
     protected Object[] prepareArgs(TbMsg msg) {
         Object[] args = new Object[3];
         if (msg.getData() != null) {
-            args[0] = JacksonUtil.fromString(msg.getData(), Object.class);
+            // converting the cached tree is cheaper than parsing the data again
+            JsonNode data = msg.getDataAsJson();
+            args[0] = data != null ? JacksonUtil.treeToValue(data, Object.class) : JacksonUtil.fromString(msg.getData(), Object.class);
         } else {
             args[0] = new HashMap<>();
         }
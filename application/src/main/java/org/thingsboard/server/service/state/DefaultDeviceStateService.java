@@ -23,6 +23,7 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
@@ -37,6 +38,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.common.util.ThingsBoardExecutors;
+import org.thingsboard.common.util.TimingWheel;
 import org.thingsboard.rule.engine.api.AttributesSaveRequest;
 import org.thingsboard.rule.engine.api.TimeseriesSaveRequest;
 import org.thingsboard.server.cluster.TbClusterService;
@@ -47,6 +49,7 @@ import org.thingsboard.server.common.data.DeviceIdInfo;
 import org.thingsboard.server.common.data.EntityType;
 import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.data.exception.TenantNotFoundException;
+import org.thingsboard.server.common.data.id.CustomerId;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.common.data.id.TenantId;
@@ -83,6 +86,7 @@ import org.thingsboard.server.dao.timeseries.TimeseriesService;
 import org.thingsboard.server.dao.util.DbTypeInfoComponent;
 import org.thingsboard.server.gen.transport.TransportProtos;
 import org.thingsboard.server.queue.discovery.PartitionService;
+import org.thingsboard.server.queue.discovery.TbServiceInfoProvider;
 import org.thingsboard.server.queue.util.TbCoreComponent;
 import org.thingsboard.server.service.partition.AbstractPartitionBasedService;
 import org.thingsboard.server.service.telemetry.TelemetrySubscriptionService;
@@ -168,6 +172,8 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
     @Autowired
     @Lazy
     private TelemetrySubscriptionService tsSubService;
+    @Autowired
+    private TbServiceInfoProvider serviceInfoProvider;
 
     @Value("#{${state.defaultInactivityTimeoutInSec} * 1000}")
     private long defaultInactivityTimeoutMs;
@@ -187,10 +193,28 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
     @Value("${state.telemetryTtl:0}")
     private int telemetryTtl;
 
+    @Value("${state.timingWheelEnabled:false}")
+    private boolean timingWheelEnabled;
+
+    @Value("${state.handoffEnabled:false}")
+    private boolean handoffEnabled;
+
+    @Value("${state.handoffTimeoutInSec:10}")
+    private int handoffTimeoutInSec;
+
+    @Value("${state.handoffPackSize:1000}")
+    private int handoffPackSize;
+
     private ListeningExecutorService deviceStateExecutor;
     private ListeningExecutorService deviceStateCallbackExecutor;
+    private TimingWheel<InactivityCheck> inactivityTimingWheel;
 
     final ConcurrentMap<DeviceId, DeviceStateData> deviceStates = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, PartitionHandoff> pendingHandoffs = new ConcurrentHashMap<>();
+    // the handoff state below is accessed by the scheduled executor only
+    private final Map<String, List<TransportProtos.DeviceStateSnapshotMsgProto>> earlySnapshots = new HashMap<>();
+    private Set<String> otherCoreServiceIds;
+    private boolean previousOwnersLive;
 
     @PostConstruct
     public void init() {
@@ -199,6 +223,9 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
                 Math.max(4, Runtime.getRuntime().availableProcessors()), "device-state"));
         deviceStateCallbackExecutor = MoreExecutors.listeningDecorator(ThingsBoardExecutors.newWorkStealingPool(
                 Math.max(4, Runtime.getRuntime().availableProcessors()), "device-state-callback"));
+        if (timingWheelEnabled) {
+            inactivityTimingWheel = new TimingWheel<>(TimeUnit.SECONDS.toMillis(defaultStateCheckIntervalInSec), getCurrentTimeMillis());
+        }
         scheduledExecutor.scheduleWithFixedDelay(this::checkStates, new Random().nextInt(defaultStateCheckIntervalInSec), defaultStateCheckIntervalInSec, TimeUnit.SECONDS);
         scheduledExecutor.scheduleWithFixedDelay(this::reportActivityStats, defaultActivityStatsIntervalInSec, defaultActivityStatsIntervalInSec, TimeUnit.SECONDS);
     }
@@ -272,6 +299,7 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
                     save(stateData.getTenantId(), deviceId, INACTIVITY_ALARM_TIME, 0);
                 }
                 onDeviceActivityStatusChange(true, stateData);
+                scheduleInactivityCheck(stateData);
             }
         } else {
             log.debug("updateActivityState - fetched state IS NULL for device {}, lastReportedActivity {}", deviceId, lastReportedActivity);
@@ -379,11 +407,9 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
                         }, deviceStateCallbackExecutor);
                     } else if (proto.getUpdated()) {
                         DeviceStateData stateData = getOrFetchDeviceStateData(device.getId());
-                        TbMsgMetaData md = new TbMsgMetaData();
-                        md.putValue("deviceName", device.getName());
-                        md.putValue("deviceLabel", device.getLabel());
-                        md.putValue("deviceType", device.getType());
-                        stateData.setMetaData(md);
+                        stateData.setDeviceName(device.getName());
+                        stateData.setDeviceLabel(device.getLabel());
+                        stateData.setDeviceType(device.getType());
                         callback.onSuccess();
                     }
                 } else {
@@ -397,6 +423,23 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
         }
     }
 
+    @Override
+    public void onQueueMsg(TransportProtos.DeviceStateSnapshotMsgProto proto, TbCallback callback) {
+        if (!handoffEnabled) {
+            callback.onSuccess();
+            return;
+        }
+        scheduledExecutor.submit(() -> {
+            try {
+                restoreDeviceStates(proto);
+                callback.onSuccess();
+            } catch (Exception e) {
+                log.warn("[{}] Failed to restore device states from the handoff of [{}]", proto.getTopic(), proto.getServiceId(), e);
+                callback.onFailure(e);
+            }
+        });
+    }
+
     private void onDeviceDeleted(TenantId tenantId, DeviceId deviceId) {
         cleanupEntity(deviceId);
         TopicPartitionInfo tpi = partitionService.resolve(ServiceType.TB_CORE, tenantId, deviceId);
@@ -408,12 +451,173 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
 
     private void initializeActivityState(DeviceId deviceId, DeviceStateData fetchedState) {
         DeviceStateData cachedState = deviceStates.putIfAbsent(fetchedState.getDeviceId(), fetchedState);
+        if (cachedState == null) {
+            scheduleInactivityCheck(fetchedState);
+        }
         boolean activityState = Objects.requireNonNullElse(cachedState, fetchedState).getState().isActive();
         save(fetchedState.getTenantId(), deviceId, ACTIVITY_STATE, activityState);
     }
 
+    /*
+     * The states are handed off only by the services that are still running, so the added partitions have a live previous owner
+     * unless one of the other core services has left the cluster since the previous repartitioning.
+     */
+    @Override
+    protected void onRepartitionEvent() {
+        Set<String> serviceIds = partitionService.getOtherServices(ServiceType.TB_CORE).stream()
+                .map(TransportProtos.ServiceInfo::getServiceId)
+                .collect(Collectors.toSet());
+        previousOwnersLive = !serviceIds.isEmpty() && (otherCoreServiceIds == null || serviceIds.containsAll(otherCoreServiceIds));
+        otherCoreServiceIds = serviceIds;
+    }
+
     @Override
     protected Map<TopicPartitionInfo, List<ListenableFuture<?>>> onAddedPartitions(Set<TopicPartitionInfo> addedPartitions) {
+        if (handoffEnabled && previousOwnersLive) {
+            return awaitHandoff(addedPartitions);
+        }
+        return initPartitionsFromDB(addedPartitions);
+    }
+
+    /*
+     * The previous owner ships the device states of the partition through the partition itself (see onRemovedPartition),
+     * so the states are consumed by the new owner. The partitions without the complete handoff within the timeout are fetched from the DB,
+     * the device states that were already restored from the handoff are skipped.
+     */
+    private Map<TopicPartitionInfo, List<ListenableFuture<?>>> awaitHandoff(Set<TopicPartitionInfo> addedPartitions) {
+        var result = new HashMap<TopicPartitionInfo, List<ListenableFuture<?>>>();
+        List<PartitionHandoff> handoffs = new ArrayList<>(addedPartitions.size());
+        long ts = getCurrentTimeMillis();
+        for (TopicPartitionInfo tpi : addedPartitions) {
+            PartitionHandoff handoff = new PartitionHandoff(tpi, ts);
+            pendingHandoffs.put(tpi.getFullTopicName(), handoff);
+            handoffs.add(handoff);
+            result.computeIfAbsent(tpi, tmp -> new ArrayList<>()).add(handoff.future);
+        }
+        log.info("[{}] Waiting {} seconds for the device states handoff", addedPartitions, handoffTimeoutInSec);
+        scheduledExecutor.schedule(() -> onHandoffTimeout(handoffs), handoffTimeoutInSec, TimeUnit.SECONDS);
+        // the snapshots consumed before the partition was added
+        for (PartitionHandoff handoff : handoffs) {
+            List<TransportProtos.DeviceStateSnapshotMsgProto> snapshots = earlySnapshots.remove(handoff.tpi.getFullTopicName());
+            if (snapshots != null) {
+                snapshots.forEach(this::restoreDeviceStates);
+            }
+        }
+        return result;
+    }
+
+    private void onHandoffTimeout(List<PartitionHandoff> handoffs) {
+        Map<TopicPartitionInfo, PartitionHandoff> expired = new HashMap<>();
+        for (PartitionHandoff handoff : handoffs) {
+            if (pendingHandoffs.remove(handoff.tpi.getFullTopicName(), handoff) && !handoff.future.isCancelled()) {
+                expired.put(handoff.tpi, handoff);
+            }
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+        log.info("[{}] Device states handoff was not completed, fetching device states from the DB", expired.keySet());
+        try {
+            initPartitionsFromDB(expired.keySet()).forEach((tpi, futures) -> expired.get(tpi).future.setFuture(Futures.allAsList(futures)));
+            // partitions without devices to fetch
+            expired.values().forEach(handoff -> handoff.future.set(null));
+        } catch (Throwable t) {
+            log.warn("[{}] Failed to fetch device states from the DB", expired.keySet(), t);
+            expired.values().forEach(handoff -> handoff.future.setException(t));
+        }
+    }
+
+    private void restoreDeviceStates(TransportProtos.DeviceStateSnapshotMsgProto proto) {
+        PartitionHandoff handoff = pendingHandoffs.get(proto.getTopic());
+        if (handoff == null && partitionedEntities.keySet().stream().noneMatch(tpi -> tpi.getFullTopicName().equals(proto.getTopic()))) {
+            bufferEarlySnapshot(proto);
+            return;
+        }
+        Set<DeviceId> deviceIds = handoff != null ? partitionedEntities.get(handoff.tpi) : null;
+        if (deviceIds == null || handoff.future.isCancelled() || proto.getTs() < handoff.startTs - TimeUnit.SECONDS.toMillis(handoffTimeoutInSec)) {
+            log.debug("[{}] Skipping device states handoff of [{}]", proto.getTopic(), proto.getServiceId());
+            return;
+        }
+        for (TransportProtos.DeviceStateProto stateProto : proto.getStatesList()) {
+            DeviceStateData stateData = fromProto(stateProto);
+            deviceIds.add(stateData.getDeviceId());
+            if (deviceStates.putIfAbsent(stateData.getDeviceId(), stateData) == null) {
+                checkAndUpdateState(stateData.getDeviceId(), stateData);
+            }
+        }
+        handoff.restored += proto.getStatesCount();
+        if (proto.getLast() && pendingHandoffs.remove(proto.getTopic(), handoff)) {
+            log.info("[{}] Restored {} device states from the handoff of [{}]", proto.getTopic(), handoff.restored, proto.getServiceId());
+            handoff.future.set(null);
+        }
+    }
+
+    /*
+     * The partition may be consumed before the partition change event is handled, the snapshots are kept until the partition is added
+     * and are discarded when it is not added within the handoff timeout.
+     */
+    private void bufferEarlySnapshot(TransportProtos.DeviceStateSnapshotMsgProto proto) {
+        List<TransportProtos.DeviceStateSnapshotMsgProto> snapshots = earlySnapshots.get(proto.getTopic());
+        if (snapshots == null) {
+            snapshots = new ArrayList<>();
+            earlySnapshots.put(proto.getTopic(), snapshots);
+            List<TransportProtos.DeviceStateSnapshotMsgProto> buffered = snapshots;
+            scheduledExecutor.schedule(() -> {
+                if (earlySnapshots.remove(proto.getTopic(), buffered)) {
+                    log.debug("[{}] Discarded {} device states snapshots of the partition that was not added", proto.getTopic(), buffered.size());
+                }
+            }, handoffTimeoutInSec, TimeUnit.SECONDS);
+        }
+        log.debug("[{}] Buffering device states handoff of [{}] until the partition is added", proto.getTopic(), proto.getServiceId());
+        snapshots.add(proto);
+    }
+
+    /*
+     * The states are collected by the partition change thread before the entities of the partition are cleaned up,
+     * the snapshots are built and pushed by the device state executor.
+     */
+    @Override
+    protected void onRemovedPartition(TopicPartitionInfo tpi, Set<DeviceId> deviceIds) {
+        if (!handoffEnabled) {
+            return;
+        }
+        List<DeviceStateData> states = new ArrayList<>(deviceIds.size());
+        for (DeviceId deviceId : deviceIds) {
+            DeviceStateData stateData = deviceStates.get(deviceId);
+            if (stateData != null) {
+                states.add(stateData);
+            }
+        }
+        long ts = getCurrentTimeMillis();
+        deviceStateExecutor.submit(() -> {
+            try {
+                shipDeviceStates(tpi, states, ts);
+            } catch (Throwable t) {
+                log.warn("[{}] Failed to ship device states to the new owner of the partition", tpi.getFullTopicName(), t);
+            }
+        });
+    }
+
+    private void shipDeviceStates(TopicPartitionInfo tpi, List<DeviceStateData> states, long ts) {
+        String serviceId = serviceInfoProvider.getServiceId();
+        var pack = TransportProtos.DeviceStateSnapshotMsgProto.newBuilder().setServiceId(serviceId).setTopic(tpi.getFullTopicName()).setTs(ts);
+        for (DeviceStateData stateData : states) {
+            pack.addStates(toProto(stateData));
+            if (pack.getStatesCount() >= handoffPackSize) {
+                pushDeviceStates(tpi, pack.build());
+                pack = TransportProtos.DeviceStateSnapshotMsgProto.newBuilder().setServiceId(serviceId).setTopic(tpi.getFullTopicName()).setTs(ts);
+            }
+        }
+        pushDeviceStates(tpi, pack.setLast(true).build());
+        log.info("[{}] Shipped {} device states to the new owner of the partition", tpi.getFullTopicName(), states.size());
+    }
+
+    private void pushDeviceStates(TopicPartitionInfo tpi, TransportProtos.DeviceStateSnapshotMsgProto pack) {
+        TransportProtos.ToCoreMsg msg = TransportProtos.ToCoreMsg.newBuilder().setDeviceStateSnapshotMsg(pack).build();
+        clusterService.pushMsgToCore(tpi, UUID.randomUUID(), msg, null);
+    }
+
+    private Map<TopicPartitionInfo, List<ListenableFuture<?>>> initPartitionsFromDB(Set<TopicPartitionInfo> addedPartitions) {
         var result = new HashMap<TopicPartitionInfo, List<ListenableFuture<?>>>();
         PageDataIterable<DeviceIdInfo> deviceIdInfos = new PageDataIterable<>(deviceService::findDeviceIdInfos, initFetchPackSize);
         Map<TopicPartitionInfo, List<DeviceIdInfo>> tpiDeviceMap = new HashMap<>();
@@ -477,6 +681,14 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
         private volatile ListenableFuture<?> future;
     }
 
+    @RequiredArgsConstructor
+    static class PartitionHandoff {
+        private final TopicPartitionInfo tpi;
+        private final long startTs;
+        private final SettableFuture<Object> future = SettableFuture.create();
+        private int restored;
+    }
+
     void checkAndUpdateState(@Nonnull DeviceId deviceId, @Nonnull DeviceStateData state) {
         var deviceState = state.getState();
         if (deviceState.isActive()) {
@@ -491,9 +703,14 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
                 }
             }
         }
+        scheduleInactivityCheck(state);
     }
 
     void checkStates() {
+        if (inactivityTimingWheel != null) {
+            checkExpiredStates();
+            return;
+        }
         try {
             final long ts = getCurrentTimeMillis();
             partitionedEntities.forEach((tpi, deviceIds) -> {
@@ -524,6 +741,70 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
         }
     }
 
+    /*
+     * Visits only the devices whose inactivity deadline has elapsed instead of all the devices of the partitions.
+     * The deadlines are not moved on each activity: when a check expires for the device that reported activity since then,
+     * the check is scheduled again for the new deadline.
+     */
+    private void checkExpiredStates() {
+        try {
+            final long ts = getCurrentTimeMillis();
+            List<InactivityCheck> expiredChecks = inactivityTimingWheel.advance(ts);
+            log.debug("Calculating state updates for {} devices. Pending checks: {}", expiredChecks.size(), inactivityTimingWheel.size());
+            for (InactivityCheck check : expiredChecks) {
+                DeviceStateData stateData = check.stateData();
+                synchronized (stateData) {
+                    if (stateData.getInactivityCheck() != check) {
+                        continue;
+                    }
+                    stateData.setInactivityCheck(null);
+                }
+                DeviceId deviceId = stateData.getDeviceId();
+                if (deviceStates.get(deviceId) != stateData) {
+                    continue;
+                }
+                try {
+                    updateInactivityStateIfExpired(ts, deviceId, stateData);
+                } catch (TenantNotFoundException e) {
+                    partitionedEntities.values().forEach(deviceIds -> deviceIds.remove(deviceId));
+                    cleanupEntity(deviceId);
+                    continue;
+                } catch (Exception e) {
+                    log.warn("[{}] Failed to update inactivity state [{}]", deviceId, e.getMessage());
+                }
+                if (deviceStates.get(deviceId) == stateData) {
+                    scheduleInactivityCheck(stateData);
+                }
+            }
+        } catch (Throwable t) {
+            log.warn("Failed to check devices states", t);
+        }
+    }
+
+    private void scheduleInactivityCheck(DeviceStateData stateData) {
+        if (inactivityTimingWheel == null) {
+            return;
+        }
+        DeviceState state = stateData.getState();
+        if (state.getLastInactivityAlarmTime() != 0L && state.getLastInactivityAlarmTime() > state.getLastActivityTime()) {
+            // inactivity is already reported, the check is scheduled again on the next activity
+            return;
+        }
+        long deadline = Math.max(state.getLastActivityTime(), stateData.getDeviceCreationTime()) + state.getInactivityTimeout();
+        InactivityCheck check;
+        synchronized (stateData) {
+            InactivityCheck current = stateData.getInactivityCheck();
+            if (current != null && current.deadline() <= deadline) {
+                return;
+            }
+            check = new InactivityCheck(stateData, deadline);
+            stateData.setInactivityCheck(check);
+        }
+        inactivityTimingWheel.schedule(check, deadline);
+    }
+
+    record InactivityCheck(DeviceStateData stateData, long deadline) {}
+
     private void reportActivityStats() {
         try {
             Map<TenantId, Pair<AtomicInteger, AtomicInteger>> stats = new HashMap<>();
@@ -594,7 +875,11 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
 
     @Nonnull
     DeviceStateData getOrFetchDeviceStateData(DeviceId deviceId) {
-        return deviceStates.computeIfAbsent(deviceId, this::fetchDeviceStateDataUsingSeparateRequests);
+        return deviceStates.computeIfAbsent(deviceId, id -> {
+            DeviceStateData stateData = fetchDeviceStateDataUsingSeparateRequests(id);
+            scheduleInactivityCheck(stateData);
+            return stateData;
+        });
     }
 
     DeviceStateData fetchDeviceStateDataUsingSeparateRequests(final DeviceId deviceId) {
@@ -620,15 +905,14 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
             public void onSuccess(Void success) {
                 stateData.getState().setActive(active);
                 pushRuleEngineMessage(stateData, active ? TbMsgType.ACTIVITY_EVENT : TbMsgType.INACTIVITY_EVENT);
-                TbMsgMetaData metaData = stateData.getMetaData();
                 notificationRuleProcessor.process(DeviceActivityTrigger.builder()
                         .tenantId(tenantId)
                         .customerId(stateData.getCustomerId())
                         .deviceId(deviceId)
                         .active(active)
-                        .deviceName(metaData.getValue("deviceName"))
-                        .deviceType(metaData.getValue("deviceType"))
-                        .deviceLabel(metaData.getValue("deviceLabel"))
+                        .deviceName(stateData.getDeviceName())
+                        .deviceType(stateData.getDeviceType())
+                        .deviceLabel(stateData.getDeviceLabel())
                         .build());
             }
 
@@ -709,16 +993,14 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
                             .lastInactivityAlarmTime(inactivityAlarmTime)
                             .inactivityTimeout(inactivityTimeout > 0 ? inactivityTimeout : defaultInactivityTimeoutMs)
                             .build();
-                    TbMsgMetaData md = new TbMsgMetaData();
-                    md.putValue("deviceName", device.getName());
-                    md.putValue("deviceLabel", device.getLabel());
-                    md.putValue("deviceType", device.getType());
                     DeviceStateData deviceStateData = DeviceStateData.builder()
                             .customerId(device.getCustomerId())
                             .tenantId(device.getTenantId())
                             .deviceId(device.getId())
                             .deviceCreationTime(device.getCreatedTime())
-                            .metaData(md)
+                            .deviceName(device.getName())
+                            .deviceLabel(device.getLabel())
+                            .deviceType(device.getType())
                             .state(deviceState).build();
                     log.debug("[{}] Fetched device state from the DB {}", device.getId(), deviceStateData);
                     return deviceStateData;
@@ -789,19 +1071,62 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
                 .lastInactivityAlarmTime(inactivityAlarmTime)
                 .inactivityTimeout(inactivityTimeout)
                 .build();
-        TbMsgMetaData md = new TbMsgMetaData();
-        md.putValue("deviceName", getEntryValue(ed, EntityKeyType.ENTITY_FIELD, "name", ""));
-        md.putValue("deviceLabel", getEntryValue(ed, EntityKeyType.ENTITY_FIELD, "label", ""));
-        md.putValue("deviceType", getEntryValue(ed, EntityKeyType.ENTITY_FIELD, "type", ""));
         return DeviceStateData.builder()
                 .customerId(deviceIdInfo.getCustomerId())
                 .tenantId(deviceIdInfo.getTenantId())
                 .deviceId(deviceIdInfo.getDeviceId())
                 .deviceCreationTime(getEntryValue(ed, EntityKeyType.ENTITY_FIELD, "createdTime", 0L))
-                .metaData(md)
+                .deviceName(getEntryValue(ed, EntityKeyType.ENTITY_FIELD, "name", ""))
+                .deviceLabel(getEntryValue(ed, EntityKeyType.ENTITY_FIELD, "label", ""))
+                .deviceType(getEntryValue(ed, EntityKeyType.ENTITY_FIELD, "type", ""))
                 .state(deviceState).build();
     }
 
+    private static TransportProtos.DeviceStateProto toProto(DeviceStateData stateData) {
+        DeviceState state = stateData.getState();
+        var builder = TransportProtos.DeviceStateProto.newBuilder()
+                .setTenantIdMSB(stateData.getTenantId().getId().getMostSignificantBits())
+                .setTenantIdLSB(stateData.getTenantId().getId().getLeastSignificantBits())
+                .setDeviceIdMSB(stateData.getDeviceId().getId().getMostSignificantBits())
+                .setDeviceIdLSB(stateData.getDeviceId().getId().getLeastSignificantBits())
+                .setDeviceCreationTime(stateData.getDeviceCreationTime())
+                .setActive(state.isActive())
+                .setLastConnectTime(state.getLastConnectTime())
+                .setLastActivityTime(state.getLastActivityTime())
+                .setLastDisconnectTime(state.getLastDisconnectTime())
+                .setLastInactivityAlarmTime(state.getLastInactivityAlarmTime())
+                .setInactivityTimeout(state.getInactivityTimeout());
+        if (stateData.getCustomerId() != null) {
+            builder.setCustomerIdMSB(stateData.getCustomerId().getId().getMostSignificantBits())
+                    .setCustomerIdLSB(stateData.getCustomerId().getId().getLeastSignificantBits());
+        }
+        Optional.ofNullable(stateData.getDeviceName()).ifPresent(builder::setDeviceName);
+        Optional.ofNullable(stateData.getDeviceLabel()).ifPresent(builder::setDeviceLabel);
+        Optional.ofNullable(stateData.getDeviceType()).ifPresent(builder::setDeviceType);
+        return builder.build();
+    }
+
+    private static DeviceStateData fromProto(TransportProtos.DeviceStateProto proto) {
+        DeviceState state = DeviceState.builder()
+                .active(proto.getActive())
+                .lastConnectTime(proto.getLastConnectTime())
+                .lastActivityTime(proto.getLastActivityTime())
+                .lastDisconnectTime(proto.getLastDisconnectTime())
+                .lastInactivityAlarmTime(proto.getLastInactivityAlarmTime())
+                .inactivityTimeout(proto.getInactivityTimeout())
+                .build();
+        return DeviceStateData.builder()
+                .tenantId(TenantId.fromUUID(new UUID(proto.getTenantIdMSB(), proto.getTenantIdLSB())))
+                .customerId(proto.hasCustomerIdMSB() ? new CustomerId(new UUID(proto.getCustomerIdMSB(), proto.getCustomerIdLSB())) : null)
+                .deviceId(new DeviceId(new UUID(proto.getDeviceIdMSB(), proto.getDeviceIdLSB())))
+                .deviceCreationTime(proto.getDeviceCreationTime())
+                .deviceName(proto.hasDeviceName() ? proto.getDeviceName() : null)
+                .deviceLabel(proto.hasDeviceLabel() ? proto.getDeviceLabel() : null)
+                .deviceType(proto.hasDeviceType() ? proto.getDeviceType() : null)
+                .state(state)
+                .build();
+    }
+
     private EntityKeyType getKeyType() {
         return persistToTelemetry ? EntityKeyType.TIME_SERIES : EntityKeyType.SERVER_ATTRIBUTE;
     }
@@ -871,7 +1196,7 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
             } else {
                 data = JacksonUtil.toString(state);
             }
-            TbMsgMetaData md = stateData.getMetaData().copy();
+            TbMsgMetaData md = stateData.getMetaData();
             if (!persistToTelemetry) {
                 md.putValue(SCOPE, SERVER_SCOPE);
             }
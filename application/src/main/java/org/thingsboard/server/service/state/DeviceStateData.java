@@ -15,8 +15,12 @@
  */
 package org.thingsboard.server.service.state;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.thingsboard.server.common.data.id.CustomerId;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.id.TenantId;
@@ -24,16 +28,59 @@ import org.thingsboard.server.common.msg.TbMsgMetaData;
 
 /**
  * Created by ashvayka on 01.05.18.
+ * <p>
+ * One instance is kept per device of the local partitions, so the layout is kept compact:
+ * customer ids and device types are shared between instances (tenant ids are already cached by {@link TenantId#fromUUID})
+ * and the rule engine message metadata is built on demand instead of being stored per device.
  */
 @Data
-@Builder
 class DeviceStateData {
 
+    private static final Interner<CustomerId> CUSTOMER_IDS = Interners.newWeakInterner();
+    private static final Interner<String> DEVICE_TYPES = Interners.newWeakInterner();
+
     private final TenantId tenantId;
     private final CustomerId customerId;
     private final DeviceId deviceId;
     private final long deviceCreationTime;
-    private TbMsgMetaData metaData;
+    private volatile String deviceName;
+    private volatile String deviceLabel;
+    private volatile String deviceType;
     private final DeviceState state;
-    
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile DefaultDeviceStateService.InactivityCheck inactivityCheck;
+
+    @Builder
+    DeviceStateData(TenantId tenantId, CustomerId customerId, DeviceId deviceId, long deviceCreationTime,
+                    String deviceName, String deviceLabel, String deviceType, DeviceState state) {
+        this.tenantId = tenantId;
+        this.customerId = intern(CUSTOMER_IDS, customerId);
+        this.deviceId = deviceId;
+        this.deviceCreationTime = deviceCreationTime;
+        this.deviceName = deviceName;
+        this.deviceLabel = deviceLabel;
+        this.deviceType = intern(DEVICE_TYPES, deviceType);
+        this.state = state;
+    }
+
+    public void setDeviceType(String deviceType) {
+        this.deviceType = intern(DEVICE_TYPES, deviceType);
+    }
+
+    /**
+     * Builds a new mutable copy of the device metadata used for the rule engine messages.
+     */
+    public TbMsgMetaData getMetaData() {
+        TbMsgMetaData md = new TbMsgMetaData();
+        md.putValue("deviceName", deviceName);
+        md.putValue("deviceLabel", deviceLabel);
+        md.putValue("deviceType", deviceType);
+        return md;
+    }
+
+    private static <T> T intern(Interner<T> interner, T value) {
+        return value != null ? interner.intern(value) : null;
+    }
+
 }
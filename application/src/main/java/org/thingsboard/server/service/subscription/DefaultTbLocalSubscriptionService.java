@@ -338,6 +338,7 @@ public class DefaultTbLocalSubscriptionService implements TbLocalSubscriptionSer
 
     private void onTimeSeriesUpdate(UUID entityId, List<TsKvEntry> data, TbCallback callback) {
         getEntityUpdatesInfo(entityId).timeSeriesUpdateTs = System.currentTimeMillis();
+        Map<List<TsKvEntry>, TelemetrySubscriptionUpdate> updates = new HashMap<>();
         processSubscriptionData(entityId,
                 sub -> TbSubscriptionType.TIMESERIES.equals(sub.getType()),
                 s -> {
@@ -372,7 +373,7 @@ public class DefaultTbLocalSubscriptionService implements TbLocalSubscriptionSer
                         }
                     }
                     if (updateData != null) {
-                        TelemetrySubscriptionUpdate update = new TelemetrySubscriptionUpdate(sub.getSubscriptionId(), updateData);
+                        TelemetrySubscriptionUpdate update = getSharedUpdate(updates, updateData).withSubscriptionId(sub.getSubscriptionId());
                         update.getLatestValues().forEach((key, value) -> sub.getKeyStates().put(key, value));
                         subscriptionUpdateExecutor.submit(() -> sub.getUpdateProcessor().accept(sub, update));
                     }
@@ -391,6 +392,7 @@ public class DefaultTbLocalSubscriptionService implements TbLocalSubscriptionSer
 
     private void onAttributesUpdate(UUID entityId, String scope, List<TsKvEntry> data, TbCallback callback) {
         getEntityUpdatesInfo(entityId).attributesUpdateTs = System.currentTimeMillis();
+        Map<List<TsKvEntry>, TelemetrySubscriptionUpdate> updates = new HashMap<>();
         processSubscriptionData(entityId,
                 sub -> TbSubscriptionType.ATTRIBUTES.equals(sub.getType()),
                 s -> {
@@ -410,7 +412,7 @@ public class DefaultTbLocalSubscriptionService implements TbLocalSubscriptionSer
                             }
                         }
                         if (updateData != null) {
-                            TelemetrySubscriptionUpdate update = new TelemetrySubscriptionUpdate(sub.getSubscriptionId(), updateData);
+                            TelemetrySubscriptionUpdate update = getSharedUpdate(updates, updateData).withSubscriptionId(sub.getSubscriptionId());
                             update.getLatestValues().forEach((key, value) -> sub.getKeyStates().put(key, value));
                             subscriptionUpdateExecutor.submit(() -> sub.getUpdateProcessor().accept(sub, update));
                         }
@@ -486,6 +488,14 @@ public class DefaultTbLocalSubscriptionService implements TbLocalSubscriptionSer
         callback.onSuccess();
     }
 
+    /**
+     * Subscriptions to the same keys receive the same data, so the update is created (and later encoded) once
+     * and only the subscription id differs.
+     */
+    private static TelemetrySubscriptionUpdate getSharedUpdate(Map<List<TsKvEntry>, TelemetrySubscriptionUpdate> updates, List<TsKvEntry> updateData) {
+        return updates.computeIfAbsent(updateData, d -> new TelemetrySubscriptionUpdate(0, d));
+    }
+
     private void processSubscriptionData(UUID entityId,
                                          Predicate<TbSubscription<?>> filter,
                                          Consumer<TbSubscription<?>> processor,
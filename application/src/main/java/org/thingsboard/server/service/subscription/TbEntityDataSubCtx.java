@@ -222,7 +222,23 @@ public class TbEntityDataSubCtx extends TbAbstractDataSubCtx<EntityDataQuery> {
         }
         subIdsToCancel.forEach(subId -> localSubscriptionService.cancelSubscription(getTenantId(), getSessionId(), subId));
         subsToAdd.forEach(subscription -> localSubscriptionService.addSubscription(subscription, sessionRef));
-        sendWsMsg(new EntityDataUpdate(cmdId, data, null, maxEntitiesPerDataSubscription));
+        if (sessionRef.isBinary() && !currentSubs.isEmpty()) {
+            // Entities that stayed on the page are kept up to date by their subscriptions, no need to send their values again
+            sendWsMsg(new EntityDataUpdate(cmdId, data.mapData(entityData -> toDelta(entityData, currentSubs)), null, maxEntitiesPerDataSubscription, true));
+        } else {
+            sendWsMsg(new EntityDataUpdate(cmdId, data, null, maxEntitiesPerDataSubscription));
+        }
+    }
+
+    private static EntityData toDelta(EntityData entityData, Set<EntityId> knownEntities) {
+        if (!knownEntities.contains(entityData.getEntityId())) {
+            return entityData;
+        }
+        Map<EntityKeyType, Map<String, TsValue>> latest = null;
+        if (entityData.getLatest() != null && entityData.getLatest().containsKey(EntityKeyType.ENTITY_FIELD)) {
+            latest = Collections.singletonMap(EntityKeyType.ENTITY_FIELD, entityData.getLatest().get(EntityKeyType.ENTITY_FIELD));
+        }
+        return new EntityData(entityData.getEntityId(), latest, null);
     }
 
     public void setCurrentCmd(EntityDataCmd cmd) {
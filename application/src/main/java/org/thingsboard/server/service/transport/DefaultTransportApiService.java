@@ -89,6 +89,8 @@ import org.thingsboard.server.gen.transport.TransportProtos.GetEntityProfileRequ
 import org.thingsboard.server.gen.transport.TransportProtos.GetEntityProfileResponseMsg;
 import org.thingsboard.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg;
 import org.thingsboard.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.GetOrCreateDevicesFromGatewayRequestMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.GetOrCreateDevicesFromGatewayResponseMsg;
 import org.thingsboard.server.gen.transport.TransportProtos.GetResourceRequestMsg;
 import org.thingsboard.server.gen.transport.TransportProtos.GetSnmpDevicesRequestMsg;
 import org.thingsboard.server.gen.transport.TransportProtos.GetSnmpDevicesResponseMsg;
@@ -190,6 +192,8 @@ public class DefaultTransportApiService implements TransportApiService {
             return validateOrCreateDeviceX509Certificate(certChain);
         } else if (transportApiRequestMsg.hasGetOrCreateDeviceRequestMsg()) {
             return handle(transportApiRequestMsg.getGetOrCreateDeviceRequestMsg());
+        } else if (transportApiRequestMsg.hasGetOrCreateDevicesRequestMsg()) {
+            return handle(transportApiRequestMsg.getGetOrCreateDevicesRequestMsg());
         } else if (transportApiRequestMsg.hasEntityProfileRequestMsg()) {
             return handle(transportApiRequestMsg.getEntityProfileRequestMsg());
         } else if (transportApiRequestMsg.hasLwM2MRequestMsg()) {
@@ -410,6 +414,26 @@ public class DefaultTransportApiService implements TransportApiService {
         }
     }
 
+    private TransportApiResponseMsg handle(GetOrCreateDevicesFromGatewayRequestMsg requestMsg) {
+        GetOrCreateDevicesFromGatewayResponseMsg.Builder builder = GetOrCreateDevicesFromGatewayResponseMsg.newBuilder();
+        for (GetOrCreateDeviceFromGatewayRequestMsg deviceRequestMsg : requestMsg.getDevicesList()) {
+            GetOrCreateDeviceFromGatewayResponseMsg deviceResponseMsg;
+            try {
+                deviceResponseMsg = handle(deviceRequestMsg).getGetOrCreateDeviceResponseMsg();
+            } catch (Exception e) {
+                log.warn("[{}][{}] Failed to get or create device from gateway", new UUID(deviceRequestMsg.getGatewayIdMSB(), deviceRequestMsg.getGatewayIdLSB()),
+                        deviceRequestMsg.getDeviceName(), e);
+                deviceResponseMsg = GetOrCreateDeviceFromGatewayResponseMsg.newBuilder()
+                        .setError(TransportProtos.TransportApiRequestErrorCode.UNKNOWN_TRANSPORT_API_ERROR)
+                        .build();
+            }
+            builder.addDevices(deviceResponseMsg);
+        }
+        return TransportApiResponseMsg.newBuilder()
+                .setGetOrCreateDevicesResponseMsg(builder.build())
+                .build();
+    }
+
     private TransportApiResponseMsg handle(ProvisionDeviceRequestMsg requestMsg) {
         ProvisionResponse provisionResponse;
         try {
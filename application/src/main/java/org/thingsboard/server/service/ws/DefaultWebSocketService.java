@@ -90,6 +90,7 @@ import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -140,15 +141,19 @@ public class DefaultWebSocketService implements WebSocketService {
 
     @Value("${server.ws.ping_timeout:30000}")
     private long pingTimeout;
+    @Value("${server.ws.updates_coalescing_window_ms:0}")
+    private long updatesCoalescingWindowMs;
 
     private final ConcurrentMap<TenantId, Set<String>> tenantSubscriptionsMap = new ConcurrentHashMap<>();
     private final ConcurrentMap<CustomerId, Set<String>> customerSubscriptionsMap = new ConcurrentHashMap<>();
     private final ConcurrentMap<UserId, Set<String>> regularUserSubscriptionsMap = new ConcurrentHashMap<>();
     private final ConcurrentMap<UserId, Set<String>> publicUserSubscriptionsMap = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, Map<Integer, Integer>> sessionCmdMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Map<Integer, TelemetrySubscriptionUpdate>> pendingUpdatesMap = new ConcurrentHashMap<>();
 
     private ExecutorService executor;
     private ScheduledExecutorService pingExecutor;
+    private ScheduledExecutorService updatesFlushExecutor;
     private String serviceId;
 
     private Map<WsCmdType, WsCmdHandler<? extends WsCmd>> cmdsHandlers;
@@ -160,6 +165,9 @@ public class DefaultWebSocketService implements WebSocketService {
 
         pingExecutor = ThingsBoardExecutors.newSingleThreadScheduledExecutor("telemetry-web-socket-ping");
         pingExecutor.scheduleWithFixedDelay(this::sendPing, pingTimeout / NUMBER_OF_PING_ATTEMPTS, pingTimeout / NUMBER_OF_PING_ATTEMPTS, TimeUnit.MILLISECONDS);
+        if (updatesCoalescingWindowMs > 0) {
+            updatesFlushExecutor = ThingsBoardExecutors.newSingleThreadScheduledExecutor("telemetry-web-socket-updates-flush");
+        }
 
         cmdsHandlers = new EnumMap<>(WsCmdType.class);
         cmdsHandlers.put(WsCmdType.ATTRIBUTES, newCmdHandler(this::handleWsAttributesSubscriptionCmd));
@@ -188,6 +196,10 @@ public class DefaultWebSocketService implements WebSocketService {
             pingExecutor.shutdownNow();
         }
 
+        if (updatesFlushExecutor != null) {
+            updatesFlushExecutor.shutdownNow();
+        }
+
         if (executor != null) {
             executor.shutdownNow();
         }
@@ -274,7 +286,26 @@ public class DefaultWebSocketService implements WebSocketService {
     @Override
     public void sendUpdate(String sessionId, int cmdId, TelemetrySubscriptionUpdate update) {
         // We substitute the subscriptionId with cmdId for old-style subscriptions.
-        doSendUpdate(sessionId, cmdId, update.withSubscriptionId(cmdId));
+        TelemetrySubscriptionUpdate cmdUpdate = update.withSubscriptionId(cmdId);
+        if (updatesFlushExecutor != null && cmdUpdate.getErrorCode() == SubscriptionErrorCode.NO_ERROR.getCode()) {
+            pendingUpdatesMap.compute(sessionId, (id, pendingUpdates) -> {
+                if (pendingUpdates == null) {
+                    pendingUpdates = new LinkedHashMap<>();
+                    updatesFlushExecutor.schedule(() -> flushPendingUpdates(id), updatesCoalescingWindowMs, TimeUnit.MILLISECONDS);
+                }
+                pendingUpdates.merge(cmdId, cmdUpdate, TelemetrySubscriptionUpdate::merge);
+                return pendingUpdates;
+            });
+        } else {
+            doSendUpdate(sessionId, cmdId, cmdUpdate);
+        }
+    }
+
+    private void flushPendingUpdates(String sessionId) {
+        Map<Integer, TelemetrySubscriptionUpdate> pendingUpdates = pendingUpdatesMap.remove(sessionId);
+        if (pendingUpdates != null) {
+            pendingUpdates.forEach((cmdId, update) -> doSendUpdate(sessionId, cmdId, update));
+        }
     }
 
     @Override
@@ -846,8 +877,27 @@ public class DefaultWebSocketService implements WebSocketService {
     }
 
     private void sendUpdate(WebSocketSessionRef sessionRef, int cmdId, Object update) {
+        if (sessionRef.isBinary()) {
+            sendBinaryUpdate(sessionRef, cmdId, update);
+            return;
+        }
+        try {
+            String msg = update instanceof TelemetrySubscriptionUpdate telemetryUpdate ? telemetryUpdate.toJson() : JacksonUtil.OBJECT_MAPPER.writeValueAsString(update);
+            executor.submit(() -> {
+                try {
+                    msgEndpoint.send(sessionRef, cmdId, msg);
+                } catch (IOException e) {
+                    log.warn("[{}] Failed to send reply: {}", sessionRef.getSessionId(), update, e);
+                }
+            });
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("[{}] Failed to encode reply: {}", sessionRef.getSessionId(), update, e);
+        }
+    }
+
+    private void sendBinaryUpdate(WebSocketSessionRef sessionRef, int cmdId, Object update) {
         try {
-            String msg = JacksonUtil.OBJECT_MAPPER.writeValueAsString(update);
+            byte[] msg = WsBinaryProtocol.encode(update);
             executor.submit(() -> {
                 try {
                     msgEndpoint.send(sessionRef, cmdId, msg);
@@ -855,7 +905,7 @@ public class DefaultWebSocketService implements WebSocketService {
                     log.warn("[{}] Failed to send reply: {}", sessionRef.getSessionId(), update, e);
                 }
             });
-        } catch (JsonProcessingException e) {
+        } catch (IllegalArgumentException e) {
             log.warn("[{}] Failed to encode reply: {}", sessionRef.getSessionId(), update, e);
         }
     }
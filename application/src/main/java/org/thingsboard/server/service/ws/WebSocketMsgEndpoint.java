@@ -26,6 +26,8 @@ public interface WebSocketMsgEndpoint {
 
     void send(WebSocketSessionRef sessionRef, int subscriptionId, String msg) throws IOException;
 
+    void send(WebSocketSessionRef sessionRef, int subscriptionId, byte[] msg) throws IOException;
+
     void sendPing(WebSocketSessionRef sessionRef, long currentTime) throws IOException;
 
     void close(WebSocketSessionRef sessionRef, CloseStatus withReason) throws IOException;
@@ -0,0 +1,62 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary WebSocket sub-protocol negotiated via the 'Sec-WebSocket-Protocol' header.
+ * Commands and updates carry the same structure as the JSON text protocol, encoded as CBOR binary frames.
+ * Full entity data pages sent to such sessions may be delta encoded, see {@code EntityDataUpdate.delta}.
+ */
+public final class WsBinaryProtocol {
+
+    public static final String CBOR_SUBPROTOCOL = "tb.cbor.v1";
+
+    private static final ObjectMapper CBOR_MAPPER = CBORMapper.builder()
+            .addModule(new Jdk8Module())
+            .build();
+
+    private WsBinaryProtocol() {
+    }
+
+    public static byte[] encode(Object value) {
+        try {
+            return CBOR_MAPPER.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The given object value cannot be encoded to CBOR: " + value, e);
+        }
+    }
+
+    public static <T> T decode(ByteBuffer payload, Class<T> type) {
+        try {
+            if (payload.hasArray()) {
+                return CBOR_MAPPER.readValue(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining(), type);
+            }
+            byte[] bytes = new byte[payload.remaining()];
+            payload.duplicate().get(bytes);
+            return CBOR_MAPPER.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The given CBOR payload cannot be decoded to " + type.getSimpleName(), e);
+        }
+    }
+
+}
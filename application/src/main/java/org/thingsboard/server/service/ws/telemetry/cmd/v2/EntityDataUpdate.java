@@ -16,6 +16,7 @@
 package org.thingsboard.server.service.ws.telemetry.cmd.v2;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.ToString;
@@ -30,10 +31,22 @@ public class EntityDataUpdate extends DataUpdate<EntityData> {
 
     @Getter
     private long allowedEntities;
+    /**
+     * Only used by the binary protocol. When set, the page entries of the entities the client already received
+     * carry entity fields only, and the client is expected to keep its current values for the rest of the keys.
+     */
+    @Getter
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean delta;
 
     public EntityDataUpdate(int cmdId, PageData<EntityData> data, List<EntityData> update, long allowedEntities) {
+        this(cmdId, data, update, allowedEntities, false);
+    }
+
+    public EntityDataUpdate(int cmdId, PageData<EntityData> data, List<EntityData> update, long allowedEntities, boolean delta) {
         super(cmdId, data, update, SubscriptionErrorCode.NO_ERROR.getCode(), null);
         this.allowedEntities = allowedEntities;
+        this.delta = delta;
     }
 
     public EntityDataUpdate(int cmdId, int errorCode, String errorMsg) {
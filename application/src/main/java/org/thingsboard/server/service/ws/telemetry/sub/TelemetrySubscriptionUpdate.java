@@ -16,35 +16,46 @@
 package org.thingsboard.server.service.ws.telemetry.sub;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.With;
+import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.server.common.data.kv.TsKvEntry;
 import org.thingsboard.server.common.data.query.TsValue;
 import org.thingsboard.server.service.subscription.SubscriptionErrorCode;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Getter
-@AllArgsConstructor
 public class TelemetrySubscriptionUpdate {
 
-    @With
+    private static final String SUBSCRIPTION_ID = "subscriptionId";
+
     private final int subscriptionId;
     private int errorCode;
     private String errorMsg;
     private Map<String, List<Object>> data;
 
+    // Encoded data and latest values, shared by the copies created with 'withSubscriptionId'
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final SharedPayload sharedPayload;
+
     public TelemetrySubscriptionUpdate(int subscriptionId, List<TsKvEntry> data) {
         super();
         this.subscriptionId = subscriptionId;
+        this.sharedPayload = new SharedPayload();
         this.data = new TreeMap<>();
         if (data != null) {
             for (TsKvEntry tsEntry : data) {
@@ -60,6 +71,7 @@ public class TelemetrySubscriptionUpdate {
     public TelemetrySubscriptionUpdate(int subscriptionId, Map<String, List<Object>> data) {
         super();
         this.subscriptionId = subscriptionId;
+        this.sharedPayload = new SharedPayload();
         this.data = data;
     }
 
@@ -72,6 +84,67 @@ public class TelemetrySubscriptionUpdate {
         this.subscriptionId = subscriptionId;
         this.errorCode = errorCode.getCode();
         this.errorMsg = errorMsg != null ? errorMsg : errorCode.getDefaultMsg();
+        this.sharedPayload = null;
+    }
+
+    private TelemetrySubscriptionUpdate(int subscriptionId, TelemetrySubscriptionUpdate update) {
+        this.subscriptionId = subscriptionId;
+        this.errorCode = update.errorCode;
+        this.errorMsg = update.errorMsg;
+        this.data = update.data;
+        this.sharedPayload = update.sharedPayload;
+    }
+
+    public TelemetrySubscriptionUpdate withSubscriptionId(int subscriptionId) {
+        return this.subscriptionId == subscriptionId ? this : new TelemetrySubscriptionUpdate(subscriptionId, this);
+    }
+
+    /**
+     * Appends the values of the next update of the same subscription to the values of this update.
+     */
+    public TelemetrySubscriptionUpdate merge(TelemetrySubscriptionUpdate next) {
+        Map<String, List<Object>> merged = new TreeMap<>();
+        if (data != null) {
+            data.forEach((key, values) -> merged.put(key, new ArrayList<>(values)));
+        }
+        if (next.data != null) {
+            next.data.forEach((key, values) -> merged.computeIfAbsent(key, k -> new ArrayList<>()).addAll(values));
+        }
+        return new TelemetrySubscriptionUpdate(subscriptionId, merged);
+    }
+
+    /**
+     * Produces the same JSON as {@link JacksonUtil#toString}. The fields are encoded by the object mapper only once
+     * for all the sessions that receive the same update, then written with the subscription id of this copy.
+     */
+    public String toJson() {
+        if (sharedPayload == null) {
+            return JacksonUtil.toString(this);
+        }
+        Map<String, String> encodedFields = sharedPayload.encodedFields;
+        if (encodedFields == null) {
+            Map<String, String> fields = new LinkedHashMap<>();
+            JsonNode node = JacksonUtil.valueToTree(this);
+            node.fields().forEachRemaining(field -> fields.put(field.getKey(), JacksonUtil.toString(field.getValue())));
+            encodedFields = Collections.unmodifiableMap(fields);
+            sharedPayload.encodedFields = encodedFields;
+        }
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JacksonUtil.OBJECT_MAPPER.createGenerator(writer)) {
+            generator.writeStartObject();
+            for (Map.Entry<String, String> field : encodedFields.entrySet()) {
+                if (SUBSCRIPTION_ID.equals(field.getKey())) {
+                    generator.writeNumberField(SUBSCRIPTION_ID, subscriptionId);
+                } else {
+                    generator.writeFieldName(field.getKey());
+                    generator.writeRawValue(field.getValue());
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The given Json object value cannot be transformed to a String: " + this, e);
+        }
+        return writer.toString();
     }
 
     @JsonIgnore
@@ -102,13 +175,20 @@ public class TelemetrySubscriptionUpdate {
     public Map<String, Long> getLatestValues() {
         if (data == null) {
             return Collections.emptyMap();
-        } else {
-            return data.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> {
+        }
+        Map<String, Long> latestValues = sharedPayload != null ? sharedPayload.latestValues : null;
+        if (latestValues == null) {
+            latestValues = data.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> {
                 List<Object> data = e.getValue();
                 Object[] latest = (Object[]) data.get(data.size() - 1);
                 return (long) latest[0];
             }));
+            if (sharedPayload != null) {
+                latestValues = Collections.unmodifiableMap(latestValues);
+                sharedPayload.latestValues = latestValues;
+            }
         }
+        return latestValues;
     }
 
     @Override
@@ -124,4 +204,9 @@ public class TelemetrySubscriptionUpdate {
         return result.toString();
     }
 
+    private static class SharedPayload {
+        private volatile Map<String, Long> latestValues;
+        private volatile Map<String, String> encodedFields;
+    }
+
 }
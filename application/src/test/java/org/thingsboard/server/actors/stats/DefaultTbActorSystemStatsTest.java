@@ -0,0 +1,73 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors.stats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.actors.TbActorId;
+import org.thingsboard.server.actors.TbEntityActorId;
+import org.thingsboard.server.actors.TbStringActorId;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.RuleChainId;
+import org.thingsboard.server.common.data.id.RuleNodeId;
+import org.thingsboard.server.common.msg.MsgType;
+import org.thingsboard.server.common.msg.TbActorMsg;
+import org.thingsboard.server.common.stats.StatsFactory;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+
+class DefaultTbActorSystemStatsTest {
+
+    DefaultTbActorSystemStats stats;
+    TbActorMsg msg;
+
+    @BeforeEach
+    void setUp() {
+        stats = new DefaultTbActorSystemStats(mock(StatsFactory.class, Answers.RETURNS_MOCKS));
+        msg = mock(TbActorMsg.class);
+        willReturn(MsgType.QUEUE_TO_RULE_ENGINE_MSG).given(msg).getMsgType();
+    }
+
+    @Test
+    void givenMsgsProcessedByDifferentActors_whenOnMsgProcessed_thenOnlyRuleChainAndRuleNodeActorsTracked() {
+        TbActorId ruleChainActorId = new TbEntityActorId(new RuleChainId(UUID.randomUUID()));
+        TbActorId ruleNodeActorId = new TbEntityActorId(new RuleNodeId(UUID.randomUUID()));
+
+        stats.onMsgProcessed("rule-dispatcher", ruleChainActorId, msg, 1000, 2000);
+        stats.onMsgProcessed("rule-dispatcher", ruleNodeActorId, msg, 1000, 2000);
+        for (int i = 0; i < 100; i++) {
+            stats.onMsgProcessed("device-dispatcher", new TbEntityActorId(new DeviceId(UUID.randomUUID())), msg, 1000, 2000);
+        }
+        stats.onMsgProcessed("app-dispatcher", new TbStringActorId("APP"), msg, 1000, 2000);
+        stats.onMsgProcessed("app-dispatcher", null, msg, 1000, 2000);
+
+        Map<TbActorId, ?> actorStats = getActorStats();
+        assertThat(actorStats).containsOnlyKeys(ruleChainActorId, ruleNodeActorId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<TbActorId, ?> getActorStats() {
+        return (Map<TbActorId, ?>) ReflectionTestUtils.getField(stats, "actorStats");
+    }
+
+}
@@ -24,6 +24,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.server.cache.TbTransactionalCache;
 import org.thingsboard.server.cluster.TbClusterService;
@@ -40,6 +41,8 @@ import org.thingsboard.server.common.data.id.QueueId;
 import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.msg.TbMsgType;
 import org.thingsboard.server.common.data.queue.Queue;
+import org.thingsboard.server.common.data.security.DeviceCredentials;
+import org.thingsboard.server.common.data.security.DeviceCredentialsType;
 import org.thingsboard.server.common.msg.TbMsg;
 import org.thingsboard.server.common.msg.TbMsgMetaData;
 import org.thingsboard.server.common.msg.queue.ServiceType;
@@ -430,4 +433,31 @@ public class DefaultTbClusterServiceTest {
         verify(assetProfileCache, times(1)).get(tenantId, assetProfileId);
     }
 
+    @Test
+    public void testOnDeviceCredentialsUpdatedBroadcastOnlyWhenTransportCacheEnabled() {
+        when(partitionService.getAllServiceIds(ServiceType.TB_TRANSPORT)).thenReturn(Sets.newHashSet(MONOLITH, TRANSPORT));
+        TbQueueProducer<TbProtoQueueMsg<TransportProtos.ToTransportMsg>> tbTransportQueueProducer = mock(TbQueueProducer.class);
+        when(producerProvider.getTransportNotificationsMsgProducer()).thenReturn(tbTransportQueueProducer);
+
+        TenantId tenantId = new TenantId(UUID.randomUUID());
+        DeviceCredentials deviceCredentials = new DeviceCredentials();
+        deviceCredentials.setDeviceId(new DeviceId(UUID.randomUUID()));
+        deviceCredentials.setCredentialsType(DeviceCredentialsType.ACCESS_TOKEN);
+        deviceCredentials.setCredentialsId("token");
+
+        // cache is disabled by default
+        clusterService.onDeviceCredentialsUpdated(tenantId, deviceCredentials);
+        verify(producerProvider, never()).getTransportNotificationsMsgProducer();
+
+        ReflectionTestUtils.setField(clusterService, "deviceCredentialsCacheMaxSize", 1000);
+        try {
+            clusterService.onDeviceCredentialsUpdated(tenantId, deviceCredentials);
+        } finally {
+            ReflectionTestUtils.setField(clusterService, "deviceCredentialsCacheMaxSize", 0);
+        }
+        ArgumentCaptor<TbProtoQueueMsg<TransportProtos.ToTransportMsg>> msgCaptor = ArgumentCaptor.forClass(TbProtoQueueMsg.class);
+        verify(tbTransportQueueProducer, times(2)).send(any(TopicPartitionInfo.class), msgCaptor.capture(), isNull());
+        assertThat(msgCaptor.getValue().getValue().getDeviceCredentialsUpdateMsg().getCredentialsId()).isEqualTo("token");
+    }
+
 }
@@ -17,6 +17,7 @@ package org.thingsboard.server.service.state;
 
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,10 +31,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.common.util.TimingWheel;
 import org.thingsboard.rule.engine.api.AttributesSaveRequest;
 import org.thingsboard.server.cluster.TbClusterService;
 import org.thingsboard.server.common.data.AttributeScope;
 import org.thingsboard.server.common.data.Device;
+import org.thingsboard.server.common.data.id.CustomerId;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.common.data.id.TenantId;
@@ -41,8 +44,8 @@ import org.thingsboard.server.common.data.kv.AttributeKvEntry;
 import org.thingsboard.server.common.data.kv.AttributesSaveResult;
 import org.thingsboard.server.common.data.msg.TbMsgType;
 import org.thingsboard.server.common.data.notification.rule.trigger.DeviceActivityTrigger;
+import org.thingsboard.server.common.data.page.PageData;
 import org.thingsboard.server.common.msg.TbMsg;
-import org.thingsboard.server.common.msg.TbMsgMetaData;
 import org.thingsboard.server.common.msg.notification.NotificationRuleProcessor;
 import org.thingsboard.server.common.msg.queue.ServiceType;
 import org.thingsboard.server.common.msg.queue.TbCallback;
@@ -53,6 +56,7 @@ import org.thingsboard.server.dao.sql.query.EntityQueryRepository;
 import org.thingsboard.server.dao.timeseries.TimeseriesService;
 import org.thingsboard.server.gen.transport.TransportProtos;
 import org.thingsboard.server.queue.discovery.PartitionService;
+import org.thingsboard.server.queue.discovery.TbServiceInfoProvider;
 import org.thingsboard.server.queue.usagestats.DefaultTbApiUsageReportClient;
 import org.thingsboard.server.service.telemetry.TelemetrySubscriptionService;
 
@@ -75,14 +79,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -120,6 +128,8 @@ class DefaultDeviceStateServiceTest {
     NotificationRuleProcessor notificationRuleProcessor;
     @Mock
     DefaultTbApiUsageReportClient defaultTbApiUsageReportClient;
+    @Mock
+    TbServiceInfoProvider serviceInfoProvider;
 
     long defaultInactivityTimeoutMs = Duration.ofMinutes(10L).toMillis();
 
@@ -225,7 +235,6 @@ class DefaultDeviceStateServiceTest {
                 .tenantId(tenantId)
                 .deviceId(deviceId)
                 .state(DeviceState.builder().build())
-                .metaData(new TbMsgMetaData())
                 .build();
 
         doReturn(false).when(service).cleanDeviceStateIfBelongsToExternalPartition(tenantId, deviceId);
@@ -314,7 +323,6 @@ class DefaultDeviceStateServiceTest {
                 .tenantId(tenantId)
                 .deviceId(deviceId)
                 .state(DeviceState.builder().build())
-                .metaData(new TbMsgMetaData())
                 .build();
 
         doReturn(false).when(service).cleanDeviceStateIfBelongsToExternalPartition(tenantId, deviceId);
@@ -439,7 +447,6 @@ class DefaultDeviceStateServiceTest {
                 .tenantId(tenantId)
                 .deviceId(deviceId)
                 .state(DeviceState.builder().build())
-                .metaData(new TbMsgMetaData())
                 .build();
 
         doReturn(false).when(service).cleanDeviceStateIfBelongsToExternalPartition(tenantId, deviceId);
@@ -488,7 +495,6 @@ class DefaultDeviceStateServiceTest {
                 .tenantId(tenantId)
                 .deviceId(deviceId)
                 .state(DeviceState.builder().build())
-                .metaData(new TbMsgMetaData())
                 .build();
 
         given(partitionService.resolve(ServiceType.TB_CORE, tenantId, deviceId)).willReturn(tpi);
@@ -558,7 +564,6 @@ class DefaultDeviceStateServiceTest {
                 .tenantId(tenantId)
                 .deviceId(deviceId)
                 .state(deviceState)
-                .metaData(new TbMsgMetaData())
                 .build();
 
         service.deviceStates.put(deviceId, deviceStateData);
@@ -634,7 +639,6 @@ class DefaultDeviceStateServiceTest {
                 .tenantId(tenantId)
                 .deviceId(deviceId)
                 .state(deviceState)
-                .metaData(new TbMsgMetaData())
                 .build();
 
         mockSuccessfulSaveAttributes();
@@ -776,7 +780,6 @@ class DefaultDeviceStateServiceTest {
                 .tenantId(tenantId)
                 .deviceId(deviceId)
                 .deviceCreationTime(deviceCreationTime)
-                .metaData(new TbMsgMetaData())
                 .state(state)
                 .build();
 
@@ -895,7 +898,6 @@ class DefaultDeviceStateServiceTest {
                 .tenantId(tenantId)
                 .deviceId(deviceId)
                 .state(deviceState)
-                .metaData(TbMsgMetaData.EMPTY)
                 .build();
 
         service.deviceStates.put(deviceId, deviceStateData);
@@ -931,7 +933,6 @@ class DefaultDeviceStateServiceTest {
                 .tenantId(tenantId)
                 .deviceId(deviceId)
                 .state(deviceState)
-                .metaData(TbMsgMetaData.EMPTY)
                 .build();
 
         service.deviceStates.put(deviceId, deviceStateData);
@@ -1034,7 +1035,6 @@ class DefaultDeviceStateServiceTest {
                 .deviceId(deviceId)
                 .deviceCreationTime(currentTime - 10000)
                 .state(deviceState)
-                .metaData(TbMsgMetaData.EMPTY)
                 .build();
         service.deviceStates.put(deviceId, stateData);
 
@@ -1122,6 +1122,193 @@ class DefaultDeviceStateServiceTest {
         });
     }
 
+    @Test
+    void givenTimingWheelEnabled_whenCheckStates_thenVisitsOnlyDevicesWithElapsedDeadline() {
+        // GIVEN
+        ReflectionTestUtils.setField(service, "inactivityTimingWheel", new TimingWheel<>(100L, 0L));
+        mockSuccessfulSaveAttributes();
+
+        var deviceState = DeviceState.builder()
+                .active(true)
+                .lastActivityTime(100L)
+                .inactivityTimeout(50L)
+                .build();
+
+        var deviceStateData = DeviceStateData.builder()
+                .tenantId(tenantId)
+                .deviceId(deviceId)
+                .state(deviceState)
+                .build();
+
+        service.deviceStates.put(deviceId, deviceStateData);
+        service.getPartitionedEntities(tpi).add(deviceId);
+        DeviceId deviceWithoutState = new DeviceId(UUID.randomUUID());
+        service.getPartitionedEntities(tpi).add(deviceWithoutState);
+
+        doReturn(120L).when(service).getCurrentTimeMillis();
+        service.checkAndUpdateState(deviceId, deviceStateData);
+        clearInvocations(service);
+
+        // WHEN-THEN
+        doReturn(199L).when(service).getCurrentTimeMillis();
+        service.checkStates();
+        then(service).should(never()).updateInactivityStateIfExpired(anyLong(), any(), any());
+
+        // activity reported after the check was scheduled moves the deadline to 230
+        deviceState.setLastActivityTime(180L);
+        doReturn(200L).when(service).getCurrentTimeMillis();
+        service.checkStates();
+        then(service).should().updateInactivityStateIfExpired(200L, deviceId, deviceStateData);
+        assertThat(deviceState.isActive()).isTrue();
+
+        doReturn(300L).when(service).getCurrentTimeMillis();
+        service.checkStates();
+        assertThat(deviceState.isActive()).isFalse();
+        assertThat(deviceState.getLastInactivityAlarmTime()).isEqualTo(300L);
+
+        doReturn(1000L).when(service).getCurrentTimeMillis();
+        service.checkStates();
+        then(service).should(times(2)).updateInactivityStateIfExpired(anyLong(), any(), any());
+        then(service).should(never()).fetchDeviceStateDataUsingSeparateRequests(deviceWithoutState);
+    }
+
+    @Test
+    void givenHandoffEnabled_whenPartitionMovesToAnotherService_thenNewOwnerRestoresShippedStates() throws Exception {
+        // GIVEN
+        ReflectionTestUtils.setField(service, "handoffEnabled", true);
+        ReflectionTestUtils.setField(service, "handoffTimeoutInSec", 60);
+        ReflectionTestUtils.setField(service, "handoffPackSize", 1);
+        ReflectionTestUtils.setField(service, "serviceInfoProvider", serviceInfoProvider);
+        given(serviceInfoProvider.getServiceId()).willReturn("tb-core-0");
+        ListeningScheduledExecutorService scheduledExecutor = MoreExecutors.listeningDecorator(Executors.newSingleThreadScheduledExecutor());
+        ReflectionTestUtils.setField(service, "scheduledExecutor", scheduledExecutor);
+
+        long now = System.currentTimeMillis();
+        DeviceStateData deviceStateData = DeviceStateData.builder()
+                .tenantId(tenantId)
+                .customerId(new CustomerId(UUID.randomUUID()))
+                .deviceId(deviceId)
+                .deviceName("Thermostat A")
+                .deviceType("thermostat")
+                .state(DeviceState.builder()
+                        .active(true)
+                        .lastConnectTime(now - 1000L)
+                        .lastActivityTime(now)
+                        .inactivityTimeout(defaultInactivityTimeoutMs)
+                        .build())
+                .build();
+        service.deviceStates.put(deviceId, deviceStateData);
+
+        // WHEN
+        service.onRemovedPartition(tpi, Set.of(deviceId));
+        service.deviceStates.clear();
+
+        // THEN
+        ArgumentCaptor<TransportProtos.ToCoreMsg> msgCaptor = ArgumentCaptor.forClass(TransportProtos.ToCoreMsg.class);
+        then(clusterService).should(times(2)).pushMsgToCore(eq(tpi), any(UUID.class), msgCaptor.capture(), isNull());
+        List<TransportProtos.DeviceStateSnapshotMsgProto> packs = msgCaptor.getAllValues().stream()
+                .map(TransportProtos.ToCoreMsg::getDeviceStateSnapshotMsg)
+                .toList();
+        assertThat(packs).extracting(TransportProtos.DeviceStateSnapshotMsgProto::getStatesCount).containsExactly(1, 0);
+        assertThat(packs).extracting(TransportProtos.DeviceStateSnapshotMsgProto::getLast).containsExactly(false, true);
+
+        // WHEN
+        given(partitionService.getOtherServices(ServiceType.TB_CORE)).willReturn(Set.of(coreServiceInfo("tb-core-0")));
+        service.onRepartitionEvent();
+        var fetchTasks = service.onAddedPartitions(Set.of(tpi));
+        TbCallback callback = mock(TbCallback.class);
+        packs.forEach(pack -> service.onQueueMsg(pack, callback));
+
+        // THEN
+        try {
+            fetchTasks.get(tpi).get(0).get(10, TimeUnit.SECONDS);
+        } finally {
+            scheduledExecutor.shutdownNow();
+        }
+        then(callback).should(times(2)).onSuccess();
+        assertThat(service.deviceStates.get(deviceId)).isEqualTo(deviceStateData);
+        assertThat(service.getPartitionedEntities(tpi)).containsExactly(deviceId);
+        assertThat(service.pendingHandoffs).isEmpty();
+        then(deviceService).should(never()).findDeviceIdInfos(any());
+    }
+
+    @Test
+    void givenHandoffEnabled_whenSnapshotIsConsumedBeforePartitionIsAdded_thenStatesAreRestoredOnceAdded() throws Exception {
+        // GIVEN
+        ReflectionTestUtils.setField(service, "handoffEnabled", true);
+        ReflectionTestUtils.setField(service, "handoffTimeoutInSec", 60);
+        ReflectionTestUtils.setField(service, "handoffPackSize", 1000);
+        ListeningScheduledExecutorService scheduledExecutor = MoreExecutors.listeningDecorator(Executors.newSingleThreadScheduledExecutor());
+        ReflectionTestUtils.setField(service, "scheduledExecutor", scheduledExecutor);
+        ReflectionTestUtils.setField(service, "serviceInfoProvider", serviceInfoProvider);
+        given(serviceInfoProvider.getServiceId()).willReturn("tb-core-0");
+
+        DeviceStateData deviceStateData = DeviceStateData.builder()
+                .tenantId(tenantId)
+                .customerId(new CustomerId(UUID.randomUUID()))
+                .deviceId(deviceId)
+                .deviceName("Thermostat A")
+                .deviceType("thermostat")
+                .state(DeviceState.builder()
+                        .active(false)
+                        .inactivityTimeout(defaultInactivityTimeoutMs)
+                        .build())
+                .build();
+        service.deviceStates.put(deviceId, deviceStateData);
+        service.onRemovedPartition(tpi, Set.of(deviceId));
+        service.deviceStates.clear();
+        ArgumentCaptor<TransportProtos.ToCoreMsg> msgCaptor = ArgumentCaptor.forClass(TransportProtos.ToCoreMsg.class);
+        then(clusterService).should().pushMsgToCore(eq(tpi), any(UUID.class), msgCaptor.capture(), isNull());
+        @SuppressWarnings("unchecked")
+        var partitionedEntities = (ConcurrentMap<TopicPartitionInfo, Set<DeviceId>>) ReflectionTestUtils.getField(service, "partitionedEntities");
+        partitionedEntities.remove(tpi);
+        TbCallback callback = mock(TbCallback.class);
+
+        // WHEN
+        service.onQueueMsg(msgCaptor.getValue().getDeviceStateSnapshotMsg(), callback);
+        given(partitionService.getOtherServices(ServiceType.TB_CORE)).willReturn(Set.of(coreServiceInfo("tb-core-0")));
+        var fetchTasks = scheduledExecutor.submit(() -> {
+            service.onRepartitionEvent();
+            partitionedEntities.put(tpi, ConcurrentHashMap.newKeySet());
+            return service.onAddedPartitions(Set.of(tpi));
+        }).get(10, TimeUnit.SECONDS);
+
+        // THEN
+        try {
+            fetchTasks.get(tpi).get(0).get(10, TimeUnit.SECONDS);
+        } finally {
+            scheduledExecutor.shutdownNow();
+        }
+        then(callback).should().onSuccess();
+        assertThat(service.deviceStates.get(deviceId)).isEqualTo(deviceStateData);
+        assertThat(service.getPartitionedEntities(tpi)).containsExactly(deviceId);
+        assertThat(service.pendingHandoffs).isEmpty();
+        then(deviceService).should(never()).findDeviceIdInfos(any());
+    }
+
+    @Test
+    void givenHandoffEnabled_whenPreviousOwnerLeftCluster_thenStatesAreFetchedFromDbWithoutWaiting() {
+        // GIVEN
+        ReflectionTestUtils.setField(service, "handoffEnabled", true);
+        ReflectionTestUtils.setField(service, "handoffTimeoutInSec", 60);
+        given(deviceService.findDeviceIdInfos(any())).willReturn(PageData.emptyPageData());
+        given(partitionService.getOtherServices(ServiceType.TB_CORE)).willReturn(Set.of(coreServiceInfo("tb-core-0"), coreServiceInfo("tb-core-1")));
+        service.onRepartitionEvent();
+
+        // WHEN
+        given(partitionService.getOtherServices(ServiceType.TB_CORE)).willReturn(Set.of(coreServiceInfo("tb-core-1")));
+        service.onRepartitionEvent();
+        service.onAddedPartitions(Set.of(tpi));
+
+        // THEN
+        assertThat(service.pendingHandoffs).isEmpty();
+        then(deviceService).should().findDeviceIdInfos(any());
+    }
+
+    private static TransportProtos.ServiceInfo coreServiceInfo(String serviceId) {
+        return TransportProtos.ServiceInfo.newBuilder().setServiceId(serviceId).build();
+    }
+
     private void mockSuccessfulSaveAttributes() {
         lenient().when(telemetrySubscriptionService.saveAttributesInternal(any())).thenAnswer(invocation -> {
             AttributesSaveRequest request = invocation.getArgument(0);
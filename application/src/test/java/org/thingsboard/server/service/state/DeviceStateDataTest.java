@@ -0,0 +1,69 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.state;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.id.CustomerId;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.msg.TbMsgMetaData;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeviceStateDataTest {
+
+    private final TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+    private final UUID customerUuid = UUID.randomUUID();
+
+    @Test
+    void givenStatesOfSameCustomerAndType_whenBuild_thenIdsAndTypesAreShared() {
+        DeviceStateData first = buildStateData(new CustomerId(customerUuid), new String("thermostat"));
+        DeviceStateData second = buildStateData(new CustomerId(customerUuid), new String("thermostat"));
+
+        assertThat(second.getCustomerId()).isSameAs(first.getCustomerId());
+        assertThat(second.getDeviceType()).isSameAs(first.getDeviceType());
+
+        second.setDeviceType(new String("thermostat"));
+        assertThat(second.getDeviceType()).isSameAs(first.getDeviceType());
+    }
+
+    @Test
+    void givenStateData_whenGetMetaData_thenReturnsNewCopyOfDeviceInfo() {
+        DeviceStateData stateData = buildStateData(new CustomerId(customerUuid), "thermostat");
+
+        TbMsgMetaData md = stateData.getMetaData();
+        assertThat(md.values()).isEqualTo(Map.of("deviceName", "Device A", "deviceType", "thermostat"));
+
+        md.putValue("scope", "SERVER_SCOPE");
+        stateData.setDeviceLabel("Kitchen");
+        assertThat(stateData.getMetaData().values()).isEqualTo(Map.of("deviceName", "Device A", "deviceLabel", "Kitchen", "deviceType", "thermostat"));
+    }
+
+    private DeviceStateData buildStateData(CustomerId customerId, String deviceType) {
+        return DeviceStateData.builder()
+                .tenantId(tenantId)
+                .customerId(customerId)
+                .deviceId(new DeviceId(UUID.randomUUID()))
+                .deviceName("Device A")
+                .deviceType(deviceType)
+                .state(DeviceState.builder().build())
+                .build();
+    }
+
+}
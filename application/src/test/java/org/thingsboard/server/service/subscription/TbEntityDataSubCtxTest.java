@@ -127,4 +127,36 @@ public class TbEntityDataSubCtxTest {
         assertThat(entityDataUpdate.getAllowedEntities()).isEqualTo(maxEntitiesPerDataSubscription);
     }
 
+    @Test
+    public void testDoUpdateSendsDeltaToBinarySession() {
+        when(webSocketSessionRef.isBinary()).thenReturn(true);
+        long ts = System.currentTimeMillis();
+
+        Map<EntityKeyType, Map<String, TsValue>> knownLatest = new HashMap<>();
+        knownLatest.put(EntityKeyType.TIME_SERIES, Map.of("key", new TsValue(ts, "20")));
+        knownLatest.put(EntityKeyType.ENTITY_FIELD, Map.of("name", new TsValue(0, "Device A")));
+        EntityData knownEntityData = new EntityData(deviceId, knownLatest, null);
+
+        DeviceId newDeviceId = new DeviceId(UUID.randomUUID());
+        Map<EntityKeyType, Map<String, TsValue>> newLatest = new HashMap<>();
+        newLatest.put(EntityKeyType.TIME_SERIES, Map.of("key", new TsValue(ts, "30")));
+        newLatest.put(EntityKeyType.ENTITY_FIELD, Map.of("name", new TsValue(0, "Device B")));
+        EntityData newEntityData = new EntityData(newDeviceId, newLatest, null);
+
+        PageData<EntityData> data = new PageData<>(List.of(knownEntityData, newEntityData), 1, 2, false);
+        ReflectionTestUtils.setField(subCtx, "data", data);
+
+        subCtx.doUpdate(Map.of(deviceId, knownEntityData, newDeviceId, newEntityData));
+
+        ArgumentCaptor<CmdUpdate> cmdUpdateCaptor = ArgumentCaptor.forClass(CmdUpdate.class);
+        then(webSocketService).should().sendUpdate(eq(sessionId), cmdUpdateCaptor.capture());
+        EntityDataUpdate entityDataUpdate = (EntityDataUpdate) cmdUpdateCaptor.getValue();
+        assertThat(entityDataUpdate.isDelta()).isTrue();
+        assertThat(entityDataUpdate.getData().getTotalElements()).isEqualTo(2);
+        assertThat(entityDataUpdate.getData().getData()).containsExactly(
+                new EntityData(deviceId, Map.of(EntityKeyType.ENTITY_FIELD, Map.of("name", new TsValue(0, "Device A"))), null),
+                newEntityData
+        );
+    }
+
 }
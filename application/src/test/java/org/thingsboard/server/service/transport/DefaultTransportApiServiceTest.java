@@ -24,14 +24,21 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.server.cache.ota.OtaPackageDataCache;
 import org.thingsboard.server.cluster.TbClusterService;
+import org.thingsboard.server.common.data.DataConstants;
 import org.thingsboard.server.common.data.Device;
 import org.thingsboard.server.common.data.DeviceProfile;
 import org.thingsboard.server.common.data.DeviceProfileProvisionType;
+import org.thingsboard.server.common.data.device.data.DefaultDeviceConfiguration;
+import org.thingsboard.server.common.data.device.data.DefaultDeviceTransportConfiguration;
+import org.thingsboard.server.common.data.device.data.DeviceData;
 import org.thingsboard.server.common.data.device.profile.DeviceProfileData;
 import org.thingsboard.server.common.data.device.profile.X509CertificateChainProvisionConfiguration;
 import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.DeviceProfileId;
+import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.security.DeviceCredentials;
 import org.thingsboard.server.common.data.security.DeviceCredentialsType;
 import org.thingsboard.server.common.msg.EncryptionUtil;
@@ -47,6 +54,7 @@ import org.thingsboard.server.dao.relation.RelationService;
 import org.thingsboard.server.dao.resource.ResourceService;
 import org.thingsboard.server.dao.tenant.TbTenantProfileCache;
 import org.thingsboard.server.gen.transport.TransportProtos;
+import org.thingsboard.server.queue.common.TbProtoQueueMsg;
 import org.thingsboard.server.service.apiusage.TbApiUsageStateService;
 import org.thingsboard.server.service.executors.DbCallbackExecutorService;
 import org.thingsboard.server.service.profile.TbDeviceProfileCache;
@@ -57,12 +65,16 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.willReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -158,6 +170,56 @@ public class DefaultTransportApiServiceTest {
         verify(deviceProvisionService, times(1)).provisionDeviceViaX509Chain(any(), any());
     }
 
+    @Test
+    public void getOrCreateDevicesFromGatewayKeepsRequestOrderAndFailsOnlyBrokenEntries() throws Exception {
+        TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+        Device gateway = createDevice();
+        gateway.setTenantId(tenantId);
+        when(deviceService.findDeviceById(any(), eq(gateway.getId()))).thenReturn(gateway);
+
+        Device deviceA = createGatewayDevice(tenantId, "A", gateway.getId());
+        Device deviceC = createGatewayDevice(tenantId, "C", gateway.getId());
+        when(deviceService.findDeviceByTenantIdAndName(tenantId, "A")).thenReturn(deviceA);
+        when(deviceService.findDeviceByTenantIdAndName(tenantId, "B")).thenThrow(new RuntimeException("Failed to find device"));
+        when(deviceService.findDeviceByTenantIdAndName(tenantId, "C")).thenReturn(deviceC);
+
+        TransportProtos.GetOrCreateDevicesFromGatewayRequestMsg.Builder request = TransportProtos.GetOrCreateDevicesFromGatewayRequestMsg.newBuilder();
+        for (String name : List.of("A", "B", "C")) {
+            request.addDevices(TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.newBuilder()
+                    .setGatewayIdMSB(gateway.getId().getId().getMostSignificantBits())
+                    .setGatewayIdLSB(gateway.getId().getId().getLeastSignificantBits())
+                    .setDeviceName(name)
+                    .setDeviceType("default"));
+        }
+
+        TransportProtos.TransportApiResponseMsg response = service.handle(new TbProtoQueueMsg<>(UUID.randomUUID(),
+                TransportProtos.TransportApiRequestMsg.newBuilder().setGetOrCreateDevicesRequestMsg(request).build())).get(30, TimeUnit.SECONDS).getValue();
+
+        List<TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg> devices = response.getGetOrCreateDevicesResponseMsg().getDevicesList();
+        assertThat(devices).hasSize(3);
+        assertThat(devices.get(0).getDeviceInfo().getDeviceName()).isEqualTo("A");
+        assertThat(devices.get(0).getDeviceInfo().getDeviceIdMSB()).isEqualTo(deviceA.getId().getId().getMostSignificantBits());
+        assertThat(devices.get(1).hasDeviceInfo()).isFalse();
+        assertThat(devices.get(1).getError()).isEqualTo(TransportProtos.TransportApiRequestErrorCode.UNKNOWN_TRANSPORT_API_ERROR);
+        assertThat(devices.get(2).getDeviceInfo().getDeviceName()).isEqualTo("C");
+        assertThat(devices.get(2).getDeviceInfo().getDeviceIdMSB()).isEqualTo(deviceC.getId().getId().getMostSignificantBits());
+        verify(deviceService, never()).saveDevice(any());
+    }
+
+    private Device createGatewayDevice(TenantId tenantId, String name, DeviceId gatewayId) {
+        Device device = createDevice();
+        device.setTenantId(tenantId);
+        device.setName(name);
+        device.setType("default");
+        device.setDeviceProfileId(new DeviceProfileId(UUID.randomUUID()));
+        device.setAdditionalInfo(JacksonUtil.newObjectNode().put(DataConstants.LAST_CONNECTED_GATEWAY, gatewayId.toString()));
+        DeviceData deviceData = new DeviceData();
+        deviceData.setConfiguration(new DefaultDeviceConfiguration());
+        deviceData.setTransportConfiguration(new DefaultDeviceTransportConfiguration());
+        device.setDeviceData(deviceData);
+        return device;
+    }
+
     private DeviceProfile createDeviceProfile(String certificateValue) {
         X509CertificateChainProvisionConfiguration provision = new X509CertificateChainProvisionConfiguration();
         provision.setProvisionDeviceSecret(certificateValue);
@@ -0,0 +1,75 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.ws;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.thingsboard.common.util.JacksonUtil;
+import org.thingsboard.server.common.data.page.PageData;
+import org.thingsboard.server.common.data.query.EntityData;
+import org.thingsboard.server.service.ws.telemetry.cmd.v2.EntityDataUpdate;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WsBinaryProtocolTest {
+
+    @Test
+    void testDecodeCommands() {
+        String json = "{\"authCmd\":{\"cmdId\":0,\"token\":\"test-token\"},\"cmds\":[{\"type\":\"ENTITY_DATA_UNSUBSCRIBE\",\"cmdId\":5}]}";
+        byte[] payload = WsBinaryProtocol.encode(JacksonUtil.toJsonNode(json));
+
+        WsCommandsWrapper cmdsWrapper = WsBinaryProtocol.decode(ByteBuffer.wrap(payload), WsCommandsWrapper.class);
+
+        assertThat(cmdsWrapper).isEqualTo(JacksonUtil.fromString(json, WsCommandsWrapper.class));
+    }
+
+    @Test
+    void testDecodeCommandsFromBufferSlice() {
+        String json = "{\"authCmd\":{\"cmdId\":0,\"token\":\"test-token\"}}";
+        byte[] payload = WsBinaryProtocol.encode(JacksonUtil.toJsonNode(json));
+        byte[] frame = new byte[payload.length + 4];
+        System.arraycopy(payload, 0, frame, 2, payload.length);
+
+        WsCommandsWrapper cmdsWrapper = WsBinaryProtocol.decode(ByteBuffer.wrap(frame, 2, payload.length).slice(), WsCommandsWrapper.class);
+
+        assertThat(cmdsWrapper.getAuthCmd().getToken()).isEqualTo("test-token");
+    }
+
+    @Test
+    void testEncodeEntityDataUpdate() {
+        PageData<EntityData> data = new PageData<>(Collections.emptyList(), 1, 0, false);
+        EntityDataUpdate update = new EntityDataUpdate(1, data, null, 100, true);
+
+        JsonNode decoded = WsBinaryProtocol.decode(ByteBuffer.wrap(WsBinaryProtocol.encode(update)), JsonNode.class);
+
+        assertThat(decoded.get("cmdId").asInt()).isEqualTo(1);
+        assertThat(decoded.get("allowedEntities").asLong()).isEqualTo(100);
+        assertThat(decoded.get("delta").asBoolean()).isTrue();
+        assertThat(decoded.get("data").get("totalPages").asInt()).isEqualTo(1);
+        assertThat(JacksonUtil.valueToTree(new EntityDataUpdate(1, data, null, 100)).has("delta")).isFalse();
+    }
+
+    @Test
+    void testDecodeInvalidPayload() {
+        assertThatThrownBy(() -> WsBinaryProtocol.decode(ByteBuffer.wrap(new byte[]{(byte) 0xff, 0x01}), WsCommandsWrapper.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
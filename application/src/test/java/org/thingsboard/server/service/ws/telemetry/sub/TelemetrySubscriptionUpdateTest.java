@@ -0,0 +1,69 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.ws.telemetry.sub;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.common.util.JacksonUtil;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.DoubleDataEntry;
+import org.thingsboard.server.common.data.kv.StringDataEntry;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.service.subscription.SubscriptionErrorCode;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TelemetrySubscriptionUpdateTest {
+
+    private final List<TsKvEntry> data = List.of(
+            new BasicTsKvEntry(1000L, new DoubleDataEntry("temperature", 21.5)),
+            new BasicTsKvEntry(2000L, new DoubleDataEntry("temperature", 22.0)),
+            new BasicTsKvEntry(1500L, new StringDataEntry("status", "ON \"quoted\""))
+    );
+
+    @Test
+    public void testSharedEncodingMatchesObjectMapper() {
+        TelemetrySubscriptionUpdate update = new TelemetrySubscriptionUpdate(0, data);
+
+        for (int cmdId = 1; cmdId <= 3; cmdId++) {
+            TelemetrySubscriptionUpdate cmdUpdate = update.withSubscriptionId(cmdId);
+            assertThat(cmdUpdate.toJson()).isEqualTo(JacksonUtil.toString(cmdUpdate));
+        }
+    }
+
+    @Test
+    public void testErrorUpdateEncoding() {
+        TelemetrySubscriptionUpdate update = new TelemetrySubscriptionUpdate(5, SubscriptionErrorCode.UNAUTHORIZED);
+
+        assertThat(update.toJson()).isEqualTo(JacksonUtil.toString(update));
+    }
+
+    @Test
+    public void testMerge() {
+        TelemetrySubscriptionUpdate first = new TelemetrySubscriptionUpdate(1, data.subList(0, 1));
+        TelemetrySubscriptionUpdate second = new TelemetrySubscriptionUpdate(1, data.subList(1, 3));
+
+        TelemetrySubscriptionUpdate merged = first.merge(second);
+
+        assertThat(merged.getSubscriptionId()).isEqualTo(1);
+        assertThat(merged.getData().get("temperature")).hasSize(2);
+        assertThat(merged.getData().get("status")).hasSize(1);
+        assertThat(merged.getLatestValues()).containsEntry("temperature", 2000L).containsEntry("status", 1500L);
+        assertThat(first.getData().get("temperature")).hasSize(1);
+    }
+
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.thingsboard.common.util.ThingsBoardThreadFactory;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.kv.Aggregation;
+import org.thingsboard.server.common.data.kv.BaseReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.DoubleDataEntry;
+import org.thingsboard.server.common.data.kv.ReadTsKvQueryResult;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.dao.timeseries.CassandraBaseTimeseriesDao;
+import org.thingsboard.server.dao.timeseries.TsKvQueryCursor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sequential and parallel reads of the raw timeseries spread over many partitions.
+ * Cassandra is replaced by a stand-in that responds to each partition query after a fixed latency,
+ * so the results show the effect of the read strategy rather than of the storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CassandraPartitionsReadBenchmark {
+
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+
+    @Param({"false", "true"})
+    private boolean parallel;
+    @Param({"4"})
+    private int window;
+    @Param({"100", "100000"})
+    private int limit;
+    @Param({"2"})
+    private long latencyMs;
+    @Param({"1000"})
+    private int entriesPerPartition;
+
+    private ScheduledExecutorService scheduler;
+    private StandInTimeseriesDao dao;
+    private TenantId tenantId;
+    private DeviceId deviceId;
+    private long endTs;
+
+    @Setup
+    public void setup() {
+        scheduler = Executors.newScheduledThreadPool(4, ThingsBoardThreadFactory.forName("cassandra-stand-in"));
+        dao = new StandInTimeseriesDao(scheduler, latencyMs, entriesPerPartition);
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.setActiveProfiles("install");
+        BenchmarkUtils.setField(dao, "environment", environment);
+        BenchmarkUtils.setField(dao, "partitioning", "DAYS");
+        BenchmarkUtils.setField(dao, "useTsKeyValuePartitioningOnRead", false);
+        BenchmarkUtils.setField(dao, "useTsKeyValuePartitioningOnReadMaxEstimatedPartitionCount", 40);
+        BenchmarkUtils.setField(dao, "threadPoolSize", 8);
+        BenchmarkUtils.setField(dao, "parallelPartitionsRead", parallel);
+        BenchmarkUtils.setField(dao, "parallelPartitionsReadWindow", window);
+        dao.init();
+
+        tenantId = TenantId.fromUUID(UUID.randomUUID());
+        deviceId = new DeviceId(UUID.randomUUID());
+        endTs = System.currentTimeMillis();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dao.stop();
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public ReadTsKvQueryResult findAllDesc30Days() throws Exception {
+        var query = new BaseReadTsKvQuery("temperature", endTs - 30 * DAY_MS, endTs, 0, limit, Aggregation.NONE, "DESC");
+        return dao.findAllAsync(tenantId, deviceId, query).get();
+    }
+
+    private static class StandInTimeseriesDao extends CassandraBaseTimeseriesDao {
+
+        private final ScheduledExecutorService scheduler;
+        private final long latencyMs;
+        private final int entriesPerPartition;
+
+        StandInTimeseriesDao(ScheduledExecutorService scheduler, long latencyMs, int entriesPerPartition) {
+            this.scheduler = scheduler;
+            this.latencyMs = latencyMs;
+            this.entriesPerPartition = entriesPerPartition;
+        }
+
+        @Override
+        protected ListenableFuture<List<TsKvEntry>> fetchPartitionAsync(TenantId tenantId, TsKvQueryCursor cursor, long partition, int limit) {
+            SettableFuture<List<TsKvEntry>> future = SettableFuture.create();
+            scheduler.schedule(() -> {
+                int count = Math.min(limit, entriesPerPartition);
+                long step = DAY_MS / entriesPerPartition;
+                List<TsKvEntry> entries = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    long ts = partition + DAY_MS - (i + 1) * step;
+                    entries.add(new BasicTsKvEntry(ts, new DoubleDataEntry(cursor.getKey(), (double) i)));
+                }
+                future.set(entries);
+            }, latencyMs, TimeUnit.MILLISECONDS);
+            return future;
+        }
+
+    }
+
+}
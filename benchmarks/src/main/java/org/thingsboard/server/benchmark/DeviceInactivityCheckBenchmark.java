@@ -0,0 +1,125 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thingsboard.common.util.TimingWheel;
+import org.thingsboard.server.common.data.id.DeviceId;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a single periodic device inactivity check that scans all the device states
+ * with the one that advances a timing wheel of the inactivity deadlines.
+ * Each device reports activity with its own period and phase, so the last activity time is derived from the clock
+ * and both modes observe the same activity without updating the states between the checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class DeviceInactivityCheckBenchmark {
+
+    @Param({"5000000"})
+    private int devices;
+    @Param({"60"})
+    private int checkIntervalSec;
+    @Param({"600"})
+    private int inactivityTimeoutSec;
+    // share of the devices that stop reporting activity
+    @Param({"0.01"})
+    private double silentShare;
+
+    private Map<DeviceId, DeviceActivity> deviceStates;
+    private TimingWheel<DeviceActivity> timingWheel;
+    private long checkIntervalMs;
+    private long scanTs;
+    private long wheelTs;
+
+    @Setup
+    public void setup() {
+        checkIntervalMs = TimeUnit.SECONDS.toMillis(checkIntervalSec);
+        long inactivityTimeoutMs = TimeUnit.SECONDS.toMillis(inactivityTimeoutSec);
+        long startTs = System.currentTimeMillis();
+        Random random = new Random(42);
+        deviceStates = new ConcurrentHashMap<>(devices * 2);
+        timingWheel = new TimingWheel<>(checkIntervalMs, startTs);
+        for (int i = 0; i < devices; i++) {
+            boolean silent = random.nextDouble() < silentShare;
+            long reportPeriodMs = silent ? Long.MAX_VALUE : 1 + random.nextInt((int) inactivityTimeoutMs / 2);
+            DeviceActivity activity = new DeviceActivity(startTs - random.nextInt((int) inactivityTimeoutMs), reportPeriodMs, inactivityTimeoutMs);
+            deviceStates.put(new DeviceId(UUID.randomUUID()), activity);
+            timingWheel.schedule(activity, activity.deadline(startTs));
+        }
+        scanTs = startTs;
+        wheelTs = startTs;
+    }
+
+    @Benchmark
+    public int scanAllStates() {
+        long ts = scanTs += checkIntervalMs;
+        int inactive = 0;
+        for (DeviceActivity activity : deviceStates.values()) {
+            if (ts >= activity.deadline(ts)) {
+                inactive++;
+            }
+        }
+        return inactive;
+    }
+
+    @Benchmark
+    public int advanceTimingWheel() {
+        long ts = wheelTs += checkIntervalMs;
+        int inactive = 0;
+        for (DeviceActivity activity : timingWheel.advance(ts)) {
+            long deadline = activity.deadline(ts);
+            if (ts >= deadline) {
+                inactive++;
+                // the silent device is checked again on its next activity
+            } else {
+                timingWheel.schedule(activity, deadline);
+            }
+        }
+        return inactive;
+    }
+
+    private record DeviceActivity(long firstActivityTs, long reportPeriodMs, long inactivityTimeoutMs) {
+
+        long deadline(long ts) {
+            long lastActivityTs = reportPeriodMs == Long.MAX_VALUE || ts < firstActivityTs ? firstActivityTs :
+                    ts - (ts - firstActivityTs) % reportPeriodMs;
+            return lastActivityTs + inactivityTimeoutMs;
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+import org.thingsboard.server.common.data.edqs.DataPoint;
+import org.thingsboard.server.edqs.data.DataPointMap;
+import org.thingsboard.server.edqs.data.dp.DoubleDataPoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the attribute and latest value maps of the EDQS devices: the compact {@link DataPointMap}
+ * and the ConcurrentHashMap with boxed key ids it replaced.
+ * 'retainedSize' builds the server, client and shared attribute maps and the latest value map of all the devices once
+ * and reports the size of the maps retained per device, excluding the data points themselves, as the 'bytesPerDevice' counter
+ * (measured with JOL). 'getLatest' measures the lookups of all the latest values of all the devices.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.attach.allowAttachSelf")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class EdqsDataMapFootprintBenchmark {
+
+    // key ids are assigned by the key dictionary of the whole system, so they are usually above the Integer cache range
+    private static final int FIRST_KEY_ID = 1000;
+
+    @Param({"10000"})
+    private int devices;
+    @Param({"1", "10", "50"})
+    private int keysPerDevice;
+    @Param({"concurrentHashMap", "dataPointMap"})
+    private String layout;
+
+    private Object[] latestMaps;
+
+    @Setup
+    public void setup() {
+        latestMaps = new Object[devices];
+        for (int i = 0; i < devices; i++) {
+            latestMaps[i] = createMaps(i)[3];
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public Object[] retainedSize(Footprint footprint) {
+        Object[] maps = new Object[devices * 4];
+        DataPoint[] dataPoints = new DataPoint[devices * keysPerDevice];
+        for (int i = 0; i < devices; i++) {
+            Object[] deviceMaps = createMaps(i);
+            System.arraycopy(deviceMaps, 0, maps, i * 4, 4);
+            for (int k = 0; k < keysPerDevice; k++) {
+                dataPoints[i * keysPerDevice + k] = getLatest(deviceMaps[3], FIRST_KEY_ID + k);
+            }
+        }
+        GraphLayout mapsLayout = GraphLayout.parseInstance(maps).subtract(GraphLayout.parseInstance((Object[]) dataPoints));
+        footprint.bytesPerDevice = mapsLayout.totalSize() / devices;
+        return maps;
+    }
+
+    @Benchmark
+    public double getLatest() {
+        double sum = 0;
+        for (Object latestMap : latestMaps) {
+            for (int k = 0; k < keysPerDevice; k++) {
+                sum += getLatest(latestMap, FIRST_KEY_ID + k).getDouble();
+            }
+        }
+        return sum;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long bytesPerDevice;
+
+    }
+
+    /*
+     * Server, client and shared attribute maps (empty) and the latest value map of a device.
+     */
+    private Object[] createMaps(int device) {
+        Object[] maps = new Object[4];
+        for (int m = 0; m < 4; m++) {
+            maps[m] = "dataPointMap".equals(layout) ? new DataPointMap() : new ConcurrentHashMap<Integer, DataPoint>();
+        }
+        for (int k = 0; k < keysPerDevice; k++) {
+            DataPoint dataPoint = new DoubleDataPoint(42, device + k);
+            if (maps[3] instanceof DataPointMap dataPointMap) {
+                dataPointMap.put(FIRST_KEY_ID + k, dataPoint);
+            } else {
+                asMap(maps[3]).put(FIRST_KEY_ID + k, dataPoint);
+            }
+        }
+        return maps;
+    }
+
+    private static DataPoint getLatest(Object latestMap, int keyId) {
+        return latestMap instanceof DataPointMap dataPointMap ? dataPointMap.get(keyId) : asMap(latestMap).get(keyId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, DataPoint> asMap(Object map) {
+        return (Map<Integer, DataPoint>) map;
+    }
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thingsboard.server.common.data.Device;
+import org.thingsboard.server.common.data.DeviceProfile;
+import org.thingsboard.server.common.data.DeviceProfileType;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.edqs.EdqsObject;
+import org.thingsboard.server.common.data.edqs.LatestTsKv;
+import org.thingsboard.server.common.data.edqs.query.QueryResult;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.DeviceProfileId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.DoubleDataEntry;
+import org.thingsboard.server.common.data.kv.StringDataEntry;
+import org.thingsboard.server.common.data.page.PageData;
+import org.thingsboard.server.common.data.query.EntityDataPageLink;
+import org.thingsboard.server.common.data.query.EntityDataQuery;
+import org.thingsboard.server.common.data.query.EntityDataSortOrder;
+import org.thingsboard.server.common.data.query.EntityKey;
+import org.thingsboard.server.common.data.query.EntityKeyType;
+import org.thingsboard.server.common.data.query.EntityKeyValueType;
+import org.thingsboard.server.common.data.query.EntityTypeFilter;
+import org.thingsboard.server.common.data.query.FilterPredicateValue;
+import org.thingsboard.server.common.data.query.KeyFilter;
+import org.thingsboard.server.common.data.query.NumericFilterPredicate;
+import org.thingsboard.server.common.data.query.StringFilterPredicate;
+import org.thingsboard.server.common.stats.DummyEdqsStatsService;
+import org.thingsboard.server.edqs.repo.TenantRepo;
+import org.thingsboard.server.edqs.util.DefaultEdqsMapper;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures entity data queries processed by the in-memory EDQS repository for a tenant with many devices,
+ * with and without the per-key indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class EdqsQueryBenchmark {
+
+    @Param({"10000", "100000"})
+    private int devices;
+    @Param({"false", "true"})
+    private boolean indexesEnabled;
+
+    private TenantRepo repo;
+    private DefaultEdqsMapper mapper;
+    private EntityDataQuery createdTimeQuery;
+    private EntityDataQuery numericQuery;
+    private EntityDataQuery stringQuery;
+
+    @Setup
+    public void setup() {
+        DummyEdqsStatsService statsService = new DummyEdqsStatsService();
+        mapper = new DefaultEdqsMapper(statsService);
+        BenchmarkUtils.setField(mapper, "stringCompressionLengthThreshold", 512);
+        repo = new TenantRepo(TenantId.fromUUID(UUID.randomUUID()), statsService, indexesEnabled, 0);
+
+        DeviceProfile deviceProfile = new DeviceProfile(new DeviceProfileId(UUID.randomUUID()));
+        deviceProfile.setName("default");
+        deviceProfile.setDefault(true);
+        deviceProfile.setType(DeviceProfileType.DEFAULT);
+        addOrUpdate(DefaultEdqsMapper.toEntity(EntityType.DEVICE_PROFILE, deviceProfile));
+
+        for (int i = 0; i < devices; i++) {
+            DeviceId deviceId = new DeviceId(UUID.randomUUID());
+            Device device = new Device(deviceId);
+            device.setDeviceProfileId(deviceProfile.getId());
+            device.setName("Device " + i);
+            device.setCreatedTime(System.currentTimeMillis() - i);
+            addOrUpdate(DefaultEdqsMapper.toEntity(EntityType.DEVICE, device));
+            addOrUpdate(new LatestTsKv(deviceId, new BasicTsKvEntry(42, new DoubleDataEntry("temperature", (double) (i % 1000))), 0L));
+            addOrUpdate(new LatestTsKv(deviceId, new BasicTsKvEntry(42, new StringDataEntry("state", i % 10 == 0 ? "inactive" : "active")), 0L));
+        }
+
+        createdTimeQuery = getQuery(new EntityKey(EntityKeyType.ENTITY_FIELD, "createdTime"), List.of());
+        numericQuery = getQuery(new EntityKey(EntityKeyType.TIME_SERIES, "temperature"), numericFilter("temperature", 990.0));
+        stringQuery = getQuery(new EntityKey(EntityKeyType.ENTITY_FIELD, "createdTime"), stringFilter("state", "inactive"));
+        // warm up lazily built indexes
+        findEntityData(numericQuery);
+        findEntityData(stringQuery);
+    }
+
+    @Benchmark
+    public PageData<QueryResult> sortByCreatedTime() {
+        return findEntityData(createdTimeQuery);
+    }
+
+    @Benchmark
+    public PageData<QueryResult> numericFilter() {
+        return findEntityData(numericQuery);
+    }
+
+    @Benchmark
+    public PageData<QueryResult> stringFilter() {
+        return findEntityData(stringQuery);
+    }
+
+    private PageData<QueryResult> findEntityData(EntityDataQuery query) {
+        return repo.findEntityDataByQuery(null, query, false);
+    }
+
+    private void addOrUpdate(EdqsObject edqsObject) {
+        byte[] serialized = mapper.serialize(edqsObject);
+        repo.addOrUpdate(mapper.deserialize(edqsObject.type(), serialized, false));
+    }
+
+    private static List<KeyFilter> numericFilter(String key, double value) {
+        KeyFilter keyFilter = new KeyFilter();
+        keyFilter.setKey(new EntityKey(EntityKeyType.TIME_SERIES, key));
+        keyFilter.setValueType(EntityKeyValueType.NUMERIC);
+        NumericFilterPredicate predicate = new NumericFilterPredicate();
+        predicate.setOperation(NumericFilterPredicate.NumericOperation.GREATER_OR_EQUAL);
+        predicate.setValue(new FilterPredicateValue<>(value));
+        keyFilter.setPredicate(predicate);
+        return List.of(keyFilter);
+    }
+
+    private static List<KeyFilter> stringFilter(String key, String value) {
+        KeyFilter keyFilter = new KeyFilter();
+        keyFilter.setKey(new EntityKey(EntityKeyType.TIME_SERIES, key));
+        keyFilter.setValueType(EntityKeyValueType.STRING);
+        StringFilterPredicate predicate = new StringFilterPredicate();
+        predicate.setOperation(StringFilterPredicate.StringOperation.EQUAL);
+        predicate.setValue(FilterPredicateValue.fromString(value));
+        predicate.setIgnoreCase(true);
+        keyFilter.setPredicate(predicate);
+        return List.of(keyFilter);
+    }
+
+    private static EntityDataQuery getQuery(EntityKey sortKey, List<KeyFilter> keyFilters) {
+        EntityTypeFilter filter = new EntityTypeFilter();
+        filter.setEntityType(EntityType.DEVICE);
+        EntityDataPageLink pageLink = new EntityDataPageLink(20, 0, null, new EntityDataSortOrder(sortKey, EntityDataSortOrder.Direction.DESC), false);
+        return new EntityDataQuery(filter, pageLink, List.of(new EntityKey(EntityKeyType.ENTITY_FIELD, "name")), List.of(), keyFilters);
+    }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.thingsboard.server.common.adaptor.JsonConverter;
+import org.thingsboard.server.common.adaptor.StreamingJsonConverter;
+import org.thingsboard.server.common.data.util.TbPair;
+import org.thingsboard.server.common.msg.gateway.metrics.GatewayMetadata;
+import org.thingsboard.server.gen.transport.TransportProtos.PostTelemetryMsg;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversion of a gateway telemetry payload that carries the telemetry of many devices:
+ * the per-device Gson trees of the legacy gateway session handler against the single pass streaming conversion
+ * used by the batched gateway mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class GatewayTelemetryBenchmark {
+
+    @Param({"100", "5000"})
+    private int devices;
+    @Param({"10"})
+    private int keys;
+
+    private byte[] payloadBytes;
+    private long ts;
+
+    @Setup
+    public void setup() {
+        ts = System.currentTimeMillis();
+        StringBuilder sb = new StringBuilder("{");
+        for (int d = 0; d < devices; d++) {
+            if (d > 0) {
+                sb.append(',');
+            }
+            sb.append("\"Device ").append(d).append("\":[{\"ts\":").append(ts).append(",\"values\":{");
+            for (int i = 0; i < keys; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append("\"key").append(i).append("\":");
+                switch (i % 4) {
+                    case 0 -> sb.append(i * 42L);
+                    case 1 -> sb.append(i * 0.42);
+                    case 2 -> sb.append(i % 3 == 0);
+                    default -> sb.append("\"value").append(i).append('"');
+                }
+            }
+            sb.append("},\"metadata\":{\"connector\":\"MQTT\",\"receivedTs\":").append(ts - 10)
+                    .append(",\"publishedTs\":").append(ts - 5).append("}}]");
+        }
+        sb.append('}');
+        payloadBytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void convertPerDevice(Blackhole bh) {
+        JsonObject json = JsonParser.parseString(new String(payloadBytes, StandardCharsets.UTF_8)).getAsJsonObject();
+        for (Map.Entry<String, JsonElement> deviceEntry : json.entrySet()) {
+            bh.consume(JsonConverter.convertToGatewayTelemetry(deviceEntry.getValue().getAsJsonArray(), ts));
+        }
+    }
+
+    @Benchmark
+    public Map<String, TbPair<PostTelemetryMsg, List<GatewayMetadata>>> streamAllDevices() {
+        return StreamingJsonConverter.convertToGatewayTelemetry(payloadBytes, 0, payloadBytes.length, ts);
+    }
+
+}
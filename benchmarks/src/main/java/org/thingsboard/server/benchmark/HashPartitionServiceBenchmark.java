@@ -0,0 +1,183 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thingsboard.server.common.data.DataConstants;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.QueueId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.queue.Queue;
+import org.thingsboard.server.common.msg.queue.ServiceType;
+import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
+import org.thingsboard.server.gen.transport.TransportProtos.ServiceInfo;
+import org.thingsboard.server.queue.discovery.HashPartitionService;
+import org.thingsboard.server.queue.discovery.QueueRoutingInfo;
+import org.thingsboard.server.queue.discovery.QueueRoutingInfoService;
+import org.thingsboard.server.queue.discovery.TbServiceInfoProvider;
+import org.thingsboard.server.queue.discovery.TopicService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolution of the topic partition responsible for an entity, done for every message pushed to the queues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class HashPartitionServiceBenchmark {
+
+    private static final int ENTITIES = 1024;
+
+    @Param({"murmur3_128", "sha256"})
+    private String hashFunctionName;
+
+    private HashPartitionService partitionService;
+    private TenantId tenantId;
+    private DeviceId[] deviceIds;
+
+    @Setup
+    public void setup() {
+        TopicService topicService = new TopicService();
+        BenchmarkUtils.setField(topicService, "prefix", "");
+
+        Queue mainQueue = new Queue();
+        mainQueue.setId(new QueueId(UUID.randomUUID()));
+        mainQueue.setTenantId(TenantId.SYS_TENANT_ID);
+        mainQueue.setName(DataConstants.MAIN_QUEUE_NAME);
+        mainQueue.setTopic("tb_rule_engine.main");
+        mainQueue.setPartitions(10);
+
+        QueueRoutingInfoService queueRoutingInfoService = () -> List.of(new QueueRoutingInfo(mainQueue));
+
+        partitionService = new HashPartitionService(event -> {}, new NoOpServiceInfoProvider(), Optional.empty(),
+                Optional.of(queueRoutingInfoService), topicService);
+        BenchmarkUtils.setField(partitionService, "coreTopic", "tb_core");
+        BenchmarkUtils.setField(partitionService, "corePartitions", 10);
+        BenchmarkUtils.setField(partitionService, "cfEventTopic", "tb_cf_event");
+        BenchmarkUtils.setField(partitionService, "cfStateTopic", "tb_cf_state");
+        BenchmarkUtils.setField(partitionService, "vcTopic", "tb_version_control");
+        BenchmarkUtils.setField(partitionService, "vcPartitions", 10);
+        BenchmarkUtils.setField(partitionService, "edgeTopic", "tb_edge");
+        BenchmarkUtils.setField(partitionService, "edgePartitions", 10);
+        BenchmarkUtils.setField(partitionService, "edqsPartitions", 12);
+        BenchmarkUtils.setField(partitionService, "defaultTasksPartitions", 12);
+        BenchmarkUtils.setField(partitionService, "hashFunctionName", hashFunctionName);
+        partitionService.init();
+        partitionService.partitionsInit();
+
+        List<String> serviceTypes = List.of(ServiceType.TB_CORE.name(), ServiceType.TB_RULE_ENGINE.name());
+        ServiceInfo currentServer = ServiceInfo.newBuilder()
+                .setServiceId("tb-node-0")
+                .addAllServiceTypes(serviceTypes)
+                .build();
+        List<ServiceInfo> otherServers = new ArrayList<>();
+        for (int i = 1; i < 3; i++) {
+            otherServers.add(ServiceInfo.newBuilder()
+                    .setServiceId("tb-node-" + i)
+                    .addAllServiceTypes(serviceTypes)
+                    .build());
+        }
+        partitionService.recalculatePartitions(currentServer, otherServers);
+
+        tenantId = TenantId.fromUUID(UUID.randomUUID());
+        deviceIds = new DeviceId[ENTITIES];
+        for (int i = 0; i < ENTITIES; i++) {
+            deviceIds[i] = new DeviceId(UUID.randomUUID());
+        }
+    }
+
+    @Benchmark
+    public TopicPartitionInfo resolveCore() {
+        return partitionService.resolve(ServiceType.TB_CORE, tenantId, nextDeviceId());
+    }
+
+    @Benchmark
+    public TopicPartitionInfo resolveRuleEngine() {
+        return partitionService.resolve(ServiceType.TB_RULE_ENGINE, DataConstants.MAIN_QUEUE_NAME, tenantId, nextDeviceId());
+    }
+
+    private DeviceId nextDeviceId() {
+        return deviceIds[ThreadLocalRandom.current().nextInt(ENTITIES)];
+    }
+
+    /*
+     * The partitions of the benchmark are recalculated for the explicitly passed services, the current service info is not used.
+     */
+    private static class NoOpServiceInfoProvider implements TbServiceInfoProvider {
+
+        @Override
+        public String getServiceId() {
+            return null;
+        }
+
+        @Override
+        public String getServiceType() {
+            return null;
+        }
+
+        @Override
+        public ServiceInfo getServiceInfo() {
+            return null;
+        }
+
+        @Override
+        public boolean isMonolith() {
+            return false;
+        }
+
+        @Override
+        public boolean isService(ServiceType serviceType) {
+            return false;
+        }
+
+        @Override
+        public ServiceInfo generateNewServiceInfoWithCurrentSystemInfo() {
+            return null;
+        }
+
+        @Override
+        public Set<UUID> getAssignedTenantProfiles() {
+            return Set.of();
+        }
+
+        @Override
+        public boolean setReady(boolean ready) {
+            return false;
+        }
+
+    }
+
+}
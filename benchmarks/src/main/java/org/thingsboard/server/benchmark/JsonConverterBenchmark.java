@@ -0,0 +1,122 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thingsboard.server.common.adaptor.JsonConverter;
+import org.thingsboard.server.common.adaptor.StreamingJsonConverter;
+import org.thingsboard.server.common.data.kv.KvEntry;
+import org.thingsboard.server.gen.transport.TransportProtos.PostTelemetryMsg;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of device telemetry payloads the way transports do it: the raw JSON string
+ * is parsed into a tree and converted either into KV entries or into the telemetry proto message.
+ * The payload bytes benchmarks compare decoding a transport buffer into a string and a tree
+ * with the single pass {@link StreamingJsonConverter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class JsonConverterBenchmark {
+
+    @Param({"10", "100"})
+    private int keys;
+    @Param({"1", "10"})
+    private int tsEntries;
+
+    private String payload;
+    private byte[] payloadBytes;
+    private long ts;
+
+    @Setup
+    public void setup() {
+        ts = System.currentTimeMillis();
+        StringBuilder sb = new StringBuilder();
+        if (tsEntries > 1) {
+            sb.append('[');
+        }
+        for (int i = 0; i < tsEntries; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"ts\":").append(ts - i * 1000L).append(",\"values\":");
+            appendValues(sb);
+            sb.append('}');
+        }
+        if (tsEntries > 1) {
+            sb.append(']');
+        }
+        payload = sb.toString();
+        payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void appendValues(StringBuilder sb) {
+        sb.append('{');
+        for (int i = 0; i < keys; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("\"key").append(i).append("\":");
+            switch (i % 4) {
+                case 0 -> sb.append(i * 42L);
+                case 1 -> sb.append(i * 0.42);
+                case 2 -> sb.append(i % 3 == 0);
+                default -> sb.append("\"value").append(i).append('"');
+            }
+        }
+        sb.append('}');
+    }
+
+    @Benchmark
+    public Map<Long, List<KvEntry>> convertToTelemetry() {
+        return JsonConverter.convertToTelemetry(JsonParser.parseString(payload), ts);
+    }
+
+    @Benchmark
+    public PostTelemetryMsg convertToTelemetryProto() {
+        return JsonConverter.convertToTelemetryProto(JsonParser.parseString(payload), ts);
+    }
+
+    @Benchmark
+    public PostTelemetryMsg convertBytesToTelemetryProto() {
+        return JsonConverter.convertToTelemetryProto(JsonParser.parseString(new String(payloadBytes, StandardCharsets.UTF_8)), ts);
+    }
+
+    @Benchmark
+    public PostTelemetryMsg streamBytesToTelemetryProto() {
+        return StreamingJsonConverter.convertToTelemetryProto(payloadBytes, 0, payloadBytes.length);
+    }
+
+}
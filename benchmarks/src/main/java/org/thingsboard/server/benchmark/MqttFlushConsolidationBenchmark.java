@@ -0,0 +1,143 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.mqtt.MqttEncoder;
+import io.netty.handler.codec.mqtt.MqttMessageBuilders;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sending QoS 1 PUBACKs through the MQTT transport pipeline with and without flush consolidation.
+ * Every flush that reaches the head of the pipeline is a write syscall on a real socket,
+ * the 'flushes' counter reports how many of them are issued.
+ * 'ackOnRead' replies to a burst of messages read at once, 'ackFromCallbacks' replies outside of a read,
+ * the way acks of processed messages arrive from the transport callbacks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MqttFlushConsolidationBenchmark {
+
+    @Param({"false", "true"})
+    private boolean flushConsolidation;
+    @Param({"1", "16", "128"})
+    private int burst;
+
+    private EmbeddedChannel channel;
+    private FlushCounter flushCounter;
+
+    @Setup
+    public void setup() {
+        flushCounter = new FlushCounter();
+        channel = new EmbeddedChannel();
+        channel.pipeline().addLast(flushCounter);
+        if (flushConsolidation) {
+            channel.pipeline().addLast(new FlushConsolidationHandler(256, true));
+        }
+        channel.pipeline().addLast(MqttEncoder.INSTANCE, new PubAckHandler());
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public void ackOnRead(Counters counters) {
+        for (int i = 1; i <= burst; i++) {
+            channel.pipeline().fireChannelRead(i);
+        }
+        channel.pipeline().fireChannelReadComplete();
+        releaseOutbound(counters);
+    }
+
+    @Benchmark
+    public void ackFromCallbacks(Counters counters) {
+        for (int i = 1; i <= burst; i++) {
+            channel.writeAndFlush(MqttMessageBuilders.pubAck().packetId(i).build());
+        }
+        channel.runPendingTasks();
+        releaseOutbound(counters);
+    }
+
+    private void releaseOutbound(Counters counters) {
+        Object msg;
+        while ((msg = channel.readOutbound()) != null) {
+            ReferenceCountUtil.release(msg);
+        }
+        counters.flushes += flushCounter.flushes;
+        flushCounter.flushes = 0;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long flushes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            flushes = 0;
+        }
+
+    }
+
+    static class FlushCounter extends ChannelOutboundHandlerAdapter {
+
+        private long flushes;
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            flushes++;
+            ctx.flush();
+        }
+
+    }
+
+    static class PubAckHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ctx.writeAndFlush(MqttMessageBuilders.pubAck().packetId((Integer) msg).build());
+        }
+
+    }
+
+}
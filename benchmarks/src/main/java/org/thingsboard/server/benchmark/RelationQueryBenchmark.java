@@ -0,0 +1,164 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thingsboard.server.cache.CacheSpecs;
+import org.thingsboard.server.cache.CacheSpecsMap;
+import org.thingsboard.server.cache.TbCaffeineCacheConfiguration;
+import org.thingsboard.server.common.data.CacheConstants;
+import org.thingsboard.server.common.data.id.AssetId;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.relation.EntityRelation;
+import org.thingsboard.server.common.data.relation.EntityRelationsQuery;
+import org.thingsboard.server.common.data.relation.EntitySearchDirection;
+import org.thingsboard.server.common.data.relation.RelationTypeGroup;
+import org.thingsboard.server.common.data.relation.RelationsSearchParameters;
+import org.thingsboard.server.dao.relation.BaseRelationService;
+import org.thingsboard.server.dao.relation.RelationCaffeineCache;
+import org.thingsboard.server.dao.relation.RelationDao;
+import org.thingsboard.server.dao.relation.RelationGraphCache;
+import org.thingsboard.server.dao.sql.JpaExecutorService;
+import org.thingsboard.server.dao.sql.relation.JpaRelationQueryExecutorService;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hop-by-hop recursive relation query, where each level is read from the relations cache,
+ * with the in-memory relation graph. The hierarchy is a tree with 'fanOut' children per node.
+ * The relation DAO is served from memory, so both modes read the relations from the warm cache only once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RelationQueryBenchmark {
+
+    @Param({"false", "true"})
+    private boolean graphCache;
+    @Param({"100000"})
+    private int nodes;
+    @Param({"10"})
+    private int fanOut;
+
+    private JpaExecutorService executor;
+    private JpaRelationQueryExecutorService relationsExecutor;
+    private BaseRelationService relationService;
+    private TenantId tenantId;
+    private EntityRelationsQuery fullTreeQuery;
+    private EntityRelationsQuery subTreeQuery;
+    private EntityRelationsQuery ancestorsQuery;
+
+    @Setup
+    public void setup() throws Exception {
+        tenantId = TenantId.fromUUID(UUID.randomUUID());
+        EntityId[] ids = new EntityId[nodes];
+        Map<EntityId, List<EntityRelation>> fromRelations = new HashMap<>();
+        Map<EntityId, List<EntityRelation>> toRelations = new HashMap<>();
+        for (int i = 0; i < nodes; i++) {
+            ids[i] = new AssetId(UUID.randomUUID());
+            if (i > 0) {
+                EntityRelation relation = new EntityRelation(ids[(i - 1) / fanOut], ids[i], EntityRelation.CONTAINS_TYPE);
+                fromRelations.computeIfAbsent(relation.getFrom(), id -> new ArrayList<>()).add(relation);
+                toRelations.computeIfAbsent(relation.getTo(), id -> new ArrayList<>()).add(relation);
+            }
+        }
+        // the queries only read the relations of the COMMON type group by the 'from' or 'to' entity
+        RelationDao relationDao = (RelationDao) Proxy.newProxyInstance(RelationDao.class.getClassLoader(), new Class<?>[]{RelationDao.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllByFrom" -> args.length == 3 && args[2] == RelationTypeGroup.COMMON ?
+                            fromRelations.getOrDefault((EntityId) args[1], List.of()) : List.of();
+                    case "findAllByTo" -> args.length == 3 && args[2] == RelationTypeGroup.COMMON ?
+                            toRelations.getOrDefault((EntityId) args[1], List.of()) : List.of();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        CacheSpecs specs = new CacheSpecs();
+        specs.setMaxSize(nodes * 4);
+        specs.setTimeToLiveInMinutes(0);
+        CacheSpecsMap cacheSpecsMap = new CacheSpecsMap();
+        cacheSpecsMap.setSpecs(Map.of(CacheConstants.RELATIONS_CACHE, specs));
+        RelationCaffeineCache cache = new RelationCaffeineCache(new TbCaffeineCacheConfiguration(cacheSpecsMap).cacheManager());
+
+        executor = new JpaExecutorService();
+        BenchmarkUtils.setField(executor, "poolSize", 4);
+        executor.init();
+        relationsExecutor = new JpaRelationQueryExecutorService();
+        BenchmarkUtils.setField(relationsExecutor, "poolSize", 4);
+        relationsExecutor.init();
+
+        relationService = new BaseRelationService(relationDao, null, cache, null, executor, relationsExecutor, null,
+                new RelationGraphCache(graphCache, 0, 10, nodes * 2));
+        BenchmarkUtils.setField(relationService, "relationQueryTimeout", 60);
+        relationService.init();
+
+        fullTreeQuery = query(ids[0], EntitySearchDirection.FROM);
+        subTreeQuery = query(ids[1], EntitySearchDirection.FROM);
+        ancestorsQuery = query(ids[nodes - 1], EntitySearchDirection.TO);
+        // fill the relations cache (and the graph) before the measurement
+        relationService.findByQuery(tenantId, fullTreeQuery).get();
+        relationService.findByQuery(tenantId, ancestorsQuery).get();
+    }
+
+    @TearDown
+    public void tearDown() {
+        relationService.destroy();
+        relationsExecutor.destroy();
+        executor.destroy();
+    }
+
+    @Benchmark
+    public List<EntityRelation> fullTree() throws Exception {
+        return relationService.findByQuery(tenantId, fullTreeQuery).get();
+    }
+
+    @Benchmark
+    public List<EntityRelation> subTree() throws Exception {
+        return relationService.findByQuery(tenantId, subTreeQuery).get();
+    }
+
+    @Benchmark
+    public List<EntityRelation> ancestors() throws Exception {
+        return relationService.findByQuery(tenantId, ancestorsQuery).get();
+    }
+
+    private static EntityRelationsQuery query(EntityId root, EntitySearchDirection direction) {
+        EntityRelationsQuery query = new EntityRelationsQuery();
+        query.setParameters(new RelationsSearchParameters(root, direction, -1, false));
+        return query;
+    }
+
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thingsboard.server.common.data.DataConstants;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.EntityIdFactory;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.msg.TbMsgType;
+import org.thingsboard.server.common.msg.TbMsg;
+import org.thingsboard.server.common.msg.TbMsgMetaData;
+import org.thingsboard.server.common.msg.gen.MsgProtos.TbMsgProto;
+import org.thingsboard.server.common.msg.queue.TbMsgCallback;
+import org.thingsboard.server.common.util.ProtoUtils;
+import org.thingsboard.server.gen.transport.TransportProtos.ToRuleEngineMsg;
+import org.thingsboard.server.queue.common.DefaultTbQueueMsgHeaders;
+import org.thingsboard.server.queue.common.TbProtoQueueMsg;
+import org.thingsboard.server.queue.common.TbRuleEngineProtoQueueMsg;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares eager and lazy decoding of rule engine queue records.
+ * The routing benchmarks resolve only the tenant and the originator, as the sequential submit strategies do,
+ * while the process benchmarks also convert the record into TbMsg. Run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RuleEngineQueueDecodingBenchmark {
+
+    @Param({"100", "4096"})
+    private int dataSize;
+
+    private UUID key;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() {
+        key = UUID.randomUUID();
+        TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+        Map<String, String> metaData = new HashMap<>();
+        metaData.put("deviceName", "Device A");
+        metaData.put("deviceType", "default");
+        metaData.put("ts", Long.toString(System.currentTimeMillis()));
+        StringBuilder data = new StringBuilder("{");
+        for (int i = 0; data.length() < dataSize; i++) {
+            if (i > 0) {
+                data.append(',');
+            }
+            data.append("\"key").append(i).append("\":").append(i * 0.42);
+        }
+        data.append('}');
+        TbMsg msg = TbMsg.newMsg()
+                .queueName(DataConstants.MAIN_QUEUE_NAME)
+                .type(TbMsgType.POST_TELEMETRY_REQUEST)
+                .originator(new DeviceId(UUID.randomUUID()))
+                .metaData(new TbMsgMetaData(metaData))
+                .data(data.toString())
+                .build();
+        serialized = ToRuleEngineMsg.newBuilder()
+                .setTenantIdMSB(tenantId.getId().getMostSignificantBits())
+                .setTenantIdLSB(tenantId.getId().getLeastSignificantBits())
+                .setTbMsgProto(TbMsg.toProto(msg))
+                .build().toByteArray();
+    }
+
+    @Benchmark
+    public EntityId eagerRouting() throws InvalidProtocolBufferException {
+        var msg = new TbProtoQueueMsg<>(key, ToRuleEngineMsg.parseFrom(serialized));
+        TbMsgProto tbMsgProto = ProtoUtils.getTbMsgProto(msg.getValue());
+        return EntityIdFactory.getByTypeAndUuid(tbMsgProto.getEntityType(), new UUID(tbMsgProto.getEntityIdMSB(), tbMsgProto.getEntityIdLSB()));
+    }
+
+    @Benchmark
+    public EntityId lazyRouting() {
+        var msg = new TbRuleEngineProtoQueueMsg(key, serialized, new DefaultTbQueueMsgHeaders());
+        return msg.getOriginator();
+    }
+
+    @Benchmark
+    public TbMsg eagerProcess() throws InvalidProtocolBufferException {
+        var msg = new TbProtoQueueMsg<>(key, ToRuleEngineMsg.parseFrom(serialized));
+        TbRuleEngineProtoQueueMsg.originatorOf(msg);
+        return ProtoUtils.fromTbMsgProto(DataConstants.MAIN_QUEUE_NAME, msg.getValue(), TbMsgCallback.EMPTY);
+    }
+
+    @Benchmark
+    public TbMsg lazyProcess() {
+        var msg = new TbRuleEngineProtoQueueMsg(key, serialized, new DefaultTbQueueMsgHeaders());
+        msg.getOriginator();
+        return ProtoUtils.fromTbMsgProto(DataConstants.MAIN_QUEUE_NAME, msg.getValue(), TbMsgCallback.EMPTY);
+    }
+
+}
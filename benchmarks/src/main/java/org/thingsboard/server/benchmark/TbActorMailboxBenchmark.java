@@ -0,0 +1,146 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thingsboard.common.util.ThingsBoardExecutors;
+import org.thingsboard.server.actors.AbstractTbActor;
+import org.thingsboard.server.actors.DefaultTbActorSystem;
+import org.thingsboard.server.actors.TbActor;
+import org.thingsboard.server.actors.TbActorCreator;
+import org.thingsboard.server.actors.TbActorId;
+import org.thingsboard.server.actors.TbActorMailboxType;
+import org.thingsboard.server.actors.TbActorRef;
+import org.thingsboard.server.actors.TbActorSystem;
+import org.thingsboard.server.actors.TbActorSystemSettings;
+import org.thingsboard.server.actors.TbEntityActorId;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.msg.MsgType;
+import org.thingsboard.server.common.msg.TbActorMsg;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end throughput of the actor mailboxes: messages are sent by a single producer
+ * to a set of actors, and an invocation completes once every actor has processed its share.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TbActorMailboxBenchmark {
+
+    private static final String DISPATCHER_ID = "benchmark-dispatcher";
+    private static final int MESSAGES = 100_000;
+
+    @Param({"1", "100", "10000"})
+    private int actors;
+    @Param({"DEFAULT", "BATCH"})
+    private TbActorMailboxType mailboxType;
+
+    private TbActorSystem actorSystem;
+    private ExecutorService executor;
+    private TbActorRef[] actorRefs;
+
+    @Setup
+    public void setup() {
+        int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        actorSystem = new DefaultTbActorSystem(new TbActorSystemSettings(5, parallelism, 42,
+                mailboxType, TbActorSystemSettings.DEFAULT_MAILBOX_DRAIN_LIMIT));
+        executor = ThingsBoardExecutors.newWorkStealingPool(parallelism, getClass());
+        actorSystem.createDispatcher(DISPATCHER_ID, executor);
+        actorRefs = new TbActorRef[actors];
+        for (int i = 0; i < actors; i++) {
+            actorRefs[i] = actorSystem.createRootActor(DISPATCHER_ID, new CountingActorCreator(new TbEntityActorId(new DeviceId(UUID.randomUUID()))));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        actorSystem.stop();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void tell() throws InterruptedException {
+        int messagesPerActor = MESSAGES / actors;
+        CountDownLatch latch = new CountDownLatch(actors);
+        for (int i = 0; i < messagesPerActor; i++) {
+            boolean last = i == messagesPerActor - 1;
+            for (TbActorRef actorRef : actorRefs) {
+                actorRef.tell(new BenchmarkMsg(latch, last));
+            }
+        }
+        if (!latch.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Messages were not processed in time");
+        }
+    }
+
+    private record BenchmarkMsg(CountDownLatch latch, boolean last) implements TbActorMsg {
+
+        @Override
+        public MsgType getMsgType() {
+            return MsgType.QUEUE_TO_RULE_ENGINE_MSG;
+        }
+
+    }
+
+    private static class CountingActor extends AbstractTbActor {
+
+        @Override
+        public boolean process(TbActorMsg msg) {
+            BenchmarkMsg benchmarkMsg = (BenchmarkMsg) msg;
+            if (benchmarkMsg.last()) {
+                benchmarkMsg.latch().countDown();
+            }
+            return true;
+        }
+
+    }
+
+    private record CountingActorCreator(TbActorId actorId) implements TbActorCreator {
+
+        @Override
+        public TbActorId createActorId() {
+            return actorId;
+        }
+
+        @Override
+        public TbActor createActor() {
+            return new CountingActor();
+        }
+
+    }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thingsboard.server.common.data.DataConstants;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.msg.TbMsgType;
+import org.thingsboard.server.common.msg.TbMsg;
+import org.thingsboard.server.common.msg.TbMsgMetaData;
+import org.thingsboard.server.common.msg.queue.TbMsgCallback;
+import org.thingsboard.server.common.util.ProtoUtils;
+import org.thingsboard.server.gen.transport.TransportProtos.ToRuleEngineMsg;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization of rule engine messages: the producer side wraps TbMsg into {@link ToRuleEngineMsg}
+ * and the consumer side parses the queue record back into TbMsg via {@link ProtoUtils}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TbMsgProtoBenchmark {
+
+    @Param({"100", "4096"})
+    private int dataSize;
+
+    private TenantId tenantId;
+    private TbMsg msg;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() {
+        tenantId = TenantId.fromUUID(UUID.randomUUID());
+        Map<String, String> metaData = new HashMap<>();
+        metaData.put("deviceName", "Device A");
+        metaData.put("deviceType", "default");
+        metaData.put("ts", Long.toString(System.currentTimeMillis()));
+        StringBuilder data = new StringBuilder("{");
+        for (int i = 0; data.length() < dataSize; i++) {
+            if (i > 0) {
+                data.append(',');
+            }
+            data.append("\"key").append(i).append("\":").append(i * 0.42);
+        }
+        data.append('}');
+        msg = TbMsg.newMsg()
+                .queueName(DataConstants.MAIN_QUEUE_NAME)
+                .type(TbMsgType.POST_TELEMETRY_REQUEST)
+                .originator(new DeviceId(UUID.randomUUID()))
+                .metaData(new TbMsgMetaData(metaData))
+                .data(data.toString())
+                .build();
+        serialized = toRuleEngineMsg().toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return toRuleEngineMsg().toByteArray();
+    }
+
+    @Benchmark
+    public TbMsg deserialize() throws InvalidProtocolBufferException {
+        ToRuleEngineMsg ruleEngineMsg = ToRuleEngineMsg.parseFrom(serialized);
+        return ProtoUtils.fromTbMsgProto(DataConstants.MAIN_QUEUE_NAME, ruleEngineMsg, TbMsgCallback.EMPTY);
+    }
+
+    private ToRuleEngineMsg toRuleEngineMsg() {
+        return ToRuleEngineMsg.newBuilder()
+                .setTenantIdMSB(tenantId.getId().getMostSignificantBits())
+                .setTenantIdLSB(tenantId.getId().getLeastSignificantBits())
+                .setTbMsgProto(TbMsg.toProto(msg))
+                .build();
+    }
+
+}
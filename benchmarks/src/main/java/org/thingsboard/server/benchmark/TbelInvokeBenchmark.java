@@ -0,0 +1,117 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.thingsboard.script.api.ScriptType;
+import org.thingsboard.script.api.tbel.DefaultTbelInvokeService;
+import org.thingsboard.script.api.tbel.TbelInvokeService;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.msg.TbMsgType;
+import org.thingsboard.server.common.stats.DefaultStatsFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures invocation of a typical transformation script through the TBEL invoke service,
+ * one message at a time and as a burst of concurrent invocations, the way the rule node actor submits the messages of a pack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TbelInvokeBenchmark {
+
+    private static final int BURST_SIZE = 100;
+    private static final String SCRIPT = """
+            var newMsg = {};
+            newMsg.temperature = msg.temperature * 1.8 + 32;
+            newMsg.humidity = msg.humidity;
+            metadata.converted = 'true';
+            return {msg: newMsg, metadata: metadata, msgType: msgType};
+            """;
+
+    private AnnotationConfigApplicationContext context;
+    private TbelInvokeService invokeService;
+    private UUID scriptId;
+    private String msgType;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new AnnotationConfigApplicationContext(SimpleMeterRegistry.class, DefaultStatsFactory.class, DefaultTbelInvokeService.class);
+        invokeService = context.getBean(TbelInvokeService.class);
+        scriptId = invokeService.eval(TenantId.SYS_TENANT_ID, ScriptType.RULE_NODE_SCRIPT, SCRIPT, "msg", "metadata", "msgType").get();
+        msgType = TbMsgType.POST_TELEMETRY_REQUEST.name();
+    }
+
+    @TearDown
+    public void tearDown() {
+        invokeService.release(scriptId);
+        context.close();
+    }
+
+    @Benchmark
+    public Object invokeScript() throws Exception {
+        return invokeService.invokeScript(TenantId.SYS_TENANT_ID, null, scriptId, newMsg(), newMetadata(), msgType).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST_SIZE)
+    public List<Object> invokeScriptBurst() throws Exception {
+        List<ListenableFuture<Object>> futures = new ArrayList<>(BURST_SIZE);
+        for (int i = 0; i < BURST_SIZE; i++) {
+            futures.add(invokeService.invokeScript(TenantId.SYS_TENANT_ID, null, scriptId, newMsg(), newMetadata(), msgType));
+        }
+        return Futures.allAsList(futures).get();
+    }
+
+    private static Map<String, Object> newMsg() {
+        Map<String, Object> msg = new HashMap<>();
+        msg.put("temperature", 21.5);
+        msg.put("humidity", 42);
+        return msg;
+    }
+
+    private static Map<String, String> newMetadata() {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("deviceName", "Device A");
+        metadata.put("deviceType", "default");
+        return metadata;
+    }
+
+}
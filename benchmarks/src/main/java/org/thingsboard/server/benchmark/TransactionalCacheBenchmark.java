@@ -0,0 +1,158 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.thingsboard.server.cache.CacheSpecs;
+import org.thingsboard.server.cache.CacheSpecsMap;
+import org.thingsboard.server.cache.TBRedisCacheConfiguration;
+import org.thingsboard.server.cache.TbCacheValueWrapper;
+import org.thingsboard.server.cache.TbCaffeineCacheConfiguration;
+import org.thingsboard.server.cache.TbTransactionalCache;
+import org.thingsboard.server.cache.customer.CustomerCacheKey;
+import org.thingsboard.server.cache.customer.CustomerCaffeineCache;
+import org.thingsboard.server.cache.customer.CustomerRedisCache;
+import org.thingsboard.server.common.data.CacheConstants;
+import org.thingsboard.server.common.data.Customer;
+import org.thingsboard.server.common.data.FstStatsService;
+import org.thingsboard.server.common.data.id.CustomerId;
+import org.thingsboard.server.common.data.id.TenantId;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares entity cache lookups backed by Caffeine and by Redis.
+ * Only Caffeine is measured by default, Redis requires a running server: {@code -p cacheType=caffeine,redis -p redisHost=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TransactionalCacheBenchmark {
+
+    private static final int ENTRIES = 10_000;
+
+    @Param({"caffeine"})
+    private String cacheType;
+    @Param({"localhost"})
+    private String redisHost;
+    @Param({"6379"})
+    private int redisPort;
+
+    private TbTransactionalCache<CustomerCacheKey, Customer> cache;
+    private JedisConnectionFactory connectionFactory;
+    private CustomerCacheKey[] keys;
+    private Customer[] customers;
+
+    @Setup
+    public void setup() {
+        CacheSpecs specs = new CacheSpecs();
+        specs.setMaxSize(ENTRIES * 2);
+        specs.setTimeToLiveInMinutes(0);
+        CacheSpecsMap cacheSpecsMap = new CacheSpecsMap();
+        cacheSpecsMap.setSpecs(Map.of(CacheConstants.CUSTOMER_CACHE, specs));
+
+        switch (cacheType) {
+            case "caffeine" -> cache = new CustomerCaffeineCache(new TbCaffeineCacheConfiguration(cacheSpecsMap).cacheManager());
+            case "redis" -> cache = createRedisCache(cacheSpecsMap);
+            default -> throw new IllegalArgumentException("Unsupported cache type: " + cacheType);
+        }
+
+        TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+        keys = new CustomerCacheKey[ENTRIES];
+        customers = new Customer[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            Customer customer = new Customer(new CustomerId(UUID.randomUUID()));
+            customer.setTenantId(tenantId);
+            customer.setTitle("Customer " + i);
+            customer.setEmail("customer" + i + "@thingsboard.org");
+            keys[i] = new CustomerCacheKey(tenantId, customer.getTitle());
+            customers[i] = customer;
+            cache.put(keys[i], customer);
+        }
+    }
+
+    private TbTransactionalCache<CustomerCacheKey, Customer> createRedisCache(CacheSpecsMap cacheSpecsMap) {
+        connectionFactory = new JedisConnectionFactory(new RedisStandaloneConfiguration(redisHost, redisPort));
+        connectionFactory.afterPropertiesSet();
+        TBRedisCacheConfiguration configuration = new TBRedisCacheConfiguration() {
+            @Override
+            protected JedisConnectionFactory loadFactory() {
+                return connectionFactory;
+            }
+        };
+        configuration.setEvictTtlInMs(60000);
+        CustomerRedisCache redisCache = new CustomerRedisCache(configuration, cacheSpecsMap, connectionFactory);
+        BenchmarkUtils.setField(redisCache, "fstStatsService", new NoOpFstStatsService());
+        return redisCache;
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (CustomerCacheKey key : keys) {
+            cache.evict(key);
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Benchmark
+    public TbCacheValueWrapper<Customer> get() {
+        return cache.get(keys[ThreadLocalRandom.current().nextInt(ENTRIES)]);
+    }
+
+    @Benchmark
+    public void put() {
+        int idx = ThreadLocalRandom.current().nextInt(ENTRIES);
+        cache.put(keys[idx], customers[idx]);
+    }
+
+    private static class NoOpFstStatsService implements FstStatsService {
+
+        @Override
+        public void incrementEncode(Class<?> clazz) {}
+
+        @Override
+        public void incrementDecode(Class<?> clazz) {}
+
+        @Override
+        public void recordEncodeTime(Class<?> clazz, long startTime) {}
+
+        @Override
+        public void recordDecodeTime(Class<?> clazz, long startTime) {}
+
+    }
+
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thingsboard.common.util.ThingsBoardExecutors;
+import org.thingsboard.server.actors.AbstractTbActor;
+import org.thingsboard.server.actors.DefaultTbActorSystem;
+import org.thingsboard.server.actors.TbActor;
+import org.thingsboard.server.actors.TbActorCreator;
+import org.thingsboard.server.actors.TbActorId;
+import org.thingsboard.server.actors.TbActorRef;
+import org.thingsboard.server.actors.TbActorSystem;
+import org.thingsboard.server.actors.TbActorSystemSettings;
+import org.thingsboard.server.actors.TbEntityActorId;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.msg.MsgType;
+import org.thingsboard.server.common.msg.TbActorMsg;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a platform thread pool dispatcher with a virtual thread dispatcher on a mixed workload,
+ * where half of the actors block on each message (e.g. DAO calls). An invocation completes once every actor
+ * has processed its messages. The 'virtual' dispatcher requires Java 21 or newer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class VirtualThreadDispatcherBenchmark {
+
+    private static final String DISPATCHER_ID = "benchmark-dispatcher";
+    private static final int MSGS_PER_ACTOR = 10;
+
+    @Param({"pool", "virtual"})
+    private String dispatcher;
+    @Param({"4"})
+    private int poolSize;
+    @Param({"400"})
+    private int actors;
+    @Param({"5"})
+    private long blockingTimeMs;
+
+    private TbActorSystem actorSystem;
+    private ExecutorService executor;
+    private TbActorRef[] actorRefs;
+
+    @Setup
+    public void setup() {
+        actorSystem = new DefaultTbActorSystem(new TbActorSystemSettings(5, 1, 42));
+        executor = "virtual".equals(dispatcher) ? ThingsBoardExecutors.newVirtualThreadPerTaskExecutor(DISPATCHER_ID) :
+                ThingsBoardExecutors.newWorkStealingPool(poolSize, DISPATCHER_ID);
+        actorSystem.createDispatcher(DISPATCHER_ID, executor);
+        actorRefs = new TbActorRef[actors];
+        for (int i = 0; i < actors; i++) {
+            long blockingTime = i % 2 == 0 ? blockingTimeMs : 0;
+            actorRefs[i] = actorSystem.createRootActor(DISPATCHER_ID, new MixedActorCreator(new TbEntityActorId(new DeviceId(UUID.randomUUID())), blockingTime));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        actorSystem.stop();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void mixedWorkload() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(actors * MSGS_PER_ACTOR);
+        for (int i = 0; i < MSGS_PER_ACTOR; i++) {
+            for (TbActorRef actorRef : actorRefs) {
+                actorRef.tell(new BenchmarkMsg(latch));
+            }
+        }
+        if (!latch.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Messages were not processed in time");
+        }
+    }
+
+    private record BenchmarkMsg(CountDownLatch latch) implements TbActorMsg {
+
+        @Override
+        public MsgType getMsgType() {
+            return MsgType.QUEUE_TO_RULE_ENGINE_MSG;
+        }
+
+    }
+
+    private static class MixedActor extends AbstractTbActor {
+
+        private final long blockingTimeMs;
+
+        MixedActor(long blockingTimeMs) {
+            this.blockingTimeMs = blockingTimeMs;
+        }
+
+        @Override
+        public boolean process(TbActorMsg msg) {
+            if (blockingTimeMs > 0) {
+                try {
+                    Thread.sleep(blockingTimeMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            ((BenchmarkMsg) msg).latch().countDown();
+            return true;
+        }
+
+    }
+
+    private record MixedActorCreator(TbActorId actorId, long blockingTimeMs) implements TbActorCreator {
+
+        @Override
+        public TbActorId createActorId() {
+            return actorId;
+        }
+
+        @Override
+        public TbActor createActor() {
+            return new MixedActor(blockingTimeMs);
+        }
+
+    }
+
+}
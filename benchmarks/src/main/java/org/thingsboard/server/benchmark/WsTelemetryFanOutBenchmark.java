@@ -0,0 +1,100 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.thingsboard.common.util.JacksonUtil;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.BooleanDataEntry;
+import org.thingsboard.server.common.data.kv.DoubleDataEntry;
+import org.thingsboard.server.common.data.kv.LongDataEntry;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.service.ws.telemetry.sub.TelemetrySubscriptionUpdate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of the WebSocket messages for one telemetry update of every device, delivered to all the sessions subscribed to it.
+ * Compares encoding of a separate update per subscription with the update that is encoded once and shared by the sessions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class WsTelemetryFanOutBenchmark {
+
+    @Param({"1000"})
+    private int devices;
+    @Param({"10000"})
+    private int sessions;
+
+    private List<List<TsKvEntry>> deviceUpdates;
+    private int sessionsPerDevice;
+
+    @Setup
+    public void setup() {
+        sessionsPerDevice = Math.max(1, sessions / devices);
+        long ts = System.currentTimeMillis();
+        deviceUpdates = new ArrayList<>(devices);
+        for (int i = 0; i < devices; i++) {
+            deviceUpdates.add(List.of(
+                    new BasicTsKvEntry(ts, new DoubleDataEntry("temperature", 20.0 + i % 10)),
+                    new BasicTsKvEntry(ts, new LongDataEntry("humidity", 40L + i % 20)),
+                    new BasicTsKvEntry(ts, new BooleanDataEntry("active", i % 2 == 0))
+            ));
+        }
+    }
+
+    @Benchmark
+    public void perSubscription(Blackhole blackhole) throws JsonProcessingException {
+        for (List<TsKvEntry> data : deviceUpdates) {
+            for (int cmdId = 1; cmdId <= sessionsPerDevice; cmdId++) {
+                TelemetrySubscriptionUpdate update = new TelemetrySubscriptionUpdate(cmdId, data);
+                blackhole.consume(update.getLatestValues());
+                blackhole.consume(JacksonUtil.OBJECT_MAPPER.writeValueAsString(update));
+            }
+        }
+    }
+
+    @Benchmark
+    public void shared(Blackhole blackhole) {
+        for (List<TsKvEntry> data : deviceUpdates) {
+            TelemetrySubscriptionUpdate update = new TelemetrySubscriptionUpdate(0, data);
+            for (int cmdId = 1; cmdId <= sessionsPerDevice; cmdId++) {
+                TelemetrySubscriptionUpdate cmdUpdate = update.withSubscriptionId(cmdId);
+                blackhole.consume(cmdUpdate.getLatestValues());
+                blackhole.consume(cmdUpdate.toJson());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.state;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+import org.thingsboard.server.common.data.id.CustomerId;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.msg.TbMsgMetaData;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the legacy device state layout, that keeps a metadata map and own copies of the tenant and customer ids
+ * per device, with the compact {@link DeviceStateData}.
+ * 'retainedHeap' creates the states of all the devices once and reports the size of the object graph reachable from the states
+ * per device as the 'bytesPerDevice' counter (measured with JOL, the objects shared between the devices are counted once),
+ * 'buildMetaData' measures building the rule engine message metadata for all the devices.
+ * The benchmark is in the package of {@link DeviceStateData}, which is not public.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Djdk.attach.allowAttachSelf"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DeviceStateFootprintBenchmark {
+
+    @Param({"100000"})
+    private int devices;
+    @Param({"100"})
+    private int tenants;
+    @Param({"10000"})
+    private int customers;
+    @Param({"legacy", "compact"})
+    private String layout;
+
+    private UUID[] tenantIds;
+    private UUID[] customerIds;
+    private Object[] states;
+
+    @Setup
+    public void setup() {
+        tenantIds = randomUuids(tenants);
+        customerIds = randomUuids(customers);
+        states = createStates();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public Object[] retainedHeap(Footprint footprint) {
+        Object[] created = createStates();
+        footprint.bytesPerDevice = GraphLayout.parseInstance(created).totalSize() / devices;
+        return created;
+    }
+
+    @Benchmark
+    public int buildMetaData() {
+        int size = 0;
+        for (Object state : states) {
+            TbMsgMetaData md = state instanceof DeviceStateData stateData ? stateData.getMetaData() :
+                    ((LegacyDeviceStateData) state).metaData.copy();
+            size += md.values().size();
+        }
+        return size;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long bytesPerDevice;
+
+    }
+
+    private Object[] createStates() {
+        Object[] states = new Object[devices];
+        for (int i = 0; i < devices; i++) {
+            // ids are created per device, the same way the states are fetched from the database
+            TenantId tenantId = TenantId.fromUUID(tenantIds[i % tenants]);
+            CustomerId customerId = new CustomerId(customerIds[i % customers]);
+            DeviceId deviceId = new DeviceId(UUID.randomUUID());
+            String deviceName = "Device " + i;
+            String deviceType = "Type " + (i % 10);
+            DeviceState state = DeviceState.builder()
+                    .lastActivityTime(System.currentTimeMillis())
+                    .inactivityTimeout(TimeUnit.MINUTES.toMillis(10))
+                    .build();
+            if ("legacy".equals(layout)) {
+                TbMsgMetaData md = new TbMsgMetaData();
+                md.putValue("deviceName", deviceName);
+                md.putValue("deviceLabel", "");
+                md.putValue("deviceType", new String(deviceType));
+                states[i] = new LegacyDeviceStateData(tenantId, customerId, deviceId, md, state);
+            } else {
+                states[i] = DeviceStateData.builder()
+                        .tenantId(tenantId)
+                        .customerId(customerId)
+                        .deviceId(deviceId)
+                        .deviceName(deviceName)
+                        .deviceLabel("")
+                        .deviceType(new String(deviceType))
+                        .state(state)
+                        .build();
+            }
+        }
+        return states;
+    }
+
+    private static UUID[] randomUuids(int count) {
+        UUID[] uuids = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            uuids[i] = UUID.randomUUID();
+        }
+        return uuids;
+    }
+
+    // not a record, JOL doesn't get the field offsets of records without the instrumentation agent
+    private static class LegacyDeviceStateData {
+
+        private final TenantId tenantId;
+        private final CustomerId customerId;
+        private final DeviceId deviceId;
+        private final long deviceCreationTime;
+        private final TbMsgMetaData metaData;
+        private final DeviceState state;
+
+        private LegacyDeviceStateData(TenantId tenantId, CustomerId customerId, DeviceId deviceId, TbMsgMetaData metaData, DeviceState state) {
+            this.tenantId = tenantId;
+            this.customerId = customerId;
+            this.deviceId = deviceId;
+            this.deviceCreationTime = 0L;
+            this.metaData = metaData;
+            this.state = state;
+        }
+
+    }
+
+}
@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class CassandraPartitionsReadBenchmark_jmhType extends CassandraPartitionsReadBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class DeviceInactivityCheckBenchmark_jmhType extends DeviceInactivityCheckBenchmark_jmhType_B3 {
+}
+
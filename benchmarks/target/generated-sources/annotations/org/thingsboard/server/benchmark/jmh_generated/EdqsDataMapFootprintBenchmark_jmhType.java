@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class EdqsDataMapFootprintBenchmark_jmhType extends EdqsDataMapFootprintBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class EdqsQueryBenchmark_jmhType extends EdqsQueryBenchmark_jmhType_B3 {
+}
+
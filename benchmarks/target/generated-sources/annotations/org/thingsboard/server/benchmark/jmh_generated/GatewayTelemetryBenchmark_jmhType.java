@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class GatewayTelemetryBenchmark_jmhType extends GatewayTelemetryBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class HashPartitionServiceBenchmark_jmhType extends HashPartitionServiceBenchmark_jmhType_B3 {
+}
+
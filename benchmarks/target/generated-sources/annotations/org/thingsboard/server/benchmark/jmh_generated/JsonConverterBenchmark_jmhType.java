@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class JsonConverterBenchmark_jmhType extends JsonConverterBenchmark_jmhType_B3 {
+}
+
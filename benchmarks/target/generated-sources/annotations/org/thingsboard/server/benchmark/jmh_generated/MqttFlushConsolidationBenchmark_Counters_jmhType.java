@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class MqttFlushConsolidationBenchmark_Counters_jmhType extends MqttFlushConsolidationBenchmark_Counters_jmhType_B3 {
+}
+
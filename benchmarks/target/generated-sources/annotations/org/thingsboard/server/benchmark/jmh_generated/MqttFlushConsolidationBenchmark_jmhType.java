@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class MqttFlushConsolidationBenchmark_jmhType extends MqttFlushConsolidationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class RelationQueryBenchmark_jmhType extends RelationQueryBenchmark_jmhType_B3 {
+}
+
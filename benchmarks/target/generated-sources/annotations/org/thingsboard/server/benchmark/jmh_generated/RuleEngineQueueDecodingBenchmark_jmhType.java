@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class RuleEngineQueueDecodingBenchmark_jmhType extends RuleEngineQueueDecodingBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class TbActorMailboxBenchmark_jmhType extends TbActorMailboxBenchmark_jmhType_B3 {
+}
+
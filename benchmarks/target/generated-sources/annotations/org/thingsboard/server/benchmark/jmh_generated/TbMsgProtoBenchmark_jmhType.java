@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class TbMsgProtoBenchmark_jmhType extends TbMsgProtoBenchmark_jmhType_B3 {
+}
+
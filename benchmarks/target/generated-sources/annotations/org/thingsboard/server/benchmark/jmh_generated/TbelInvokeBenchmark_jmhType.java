@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class TbelInvokeBenchmark_jmhType extends TbelInvokeBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class TransactionalCacheBenchmark_jmhType extends TransactionalCacheBenchmark_jmhType_B3 {
+}
+
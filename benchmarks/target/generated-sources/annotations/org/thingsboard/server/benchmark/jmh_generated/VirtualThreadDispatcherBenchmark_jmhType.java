@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class VirtualThreadDispatcherBenchmark_jmhType extends VirtualThreadDispatcherBenchmark_jmhType_B3 {
+}
+
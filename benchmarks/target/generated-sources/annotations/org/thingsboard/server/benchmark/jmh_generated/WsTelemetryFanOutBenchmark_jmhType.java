@@ -0,0 +1,4 @@
+package org.thingsboard.server.benchmark.jmh_generated;
+public class WsTelemetryFanOutBenchmark_jmhType extends WsTelemetryFanOutBenchmark_jmhType_B3 {
+}
+
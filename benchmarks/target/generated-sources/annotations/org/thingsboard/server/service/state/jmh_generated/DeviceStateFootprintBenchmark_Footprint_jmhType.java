@@ -0,0 +1,4 @@
+package org.thingsboard.server.service.state.jmh_generated;
+public class DeviceStateFootprintBenchmark_Footprint_jmhType extends DeviceStateFootprintBenchmark_Footprint_jmhType_B3 {
+}
+
@@ -47,9 +47,15 @@ public class DefaultTbActorSystem implements TbActorSystem {
     private final TbActorSystemSettings settings;
     @Getter
     private final ScheduledExecutorService scheduler;
+    private final TbActorSystemStats stats;
 
     public DefaultTbActorSystem(TbActorSystemSettings settings) {
+        this(settings, TbActorSystemStats.NOOP);
+    }
+
+    public DefaultTbActorSystem(TbActorSystemSettings settings, TbActorSystemStats stats) {
         this.settings = settings;
+        this.stats = stats;
         this.scheduler = ThingsBoardExecutors.newScheduledThreadPool(settings.getSchedulerPoolSize(), "actor-system-scheduler");
     }
 
@@ -112,7 +118,7 @@ public class DefaultTbActorSystem implements TbActorSystem {
                             throw new TbActorNotRegisteredException(parent, "Parent Actor with id [" + parent + "] is not registered!");
                         }
                     }
-                    TbActorMailbox mailbox = new TbActorMailbox(this, settings, actorId, parentRef, actor, dispatcher);
+                    TbActorMailbox mailbox = new TbActorMailbox(this, settings, actorId, parentRef, actor, dispatcher, stats);
                     actors.put(actorId, mailbox);
                     mailbox.initActor();
                     actorMailbox = mailbox;
@@ -0,0 +1,140 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Unbounded multi-producer single-consumer queue (Vyukov's intrusive MPSC queue).
+ * Producers only do a single atomic swap of the tail, the consumer does not use CAS at all.
+ * Methods {@link #poll()} and {@link #peek()} must be called by a single consumer thread at a time.
+ * {@link #size()} walks the queue and is approximate while the queue is modified concurrently,
+ * the iterator is weakly consistent and does not support removal.
+ */
+final class MpscLinkedQueue<E> extends AbstractQueue<E> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MpscLinkedQueue, Node> TAIL =
+            AtomicReferenceFieldUpdater.newUpdater(MpscLinkedQueue.class, Node.class, "tail");
+
+    private volatile Node<E> head;
+    private volatile Node<E> tail;
+
+    MpscLinkedQueue() {
+        Node<E> stub = new Node<>(null);
+        head = stub;
+        tail = stub;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        Node<E> node = new Node<>(e);
+        Node<E> prev = TAIL.getAndSet(this, node);
+        prev.next = node;
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        Node<E> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        E value = next.value;
+        next.value = null;
+        head = next;
+        return value;
+    }
+
+    @Override
+    public E peek() {
+        Node<E> next = head.next;
+        return next != null ? next.value : null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        Node<E> node = head.next;
+        while (node != null && size < Integer.MAX_VALUE) {
+            size++;
+            node = node.next;
+        }
+        return size;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+
+            private Node<E> node = head;
+            private E nextValue = advance();
+
+            @Override
+            public boolean hasNext() {
+                return nextValue != null;
+            }
+
+            @Override
+            public E next() {
+                E value = nextValue;
+                if (value == null) {
+                    throw new NoSuchElementException();
+                }
+                nextValue = advance();
+                return value;
+            }
+
+            // skips the nodes whose values have been polled concurrently
+            private E advance() {
+                Node<E> next = node.next;
+                while (next != null) {
+                    node = next;
+                    E value = next.value;
+                    if (value != null) {
+                        return value;
+                    }
+                    next = next.next;
+                }
+                return null;
+            }
+
+        };
+    }
+
+    private static final class Node<E> {
+
+        private E value;
+        private volatile Node<E> next;
+
+        private Node(E value) {
+            this.value = value;
+        }
+
+    }
+
+}
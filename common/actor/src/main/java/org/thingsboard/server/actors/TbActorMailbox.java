@@ -16,7 +16,6 @@
 package org.thingsboard.server.actors;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.thingsboard.server.common.data.EntityType;
 import org.thingsboard.common.util.RecoveryAware;
@@ -25,15 +24,16 @@ import org.thingsboard.server.common.msg.TbActorMsg;
 import org.thingsboard.server.common.msg.TbActorStopReason;
 
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 @Slf4j
 @Getter
-@RequiredArgsConstructor
 public final class TbActorMailbox implements TbActorCtx {
 
     private static final boolean HIGH_PRIORITY = true;
@@ -51,13 +51,42 @@ public final class TbActorMailbox implements TbActorCtx {
     private final TbActorRef parentRef;
     private final TbActor actor;
     private final Dispatcher dispatcher;
-    private final ConcurrentLinkedQueue<TbActorMsg> highPriorityMsgs = new ConcurrentLinkedQueue<>();
-    private final ConcurrentLinkedQueue<TbActorMsg> normalPriorityMsgs = new ConcurrentLinkedQueue<>();
+    private final TbActorSystemStats stats;
+    private final boolean statsEnabled;
+    private final AtomicInteger pendingMsgs;
+    private final boolean batchMode;
+    private final Queue<TbActorMsg> highPriorityMsgs;
+    private final Queue<TbActorMsg> normalPriorityMsgs;
     private final AtomicBoolean busy = new AtomicBoolean(FREE);
     private final AtomicBoolean ready = new AtomicBoolean(NOT_READY);
     private final AtomicBoolean destroyInProgress = new AtomicBoolean();
     private volatile TbActorStopReason stopReason;
 
+    public TbActorMailbox(TbActorSystem system, TbActorSystemSettings settings, TbActorId selfId, TbActorRef parentRef, TbActor actor, Dispatcher dispatcher) {
+        this(system, settings, selfId, parentRef, actor, dispatcher, TbActorSystemStats.NOOP);
+    }
+
+    public TbActorMailbox(TbActorSystem system, TbActorSystemSettings settings, TbActorId selfId, TbActorRef parentRef, TbActor actor, Dispatcher dispatcher,
+                          TbActorSystemStats stats) {
+        this.system = system;
+        this.settings = settings;
+        this.selfId = selfId;
+        this.parentRef = parentRef;
+        this.actor = actor;
+        this.dispatcher = dispatcher;
+        this.stats = stats;
+        this.statsEnabled = stats.isEnabled();
+        this.pendingMsgs = statsEnabled ? new AtomicInteger() : null;
+        this.batchMode = TbActorMailboxType.BATCH.equals(settings.getMailboxType());
+        if (batchMode) {
+            this.highPriorityMsgs = new MpscLinkedQueue<>();
+            this.normalPriorityMsgs = new MpscLinkedQueue<>();
+        } else {
+            this.highPriorityMsgs = new ConcurrentLinkedQueue<>();
+            this.normalPriorityMsgs = new ConcurrentLinkedQueue<>();
+        }
+    }
+
     public void initActor() {
         dispatcher.getExecutor().execute(() -> tryInit(1));
     }
@@ -73,6 +102,7 @@ public final class TbActorMailbox implements TbActorCtx {
                 }
             }
         } catch (Throwable t) {
+            stats.onInitFailure(getDispatcherId(), selfId, attempt);
             InitFailureStrategy strategy;
             int attemptIdx = attempt + 1;
             if (isUnrecoverable(t)) {
@@ -106,10 +136,14 @@ public final class TbActorMailbox implements TbActorCtx {
 
     private void enqueue(TbActorMsg msg, boolean highPriority) {
         if (!destroyInProgress.get()) {
+            TbActorMsg queueMsg = statsEnabled ? new TimedTbActorMsg(msg) : msg;
             if (highPriority) {
-                highPriorityMsgs.add(msg);
+                highPriorityMsgs.add(queueMsg);
             } else {
-                normalPriorityMsgs.add(msg);
+                normalPriorityMsgs.add(queueMsg);
+            }
+            if (statsEnabled) {
+                stats.onMailboxSize(getDispatcherId(), selfId, pendingMsgs.incrementAndGet());
             }
             tryProcessQueue(true);
         } else {
@@ -146,26 +180,15 @@ public final class TbActorMailbox implements TbActorCtx {
     }
 
     private void processMailbox() {
+        if (batchMode) {
+            drainMailbox();
+            return;
+        }
         boolean noMoreElements = false;
         for (int i = 0; i < settings.getActorThroughput(); i++) {
-            TbActorMsg msg = highPriorityMsgs.poll();
-            if (msg == null) {
-                msg = normalPriorityMsgs.poll();
-            }
+            TbActorMsg msg = pollMsg();
             if (msg != null) {
-                try {
-                    log.trace("[{}] Going to process message: {}", selfId, msg);
-                    actor.process(msg);
-                } catch (TbRuleNodeUpdateException updateException) {
-                    stopReason = TbActorStopReason.INIT_FAILED;
-                    destroy(updateException.getCause());
-                } catch (Throwable t) {
-                    log.debug("[{}] Failed to process message: {}", selfId, msg, t);
-                    ProcessFailureStrategy strategy = actor.onProcessFailure(msg, t);
-                    if (strategy.isStop()) {
-                        system.stop(selfId);
-                    }
-                }
+                processMsg(msg);
             } else {
                 noMoreElements = true;
                 break;
@@ -179,6 +202,83 @@ public final class TbActorMailbox implements TbActorCtx {
         }
     }
 
+    /*
+     * Batch mode: the mailbox keeps the dispatcher thread while there are pending messages and yields
+     * to other actors of the dispatcher only after 'mailboxDrainLimit' messages. The queues are single-consumer,
+     * so they are polled only by the owner of the 'busy' flag.
+     */
+    private void drainMailbox() {
+        int processed = 0;
+        while (true) {
+            if (destroyInProgress.get()) {
+                rejectPendingMsgs();
+                busy.set(FREE);
+                return;
+            }
+            TbActorMsg msg = pollMsg();
+            if (msg != null) {
+                processMsg(msg);
+                if (++processed >= settings.getMailboxDrainLimit()) {
+                    dispatcher.getExecutor().execute(this::processMailbox);
+                    return;
+                }
+            } else {
+                busy.set(FREE);
+                if ((highPriorityMsgs.isEmpty() && normalPriorityMsgs.isEmpty()) || !busy.compareAndSet(FREE, BUSY)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private TbActorMsg pollMsg() {
+        TbActorMsg msg = highPriorityMsgs.poll();
+        if (msg == null) {
+            msg = normalPriorityMsgs.poll();
+        }
+        if (statsEnabled && msg != null) {
+            pendingMsgs.decrementAndGet();
+        }
+        return msg;
+    }
+
+    private void processMsg(TbActorMsg msg) {
+        long enqueueTime = 0;
+        if (msg instanceof TimedTbActorMsg timedMsg) {
+            enqueueTime = timedMsg.getEnqueueTime();
+            msg = timedMsg.getMsg();
+        }
+        long startTime = statsEnabled ? System.nanoTime() : 0;
+        try {
+            log.trace("[{}] Going to process message: {}", selfId, msg);
+            actor.process(msg);
+        } catch (TbRuleNodeUpdateException updateException) {
+            stopReason = TbActorStopReason.INIT_FAILED;
+            destroy(updateException.getCause());
+        } catch (Throwable t) {
+            log.debug("[{}] Failed to process message: {}", selfId, msg, t);
+            ProcessFailureStrategy strategy = actor.onProcessFailure(msg, t);
+            if (strategy.isStop()) {
+                system.stop(selfId);
+            }
+        } finally {
+            if (statsEnabled) {
+                stats.onMsgProcessed(getDispatcherId(), selfId, msg, startTime - enqueueTime, System.nanoTime() - startTime);
+            }
+        }
+    }
+
+    private String getDispatcherId() {
+        return dispatcher != null ? dispatcher.getDispatcherId() : null;
+    }
+
+    private void rejectPendingMsgs() {
+        TbActorMsg msg;
+        while ((msg = pollMsg()) != null) {
+            msg.onTbActorStopped(stopReason);
+        }
+    }
+
     @Override
     public TbActorId getSelf() {
         return selfId;
@@ -238,14 +338,13 @@ public final class TbActorMailbox implements TbActorCtx {
             try {
                 ready.set(NOT_READY);
                 actor.destroy(stopReason, cause);
-                highPriorityMsgs.removeIf(msg -> {
-                    msg.onTbActorStopped(stopReason);
-                    return true;
-                });
-                normalPriorityMsgs.removeIf(msg -> {
-                    msg.onTbActorStopped(stopReason);
-                    return true;
-                });
+                if (!batchMode) {
+                    rejectPendingMsgs();
+                } else if (busy.compareAndSet(FREE, BUSY)) {
+                    // otherwise the pending messages are rejected by the mailbox drain that is in progress
+                    rejectPendingMsgs();
+                    busy.set(FREE);
+                }
             } catch (Throwable t) {
                 log.warn("[{}] Failed to destroy actor: ", selfId, t);
             }
@@ -0,0 +1,31 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors;
+
+public enum TbActorMailboxType {
+
+    /**
+     * Messages are kept in lock-free linked queues and processed in chunks of 'throughput' messages,
+     * the mailbox is re-submitted to the dispatcher after each chunk.
+     */
+    DEFAULT,
+    /**
+     * Messages are kept in multi-producer single-consumer queues and drained in a single dispatcher task
+     * while there are pending messages, up to the 'mailboxDrainLimit' messages per task.
+     */
+    BATCH
+
+}
@@ -17,11 +17,39 @@ package org.thingsboard.server.actors;
 
 import lombok.Data;
 
+import java.util.Collections;
+import java.util.Set;
+
 @Data
 public class TbActorSystemSettings {
 
+    public static final int DEFAULT_MAILBOX_DRAIN_LIMIT = 1024;
+
     private final int actorThroughput;
     private final int schedulerPoolSize;
     private final int maxActorInitAttempts;
+    private final TbActorMailboxType mailboxType;
+    private final int mailboxDrainLimit;
+    /**
+     * Ids of the dispatchers that run actor mailboxes on virtual threads instead of a platform thread pool.
+     */
+    private Set<String> virtualThreadDispatchers = Collections.emptySet();
+
+    public TbActorSystemSettings(int actorThroughput, int schedulerPoolSize, int maxActorInitAttempts) {
+        this(actorThroughput, schedulerPoolSize, maxActorInitAttempts, TbActorMailboxType.DEFAULT, DEFAULT_MAILBOX_DRAIN_LIMIT);
+    }
+
+    public TbActorSystemSettings(int actorThroughput, int schedulerPoolSize, int maxActorInitAttempts,
+                                 TbActorMailboxType mailboxType, int mailboxDrainLimit) {
+        this.actorThroughput = actorThroughput;
+        this.schedulerPoolSize = schedulerPoolSize;
+        this.maxActorInitAttempts = maxActorInitAttempts;
+        this.mailboxType = mailboxType != null ? mailboxType : TbActorMailboxType.DEFAULT;
+        this.mailboxDrainLimit = mailboxDrainLimit > 0 ? mailboxDrainLimit : DEFAULT_MAILBOX_DRAIN_LIMIT;
+    }
+
+    public boolean isVirtualThreadDispatcher(String dispatcherId) {
+        return virtualThreadDispatchers.contains(dispatcherId);
+    }
 
 }
@@ -0,0 +1,44 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors;
+
+import org.thingsboard.server.common.msg.TbActorMsg;
+
+/**
+ * Receives per-dispatcher and per-actor statistics from the actor mailboxes.
+ * Methods are invoked by the dispatcher threads, so implementations must be thread-safe and cheap.
+ */
+public interface TbActorSystemStats {
+
+    TbActorSystemStats NOOP = new TbActorSystemStats() {};
+
+    /**
+     * If disabled, mailboxes do not track enqueue time and mailbox size.
+     */
+    default boolean isEnabled() {
+        return false;
+    }
+
+    default void onMailboxSize(String dispatcherId, TbActorId actorId, int size) {
+    }
+
+    default void onMsgProcessed(String dispatcherId, TbActorId actorId, TbActorMsg msg, long timeInMailboxNanos, long processingTimeNanos) {
+    }
+
+    default void onInitFailure(String dispatcherId, TbActorId actorId, int attempt) {
+    }
+
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors;
+
+import lombok.Getter;
+import org.thingsboard.server.common.msg.MsgType;
+import org.thingsboard.server.common.msg.TbActorMsg;
+import org.thingsboard.server.common.msg.TbActorStopReason;
+
+/**
+ * Mailbox entry that remembers the enqueue time of the message. Used only when actor system stats are enabled.
+ */
+@Getter
+final class TimedTbActorMsg implements TbActorMsg {
+
+    private final TbActorMsg msg;
+    private final long enqueueTime;
+
+    TimedTbActorMsg(TbActorMsg msg) {
+        this.msg = msg;
+        this.enqueueTime = System.nanoTime();
+    }
+
+    @Override
+    public MsgType getMsgType() {
+        return msg.getMsgType();
+    }
+
+    @Override
+    public void onTbActorStopped(TbActorStopReason reason) {
+        msg.onTbActorStopped(reason);
+    }
+
+}
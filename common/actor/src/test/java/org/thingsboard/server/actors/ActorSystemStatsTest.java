@@ -0,0 +1,132 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors;
+
+import lombok.Getter;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thingsboard.common.util.ThingsBoardExecutors;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.msg.MsgType;
+import org.thingsboard.server.common.msg.TbActorMsg;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ActorSystemStatsTest {
+
+    private static final String DISPATCHER = "stats-dispatcher";
+    private static final int MSG_COUNT = 100;
+
+    private final RecordingStats stats = new RecordingStats();
+    private TbActorSystem actorSystem;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void init() {
+        actorSystem = new DefaultTbActorSystem(new TbActorSystemSettings(5, 1, 42), stats);
+        executor = ThingsBoardExecutors.newWorkStealingPool(2, DISPATCHER);
+        actorSystem.createDispatcher(DISPATCHER, executor);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        actorSystem.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testMsgProcessingIsReported() throws InterruptedException {
+        ActorTestCtx testCtx = new ActorTestCtx(new CountDownLatch(1), new AtomicInteger(), MSG_COUNT, new AtomicLong());
+        TbActorId actorId = new TbEntityActorId(new DeviceId(UUID.randomUUID()));
+        TbActorRef actorRef = actorSystem.createRootActor(DISPATCHER, new TestRootActor.TestRootActorCreator(actorId, testCtx));
+        for (int i = 0; i < MSG_COUNT; i++) {
+            actorRef.tell(new IntTbActorMsg(i));
+        }
+        assertThat(testCtx.getLatch().await(10, TimeUnit.SECONDS)).isTrue();
+
+        Awaitility.await("all messages are reported").atMost(10, TimeUnit.SECONDS)
+                .until(() -> stats.getProcessed().get() == MSG_COUNT);
+        assertThat(stats.getInvalidReports().get()).isZero();
+        assertThat(stats.getMailboxSizeReports().get()).isEqualTo(MSG_COUNT);
+        assertThat(stats.getMaxMailboxSize().get()).isBetween(1, MSG_COUNT);
+        assertThat(stats.getMsgTypes()).containsOnlyKeys(MsgType.QUEUE_TO_RULE_ENGINE_MSG);
+        assertThat(stats.getActors()).containsOnlyKeys(actorId);
+        assertThat(stats.getDispatchers()).containsOnlyKeys(DISPATCHER);
+    }
+
+    @Test
+    public void testInitFailureIsReported() {
+        ActorTestCtx testCtx = new ActorTestCtx(new CountDownLatch(1), new AtomicInteger(), 1, new AtomicLong());
+        actorSystem.createRootActor(DISPATCHER, new FailedToInitActor.FailedToInitActorCreator(
+                new TbEntityActorId(new DeviceId(UUID.randomUUID())), testCtx, 1, 0));
+
+        Awaitility.await("init failure is reported").atMost(10, TimeUnit.SECONDS)
+                .until(() -> stats.getInitFailures().get() > 0);
+    }
+
+    @Getter
+    private static class RecordingStats implements TbActorSystemStats {
+
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger mailboxSizeReports = new AtomicInteger();
+        private final AtomicInteger maxMailboxSize = new AtomicInteger();
+        private final AtomicInteger initFailures = new AtomicInteger();
+        private final AtomicInteger invalidReports = new AtomicInteger();
+        private final Map<MsgType, AtomicInteger> msgTypes = new ConcurrentHashMap<>();
+        private final Map<TbActorId, AtomicInteger> actors = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> dispatchers = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public void onMailboxSize(String dispatcherId, TbActorId actorId, int size) {
+            mailboxSizeReports.incrementAndGet();
+            maxMailboxSize.accumulateAndGet(size, Math::max);
+        }
+
+        @Override
+        public void onMsgProcessed(String dispatcherId, TbActorId actorId, TbActorMsg msg, long timeInMailboxNanos, long processingTimeNanos) {
+            if (!(msg instanceof IntTbActorMsg) || timeInMailboxNanos < 0 || processingTimeNanos < 0) {
+                invalidReports.incrementAndGet();
+            }
+            msgTypes.computeIfAbsent(msg.getMsgType(), t -> new AtomicInteger()).incrementAndGet();
+            actors.computeIfAbsent(actorId, id -> new AtomicInteger()).incrementAndGet();
+            dispatchers.computeIfAbsent(dispatcherId, id -> new AtomicInteger()).incrementAndGet();
+            processed.incrementAndGet();
+        }
+
+        @Override
+        public void onInitFailure(String dispatcherId, TbActorId actorId, int attempt) {
+            initFailures.incrementAndGet();
+        }
+
+    }
+
+}
@@ -55,11 +55,15 @@ public class ActorSystemTest {
         int cores = Runtime.getRuntime().availableProcessors();
         parallelism = Math.max(2, cores / 2);
         log.debug("parallelism {}", parallelism);
-        TbActorSystemSettings settings = new TbActorSystemSettings(5, parallelism, 42);
+        TbActorSystemSettings settings = createSettings(parallelism);
         actorSystem = new DefaultTbActorSystem(settings);
         submitPool = Executors.newFixedThreadPool(parallelism, ThingsBoardThreadFactory.forName(getClass().getSimpleName() + "-submit-test-scope")); //order guaranteed
     }
 
+    protected TbActorSystemSettings createSettings(int parallelism) {
+        return new TbActorSystemSettings(5, parallelism, 42);
+    }
+
     @AfterEach
     public void shutdownActorSystem() {
         actorSystem.stop();
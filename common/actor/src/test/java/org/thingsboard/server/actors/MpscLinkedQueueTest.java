@@ -0,0 +1,112 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MpscLinkedQueueTest {
+
+    @Test
+    public void testFifoOrder() {
+        MpscLinkedQueue<Integer> queue = new MpscLinkedQueue<>();
+        assertThat(queue.isEmpty()).isTrue();
+        assertThat(queue.poll()).isNull();
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        assertThat(queue.isEmpty()).isFalse();
+        assertThat(queue.peek()).isEqualTo(0);
+        for (int i = 0; i < 10; i++) {
+            assertThat(queue.poll()).isEqualTo(i);
+        }
+        assertThat(queue.isEmpty()).isTrue();
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    public void testSizeAndIterator() {
+        MpscLinkedQueue<Integer> queue = new MpscLinkedQueue<>();
+        assertThat(queue.size()).isZero();
+        assertThat(queue.iterator().hasNext()).isFalse();
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+        assertThat(queue.size()).isEqualTo(5);
+        assertThat(queue).containsExactly(0, 1, 2, 3, 4);
+
+        Iterator<Integer> iterator = queue.iterator();
+        assertThat(iterator.next()).isZero();
+        queue.poll();
+        queue.poll();
+        queue.offer(5);
+        // weakly consistent: an element found before it was polled is still returned, new elements are visible
+        assertThat(iterator).toIterable().containsExactly(1, 2, 3, 4, 5);
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+        assertThat(queue.size()).isEqualTo(4);
+        assertThat(queue).containsExactly(2, 3, 4, 5);
+    }
+
+    @Test
+    public void testMultipleProducersKeepPerProducerOrder() throws InterruptedException {
+        int producers = 4;
+        int msgsPerProducer = 100_000;
+        MpscLinkedQueue<long[]> queue = new MpscLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < producers; p++) {
+                long producerId = p;
+                executor.submit(() -> {
+                    startLatch.await();
+                    for (long i = 0; i < msgsPerProducer; i++) {
+                        queue.offer(new long[]{producerId, i});
+                    }
+                    return null;
+                });
+            }
+            startLatch.countDown();
+
+            long[] lastSeq = new long[producers];
+            Arrays.fill(lastSeq, -1);
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < producers * msgsPerProducer && System.nanoTime() < deadline) {
+                long[] msg = queue.poll();
+                if (msg != null) {
+                    assertThat(msg[1]).isEqualTo(lastSeq[(int) msg[0]] + 1);
+                    lastSeq[(int) msg[0]] = msg[1];
+                    received++;
+                }
+            }
+            assertThat(received).isEqualTo(producers * msgsPerProducer);
+            assertThat(queue.isEmpty()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
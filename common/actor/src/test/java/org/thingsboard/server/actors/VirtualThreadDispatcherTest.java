@@ -0,0 +1,171 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thingsboard.common.util.ThingsBoardExecutors;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.msg.TbActorMsg;
+import org.thingsboard.server.common.msg.TbActorStopReason;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that actors of a virtual thread dispatcher run on virtual threads and keep the mailbox guarantees:
+ * messages of an actor are processed one at a time and in the order they were sent,
+ * also when part of the actors block on each message (e.g. DAO calls).
+ * Throughput is compared with the platform thread pool in VirtualThreadDispatcherBenchmark of the benchmarks module.
+ */
+public class VirtualThreadDispatcherTest {
+
+    private static final String DISPATCHER = "virtual-dispatcher";
+    private static final int BLOCKING_ACTORS = 50;
+    private static final int NON_BLOCKING_ACTORS = 50;
+    private static final int MSGS_PER_ACTOR = 20;
+    private static final long BLOCKING_TIME_MS = 1;
+
+    private TbActorSystem actorSystem;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void init() {
+        Assumptions.assumeTrue(ThingsBoardExecutors.isVirtualThreadsSupported(), "Virtual threads are not supported");
+        actorSystem = new DefaultTbActorSystem(new TbActorSystemSettings(5, 1, 42));
+        executor = ThingsBoardExecutors.newVirtualThreadPerTaskExecutor(DISPATCHER);
+        actorSystem.createDispatcher(DISPATCHER, executor);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        if (actorSystem != null) {
+            actorSystem.stop();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testActorsProcessMessagesInOrderOnVirtualThreads() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch((BLOCKING_ACTORS + NON_BLOCKING_ACTORS) * MSGS_PER_ACTOR);
+        List<RecordingActor> actors = new ArrayList<>();
+        List<TbActorRef> actorRefs = new ArrayList<>();
+        for (int i = 0; i < BLOCKING_ACTORS + NON_BLOCKING_ACTORS; i++) {
+            RecordingActor actor = new RecordingActor(latch, i < BLOCKING_ACTORS ? BLOCKING_TIME_MS : 0);
+            actors.add(actor);
+            actorRefs.add(actorSystem.createRootActor(DISPATCHER, new RecordingActorCreator(actor)));
+        }
+
+        for (int i = 0; i < MSGS_PER_ACTOR; i++) {
+            for (TbActorRef actorRef : actorRefs) {
+                actorRef.tell(new IntTbActorMsg(i));
+            }
+        }
+
+        assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+        List<Integer> expectedOrder = IntStream.range(0, MSGS_PER_ACTOR).boxed().toList();
+        for (RecordingActor actor : actors) {
+            assertThat(actor.processed).containsExactlyElementsOf(expectedOrder);
+            assertThat(actor.threads).allSatisfy(thread -> {
+                assertThat(isVirtual(thread)).isTrue();
+                assertThat(thread.getName()).startsWith(DISPATCHER + "-");
+            });
+            assertThat(actor.maxConcurrency.get()).isOne();
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            // Thread.isVirtual() is available since Java 21 only
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class RecordingActor extends AbstractTbActor {
+
+        private final CountDownLatch latch;
+        private final long blockingTimeMs;
+        private final List<Integer> processed = new CopyOnWriteArrayList<>();
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+        private final AtomicInteger concurrency = new AtomicInteger();
+        private final AtomicInteger maxConcurrency = new AtomicInteger();
+
+        RecordingActor(CountDownLatch latch, long blockingTimeMs) {
+            this.latch = latch;
+            this.blockingTimeMs = blockingTimeMs;
+        }
+
+        @Override
+        public boolean process(TbActorMsg msg) {
+            maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+            try {
+                if (blockingTimeMs > 0) {
+                    Thread.sleep(blockingTimeMs);
+                }
+                threads.add(Thread.currentThread());
+                processed.add(((IntTbActorMsg) msg).getValue());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrency.decrementAndGet();
+            }
+            latch.countDown();
+            return true;
+        }
+
+        @Override
+        public void destroy(TbActorStopReason stopReason, Throwable cause) {
+        }
+
+    }
+
+    private static class RecordingActorCreator implements TbActorCreator {
+
+        private final TbActorId actorId = new TbEntityActorId(new DeviceId(UUID.randomUUID()));
+        private final RecordingActor actor;
+
+        RecordingActorCreator(RecordingActor actor) {
+            this.actor = actor;
+        }
+
+        @Override
+        public TbActorId createActorId() {
+            return actorId;
+        }
+
+        @Override
+        public TbActor createActor() {
+            return actor;
+        }
+
+    }
+
+}
@@ -31,6 +31,7 @@ import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.plugin.ComponentLifecycleEvent;
 import org.thingsboard.server.common.data.relation.EntityRelation;
+import org.thingsboard.server.common.data.security.DeviceCredentials;
 import org.thingsboard.server.common.msg.TbMsg;
 import org.thingsboard.server.common.msg.ToDeviceActorNotificationMsg;
 import org.thingsboard.server.common.msg.edge.EdgeEventUpdateMsg;
@@ -108,6 +109,8 @@ public interface TbClusterService extends TbQueueClusterService {
 
     void onDeviceDeleted(TenantId tenantId, Device device, TbQueueCallback callback);
 
+    void onDeviceCredentialsUpdated(TenantId tenantId, DeviceCredentials deviceCredentials);
+
     void onDeviceAssignedToTenant(TenantId oldTenantId, Device device);
 
     void onAssetUpdated(Asset asset, Asset old);
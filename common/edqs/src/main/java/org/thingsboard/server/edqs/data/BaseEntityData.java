@@ -32,11 +32,9 @@ import org.thingsboard.server.edqs.data.dp.StringDataPoint;
 import org.thingsboard.server.edqs.query.DataKey;
 import org.thingsboard.server.edqs.repo.TenantRepo;
 
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @ToString
 public abstract class BaseEntityData<T extends EntityFields> implements EntityData<T> {
@@ -44,9 +42,9 @@ public abstract class BaseEntityData<T extends EntityFields> implements EntityDa
     @Getter
     private final UUID id;
     @Getter
-    protected final Map<Integer, DataPoint> serverAttrMap;
+    protected final DataPointMap serverAttrMap;
     @Getter
-    private final Map<Integer, DataPoint> tMap;
+    private final DataPointMap tMap;
 
     @Getter
     @Setter
@@ -61,8 +59,8 @@ public abstract class BaseEntityData<T extends EntityFields> implements EntityDa
 
     public BaseEntityData(UUID id) {
         this.id = id;
-        this.serverAttrMap = new ConcurrentHashMap<>();
-        this.tMap = new ConcurrentHashMap<>();
+        this.serverAttrMap = new DataPointMap();
+        this.tMap = new DataPointMap();
     }
 
     @Override
@@ -0,0 +1,125 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.edqs.data;
+
+import org.thingsboard.server.common.data.edqs.DataPoint;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact map of data points by key id.
+ * Key ids are stored in a sorted primitive array next to the array of values, so there are no boxed keys
+ * and no hash map entries per data point: an entity with N keys costs two arrays of N elements instead of N map nodes.
+ * Lookups use a binary search and do not lock. Updates are serialized and published via a volatile write;
+ * adding or removing a key copies the arrays, while updating an existing key replaces the value in place.
+ */
+public final class DataPointMap {
+
+    private static final State EMPTY = new State(new int[0], new DataPoint[0]);
+
+    private volatile State state = EMPTY;
+
+    public DataPoint get(int keyId) {
+        State current = state;
+        int idx = Arrays.binarySearch(current.keys, keyId);
+        return idx >= 0 ? current.values[idx] : null;
+    }
+
+    /**
+     * @return the previous data point or null if there was no data point for the key
+     */
+    public synchronized DataPoint put(int keyId, DataPoint value) {
+        State current = state;
+        int idx = Arrays.binarySearch(current.keys, keyId);
+        if (idx >= 0) {
+            DataPoint old = current.values[idx];
+            current.values[idx] = value;
+            state = current;
+            return old;
+        }
+        int insertIdx = -(idx + 1);
+        int size = current.keys.length;
+        int[] keys = new int[size + 1];
+        DataPoint[] values = new DataPoint[size + 1];
+        System.arraycopy(current.keys, 0, keys, 0, insertIdx);
+        System.arraycopy(current.values, 0, values, 0, insertIdx);
+        keys[insertIdx] = keyId;
+        values[insertIdx] = value;
+        System.arraycopy(current.keys, insertIdx, keys, insertIdx + 1, size - insertIdx);
+        System.arraycopy(current.values, insertIdx, values, insertIdx + 1, size - insertIdx);
+        state = new State(keys, values);
+        return null;
+    }
+
+    /**
+     * @return the removed data point or null if there was no data point for the key
+     */
+    public synchronized DataPoint remove(int keyId) {
+        State current = state;
+        int idx = Arrays.binarySearch(current.keys, keyId);
+        if (idx < 0) {
+            return null;
+        }
+        DataPoint old = current.values[idx];
+        int size = current.keys.length;
+        if (size == 1) {
+            state = EMPTY;
+            return old;
+        }
+        int[] keys = new int[size - 1];
+        DataPoint[] values = new DataPoint[size - 1];
+        System.arraycopy(current.keys, 0, keys, 0, idx);
+        System.arraycopy(current.values, 0, values, 0, idx);
+        System.arraycopy(current.keys, idx + 1, keys, idx, size - idx - 1);
+        System.arraycopy(current.values, idx + 1, values, idx, size - idx - 1);
+        state = new State(keys, values);
+        return old;
+    }
+
+    public int size() {
+        return state.keys.length;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void forEach(BiConsumer<Integer, DataPoint> consumer) {
+        State current = state;
+        for (int i = 0; i < current.keys.length; i++) {
+            DataPoint value = current.values[i];
+            if (value != null) {
+                consumer.accept(current.keys[i], value);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((keyId, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(keyId).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+
+    private record State(int[] keys, DataPoint[] values) {}
+
+}
@@ -23,20 +23,18 @@ import org.thingsboard.server.common.data.edqs.fields.DeviceFields;
 import org.thingsboard.server.common.data.query.EntityKeyType;
 import org.thingsboard.server.common.data.edqs.DataPoint;
 
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @ToString(callSuper = true)
 public class DeviceData extends ProfileAwareData<DeviceFields> {
 
-    private final Map<Integer, DataPoint> clientAttrMap;
-    private final Map<Integer, DataPoint> sharedAttrMap;
+    private final DataPointMap clientAttrMap;
+    private final DataPointMap sharedAttrMap;
 
     public DeviceData(UUID entityId) {
         super(entityId);
-        this.clientAttrMap = new ConcurrentHashMap<>();
-        this.sharedAttrMap = new ConcurrentHashMap<>();
+        this.clientAttrMap = new DataPointMap();
+        this.sharedAttrMap = new DataPointMap();
     }
 
     @Override
@@ -23,6 +23,7 @@ import org.thingsboard.server.edqs.data.EntityData;
 import org.thingsboard.server.edqs.query.EdqsQuery;
 import org.thingsboard.server.edqs.repo.TenantRepo;
 
+import java.util.Collection;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -45,7 +46,8 @@ public abstract class AbstractSimpleQueryProcessor<T extends EntityFilter> exten
 
     @Override
     protected void processAll(Consumer<EntityData<?>> processor) {
-        process(repository.getEntitySet(entityType), processor);
+        Collection<EntityData<?>> candidates = repository.findIndexedCandidates(entityType, query);
+        process(candidates != null ? candidates : repository.getEntitySet(entityType), processor);
     }
 
     @Override
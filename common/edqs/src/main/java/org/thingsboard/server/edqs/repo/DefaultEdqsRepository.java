@@ -15,10 +15,14 @@
  */
 package org.thingsboard.server.edqs.repo;
 
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.thingsboard.common.util.ThingsBoardExecutors;
 import org.thingsboard.server.common.data.ObjectType;
 import org.thingsboard.server.common.data.edqs.EdqsEvent;
 import org.thingsboard.server.common.data.edqs.EdqsEventType;
@@ -33,10 +37,12 @@ import org.thingsboard.server.queue.edqs.EdqsComponent;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 @EdqsComponent
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Service
 @Slf4j
 public class DefaultEdqsRepository implements EdqsRepository {
@@ -45,8 +51,40 @@ public class DefaultEdqsRepository implements EdqsRepository {
     private final static ConcurrentMap<TenantId, TenantRepo> repos = new ConcurrentHashMap<>();
     private final EdqsStatsService statsService;
 
+    @Value("${queue.edqs.indexes.enabled:false}")
+    private boolean indexesEnabled;
+    @Value("${queue.edqs.indexes.min_entities:10000}")
+    private int indexMinEntities;
+    @Value("${queue.edqs.indexes.ttl:60}")
+    private int indexTtlMinutes;
+
+    private ScheduledExecutorService indexesCleaner;
+
+    @PostConstruct
+    private void init() {
+        if (indexesEnabled && indexTtlMinutes > 0) {
+            long ttlMillis = TimeUnit.MINUTES.toMillis(indexTtlMinutes);
+            indexesCleaner = ThingsBoardExecutors.newSingleThreadScheduledExecutor("edqs-indexes-cleaner");
+            indexesCleaner.scheduleWithFixedDelay(() -> {
+                try {
+                    long unusedSince = System.currentTimeMillis() - ttlMillis;
+                    repos.values().forEach(repo -> repo.evictUnusedIndexes(unusedSince));
+                } catch (Exception e) {
+                    log.error("Failed to evict unused indexes", e);
+                }
+            }, ttlMillis, ttlMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (indexesCleaner != null) {
+            indexesCleaner.shutdownNow();
+        }
+    }
+
     public TenantRepo get(TenantId tenantId) {
-        return repos.computeIfAbsent(tenantId, id -> new TenantRepo(id, statsService));
+        return repos.computeIfAbsent(tenantId, id -> new TenantRepo(id, statsService, indexesEnabled, indexMinEntities));
     }
 
     @Override
@@ -0,0 +1,157 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.edqs.repo;
+
+import org.thingsboard.server.common.data.edqs.DataPoint;
+import org.thingsboard.server.edqs.data.EntityData;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Secondary index of the latest values of a single key for entities of a single type.
+ * Entries are kept sorted by value, so filters can be answered with a range scan instead of a full scan.
+ * The index returns candidates only: the query processor still checks all filters against the entity data.
+ */
+public abstract class EntityKeyIndex<V extends Comparable<V>> {
+
+    private static final UUID MIN_UUID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID MAX_UUID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final Integer keyId;
+    private final ConcurrentMap<UUID, V> values = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry<V>> entries = new ConcurrentSkipListSet<>();
+    private final Set<UUID> unindexedEntities = ConcurrentHashMap.newKeySet();
+    private volatile boolean initialized;
+    private volatile long lastUsedTime = System.currentTimeMillis();
+
+    protected EntityKeyIndex(Integer keyId) {
+        this.keyId = keyId;
+    }
+
+    /**
+     * Re-indexes the entity using its current value of the key.
+     * The value is read inside the per-entity compute, so concurrent updates of the same entity always leave the latest value in the index.
+     * Entities that have a value which can't be converted to the index value are tracked separately (see {@link #hasUnindexedValues}).
+     */
+    public void update(EntityData<?> entityData) {
+        values.compute(entityData.getId(), (id, oldValue) -> {
+            DataPoint dp = entityData.getTs(keyId);
+            V value = dp != null ? toIndexValue(dp) : null;
+            if (dp != null && value == null) {
+                unindexedEntities.add(id);
+            } else {
+                unindexedEntities.remove(id);
+            }
+            if (oldValue != null) {
+                if (oldValue.equals(value)) {
+                    return oldValue;
+                }
+                entries.remove(new Entry<>(oldValue, id));
+            }
+            if (value != null) {
+                entries.add(new Entry<>(value, id));
+            }
+            return value;
+        });
+    }
+
+    public void remove(UUID entityId) {
+        values.compute(entityId, (id, oldValue) -> {
+            if (oldValue != null) {
+                entries.remove(new Entry<>(oldValue, id));
+            }
+            unindexedEntities.remove(id);
+            return null;
+        });
+    }
+
+    /**
+     * The index is used for queries only after it has been populated with the values of all existing entities.
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public void setInitialized() {
+        this.initialized = true;
+    }
+
+    /**
+     * Marks the index as used by a query. Indexes that are not used for a while are dropped by {@link TenantRepo#evictUnusedIndexes}.
+     */
+    public void touch() {
+        this.lastUsedTime = System.currentTimeMillis();
+    }
+
+    public long getLastUsedTime() {
+        return lastUsedTime;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * @return true if some entities have a value of the key that is not in the index, e.g. a string that is not a number
+     */
+    public boolean hasUnindexedValues() {
+        return !unindexedEntities.isEmpty();
+    }
+
+    protected abstract V toIndexValue(DataPoint dp);
+
+    protected Collection<UUID> equalTo(V value) {
+        return range(value, true, value, true);
+    }
+
+    protected Collection<UUID> range(V from, boolean fromInclusive, V to, boolean toInclusive) {
+        NavigableSet<Entry<V>> subSet;
+        Entry<V> fromEntry = from != null ? new Entry<>(from, fromInclusive ? MIN_UUID : MAX_UUID) : null;
+        Entry<V> toEntry = to != null ? new Entry<>(to, toInclusive ? MAX_UUID : MIN_UUID) : null;
+        if (fromEntry != null && toEntry != null) {
+            if (fromEntry.compareTo(toEntry) > 0) {
+                return Collections.emptyList();
+            }
+            subSet = entries.subSet(fromEntry, true, toEntry, true);
+        } else if (fromEntry != null) {
+            subSet = entries.tailSet(fromEntry, true);
+        } else if (toEntry != null) {
+            subSet = entries.headSet(toEntry, true);
+        } else {
+            subSet = entries;
+        }
+        return subSet.stream().map(Entry::entityId).collect(Collectors.toList());
+    }
+
+    private record Entry<V extends Comparable<V>>(V value, UUID entityId) implements Comparable<Entry<V>> {
+
+        @Override
+        public int compareTo(Entry<V> o) {
+            int result = value.compareTo(o.value);
+            return result != 0 ? result : entityId.compareTo(o.entityId);
+        }
+
+    }
+
+}
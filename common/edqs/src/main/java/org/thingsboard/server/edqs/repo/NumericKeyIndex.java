@@ -0,0 +1,69 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.edqs.repo;
+
+import org.thingsboard.server.common.data.edqs.DataPoint;
+import org.thingsboard.server.common.data.query.NumericFilterPredicate;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Index of numeric values, used for NUMERIC and DATE_TIME key filters.
+ */
+public class NumericKeyIndex extends EntityKeyIndex<Double> {
+
+    public NumericKeyIndex(Integer keyId) {
+        super(keyId);
+    }
+
+    @Override
+    protected Double toIndexValue(DataPoint dp) {
+        return switch (dp.getType()) {
+            case LONG, DOUBLE -> dp.getDouble();
+            case STRING -> {
+                try {
+                    yield dp.getDouble();
+                } catch (RuntimeException e) {
+                    yield null;
+                }
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * The numeric filter check of a full scan fails on values that are not numbers, so while there are such values
+     * the index is not used and the query falls back to the full scan, the same as with the indexes disabled.
+     *
+     * @return ids of the entities that may match the predicate or null if the predicate can't be answered by the index
+     */
+    public Collection<UUID> find(NumericFilterPredicate predicate) {
+        if (hasUnindexedValues() || predicate.getValue() == null || predicate.getValue().getValue() == null) {
+            return null;
+        }
+        Double value = predicate.getValue().getValue();
+        return switch (predicate.getOperation()) {
+            case EQUAL -> equalTo(value);
+            case GREATER -> range(value, false, null, false);
+            case GREATER_OR_EQUAL -> range(value, true, null, false);
+            case LESS -> range(null, false, value, false);
+            case LESS_OR_EQUAL -> range(null, false, value, true);
+            case NOT_EQUAL -> null;
+        };
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.edqs.repo;
+
+import org.thingsboard.server.common.data.StringUtils;
+import org.thingsboard.server.common.data.edqs.DataPoint;
+import org.thingsboard.server.common.data.query.StringFilterPredicate;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Index of lower-cased string values, used for EQUAL and STARTS_WITH string key filters.
+ * Values are lower-cased, so case-sensitive filters get a superset of the matching entities.
+ */
+public class StringKeyIndex extends EntityKeyIndex<String> {
+
+    public StringKeyIndex(Integer keyId) {
+        super(keyId);
+    }
+
+    @Override
+    protected String toIndexValue(DataPoint dp) {
+        String value = dp.valueToString();
+        return value != null ? value.toLowerCase() : null;
+    }
+
+    /**
+     * @return ids of the entities that may match the predicate or null if the predicate can't be answered by the index
+     */
+    public Collection<UUID> find(StringFilterPredicate predicate) {
+        if (predicate.getValue() == null) {
+            return null;
+        }
+        String value = predicate.getValue().getValue();
+        if (StringUtils.isEmpty(value)) {
+            return null;
+        }
+        value = value.toLowerCase();
+        return switch (predicate.getOperation()) {
+            case EQUAL -> equalTo(value);
+            case STARTS_WITH -> {
+                String prefix = getLikePrefix(value);
+                yield prefix.isEmpty() ? null : range(prefix, true, prefix + Character.MAX_VALUE, false);
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * STARTS_WITH filters support SQL LIKE wildcards, so only the part before the first wildcard can be used for the range scan.
+     */
+    private static String getLikePrefix(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_') {
+                return value.substring(0, i);
+            }
+        }
+        return value;
+    }
+
+}
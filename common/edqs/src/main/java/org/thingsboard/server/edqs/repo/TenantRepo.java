@@ -37,6 +37,10 @@ import org.thingsboard.server.common.data.query.EntityDataQuery;
 import org.thingsboard.server.common.data.query.EntityDataSortOrder;
 import org.thingsboard.server.common.data.query.EntityFilter;
 import org.thingsboard.server.common.data.query.EntityKeyType;
+import org.thingsboard.server.common.data.query.EntityKeyValueType;
+import org.thingsboard.server.common.data.query.KeyFilterPredicate;
+import org.thingsboard.server.common.data.query.NumericFilterPredicate;
+import org.thingsboard.server.common.data.query.StringFilterPredicate;
 import org.thingsboard.server.common.data.query.TsValue;
 import org.thingsboard.server.common.data.relation.EntityRelation;
 import org.thingsboard.server.common.data.relation.RelationTypeGroup;
@@ -50,7 +54,9 @@ import org.thingsboard.server.edqs.data.EntityProfileData;
 import org.thingsboard.server.edqs.data.GenericData;
 import org.thingsboard.server.edqs.data.RelationsRepo;
 import org.thingsboard.server.edqs.data.TenantData;
+import org.thingsboard.server.edqs.query.DataKey;
 import org.thingsboard.server.edqs.query.EdqsDataQuery;
+import org.thingsboard.server.edqs.query.EdqsFilter;
 import org.thingsboard.server.edqs.query.EdqsQuery;
 import org.thingsboard.server.edqs.query.SortableEntityData;
 import org.thingsboard.server.edqs.query.processor.EntityQueryProcessor;
@@ -58,6 +64,7 @@ import org.thingsboard.server.edqs.query.processor.EntityQueryProcessorFactory;
 import org.thingsboard.server.edqs.util.RepositoryUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -72,6 +79,7 @@ import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.thingsboard.server.edqs.util.RepositoryUtils.SORT_ASC;
@@ -89,15 +97,25 @@ public class TenantRepo {
     private final ConcurrentMap<EntityType, Set<EntityData<?>>> entitySetByType = new ConcurrentHashMap<>();
     private final ConcurrentMap<EntityType, ConcurrentMap<UUID, EntityData<?>>> entityMapByType = new ConcurrentHashMap<>();
     private final ConcurrentMap<RelationTypeGroup, RelationsRepo> relations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<EntityType, ConcurrentMap<Integer, NumericKeyIndex>> numericIndexes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<EntityType, ConcurrentMap<Integer, StringKeyIndex>> stringIndexes = new ConcurrentHashMap<>();
 
     private final Lock entityUpdateLock = new ReentrantLock();
 
     private final TenantId tenantId;
     private final EdqsStatsService edqsStatsService;
+    private final boolean indexesEnabled;
+    private final int indexMinEntities;
 
     public TenantRepo(TenantId tenantId, EdqsStatsService edqsStatsService) {
+        this(tenantId, edqsStatsService, false, 0);
+    }
+
+    public TenantRepo(TenantId tenantId, EdqsStatsService edqsStatsService, boolean indexesEnabled, int indexMinEntities) {
         this.tenantId = tenantId;
         this.edqsStatsService = edqsStatsService;
+        this.indexesEnabled = indexesEnabled;
+        this.indexMinEntities = indexMinEntities;
     }
 
     public void processEvent(EdqsEvent event) {
@@ -222,6 +240,7 @@ public class TenantRepo {
                     getEntitySet(entityType).remove(removed);
                 }
                 edqsStatsService.reportRemoved(entity.type());
+                removeFromIndexes(entityType, entityId);
 
                 UUID customerId = removed.getCustomerId();
                 if (customerId != null) {
@@ -265,15 +284,18 @@ public class TenantRepo {
             if (added) {
                 edqsStatsService.reportAdded(ObjectType.LATEST_TS_KV);
             }
+            updateIndexes(entityData, keyId);
         }
     }
 
     private void removeLatestKv(LatestTsKv latestTsKv) {
         var entityData = get(latestTsKv.getEntityId());
         if (entityData != null) {
-            boolean removed = entityData.removeTs(KeyDictionary.get(latestTsKv.getKey()));
+            Integer keyId = KeyDictionary.get(latestTsKv.getKey());
+            boolean removed = entityData.removeTs(keyId);
             if (removed) {
                 edqsStatsService.reportRemoved(ObjectType.LATEST_TS_KV);
+                updateIndexes(entityData, keyId);
             }
         }
     }
@@ -330,6 +352,137 @@ public class TenantRepo {
         return entitySetByType.computeIfAbsent(entityType, et -> new ConcurrentSkipListSet<>(CREATED_TIME_AND_ID_DESC_COMPARATOR));
     }
 
+    /**
+     * Uses the time series key indexes to narrow down the entities that may match the key filters of the query.
+     * Indexes are created on first use of the key in a filter, by the thread of that query,
+     * and dropped by {@link #evictUnusedIndexes} when they are not used for a while.
+     * Only the queries that scan all entities of a type use the indexes (see AbstractSimpleQueryProcessor):
+     * relation and entity search queries iterate the related entities and check the key filters on each of them.
+     *
+     * @return candidate entities that still need to be checked against all filters,
+     * or null if the query can't be answered by the indexes and all entities of the type should be scanned
+     */
+    public Collection<EntityData<?>> findIndexedCandidates(EntityType entityType, EdqsQuery query) {
+        if (!indexesEnabled || !query.isHasKeyFilters()) {
+            return null;
+        }
+        ConcurrentMap<UUID, EntityData<?>> entityMap = getEntityMap(entityType);
+        if (entityMap.size() < indexMinEntities) {
+            return null;
+        }
+        Collection<UUID> candidateIds = null;
+        for (EdqsFilter keyFilter : query.getKeyFilters()) {
+            Collection<UUID> ids = findIndexed(entityType, keyFilter);
+            if (ids != null && (candidateIds == null || ids.size() < candidateIds.size())) {
+                candidateIds = ids;
+            }
+        }
+        if (candidateIds == null) {
+            return null;
+        }
+        List<EntityData<?>> candidates = new ArrayList<>(candidateIds.size());
+        for (UUID id : candidateIds) {
+            EntityData<?> entityData = entityMap.get(id);
+            if (entityData != null) {
+                candidates.add(entityData);
+            }
+        }
+        return candidates;
+    }
+
+    private Collection<UUID> findIndexed(EntityType entityType, EdqsFilter keyFilter) {
+        DataKey key = keyFilter.key();
+        if (key.type() != EntityKeyType.TIME_SERIES || key.keyId() == null) {
+            return null;
+        }
+        KeyFilterPredicate predicate = keyFilter.predicate();
+        EntityKeyValueType valueType = keyFilter.valueType();
+        if (predicate instanceof NumericFilterPredicate numericPredicate
+                && (valueType == null || valueType == EntityKeyValueType.NUMERIC || valueType == EntityKeyValueType.DATE_TIME)) {
+            NumericKeyIndex index = getIndex(numericIndexes, entityType, key.keyId(), NumericKeyIndex::new);
+            return index.isInitialized() ? index.find(numericPredicate) : null;
+        } else if (predicate instanceof StringFilterPredicate stringPredicate
+                && (valueType == null || valueType == EntityKeyValueType.STRING)) {
+            StringKeyIndex index = getIndex(stringIndexes, entityType, key.keyId(), StringKeyIndex::new);
+            return index.isInitialized() ? index.find(stringPredicate) : null;
+        }
+        return null;
+    }
+
+    private <I extends EntityKeyIndex<?>> I getIndex(ConcurrentMap<EntityType, ConcurrentMap<Integer, I>> indexesByType,
+                                                     EntityType entityType, Integer keyId, Function<Integer, I> indexFactory) {
+        ConcurrentMap<Integer, I> indexes = indexesByType.computeIfAbsent(entityType, type -> new ConcurrentHashMap<>());
+        I index = indexes.get(keyId);
+        if (index != null) {
+            index.touch();
+        } else {
+            I newIndex = indexFactory.apply(keyId);
+            index = indexes.putIfAbsent(keyId, newIndex);
+            if (index == null) {
+                // the index is registered before it is populated, so that concurrent updates are not lost
+                getEntityMap(entityType).values().forEach(newIndex::update);
+                newIndex.setInitialized();
+                log.debug("[{}] Created {} for {} key {} with {} entries", tenantId,
+                        newIndex.getClass().getSimpleName(), entityType, KeyDictionary.get(keyId), newIndex.size());
+                index = newIndex;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Drops the indexes that were not used by any query since the given time.
+     * A dropped index is created again by the next query that uses its key.
+     */
+    public void evictUnusedIndexes(long unusedSince) {
+        evictUnusedIndexes(numericIndexes, unusedSince);
+        evictUnusedIndexes(stringIndexes, unusedSince);
+    }
+
+    private void evictUnusedIndexes(ConcurrentMap<EntityType, ? extends ConcurrentMap<Integer, ? extends EntityKeyIndex<?>>> indexesByType, long unusedSince) {
+        indexesByType.forEach((entityType, indexes) -> indexes.entrySet().removeIf(entry -> {
+            EntityKeyIndex<?> index = entry.getValue();
+            if (index.isInitialized() && index.getLastUsedTime() < unusedSince) {
+                log.debug("[{}] Removed unused {} for {} key {}", tenantId, index.getClass().getSimpleName(), entityType, KeyDictionary.get(entry.getKey()));
+                return true;
+            }
+            return false;
+        }));
+    }
+
+    private void updateIndexes(EntityData<?> entityData, Integer keyId) {
+        if (!indexesEnabled) {
+            return;
+        }
+        updateIndex(numericIndexes, entityData, keyId);
+        updateIndex(stringIndexes, entityData, keyId);
+    }
+
+    private static void updateIndex(ConcurrentMap<EntityType, ? extends ConcurrentMap<Integer, ? extends EntityKeyIndex<?>>> indexesByType,
+                                    EntityData<?> entityData, Integer keyId) {
+        var indexes = indexesByType.get(entityData.getEntityType());
+        if (indexes != null) {
+            EntityKeyIndex<?> index = indexes.get(keyId);
+            if (index != null) {
+                index.update(entityData);
+            }
+        }
+    }
+
+    private void removeFromIndexes(EntityType entityType, UUID entityId) {
+        if (!indexesEnabled) {
+            return;
+        }
+        var numeric = numericIndexes.get(entityType);
+        if (numeric != null) {
+            numeric.values().forEach(index -> index.remove(entityId));
+        }
+        var string = stringIndexes.get(entityType);
+        if (string != null) {
+            string.values().forEach(index -> index.remove(entityId));
+        }
+    }
+
     public PageData<QueryResult> findEntityDataByQuery(CustomerId customerId, EntityDataQuery oldQuery, boolean ignorePermissionCheck) {
         EdqsDataQuery query = RepositoryUtils.toNewQuery(oldQuery);
         QueryContext ctx = buildContext(customerId, query.getEntityFilter(), ignorePermissionCheck);
@@ -16,12 +16,17 @@
 package org.thingsboard.server.common.msg;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.server.common.data.EntityType;
 import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.data.id.CalculatedFieldId;
@@ -76,6 +81,13 @@ public final class TbMsg implements Serializable {
     @JsonIgnore
     transient private final TbMsgCallback callback;
 
+    // Lazily parsed data, shared by the rule nodes that process the message and by its copies with the same data
+    @Getter(value = AccessLevel.NONE)
+    @Setter(value = AccessLevel.NONE)
+    @ToString.Exclude
+    @JsonIgnore
+    transient private volatile JsonNode dataNode;
+
     public static TbMsgBuilder newMsg() {
         return new TbMsgBuilder();
     }
@@ -115,7 +127,8 @@ public final class TbMsg implements Serializable {
     }
 
     private TbMsg(String queueName, UUID id, long ts, TbMsgType internalType, String type, EntityId originator, CustomerId customerId, TbMsgMetaData metaData, TbMsgDataType dataType, String data,
-                  RuleChainId ruleChainId, RuleNodeId ruleNodeId, UUID correlationId, Integer partition, List<CalculatedFieldId> previousCalculatedFieldIds, TbMsgProcessingCtx ctx, TbMsgCallback callback) {
+                  RuleChainId ruleChainId, RuleNodeId ruleNodeId, UUID correlationId, Integer partition, List<CalculatedFieldId> previousCalculatedFieldIds, TbMsgProcessingCtx ctx, TbMsgCallback callback,
+                  JsonNode dataNode) {
         this.id = id != null ? id : UUID.randomUUID();
         this.queueName = queueName;
         if (ts > 0) {
@@ -147,6 +160,7 @@ public final class TbMsg implements Serializable {
                 : new CopyOnWriteArrayList<>();
         this.ctx = ctx != null ? ctx : new TbMsgProcessingCtx();
         this.callback = Objects.requireNonNullElse(callback, TbMsgCallback.EMPTY);
+        this.dataNode = dataNode;
     }
 
     public static TbMsgProto toProto(TbMsg msg) {
@@ -247,7 +261,7 @@ public final class TbMsg implements Serializable {
         TbMsgProcessingCtx ctx = TbMsgProcessingCtx.fromProto(proto.getCtx());
         TbMsgDataType dataType = TbMsgDataType.values()[proto.getDataType()];
         return new TbMsg(queueName, UUID.fromString(proto.getId()), proto.getTs(), null, proto.getType(), entityId, customerId,
-                metaData, dataType, proto.getData(), ruleChainId, ruleNodeId, correlationId, partition, calculatedFieldIds, ctx, callback);
+                metaData, dataType, proto.getData(), ruleChainId, ruleNodeId, correlationId, partition, calculatedFieldIds, ctx, callback, null);
     }
 
     public int getAndIncrementRuleNodeCounter() {
@@ -276,6 +290,37 @@ public final class TbMsg implements Serializable {
         return getCallback().isMsgValid();
     }
 
+    /**
+     * Returns the message data parsed to a JSON tree. The data is parsed once and the tree is reused by all rule nodes
+     * that process this message or its copies with unchanged data, so the returned tree must not be modified.
+     * Use {@link #getDataAsJsonCopy()} to get a tree that may be modified.
+     *
+     * @return parsed data or null if the data is null or empty
+     * @throws IllegalArgumentException if the data is not a valid JSON
+     */
+    @JsonIgnore
+    public JsonNode getDataAsJson() {
+        JsonNode node = dataNode;
+        if (node == null && data != null && !data.isEmpty()) {
+            try {
+                node = JacksonUtil.OBJECT_MAPPER.readTree(data);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e);
+            }
+            dataNode = node;
+        }
+        return node;
+    }
+
+    /**
+     * Returns a modifiable copy of the parsed message data. Copying the cached tree is cheaper than parsing the data again.
+     */
+    @JsonIgnore
+    public JsonNode getDataAsJsonCopy() {
+        JsonNode node = getDataAsJson();
+        return node != null ? node.deepCopy() : null;
+    }
+
     public long getMetaDataTs() {
         String tsStr = metaData.getValue("ts");
         if (!StringUtils.isEmpty(tsStr)) {
@@ -367,6 +412,7 @@ public final class TbMsg implements Serializable {
         protected List<CalculatedFieldId> previousCalculatedFieldIds;
         protected TbMsgProcessingCtx ctx;
         protected TbMsgCallback callback;
+        protected JsonNode dataNode;
 
         TbMsgBuilder() {}
 
@@ -388,6 +434,7 @@ public final class TbMsg implements Serializable {
             this.previousCalculatedFieldIds = tbMsg.previousCalculatedFieldIds;
             this.ctx = tbMsg.ctx;
             this.callback = tbMsg.callback;
+            this.dataNode = tbMsg.dataNode;
         }
 
         public TbMsgBuilder queueName(String queueName) {
@@ -448,10 +495,27 @@ public final class TbMsg implements Serializable {
         }
 
         public TbMsgBuilder data(String data) {
+            if (!Objects.equals(this.data, data)) {
+                this.dataNode = null;
+            }
             this.data = data;
             return this;
         }
 
+        /**
+         * Sets the data serialized from the given tree. The tree is kept as the parsed data of the new message,
+         * so the next rule nodes don't need to parse the data again. The tree must not be modified after this call.
+         */
+        public TbMsgBuilder dataAsJson(JsonNode dataNode) {
+            try {
+                this.data = dataNode != null ? JacksonUtil.OBJECT_MAPPER.writeValueAsString(dataNode) : null;
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e);
+            }
+            this.dataNode = dataNode;
+            return this;
+        }
+
         public TbMsgBuilder ruleChainId(RuleChainId ruleChainId) {
             this.ruleChainId = ruleChainId;
             return this;
@@ -492,7 +556,7 @@ public final class TbMsg implements Serializable {
         }
 
         public TbMsg build() {
-            return new TbMsg(queueName, id, ts, internalType, type, originator, customerId, metaData, dataType, data, ruleChainId, ruleNodeId, correlationId, partition, previousCalculatedFieldIds, ctx, callback);
+            return new TbMsg(queueName, id, ts, internalType, type, originator, customerId, metaData, dataType, data, ruleChainId, ruleNodeId, correlationId, partition, previousCalculatedFieldIds, ctx, callback, dataNode);
         }
 
         public String toString() {
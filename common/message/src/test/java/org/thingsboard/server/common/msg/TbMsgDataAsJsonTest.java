@@ -0,0 +1,97 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.msg;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.msg.TbMsgType;
+import org.thingsboard.server.common.msg.queue.TbMsgCallback;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TbMsgDataAsJsonTest {
+
+    private static final String DATA = "{\"temperature\":22.5,\"humidity\":40}";
+
+    @Test
+    public void testDataIsParsedOnce() {
+        TbMsg msg = newMsg(DATA);
+        JsonNode node = msg.getDataAsJson();
+        assertEquals(22.5, node.get("temperature").asDouble());
+        assertSame(node, msg.getDataAsJson());
+    }
+
+    @Test
+    public void testParsedDataIsSharedWithCopiesWithSameData() {
+        TbMsg msg = newMsg(DATA);
+        JsonNode node = msg.getDataAsJson();
+        assertSame(node, msg.transform().metaData(new TbMsgMetaData()).build().getDataAsJson());
+        assertSame(node, msg.copy().data(DATA).build().getDataAsJson());
+        assertSame(node, msg.copyWithNewCtx().getDataAsJson());
+
+        TbMsg changed = msg.transform().data("{\"temperature\":23}").build();
+        assertEquals(23, changed.getDataAsJson().get("temperature").asInt());
+    }
+
+    @Test
+    public void testCopyDoesNotChangeCachedData() {
+        TbMsg msg = newMsg(DATA);
+        ObjectNode copy = (ObjectNode) msg.getDataAsJsonCopy();
+        assertNotSame(msg.getDataAsJson(), copy);
+        copy.put("pressure", 1000);
+        assertNull(msg.getDataAsJson().get("pressure"));
+        assertEquals(DATA, msg.getData());
+    }
+
+    @Test
+    public void testDataAsJsonSerializesData() {
+        TbMsg msg = newMsg(DATA);
+        ObjectNode copy = (ObjectNode) msg.getDataAsJsonCopy();
+        copy.remove("humidity");
+        TbMsg changed = msg.transform().dataAsJson(copy).build();
+        assertEquals("{\"temperature\":22.5}", changed.getData());
+        assertSame(copy, changed.getDataAsJson());
+
+        TbMsg fromProto = TbMsg.fromProto(null, TbMsg.toProto(changed), TbMsgCallback.EMPTY);
+        assertEquals(changed.getData(), fromProto.getData());
+        assertEquals(copy, fromProto.getDataAsJson());
+    }
+
+    @Test
+    public void testEmptyAndInvalidData() {
+        assertNull(newMsg("").getDataAsJson());
+        assertNull(newMsg("").getDataAsJsonCopy());
+        assertThrows(IllegalArgumentException.class, () -> newMsg("{invalid").getDataAsJson());
+    }
+
+    private static TbMsg newMsg(String data) {
+        return TbMsg.newMsg()
+                .type(TbMsgType.POST_TELEMETRY_REQUEST)
+                .originator(new DeviceId(UUID.randomUUID()))
+                .metaData(new TbMsgMetaData())
+                .data(data)
+                .build();
+    }
+
+}
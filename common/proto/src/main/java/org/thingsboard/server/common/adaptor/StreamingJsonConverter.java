@@ -0,0 +1,349 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.adaptor;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonWriter;
+import org.thingsboard.server.common.data.util.TbPair;
+import org.thingsboard.server.common.msg.gateway.metrics.GatewayMetadata;
+import org.thingsboard.server.gen.transport.TransportProtos.KeyValueProto;
+import org.thingsboard.server.gen.transport.TransportProtos.KeyValueType;
+import org.thingsboard.server.gen.transport.TransportProtos.PostAttributeMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.PostTelemetryMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.TsKvListProto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Converts device JSON payloads into telemetry and attribute protos in a single streaming pass,
+ * without building an intermediate String or Gson tree.
+ * <p>
+ * Produces the same result as {@link JsonConverter}. Payloads the streaming pass does not handle exactly like Gson
+ * (lenient syntax, duplicate keys, 'values' before 'ts', invalid content) are converted by {@link JsonConverter},
+ * so the error reporting stays the same as well.
+ */
+public class StreamingJsonConverter {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .enable(StreamReadFeature.STRICT_DUPLICATE_DETECTION)
+            .build();
+
+    public static PostTelemetryMsg convertToTelemetryProto(byte[] data, int offset, int length) throws JsonSyntaxException {
+        long ts = System.currentTimeMillis();
+        PostTelemetryMsg result = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(data, offset, length)) {
+            result = parseTelemetry(parser, ts);
+        } catch (IOException | RuntimeException ignored) {
+        }
+        return result != null ? result : JsonConverter.convertToTelemetryProto(JsonConverter.parse(new String(data, offset, length, StandardCharsets.UTF_8)), ts);
+    }
+
+    public static PostTelemetryMsg convertToTelemetryProto(InputStream in, Supplier<String> json) throws JsonSyntaxException {
+        long ts = System.currentTimeMillis();
+        PostTelemetryMsg result = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            result = parseTelemetry(parser, ts);
+        } catch (IOException | RuntimeException ignored) {
+        }
+        return result != null ? result : JsonConverter.convertToTelemetryProto(JsonConverter.parse(json.get()), ts);
+    }
+
+    public static PostTelemetryMsg convertToTelemetryProto(String json) throws JsonSyntaxException {
+        long ts = System.currentTimeMillis();
+        PostTelemetryMsg result = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            result = parseTelemetry(parser, ts);
+        } catch (IOException | RuntimeException ignored) {
+        }
+        return result != null ? result : JsonConverter.convertToTelemetryProto(JsonConverter.parse(json), ts);
+    }
+
+    public static PostAttributeMsg convertToAttributesProto(byte[] data, int offset, int length) throws JsonSyntaxException {
+        PostAttributeMsg result = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(data, offset, length)) {
+            result = parseAttributes(parser);
+        } catch (IOException | RuntimeException ignored) {
+        }
+        return result != null ? result : JsonConverter.convertToAttributesProto(JsonConverter.parse(new String(data, offset, length, StandardCharsets.UTF_8)));
+    }
+
+    public static PostAttributeMsg convertToAttributesProto(InputStream in, Supplier<String> json) throws JsonSyntaxException {
+        PostAttributeMsg result = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            result = parseAttributes(parser);
+        } catch (IOException | RuntimeException ignored) {
+        }
+        return result != null ? result : JsonConverter.convertToAttributesProto(JsonConverter.parse(json.get()));
+    }
+
+    public static PostAttributeMsg convertToAttributesProto(String json) throws JsonSyntaxException {
+        PostAttributeMsg result = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            result = parseAttributes(parser);
+        } catch (IOException | RuntimeException ignored) {
+        }
+        return result != null ? result : JsonConverter.convertToAttributesProto(JsonConverter.parse(json));
+    }
+
+    /**
+     * Converts the gateway telemetry payload of all devices at once.
+     *
+     * @return the telemetry and the gateway metadata by device name, in the payload order,
+     * or null if the payload has to be converted with {@link JsonConverter#convertToGatewayTelemetry}
+     */
+    public static Map<String, TbPair<PostTelemetryMsg, List<GatewayMetadata>>> convertToGatewayTelemetry(byte[] data, int offset, int length, long systemTs) {
+        try (JsonParser parser = JSON_FACTORY.createParser(data, offset, length)) {
+            return parseGatewayTelemetry(parser, systemTs);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public static Map<String, TbPair<PostTelemetryMsg, List<GatewayMetadata>>> convertToGatewayTelemetry(InputStream in, long systemTs) {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            return parseGatewayTelemetry(parser, systemTs);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /*
+     * Returns null whenever the payload has to be converted by the Gson based JsonConverter.
+     */
+    private static PostTelemetryMsg parseTelemetry(JsonParser parser, long systemTs) throws IOException {
+        PostTelemetryMsg.Builder builder = PostTelemetryMsg.newBuilder();
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            if (!parseObject(parser, systemTs, builder, null)) {
+                return null;
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                if (!parseObject(parser, systemTs, builder, null)) {
+                    return null;
+                }
+            }
+            if (token != JsonToken.END_ARRAY) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        return parser.nextToken() == null ? builder.build() : null;
+    }
+
+    private static PostAttributeMsg parseAttributes(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        List<KeyValueProto> kvList = parseValues(parser);
+        if (kvList == null || parser.nextToken() != null) {
+            return null;
+        }
+        return PostAttributeMsg.newBuilder().addAllKv(kvList).build();
+    }
+
+    /*
+     * Same structure as the payload handled by JsonConverter.convertToGatewayTelemetry, keyed by the device name.
+     */
+    private static Map<String, TbPair<PostTelemetryMsg, List<GatewayMetadata>>> parseGatewayTelemetry(JsonParser parser, long systemTs) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        Map<String, TbPair<PostTelemetryMsg, List<GatewayMetadata>>> result = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String deviceName = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
+            PostTelemetryMsg.Builder builder = PostTelemetryMsg.newBuilder();
+            List<GatewayMetadata> metadata = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                if (!parseObject(parser, systemTs, builder, metadata)) {
+                    return null;
+                }
+            }
+            if (token != JsonToken.END_ARRAY) {
+                return null;
+            }
+            result.put(deviceName, TbPair.of(builder.build(), metadata.isEmpty() ? null : metadata));
+        }
+        return parser.nextToken() == null ? result : null;
+    }
+
+    /*
+     * An object that has both 'ts' and 'values' keys is converted as a single timestamped entry,
+     * any other object is converted as a set of values reported at the system time.
+     * Gateway metadata is collected into the given list, if any.
+     */
+    private static boolean parseObject(JsonParser parser, long systemTs, PostTelemetryMsg.Builder builder, List<GatewayMetadata> metadata) throws IOException {
+        List<KeyValueProto> kvList = new ArrayList<>();
+        List<KeyValueProto> tsValues = null;
+        boolean tsFound = false;
+        boolean valuesFound = false;
+        long ts = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (metadata != null && "metadata".equals(key)) {
+                GatewayMetadata gatewayMetadata = parseMetadata(parser, token);
+                if (gatewayMetadata == null) {
+                    return false;
+                }
+                metadata.add(gatewayMetadata);
+                continue;
+            }
+            if (tsValues != null) {
+                parser.skipChildren();
+                continue;
+            }
+            if ("ts".equals(key)) {
+                if (valuesFound || token != JsonToken.VALUE_NUMBER_INT) {
+                    return false;
+                }
+                tsFound = true;
+                ts = parser.getLongValue();
+            } else if ("values".equals(key)) {
+                valuesFound = true;
+                if (tsFound) {
+                    if (token != JsonToken.START_OBJECT) {
+                        return false;
+                    }
+                    tsValues = parseValues(parser);
+                    if (tsValues == null) {
+                        return false;
+                    }
+                    continue;
+                }
+            }
+            if (!addValue(parser, token, key, kvList)) {
+                return false;
+            }
+        }
+        TsKvListProto.Builder tsKvList = TsKvListProto.newBuilder();
+        if (tsValues != null) {
+            tsKvList.setTs(ts).addAllKv(tsValues);
+        } else {
+            tsKvList.setTs(systemTs).addAllKv(kvList);
+        }
+        builder.addTsKvList(tsKvList.build());
+        return true;
+    }
+
+    private static GatewayMetadata parseMetadata(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            return null;
+        }
+        String connector = null;
+        Long receivedTs = null;
+        Long publishedTs = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            token = parser.nextToken();
+            switch (key) {
+                case "connector" -> connector = token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                case "receivedTs" -> receivedTs = token == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                case "publishedTs" -> publishedTs = token == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                default -> parser.skipChildren();
+            }
+        }
+        if (connector == null || receivedTs == null || publishedTs == null) {
+            return null;
+        }
+        return new GatewayMetadata(connector, receivedTs, publishedTs);
+    }
+
+    private static List<KeyValueProto> parseValues(JsonParser parser) throws IOException {
+        List<KeyValueProto> result = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            if (!addValue(parser, parser.nextToken(), key, result)) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private static boolean addValue(JsonParser parser, JsonToken token, String key, List<KeyValueProto> result) throws IOException {
+        switch (token) {
+            case VALUE_STRING -> result.add(JsonConverter.buildStringKeyValueProto(parser.getText(), key));
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> result.add(JsonConverter.buildNumericKeyValueProto(parser.getText(), key));
+            case VALUE_TRUE, VALUE_FALSE -> result.add(KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.BOOLEAN_V)
+                    .setBoolV(token == JsonToken.VALUE_TRUE).build());
+            case START_OBJECT, START_ARRAY -> result.add(KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.JSON_V)
+                    .setJsonV(toJsonString(parser)).build());
+            case VALUE_NULL -> {
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Writes the nested value with the Gson writer, so the JSON_V content matches JsonElement.toString()
+     * including the original number literals.
+     */
+    private static String toJsonString(JsonParser parser) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter writer = new JsonWriter(out);
+        int depth = 0;
+        JsonToken token = parser.currentToken();
+        do {
+            switch (token) {
+                case START_OBJECT -> {
+                    writer.beginObject();
+                    depth++;
+                }
+                case END_OBJECT -> {
+                    writer.endObject();
+                    depth--;
+                }
+                case START_ARRAY -> {
+                    writer.beginArray();
+                    depth++;
+                }
+                case END_ARRAY -> {
+                    writer.endArray();
+                    depth--;
+                }
+                case FIELD_NAME -> writer.name(parser.currentName());
+                case VALUE_STRING -> writer.value(parser.getText());
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> writer.jsonValue(parser.getText());
+                case VALUE_TRUE, VALUE_FALSE -> writer.value(token == JsonToken.VALUE_TRUE);
+                case VALUE_NULL -> writer.nullValue();
+                default -> throw new JsonSyntaxException("Unexpected token: " + token);
+            }
+        } while (depth > 0 && (token = parser.nextToken()) != null);
+        writer.flush();
+        return out.toString();
+    }
+
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.adaptor;
+
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.thingsboard.server.gen.transport.TransportProtos.PostTelemetryMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.TsKvListProto;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Isolated("JsonConverter static settings being modified")
+class StreamingJsonConverterTest {
+
+    @AfterEach
+    void after() {
+        JsonConverter.setTypeCastEnabled(true);
+        JsonConverter.setMaxStringValueLength(0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"temperature\":42,\"humidity\":73.5,\"active\":true,\"name\":\"Device A\",\"empty\":null}",
+            "{\"big\":12345678901234567890,\"exp\":1E+1,\"frac\":101E-1,\"zero\":42.0,\"num\":\"17\",\"str\":\"1.5abc\"}",
+            "{\"nested\":{\"a\":[1,2.50,{\"b\":null}],\"c\":\"\\u0001\\\"quoted\\\"\"},\"list\":[]}",
+            "{\"ts\":1451649600512,\"values\":{\"key1\":\"value1\",\"key2\":\"value2\"}}",
+            "{\"ts\":1451649600512,\"key1\":\"value1\"}",
+            "{\"values\":{\"key1\":1},\"ts\":1451649600512}",
+            "{\"ts\":\"1451649600512\",\"values\":{\"key1\":1}}",
+            "{\"key1\":1,\"ts\":1451649600512,\"values\":{\"key2\":2},\"key3\":[3]}",
+            "[{\"ts\":1451649600512,\"values\":{\"key1\":1}},{\"ts\":1451649600513,\"values\":{\"key1\":2}},{\"key2\":true}]",
+            "{\"key1\":1,\"key1\":2}",
+            "{key1:'lenient'}",
+            "[]"
+    })
+    void givenPayload_whenConvertToTelemetry_thenSameAsJsonConverter(String payload) {
+        PostTelemetryMsg expected = JsonConverter.convertToTelemetryProto(JsonParser.parseString(payload), 0L);
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+
+        assertSameValues(StreamingJsonConverter.convertToTelemetryProto(payload), expected);
+        assertSameValues(StreamingJsonConverter.convertToTelemetryProto(data, 0, data.length), expected);
+        assertSameValues(StreamingJsonConverter.convertToTelemetryProto(new ByteArrayInputStream(data), () -> payload), expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"attr1\":\"value1\",\"attr2\":42,\"attr3\":73.5,\"attr4\":false,\"attr5\":{\"someNumber\":42,\"someArray\":[1,2,3]}}",
+            "{\"ts\":1451649600512,\"values\":{\"key1\":1}}",
+            "{}"
+    })
+    void givenPayload_whenConvertToAttributes_thenSameAsJsonConverter(String payload) {
+        var expected = JsonConverter.convertToAttributesProto(JsonParser.parseString(payload));
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(StreamingJsonConverter.convertToAttributesProto(payload)).isEqualTo(expected);
+        assertThat(StreamingJsonConverter.convertToAttributesProto(data, 0, data.length)).isEqualTo(expected);
+    }
+
+    @Test
+    void givenSlicedArray_whenConvertToTelemetry_thenOnlySliceIsParsed() {
+        byte[] data = "xx{\"key1\":1}yy".getBytes(StandardCharsets.UTF_8);
+
+        PostTelemetryMsg result = StreamingJsonConverter.convertToTelemetryProto(data, 2, data.length - 4);
+
+        assertThat(result.getTsKvList(0).getKv(0).getLongV()).isEqualTo(1L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "42", "[1]", "{\"key1\":1} trailing", "{\"ts\":1451649600512,\"values\":42}"})
+    void givenInvalidPayload_whenConvertToTelemetry_thenJsonConverterErrorIsReported(String payload) {
+        assertThatThrownBy(() -> StreamingJsonConverter.convertToTelemetryProto(payload))
+                .isInstanceOfAny(JsonSyntaxException.class, IllegalStateException.class);
+    }
+
+    @Test
+    void givenMaxStringValueLength_whenValueIsLonger_thenJsonSyntaxException() {
+        JsonConverter.setMaxStringValueLength(3);
+
+        assertThatThrownBy(() -> StreamingJsonConverter.convertToTelemetryProto("{\"key1\":\"value1\"}"))
+                .isInstanceOf(JsonSyntaxException.class);
+    }
+
+    @Test
+    void givenTypeCastDisabled_whenNumericString_thenStringValue() {
+        JsonConverter.setTypeCastEnabled(false);
+        String payload = "{\"key1\":\"42\"}";
+
+        assertSameValues(StreamingJsonConverter.convertToTelemetryProto(payload),
+                JsonConverter.convertToTelemetryProto(JsonParser.parseString(payload), 0L));
+    }
+
+    @Test
+    void givenGatewayPayload_whenConvertToGatewayTelemetry_thenSameAsJsonConverterPerDevice() {
+        String payload = "{\"Device A\":[{\"ts\":1451649600512,\"values\":{\"temperature\":42}," +
+                "\"metadata\":{\"connector\":\"MQTT\",\"receivedTs\":1451649600500,\"publishedTs\":1451649600510}}]," +
+                "\"Device B\":[{\"humidity\":73.5},{\"ts\":1451649600513,\"values\":{\"active\":true}}]}";
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+
+        var result = StreamingJsonConverter.convertToGatewayTelemetry(data, 0, data.length, 100L);
+
+        assertThat(result).containsOnlyKeys("Device A", "Device B");
+        assertThat(StreamingJsonConverter.convertToGatewayTelemetry(new ByteArrayInputStream(data), 100L)).isEqualTo(result);
+        var json = JsonParser.parseString(payload).getAsJsonObject();
+        for (String deviceName : json.keySet()) {
+            var expected = JsonConverter.convertToGatewayTelemetry(json.get(deviceName), 100L);
+            assertThat(result.get(deviceName).getFirst()).isEqualTo(expected.getFirst());
+            assertThat(result.get(deviceName).getSecond()).isEqualTo(expected.getSecond());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "{\"Device A\":{\"temperature\":42}}",
+            "{\"Device A\":[42]}",
+            "{\"Device A\":[{\"temperature\":42,\"metadata\":{\"connector\":\"MQTT\"}}]}",
+            "{\"Device A\":[{\"temperature\":42,\"metadata\":{\"connector\":\"MQTT\",\"receivedTs\":\"1\",\"publishedTs\":2}}]}"
+    })
+    void givenUnsupportedGatewayPayload_whenConvertToGatewayTelemetry_thenNull(String payload) {
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(StreamingJsonConverter.convertToGatewayTelemetry(data, 0, data.length, 100L)).isNull();
+    }
+
+    private static void assertSameValues(PostTelemetryMsg actual, PostTelemetryMsg expected) {
+        List<TsKvListProto> actualList = actual.getTsKvListList();
+        List<TsKvListProto> expectedList = expected.getTsKvListList();
+        assertThat(actualList).hasSameSizeAs(expectedList);
+        for (int i = 0; i < expectedList.size(); i++) {
+            assertThat(actualList.get(i).getKvList()).isEqualTo(expectedList.get(i).getKvList());
+            if (expectedList.get(i).getTs() != 0L) {
+                assertThat(actualList.get(i).getTs()).isEqualTo(expectedList.get(i).getTs());
+            }
+        }
+    }
+
+}
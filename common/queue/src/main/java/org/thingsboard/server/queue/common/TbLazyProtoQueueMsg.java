@@ -0,0 +1,69 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.common;
+
+import com.google.protobuf.GeneratedMessageV3;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Parser;
+import org.thingsboard.server.queue.TbQueueMsgHeaders;
+
+import java.util.UUID;
+
+/**
+ * Keeps the raw record payload and parses it only when the value is requested for the first time.
+ * Consumers that route messages by a few top-level fields may read them from {@link #getData()} without a full parse.
+ */
+public class TbLazyProtoQueueMsg<T extends GeneratedMessageV3> extends TbProtoQueueMsg<T> {
+
+    private final byte[] data;
+    private final Parser<T> parser;
+    private volatile T parsedValue;
+
+    public TbLazyProtoQueueMsg(UUID key, byte[] data, Parser<T> parser, TbQueueMsgHeaders headers) {
+        super(key, null, headers);
+        this.data = data;
+        this.parser = parser;
+    }
+
+    @Override
+    public T getValue() {
+        T result = parsedValue;
+        if (result == null) {
+            synchronized (this) {
+                result = parsedValue;
+                if (result == null) {
+                    try {
+                        result = parser.parseFrom(data);
+                    } catch (InvalidProtocolBufferException e) {
+                        throw new RuntimeException("Failed to decode message " + getKey(), e);
+                    }
+                    parsedValue = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public boolean isParsed() {
+        return parsedValue != null;
+    }
+
+    @Override
+    public byte[] getData() {
+        return data;
+    }
+
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.common;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.EntityIdFactory;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.msg.gen.MsgProtos.TbMsgProto;
+import org.thingsboard.server.gen.transport.TransportProtos.ToRuleEngineMsg;
+import org.thingsboard.server.queue.TbQueueMsgHeaders;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Rule engine queue message that resolves the tenant and the originator directly from the serialized record,
+ * so the submit strategies can order a pack without parsing the embedded {@link TbMsgProto}.
+ */
+@Slf4j
+public class TbRuleEngineProtoQueueMsg extends TbLazyProtoQueueMsg<ToRuleEngineMsg> {
+
+    private volatile RoutingFields routingFields;
+
+    public TbRuleEngineProtoQueueMsg(UUID key, byte[] data, TbQueueMsgHeaders headers) {
+        super(key, data, ToRuleEngineMsg.parser(), headers);
+    }
+
+    public TenantId getTenantId() {
+        return getRoutingFields().tenantId();
+    }
+
+    public EntityId getOriginator() {
+        return getRoutingFields().originator();
+    }
+
+    public static TenantId tenantIdOf(TbProtoQueueMsg<ToRuleEngineMsg> msg) {
+        if (msg instanceof TbRuleEngineProtoQueueMsg ruleEngineMsg) {
+            return ruleEngineMsg.getTenantId();
+        }
+        ToRuleEngineMsg value = msg.getValue();
+        return TenantId.fromUUID(new UUID(value.getTenantIdMSB(), value.getTenantIdLSB()));
+    }
+
+    public static EntityId originatorOf(TbProtoQueueMsg<ToRuleEngineMsg> msg) {
+        if (msg instanceof TbRuleEngineProtoQueueMsg ruleEngineMsg) {
+            return ruleEngineMsg.getOriginator();
+        }
+        return readRoutingFields(msg.getValue()).originator();
+    }
+
+    private RoutingFields getRoutingFields() {
+        RoutingFields result = routingFields;
+        if (result == null) {
+            if (isParsed()) {
+                result = readRoutingFields(getValue());
+            } else {
+                try {
+                    result = readRoutingFields(getData());
+                } catch (IOException e) {
+                    log.debug("[{}] Failed to read routing fields, falling back to the full parse", getKey(), e);
+                    result = readRoutingFields(getValue());
+                }
+            }
+            routingFields = result;
+        }
+        return result;
+    }
+
+    private static RoutingFields readRoutingFields(ToRuleEngineMsg msg) {
+        TbMsgProto tbMsgProto;
+        if (msg.getTbMsg().isEmpty()) {
+            tbMsgProto = msg.hasTbMsgProto() ? msg.getTbMsgProto() : null;
+        } else {
+            try {
+                tbMsgProto = TbMsgProto.parseFrom(msg.getTbMsg());
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to parse TbMsg", e);
+            }
+        }
+        TenantId tenantId = TenantId.fromUUID(new UUID(msg.getTenantIdMSB(), msg.getTenantIdLSB()));
+        EntityId originator = null;
+        if (tbMsgProto != null) {
+            originator = toEntityId(tbMsgProto.getEntityType(), tbMsgProto.getEntityIdMSB(), tbMsgProto.getEntityIdLSB());
+        }
+        return new RoutingFields(tenantId, originator);
+    }
+
+    /*
+     * Walks the top-level fields of the ToRuleEngineMsg and descends only into the TbMsgProto header fields.
+     * Metadata, data and the other length-delimited fields are skipped without copying.
+     */
+    static RoutingFields readRoutingFields(byte[] data) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(data);
+        long tenantIdMSB = 0;
+        long tenantIdLSB = 0;
+        EntityId legacyOriginator = null;
+        EntityId originator = null;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case ToRuleEngineMsg.TENANTIDMSB_FIELD_NUMBER -> tenantIdMSB = input.readInt64();
+                case ToRuleEngineMsg.TENANTIDLSB_FIELD_NUMBER -> tenantIdLSB = input.readInt64();
+                case ToRuleEngineMsg.TBMSG_FIELD_NUMBER -> legacyOriginator = readOriginator(input);
+                case ToRuleEngineMsg.TBMSGPROTO_FIELD_NUMBER -> originator = readOriginator(input);
+                default -> input.skipField(tag);
+            }
+        }
+        TenantId tenantId = TenantId.fromUUID(new UUID(tenantIdMSB, tenantIdLSB));
+        return new RoutingFields(tenantId, legacyOriginator != null ? legacyOriginator : originator);
+    }
+
+    private static EntityId readOriginator(CodedInputStream input) throws IOException {
+        int length = input.readRawVarint32();
+        if (length == 0) {
+            return null;
+        }
+        int oldLimit = input.pushLimit(length);
+        String entityType = "";
+        long entityIdMSB = 0;
+        long entityIdLSB = 0;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case TbMsgProto.ENTITYTYPE_FIELD_NUMBER -> entityType = input.readStringRequireUtf8();
+                case TbMsgProto.ENTITYIDMSB_FIELD_NUMBER -> entityIdMSB = input.readInt64();
+                case TbMsgProto.ENTITYIDLSB_FIELD_NUMBER -> entityIdLSB = input.readInt64();
+                default -> input.skipField(tag);
+            }
+        }
+        input.popLimit(oldLimit);
+        return toEntityId(entityType, entityIdMSB, entityIdLSB);
+    }
+
+    private static EntityId toEntityId(String entityType, long entityIdMSB, long entityIdLSB) {
+        return entityType.isEmpty() ? null : EntityIdFactory.getByTypeAndUuid(entityType, new UUID(entityIdMSB, entityIdLSB));
+    }
+
+    record RoutingFields(TenantId tenantId, EntityId originator) {}
+
+}
@@ -15,6 +15,7 @@
  */
 package org.thingsboard.server.queue.kafka;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.Builder;
@@ -29,6 +30,7 @@ import org.apache.kafka.common.TopicPartition;
 import org.springframework.stereotype.Component;
 import org.thingsboard.common.util.ThingsBoardExecutors;
 import org.thingsboard.server.common.data.StringUtils;
+import org.thingsboard.server.common.stats.StatsFactory;
 import org.thingsboard.server.queue.util.TbKafkaComponent;
 
 import java.time.Duration;
@@ -38,6 +40,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -47,10 +50,13 @@ import java.util.concurrent.TimeUnit;
 @TbKafkaComponent
 public class TbKafkaConsumerStatsService {
     private final Set<String> monitoredGroups = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<String, Map<String, Long>> consumerLags = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> commitTimers = new ConcurrentHashMap<>();
 
     private final TbKafkaSettings kafkaSettings;
     private final KafkaAdmin kafkaAdmin;
     private final TbKafkaConsumerStatisticConfig statsConfig;
+    private final StatsFactory statsFactory;
 
     private Consumer<String, byte[]> consumer;
     private ScheduledExecutorService statsPrintScheduler;
@@ -137,6 +143,37 @@ public class TbKafkaConsumerStatsService {
         }
     }
 
+    /**
+     * Reports the lag of the consumer behind the end offsets of its assigned partitions.
+     * The lag of the consumer group is exposed as the sum of the lags of its consumers.
+     */
+    public void reportLag(String groupId, String clientId, long lag) {
+        if (statsConfig.getEnabled() && !StringUtils.isEmpty(groupId)) {
+            consumerLags.computeIfAbsent(groupId, id -> {
+                Map<String, Long> lags = new ConcurrentHashMap<>();
+                statsFactory.createGauge("kafkaConsumerLag", id, lags, map -> map.values().stream().mapToLong(Long::longValue).sum());
+                return lags;
+            }).put(clientId, lag);
+        }
+    }
+
+    public void reportCommit(String groupId, boolean sync, long durationNanos) {
+        if (statsConfig.getEnabled() && !StringUtils.isEmpty(groupId)) {
+            String type = sync ? "sync" : "async";
+            commitTimers.computeIfAbsent(groupId + "_" + type, key -> statsFactory.createTimer("kafkaConsumerCommit", "groupId", groupId, "type", type))
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void unregisterClient(String groupId, String clientId) {
+        if (statsConfig.getEnabled() && !StringUtils.isEmpty(groupId)) {
+            Map<String, Long> lags = consumerLags.get(groupId);
+            if (lags != null) {
+                lags.remove(clientId);
+            }
+        }
+    }
+
     @PreDestroy
     public void destroy() {
         if (statsPrintScheduler != null) {
@@ -19,13 +19,16 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.springframework.util.StopWatch;
+import org.thingsboard.common.util.ThingsBoardThreadFactory;
 import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
 import org.thingsboard.server.queue.TbQueueAdmin;
 import org.thingsboard.server.queue.TbQueueMsg;
@@ -37,27 +40,40 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
  * Created by ashvayka on 24.09.18.
+ * <p>
+ * In the pipelined mode the next poll is prefetched by a separate thread while the records returned by the previous poll are processed.
+ * The consumer position is ahead of the processed records then, so the offsets of the delivered records are committed explicitly:
+ * asynchronously on each commit and synchronously once per sync commit interval, before the subscription change and on unsubscribe.
+ * The consumer is never used by two threads at once: the caller waits for the prefetch before committing or changing the subscription.
+ * When the group revokes partitions during the prefetch, the offsets of their delivered records are committed by the rebalance listener
+ * and the prefetched records of the partitions that are no longer assigned are dropped.
  */
 @Slf4j
 public class TbKafkaConsumerTemplate<T extends TbQueueMsg> extends AbstractTbQueueConsumerTemplate<ConsumerRecord<String, byte[]>, T> {
 
     private final TbKafkaAdmin admin;
-    private final KafkaConsumer<String, byte[]> consumer;
+    private final Consumer<String, byte[]> consumer;
     private final TbKafkaDecoder<T> decoder;
 
     private final TbKafkaConsumerStatsService statsService;
     @Getter
     private final String groupId;
+    private final String clientId;
 
     @Setter
     private Function<String, Long> startOffsetProvider;
@@ -66,34 +82,65 @@ public class TbKafkaConsumerTemplate<T extends TbQueueMsg> extends AbstractTbQue
     private int readCount;
     private Map<Integer, Long> endOffsets; // needed if stopWhenRead is true
 
+    private final boolean pipelined;
+    private final long syncCommitIntervalMs;
+    private final ExecutorService prefetchExecutor;
+    private Future<List<ConsumerRecord<String, byte[]>>> prefetch;
+    private final Map<TopicPartition, OffsetAndMetadata> deliveredOffsets = new HashMap<>();
+    private Map<TopicPartition, OffsetAndMetadata> pendingOffsets;
+    private final Set<TopicPartition> revokedPartitions = new HashSet<>();
+    private final Object offsetsLock = new Object(); // the rebalance listener is called by the prefetch thread
+    private long lastSyncCommitTs;
+
     @Builder
     private TbKafkaConsumerTemplate(TbKafkaSettings settings, TbKafkaDecoder<T> decoder,
                                     String clientId, String groupId, String topic,
                                     TbQueueAdmin admin, TbKafkaConsumerStatsService statsService,
                                     boolean readFromBeginning, boolean stopWhenRead) {
-        super(topic);
-        Properties props = settings.toConsumerProps(topic);
-        props.put(ConsumerConfig.CLIENT_ID_CONFIG, clientId);
-        if (groupId != null) {
-            props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        }
+        this(new KafkaConsumer<>(toConsumerProps(settings, topic, clientId, groupId)), decoder, clientId, groupId, topic, admin, statsService,
+                readFromBeginning, stopWhenRead, settings.isConsumerPipeliningEnabled(), settings.getConsumerSyncCommitIntervalMs());
+    }
 
+    TbKafkaConsumerTemplate(Consumer<String, byte[]> consumer, TbKafkaDecoder<T> decoder,
+                            String clientId, String groupId, String topic,
+                            TbQueueAdmin admin, TbKafkaConsumerStatsService statsService,
+                            boolean readFromBeginning, boolean stopWhenRead,
+                            boolean pipelined, long syncCommitIntervalMs) {
+        super(topic);
         this.statsService = statsService;
         this.groupId = groupId;
+        this.clientId = clientId;
 
         if (statsService != null) {
             statsService.registerClientGroup(groupId);
         }
 
         this.admin = (TbKafkaAdmin) admin;
-        this.consumer = new KafkaConsumer<>(props);
+        this.consumer = consumer;
         this.decoder = decoder;
         this.readFromBeginning = readFromBeginning;
         this.stopWhenRead = stopWhenRead;
+        // offsets are committed only with the consumer group, the consumers that read the topic up to the end are not pipelined
+        this.pipelined = pipelined && groupId != null && !readFromBeginning && !stopWhenRead;
+        this.syncCommitIntervalMs = syncCommitIntervalMs;
+        this.prefetchExecutor = this.pipelined ? Executors.newSingleThreadExecutor(ThingsBoardThreadFactory.forName("kafka-prefetch-" + clientId)) : null;
+    }
+
+    private static Properties toConsumerProps(TbKafkaSettings settings, String topic, String clientId, String groupId) {
+        Properties props = settings.toConsumerProps(topic);
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG, clientId);
+        if (groupId != null) {
+            props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        }
+        return props;
     }
 
     @Override
     protected void doSubscribe(Set<TopicPartitionInfo> partitions) {
+        if (pipelined) {
+            rewindPrefetch();
+            commitPending(true);
+        }
         Map<String, List<Integer>> topics;
         if (partitions == null) {
             topics = Collections.emptyMap();
@@ -138,6 +185,23 @@ public class TbKafkaConsumerTemplate<T extends TbQueueMsg> extends AbstractTbQue
                             TbKafkaConsumerTemplate.this.onPartitionsAssigned(partitions);
                         }
                     });
+                } else if (pipelined) {
+                    consumer.subscribe(toSubscribe, new ConsumerRebalanceListener() {
+                        @Override
+                        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                            log.debug("Handling onPartitionsRevoked {}", partitions);
+                            commitRevoked(partitions);
+                        }
+
+                        @Override
+                        public void onPartitionsLost(Collection<TopicPartition> partitions) {
+                            log.debug("Handling onPartitionsLost {}", partitions);
+                            takeOffsets(partitions);
+                        }
+
+                        @Override
+                        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {}
+                    });
                 } else {
                     consumer.subscribe(toSubscribe);
                 }
@@ -150,6 +214,21 @@ public class TbKafkaConsumerTemplate<T extends TbQueueMsg> extends AbstractTbQue
 
     @Override
     protected List<ConsumerRecord<String, byte[]>> doPoll(long durationInMillis) {
+        if (!pipelined) {
+            return pollRecords(durationInMillis);
+        }
+        List<ConsumerRecord<String, byte[]>> records = prefetch != null ? awaitPrefetch() : pollRecords(durationInMillis);
+        commitPending(false);
+        synchronized (offsetsLock) {
+            records.forEach(record -> deliveredOffsets.put(new TopicPartition(record.topic(), record.partition()), new OffsetAndMetadata(record.offset() + 1)));
+        }
+        if (!stopped) {
+            prefetch = prefetchExecutor.submit(() -> pollRecords(durationInMillis));
+        }
+        return records;
+    }
+
+    private List<ConsumerRecord<String, byte[]>> pollRecords(long durationInMillis) {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
@@ -186,9 +265,146 @@ public class TbKafkaConsumerTemplate<T extends TbQueueMsg> extends AbstractTbQue
             log.info("Finished reading {}, processed {} messages", partitions, readCount);
             stop();
         }
+        if (statsService != null && !recordList.isEmpty()) {
+            statsService.reportLag(groupId, clientId, getLag());
+        }
         return recordList;
     }
 
+    private long getLag() {
+        long lag = 0;
+        for (TopicPartition topicPartition : consumer.assignment()) {
+            lag += consumer.currentLag(topicPartition).orElse(0);
+        }
+        return lag;
+    }
+
+    private List<ConsumerRecord<String, byte[]>> awaitPrefetch() {
+        if (prefetch == null) {
+            return Collections.emptyList();
+        }
+        try {
+            return dropRevoked(prefetch.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the prefetched records of " + getTopic(), e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to prefetch records of " + getTopic(), e.getCause());
+        } finally {
+            prefetch = null;
+        }
+    }
+
+    /*
+     * Drops the prefetched records of the partitions that were revoked during the prefetch and are not assigned again,
+     * they are consumed by the new owner from the offsets committed by the rebalance listener.
+     */
+    private List<ConsumerRecord<String, byte[]>> dropRevoked(List<ConsumerRecord<String, byte[]>> records) {
+        Set<TopicPartition> revoked;
+        synchronized (offsetsLock) {
+            if (revokedPartitions.isEmpty()) {
+                return records;
+            }
+            revoked = new HashSet<>(revokedPartitions);
+            revokedPartitions.clear();
+        }
+        revoked.removeAll(consumer.assignment());
+        if (revoked.isEmpty() || records.isEmpty()) {
+            return records;
+        }
+        List<ConsumerRecord<String, byte[]>> result = records.stream()
+                .filter(record -> !revoked.contains(new TopicPartition(record.topic(), record.partition())))
+                .toList();
+        log.debug("[{}] Dropped {} prefetched records of revoked partitions {}", groupId, records.size() - result.size(), revoked);
+        return result;
+    }
+
+    /*
+     * Seeks back to the first prefetched record of each partition, so the records that were not delivered yet are polled again.
+     */
+    private void rewindPrefetch() {
+        List<ConsumerRecord<String, byte[]>> records = awaitPrefetch();
+        Map<TopicPartition, Long> firstOffsets = new HashMap<>();
+        records.forEach(record -> firstOffsets.putIfAbsent(new TopicPartition(record.topic(), record.partition()), record.offset()));
+        Set<TopicPartition> assignment = consumer.assignment();
+        firstOffsets.forEach((topicPartition, offset) -> {
+            if (assignment.contains(topicPartition)) {
+                consumer.seek(topicPartition, offset);
+            }
+        });
+    }
+
+    private void commitPending(boolean forceSync) {
+        Map<TopicPartition, OffsetAndMetadata> offsets;
+        synchronized (offsetsLock) {
+            offsets = pendingOffsets;
+            pendingOffsets = null;
+        }
+        if (offsets == null || offsets.isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        long ts = System.currentTimeMillis();
+        if (forceSync || ts - lastSyncCommitTs >= syncCommitIntervalMs) {
+            try {
+                consumer.commitSync(offsets);
+                lastSyncCommitTs = ts;
+                reportCommit(true, startNanos);
+            } catch (Exception e) {
+                // e.g. CommitFailedException after a rebalance, the offsets of the revoked partitions are committed by the new owner
+                log.warn("[{}] Failed to commit offsets {}", groupId, offsets, e);
+            }
+        } else {
+            consumer.commitAsync(offsets, (committedOffsets, e) -> {
+                if (e != null) {
+                    // the offsets are committed again by the next commit
+                    log.warn("[{}] Failed to commit offsets {}", groupId, offsets, e);
+                } else {
+                    reportCommit(false, startNanos);
+                }
+            });
+        }
+    }
+
+    private void commitRevoked(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = takeOffsets(partitions);
+        if (offsets.isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            consumer.commitSync(offsets);
+            reportCommit(true, startNanos);
+        } catch (Exception e) {
+            log.warn("[{}] Failed to commit offsets {} of revoked partitions", groupId, offsets, e);
+        }
+    }
+
+    /*
+     * Removes the pending and delivered offsets of the partitions that are no longer owned by the consumer.
+     */
+    private Map<TopicPartition, OffsetAndMetadata> takeOffsets(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        synchronized (offsetsLock) {
+            revokedPartitions.addAll(partitions);
+            for (TopicPartition partition : partitions) {
+                OffsetAndMetadata pending = pendingOffsets != null ? pendingOffsets.remove(partition) : null;
+                OffsetAndMetadata delivered = deliveredOffsets.remove(partition);
+                OffsetAndMetadata offset = delivered != null ? delivered : pending;
+                if (offset != null) {
+                    offsets.put(partition, offset);
+                }
+            }
+        }
+        return offsets;
+    }
+
+    private void reportCommit(boolean sync, long startNanos) {
+        if (statsService != null) {
+            statsService.reportCommit(groupId, sync, System.nanoTime() - startNanos);
+        }
+    }
+
     private void onPartitionsAssigned(Collection<TopicPartition> partitions) {
         if (readFromBeginning) {
             log.debug("Seeking to beginning for {}", partitions);
@@ -219,18 +435,44 @@ public class TbKafkaConsumerTemplate<T extends TbQueueMsg> extends AbstractTbQue
 
     @Override
     protected void doCommit() {
-        if (groupId != null) {
+        if (groupId == null) {
+            return;
+        }
+        if (pipelined) {
+            // the prefetch may use the consumer now, the offsets are committed on the next poll
+            synchronized (offsetsLock) {
+                if (!deliveredOffsets.isEmpty()) {
+                    if (pendingOffsets == null) {
+                        pendingOffsets = new HashMap<>();
+                    }
+                    pendingOffsets.putAll(deliveredOffsets);
+                    deliveredOffsets.clear();
+                }
+            }
+        } else {
+            long startNanos = System.nanoTime();
             consumer.commitSync();
+            reportCommit(true, startNanos);
         }
     }
 
     @Override
     protected void doUnsubscribe() {
+        if (pipelined) {
+            try {
+                awaitPrefetch();
+                commitPending(true);
+            } catch (Exception e) {
+                log.warn("[{}] Failed to commit offsets on unsubscribe", groupId, e);
+            }
+            prefetchExecutor.shutdownNow();
+        }
         if (consumer != null) {
             consumer.unsubscribe();
             consumer.close();
         }
         if (statsService != null) {
+            statsService.unregisterClient(groupId, clientId);
             statsService.unregisterClientGroup(groupId);
         }
     }
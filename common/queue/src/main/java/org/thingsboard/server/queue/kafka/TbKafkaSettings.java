@@ -121,6 +121,14 @@ public class TbKafkaSettings {
     @Value("${queue.kafka.auto_offset_reset:earliest}")
     private String autoOffsetReset;
 
+    @Value("${queue.kafka.consumer_pipelining_enabled:false}")
+    @Getter
+    private boolean consumerPipeliningEnabled;
+
+    @Value("${queue.kafka.consumer_sync_commit_interval_ms:5000}")
+    @Getter
+    private long consumerSyncCommitIntervalMs;
+
     @Value("${queue.kafka.use_confluent_cloud:false}")
     private boolean useConfluent;
 
@@ -0,0 +1,109 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.common;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.msg.gen.MsgProtos.TbMsgMetaDataProto;
+import org.thingsboard.server.common.msg.gen.MsgProtos.TbMsgProto;
+import org.thingsboard.server.gen.transport.TransportProtos.ToRuleEngineMsg;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TbRuleEngineProtoQueueMsgTest {
+
+    TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+    DeviceId deviceId = new DeviceId(UUID.randomUUID());
+
+    @Test
+    void givenSerializedMsg_whenReadRoutingFields_thenMsgIsNotParsed() {
+        ToRuleEngineMsg proto = toRuleEngineMsg(false);
+        var msg = new TbRuleEngineProtoQueueMsg(UUID.randomUUID(), proto.toByteArray(), new DefaultTbQueueMsgHeaders());
+
+        assertThat(msg.getTenantId()).isEqualTo(tenantId);
+        assertThat(msg.getOriginator()).isEqualTo(deviceId);
+        assertThat(msg.isParsed()).isFalse();
+
+        assertThat(msg.getValue()).isEqualTo(proto);
+        assertThat(msg.isParsed()).isTrue();
+    }
+
+    @Test
+    void givenLegacyTbMsgBytes_whenReadRoutingFields_thenOriginatorIsResolved() {
+        var msg = new TbRuleEngineProtoQueueMsg(UUID.randomUUID(), toRuleEngineMsg(true).toByteArray(), new DefaultTbQueueMsgHeaders());
+
+        assertThat(msg.getOriginator()).isEqualTo(deviceId);
+        assertThat(msg.isParsed()).isFalse();
+    }
+
+    @Test
+    void givenEagerMsg_whenResolveRoutingFields_thenSameAsLazy() {
+        ToRuleEngineMsg proto = toRuleEngineMsg(false);
+        var msg = new TbProtoQueueMsg<>(UUID.randomUUID(), proto);
+
+        assertThat(TbRuleEngineProtoQueueMsg.tenantIdOf(msg)).isEqualTo(tenantId);
+        assertThat(TbRuleEngineProtoQueueMsg.originatorOf(msg)).isEqualTo(deviceId);
+    }
+
+    @Test
+    void givenMsgWithoutTbMsg_whenReadOriginator_thenNull() {
+        ToRuleEngineMsg proto = ToRuleEngineMsg.newBuilder()
+                .setTenantIdMSB(tenantId.getId().getMostSignificantBits())
+                .setTenantIdLSB(tenantId.getId().getLeastSignificantBits())
+                .build();
+        var msg = new TbRuleEngineProtoQueueMsg(UUID.randomUUID(), proto.toByteArray(), new DefaultTbQueueMsgHeaders());
+
+        assertThat(msg.getTenantId()).isEqualTo(tenantId);
+        assertThat(msg.getOriginator()).isNull();
+    }
+
+    @Test
+    void givenMalformedData_whenGetValue_thenFailsOnFirstAccess() {
+        var msg = new TbRuleEngineProtoQueueMsg(UUID.randomUUID(), new byte[]{(byte) 0xFF, (byte) 0xFF}, new DefaultTbQueueMsgHeaders());
+
+        assertThatThrownBy(msg::getValue).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(msg::getTenantId).isInstanceOf(RuntimeException.class);
+    }
+
+    private ToRuleEngineMsg toRuleEngineMsg(boolean legacy) {
+        TbMsgProto tbMsgProto = TbMsgProto.newBuilder()
+                .setId(UUID.randomUUID().toString())
+                .setType("POST_TELEMETRY_REQUEST")
+                .setEntityType(EntityType.DEVICE.name())
+                .setEntityIdMSB(deviceId.getId().getMostSignificantBits())
+                .setEntityIdLSB(deviceId.getId().getLeastSignificantBits())
+                .setMetaData(TbMsgMetaDataProto.newBuilder().putData("deviceName", "Device A"))
+                .setData("{\"temperature\":42}")
+                .build();
+        ToRuleEngineMsg.Builder builder = ToRuleEngineMsg.newBuilder()
+                .setTenantIdMSB(tenantId.getId().getMostSignificantBits())
+                .setTenantIdLSB(tenantId.getId().getLeastSignificantBits())
+                .addRelationTypes("Success");
+        if (legacy) {
+            builder.setTbMsg(ByteString.copyFrom(tbMsgProto.toByteArray()));
+        } else {
+            builder.setTbMsgProto(tbMsgProto);
+        }
+        return builder.build();
+    }
+
+}
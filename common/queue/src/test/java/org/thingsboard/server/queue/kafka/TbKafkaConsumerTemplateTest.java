@@ -0,0 +1,178 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.queue.kafka;
+
+import org.apache.kafka.clients.consumer.CommitFailedException;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
+import org.thingsboard.server.queue.TbQueueMsg;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+
+class TbKafkaConsumerTemplateTest {
+
+    static final String TOPIC = "tb_core";
+
+    TopicPartition topicPartition = new TopicPartition(TOPIC, 0);
+    MockConsumer<String, byte[]> consumer;
+    TbKafkaConsumerTemplate<TbQueueMsg> consumerTemplate;
+
+    @BeforeEach
+    void setUp() {
+        consumer = spy(new MockConsumer<>(OffsetResetStrategy.EARLIEST));
+        consumer.updateBeginningOffsets(Map.of(topicPartition, 0L));
+        consumerTemplate = new TbKafkaConsumerTemplate<>(consumer, msg -> msg, "test-client", "test-group", TOPIC,
+                mock(TbKafkaAdmin.class), null, false, false, true, 60000);
+        consumerTemplate.subscribe(Set.of(TopicPartitionInfo.builder().topic(TOPIC).partition(0).useInternalPartition(true).myPartition(true).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (!consumerTemplate.isStopped()) {
+            consumerTemplate.unsubscribe();
+        }
+    }
+
+    @Test
+    void givenPipelinedConsumer_whenPackIsCommitted_thenOffsetsOfDeliveredRecordsAreCommittedOnNextPoll() {
+        consumer.schedulePollTask(() -> addRecords(0, 3));
+        // prefetched while the first pack is processed
+        consumer.schedulePollTask(() -> addRecords(3, 5));
+
+        assertThat(consumerTemplate.poll(10)).hasSize(3);
+        consumerTemplate.commit();
+        then(consumer).should(never()).commitSync(anyMap());
+
+        // the first commit is a sync checkpoint
+        assertThat(consumerTemplate.poll(10)).hasSize(2);
+        then(consumer).should().commitSync(Map.of(topicPartition, new OffsetAndMetadata(3)));
+
+        consumerTemplate.commit();
+        assertThat(consumerTemplate.poll(10)).isEmpty();
+        then(consumer).should().commitAsync(eq(Map.of(topicPartition, new OffsetAndMetadata(5))), any());
+    }
+
+    @Test
+    void givenPrefetchedRecords_whenSubscriptionChanged_thenConsumerSeeksToFirstUndeliveredRecord() {
+        consumer.schedulePollTask(() -> addRecords(0, 3));
+        consumer.schedulePollTask(() -> addRecords(3, 5));
+        assertThat(consumerTemplate.poll(10)).hasSize(3);
+        consumerTemplate.commit();
+
+        consumerTemplate.subscribe(Set.of(TopicPartitionInfo.builder().topic(TOPIC).partition(0).useInternalPartition(true).myPartition(true).build()));
+        consumerTemplate.poll(10);
+
+        then(consumer).should().seek(topicPartition, 3L);
+        then(consumer).should().commitSync(Map.of(topicPartition, new OffsetAndMetadata(3)));
+    }
+
+    @Test
+    void givenPipelinedConsumer_whenUnsubscribe_thenPendingOffsetsAreCommittedSynchronously() {
+        consumer.schedulePollTask(() -> addRecords(0, 3));
+        assertThat(consumerTemplate.poll(10)).hasSize(3);
+        consumerTemplate.commit();
+
+        consumerTemplate.unsubscribe();
+
+        then(consumer).should().commitSync(Map.of(topicPartition, new OffsetAndMetadata(3)));
+        then(consumer).should().close();
+    }
+
+    @Test
+    void givenPipelinedConsumer_whenCommitFails_thenPollIsNotInterrupted() {
+        willThrow(new CommitFailedException()).given(consumer).commitSync(anyMap());
+        consumer.schedulePollTask(() -> addRecords(0, 3));
+        consumer.schedulePollTask(() -> addRecords(3, 5));
+        assertThat(consumerTemplate.poll(10)).hasSize(3);
+        consumerTemplate.commit();
+
+        assertThat(consumerTemplate.poll(10)).hasSize(2);
+        then(consumer).should().commitSync(Map.of(topicPartition, new OffsetAndMetadata(3)));
+    }
+
+    @Test
+    void givenGroupSubscription_whenPartitionIsRevokedDuringPrefetch_thenDeliveredOffsetsAreCommittedAndPrefetchedRecordsAreDropped() {
+        consumerTemplate.unsubscribe();
+        TopicPartition revokedPartition = new TopicPartition(TOPIC, 1);
+        consumer = spy(new MockConsumer<>(OffsetResetStrategy.EARLIEST));
+        consumer.updateBeginningOffsets(Map.of(topicPartition, 0L, revokedPartition, 0L));
+        consumerTemplate = new TbKafkaConsumerTemplate<>(consumer, msg -> msg, "test-client", "test-group", TOPIC,
+                mock(TbKafkaAdmin.class), null, false, false, true, 60000);
+        AtomicReference<ConsumerRebalanceListener> listener = new AtomicReference<>();
+        willAnswer(invocation -> {
+            listener.set(invocation.getArgument(1));
+            return invocation.callRealMethod();
+        }).given(consumer).subscribe(anyCollection(), any(ConsumerRebalanceListener.class));
+        consumerTemplate.subscribe();
+
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(topicPartition, revokedPartition));
+            addRecords(0, 0, 3);
+            addRecords(1, 0, 2);
+        });
+        // the group revokes the partition while the delivered pack is processed
+        consumer.schedulePollTask(() -> {
+            addRecords(0, 3, 5);
+            addRecords(1, 2, 4);
+            listener.get().onPartitionsRevoked(List.of(revokedPartition));
+            willReturn(Set.of(topicPartition)).given(consumer).assignment();
+        });
+        assertThat(consumerTemplate.poll(10)).hasSize(5);
+        // the payload of the records of the revoked partition starts from 100
+        assertThat(consumerTemplate.poll(10)).extracting(msg -> msg.getData()[0]).containsExactly((byte) 3, (byte) 4);
+        then(consumer).should().commitSync(Map.of(revokedPartition, new OffsetAndMetadata(2)));
+
+        consumerTemplate.commit();
+        consumerTemplate.poll(10);
+        then(consumer).should().commitSync(Map.of(topicPartition, new OffsetAndMetadata(5)));
+    }
+
+    private void addRecords(int fromOffset, int toOffset) {
+        addRecords(0, fromOffset, toOffset);
+    }
+
+    private void addRecords(int partition, int fromOffset, int toOffset) {
+        for (int offset = fromOffset; offset < toOffset; offset++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, partition, offset, UUID.randomUUID().toString(), new byte[]{(byte) (partition * 100 + offset)}));
+        }
+    }
+
+}
@@ -16,6 +16,7 @@
 package org.thingsboard.server.common.stats;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
@@ -123,6 +124,16 @@ public class DefaultStatsFactory implements StatsFactory {
                 .register(meterRegistry));
     }
 
+    @Override
+    public DistributionSummary createDistributionSummary(String key, String... tags) {
+        DistributionSummary.Builder builder = DistributionSummary.builder(key)
+                .tags(tags);
+        if (timerPercentiles != null && timerPercentiles.length > 0) {
+            builder.publishPercentiles(timerPercentiles);
+        }
+        return builder.register(meterRegistry);
+    }
+
     private static String[] getTags(String statsName, String[] otherTags) {
         String[] tags = new String[]{STATS_NAME_TAG, statsName};
         if (otherTags.length > 0) {
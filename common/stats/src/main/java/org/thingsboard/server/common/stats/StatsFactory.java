@@ -15,6 +15,7 @@
  */
 package org.thingsboard.server.common.stats;
 
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Timer;
 
 import java.util.function.ToDoubleFunction;
@@ -37,4 +38,6 @@ public interface StatsFactory {
 
     StatsTimer createStatsTimer(String type, String name, String... tags);
 
+    DistributionSummary createDistributionSummary(String key, String... tags);
+
 }
@@ -29,6 +29,7 @@ import org.eclipse.californium.core.coap.Response;
 import org.springframework.stereotype.Component;
 import org.thingsboard.server.common.adaptor.AdaptorException;
 import org.thingsboard.server.common.adaptor.JsonConverter;
+import org.thingsboard.server.common.adaptor.StreamingJsonConverter;
 import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.gen.transport.TransportProtos;
@@ -43,9 +44,9 @@ public class JsonCoapAdaptor implements CoapTransportAdaptor {
 
     @Override
     public TransportProtos.PostTelemetryMsg convertToPostTelemetry(UUID sessionId, Request inbound, Descriptors.Descriptor telemetryMsgDescriptor) throws AdaptorException {
-        String payload = validatePayload(sessionId, inbound, false);
+        byte[] payload = validatePayloadBytes(sessionId, inbound);
         try {
-            return JsonConverter.convertToTelemetryProto(JsonParser.parseString(payload));
+            return StreamingJsonConverter.convertToTelemetryProto(payload, 0, payload.length);
         } catch (IllegalStateException | JsonSyntaxException ex) {
             throw new AdaptorException(ex);
         }
@@ -53,9 +54,9 @@ public class JsonCoapAdaptor implements CoapTransportAdaptor {
 
     @Override
     public TransportProtos.PostAttributeMsg convertToPostAttributes(UUID sessionId, Request inbound, Descriptors.Descriptor attributesMsgDescriptor) throws AdaptorException {
-        String payload = validatePayload(sessionId, inbound, false);
+        byte[] payload = validatePayloadBytes(sessionId, inbound);
         try {
-            return JsonConverter.convertToAttributesProto(JsonParser.parseString(payload));
+            return StreamingJsonConverter.convertToAttributesProto(payload, 0, payload.length);
         } catch (IllegalStateException | JsonSyntaxException ex) {
             throw new AdaptorException(ex);
         }
@@ -161,6 +162,15 @@ public class JsonCoapAdaptor implements CoapTransportAdaptor {
         return payload;
     }
 
+    private byte[] validatePayloadBytes(UUID sessionId, Request inbound) throws AdaptorException {
+        byte[] payload = inbound.getPayload();
+        if (payload == null) {
+            log.debug("[{}] Payload is empty!", sessionId);
+            throw new AdaptorException(new IllegalArgumentException("Payload is empty!"));
+        }
+        return payload;
+    }
+
     @Override
     public int getContentFormat() {
         return MediaTypeRegistry.APPLICATION_JSON;
@@ -88,6 +88,22 @@ public class MqttTransportContext extends TransportContext {
     @Value("${transport.mqtt.proxy_enabled:false}")
     private boolean proxyEnabled;
 
+    @Getter
+    @Value("${transport.mqtt.gateway_batch_enabled:false}")
+    private boolean gatewayBatchEnabled;
+
+    @Getter
+    @Value("${transport.mqtt.gateway_batch_lookup_size:100}")
+    private int gatewayBatchLookupSize;
+
+    @Getter
+    @Value("${transport.mqtt.netty.flush_consolidation_enabled:false}")
+    private boolean flushConsolidationEnabled;
+
+    @Getter
+    @Value("${transport.mqtt.netty.explicit_flush_after_flushes:256}")
+    private int explicitFlushAfterFlushes;
+
     private final AtomicInteger connectionsCounter = new AtomicInteger();
 
     @PostConstruct
@@ -21,6 +21,7 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.haproxy.HAProxyMessageDecoder;
 import io.netty.handler.codec.mqtt.MqttDecoder;
 import io.netty.handler.codec.mqtt.MqttEncoder;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.SslHandler;
 import org.thingsboard.server.transport.mqtt.limits.IpFilter;
 import org.thingsboard.server.transport.mqtt.limits.ProxyIpFilter;
@@ -49,6 +50,10 @@ public class MqttTransportServerInitializer extends ChannelInitializer<SocketCha
             sslHandler = context.getSslHandlerProvider().getSslHandler();
             pipeline.addLast(sslHandler);
         }
+        if (context.isFlushConsolidationEnabled()) {
+            // PUBACKs and other replies are coalesced into one flush per read burst or per event loop task run
+            pipeline.addLast("flushConsolidation", new FlushConsolidationHandler(context.getExplicitFlushAfterFlushes(), true));
+        }
         pipeline.addLast("decoder", new MqttDecoder(context.getMaxPayloadSize()));
         pipeline.addLast("encoder", MqttEncoder.INSTANCE);
 
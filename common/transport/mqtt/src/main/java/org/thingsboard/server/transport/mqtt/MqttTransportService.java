@@ -19,6 +19,11 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.util.AttributeKey;
@@ -34,6 +39,9 @@ import org.thingsboard.server.common.data.DataConstants;
 import org.thingsboard.server.common.data.TbTransportService;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 @Service("MqttTransportService")
 @TbMqttTransportComponent
@@ -63,12 +71,20 @@ public class MqttTransportService implements TbTransportService {
     private Integer workerGroupThreadCount;
     @Value("${transport.mqtt.netty.so_keep_alive}")
     private boolean keepAlive;
+    @Value("${transport.mqtt.netty.native_transport_enabled:false}")
+    private boolean nativeTransportEnabled;
+    @Value("${transport.mqtt.netty.so_reuseport:false}")
+    private boolean reusePort;
+    @Value("${transport.mqtt.netty.write_buffer_low_water_mark:32768}")
+    private int writeBufferLowWaterMark;
+    @Value("${transport.mqtt.netty.write_buffer_high_water_mark:65536}")
+    private int writeBufferHighWaterMark;
 
     @Autowired
     private MqttTransportContext context;
 
-    private Channel serverChannel;
-    private Channel sslServerChannel;
+    private List<Channel> serverChannels = Collections.emptyList();
+    private List<Channel> sslServerChannels = Collections.emptyList();
     private EventLoopGroup bossGroup;
     private EventLoopGroup workerGroup;
 
@@ -78,33 +94,70 @@ public class MqttTransportService implements TbTransportService {
         ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.valueOf(leakDetectorLevel.toUpperCase()));
 
         log.info("Starting MQTT transport...");
-        bossGroup = new NioEventLoopGroup(bossGroupThreadCount);
-        workerGroup = new NioEventLoopGroup(workerGroupThreadCount);
-        ServerBootstrap b = new ServerBootstrap();
-        b.group(bossGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
-                .childHandler(new MqttTransportServerInitializer(context, false))
-                .childOption(ChannelOption.SO_KEEPALIVE, keepAlive);
+        boolean epoll = isEpollEnabled();
+        if (epoll) {
+            bossGroup = new EpollEventLoopGroup(bossGroupThreadCount);
+            workerGroup = new EpollEventLoopGroup(workerGroupThreadCount);
+        } else {
+            bossGroup = new NioEventLoopGroup(bossGroupThreadCount);
+            workerGroup = new NioEventLoopGroup(workerGroupThreadCount);
+        }
 
-        serverChannel = b.bind(host, port).sync().channel();
+        serverChannels = bind(host, port, false, epoll);
         if (sslEnabled) {
-            b = new ServerBootstrap();
-            b.group(bossGroup, workerGroup)
-                    .channel(NioServerSocketChannel.class)
-                    .childHandler(new MqttTransportServerInitializer(context, true))
-                    .childOption(ChannelOption.SO_KEEPALIVE, keepAlive);
-            sslServerChannel = b.bind(sslHost, sslPort).sync().channel();
+            sslServerChannels = bind(sslHost, sslPort, true, epoll);
         }
         log.info("Mqtt transport started!");
     }
 
+    private boolean isEpollEnabled() {
+        if (!nativeTransportEnabled) {
+            return false;
+        }
+        if (!Epoll.isAvailable()) {
+            log.warn("Native epoll transport is not available, falling back to NIO transport", Epoll.unavailabilityCause());
+            return false;
+        }
+        log.info("Using native epoll transport");
+        return true;
+    }
+
+    /*
+     * With SO_REUSEPORT every boss thread gets its own server socket bound to the same port,
+     * so the kernel balances incoming connections between the acceptors.
+     */
+    private List<Channel> bind(String host, int port, boolean sslEnabled, boolean epoll) throws InterruptedException {
+        ServerBootstrap b = new ServerBootstrap();
+        b.group(bossGroup, workerGroup)
+                .channel(epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class)
+                .childHandler(new MqttTransportServerInitializer(context, sslEnabled))
+                .childOption(ChannelOption.SO_KEEPALIVE, keepAlive)
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(writeBufferLowWaterMark, writeBufferHighWaterMark));
+        int acceptors = 1;
+        if (reusePort) {
+            if (epoll) {
+                b.option(EpollChannelOption.SO_REUSEPORT, true);
+                acceptors = bossGroupThreadCount;
+            } else {
+                log.warn("SO_REUSEPORT requires the native epoll transport and is ignored");
+            }
+        }
+        List<Channel> channels = new ArrayList<>(acceptors);
+        for (int i = 0; i < acceptors; i++) {
+            channels.add(b.bind(host, port).sync().channel());
+        }
+        return channels;
+    }
+
     @PreDestroy
     public void shutdown() throws InterruptedException {
         log.info("Stopping MQTT transport!");
         try {
-            serverChannel.close().sync();
-            if (sslEnabled) {
-                sslServerChannel.close().sync();
+            for (Channel channel : serverChannels) {
+                channel.close().sync();
+            }
+            for (Channel channel : sslServerChannels) {
+                channel.close().sync();
             }
         } finally {
             workerGroup.shutdownGracefully();
@@ -20,6 +20,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.handler.codec.mqtt.MqttFixedHeader;
 import io.netty.handler.codec.mqtt.MqttMessage;
 import io.netty.handler.codec.mqtt.MqttMessageType;
@@ -29,6 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.thingsboard.server.common.adaptor.AdaptorException;
 import org.thingsboard.server.common.adaptor.JsonConverter;
+import org.thingsboard.server.common.adaptor.StreamingJsonConverter;
 import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.data.device.profile.MqttTopics;
 import org.thingsboard.server.common.data.ota.OtaPackageType;
@@ -53,9 +55,13 @@ public class JsonMqttAdaptor implements MqttTransportAdaptor {
 
     @Override
     public TransportProtos.PostTelemetryMsg convertToPostTelemetry(MqttDeviceAwareSessionContext ctx, MqttPublishMessage inbound) throws AdaptorException {
-        String payload = validatePayload(ctx.getSessionId(), inbound.payload(), false);
+        ByteBuf payload = inbound.payload();
         try {
-            return JsonConverter.convertToTelemetryProto(JsonParser.parseString(payload));
+            if (payload.hasArray()) {
+                return StreamingJsonConverter.convertToTelemetryProto(payload.array(), payload.arrayOffset() + payload.readerIndex(), payload.readableBytes());
+            } else {
+                return StreamingJsonConverter.convertToTelemetryProto(new ByteBufInputStream(payload.duplicate()), () -> payload.toString(UTF8));
+            }
         } catch (IllegalStateException | JsonSyntaxException ex) {
             log.debug("Failed to decode post telemetry request", ex);
             throw new AdaptorException(ex);
@@ -64,9 +70,13 @@ public class JsonMqttAdaptor implements MqttTransportAdaptor {
 
     @Override
     public TransportProtos.PostAttributeMsg convertToPostAttributes(MqttDeviceAwareSessionContext ctx, MqttPublishMessage inbound) throws AdaptorException {
-        String payload = validatePayload(ctx.getSessionId(), inbound.payload(), false);
+        ByteBuf payload = inbound.payload();
         try {
-            return JsonConverter.convertToAttributesProto(JsonParser.parseString(payload));
+            if (payload.hasArray()) {
+                return StreamingJsonConverter.convertToAttributesProto(payload.array(), payload.arrayOffset() + payload.readerIndex(), payload.readableBytes());
+            } else {
+                return StreamingJsonConverter.convertToAttributesProto(new ByteBufInputStream(payload.duplicate()), () -> payload.toString(UTF8));
+            }
         } catch (IllegalStateException | JsonSyntaxException ex) {
             log.debug("Failed to decode post attributes request", ex);
             throw new AdaptorException(ex);
@@ -16,6 +16,7 @@
 package org.thingsboard.server.transport.mqtt.session;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -29,6 +30,7 @@ import com.google.gson.JsonSyntaxException;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.ProtocolStringList;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.mqtt.MqttMessage;
@@ -45,6 +47,7 @@ import org.thingsboard.common.util.DonAsynchron;
 import org.thingsboard.server.common.adaptor.AdaptorException;
 import org.thingsboard.server.common.adaptor.JsonConverter;
 import org.thingsboard.server.common.adaptor.ProtoConverter;
+import org.thingsboard.server.common.adaptor.StreamingJsonConverter;
 import org.thingsboard.server.common.data.DataConstants;
 import org.thingsboard.server.common.data.Device;
 import org.thingsboard.server.common.data.DeviceProfile;
@@ -60,6 +63,7 @@ import org.thingsboard.server.common.transport.auth.TransportDeviceInfo;
 import org.thingsboard.server.gen.transport.TransportApiProtos;
 import org.thingsboard.server.gen.transport.TransportProtos;
 import org.thingsboard.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.GetOrCreateDevicesFromGatewayRequestMsg;
 import org.thingsboard.server.gen.transport.TransportProtos.SessionInfoProto;
 import org.thingsboard.server.transport.mqtt.MqttTransportContext;
 import org.thingsboard.server.transport.mqtt.MqttTransportHandler;
@@ -70,9 +74,11 @@ import org.thingsboard.server.transport.mqtt.gateway.GatewayMetricsService;
 import org.thingsboard.server.transport.mqtt.util.sparkplug.SparkplugConnectionState;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -80,6 +86,8 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
@@ -310,28 +318,7 @@ public abstract class AbstractGatewaySessionHandler<T extends AbstractGatewayDev
                     new TransportServiceCallback<>() {
                         @Override
                         public void onSuccess(GetOrCreateDeviceFromGatewayResponse msg) {
-                            T deviceSessionCtx = newDeviceSessionCtx(msg);
-                            if (devices.putIfAbsent(deviceName, deviceSessionCtx) == null) {
-                                log.trace("[{}][{}][{}] First got or created device [{}], type [{}] for the gateway session", gateway.getTenantId(), gateway.getDeviceId(), sessionId, deviceName, deviceType);
-                                SessionInfoProto deviceSessionInfo = deviceSessionCtx.getSessionInfo();
-                                transportService.registerAsyncSession(deviceSessionInfo, deviceSessionCtx);
-                                /**
-                                 *  3.0.0 Device Session Establishment:
-                                 * dcmd-subscribe
-                                 * [tck-id-message-flow-device-dcmd-subscribe] If the Device supports writing to outputs, the
-                                 * MQTT client associated with the Device MUST subscribe to a topic of the form
-                                 * spBv1.0/group_id/DCMD/edge_node_id/device_id where group_id is the Sparkplug Group ID
-                                 * the edge_node_id is the Sparkplug Edge Node ID and the device_id is the Sparkplug Device ID
-                                 * for this Device. It MUST subscribe on this topic with a QoS of 1
-                                 */
-                                transportService.process(TransportProtos.TransportToDeviceActorMsg.newBuilder()
-                                        .setSessionInfo(deviceSessionInfo)
-                                        .setSessionEvent(SESSION_EVENT_MSG_OPEN)
-                                        .setSubscribeToAttributes(SUBSCRIBE_TO_ATTRIBUTE_UPDATES_ASYNC_MSG)
-                                        .setSubscribeToRPC(SUBSCRIBE_TO_RPC_ASYNC_MSG)
-                                        .build(), null);
-                            }
-                            futureToSet.set(devices.get(deviceName));
+                            futureToSet.set(registerDeviceSession(deviceName, deviceType, msg));
                             deviceFutures.remove(deviceName);
                         }
 
@@ -349,6 +336,113 @@ public abstract class AbstractGatewaySessionHandler<T extends AbstractGatewayDev
         }
     }
 
+    /*
+     * Resolves the session contexts of several devices at once.
+     * Devices that are neither connected nor being created are requested with bulk get or create requests.
+     */
+    Map<String, ListenableFuture<T>> onDevicesConnect(Collection<String> deviceNames) {
+        Map<String, ListenableFuture<T>> result = new LinkedHashMap<>();
+        List<TbPair<String, SettableFuture<T>>> toCreate = new ArrayList<>();
+        for (String deviceName : deviceNames) {
+            T deviceCtx = devices.get(deviceName);
+            if (deviceCtx != null) {
+                result.put(deviceName, Futures.immediateFuture(deviceCtx));
+                continue;
+            }
+            Lock deviceCreationLock = deviceCreationLockMap.computeIfAbsent(deviceName, s -> new ReentrantLock());
+            deviceCreationLock.lock();
+            try {
+                deviceCtx = devices.get(deviceName);
+                if (deviceCtx != null) {
+                    result.put(deviceName, Futures.immediateFuture(deviceCtx));
+                } else {
+                    SettableFuture<T> futureToSet = SettableFuture.create();
+                    ListenableFuture<T> future = deviceFutures.putIfAbsent(deviceName, futureToSet);
+                    if (future == null) {
+                        toCreate.add(TbPair.of(deviceName, futureToSet));
+                        future = futureToSet;
+                    }
+                    result.put(deviceName, future);
+                }
+            } finally {
+                deviceCreationLock.unlock();
+            }
+        }
+        Lists.partition(toCreate, Math.max(1, context.getGatewayBatchLookupSize())).forEach(this::getOrCreateDevices);
+        return result;
+    }
+
+    private void getOrCreateDevices(List<TbPair<String, SettableFuture<T>>> toCreate) {
+        GetOrCreateDevicesFromGatewayRequestMsg.Builder request = GetOrCreateDevicesFromGatewayRequestMsg.newBuilder();
+        toCreate.forEach(pair -> request.addDevices(GetOrCreateDeviceFromGatewayRequestMsg.newBuilder()
+                .setDeviceName(pair.getFirst())
+                .setDeviceType(DEFAULT_DEVICE_TYPE)
+                .setGatewayIdMSB(gateway.getDeviceId().getId().getMostSignificantBits())
+                .setGatewayIdLSB(gateway.getDeviceId().getId().getLeastSignificantBits())
+                .build()));
+        try {
+            transportService.process(gateway.getTenantId(), request.build(), new TransportServiceCallback<>() {
+                @Override
+                public void onSuccess(List<GetOrCreateDeviceFromGatewayResponse> msgs) {
+                    for (int i = 0; i < toCreate.size(); i++) {
+                        String deviceName = toCreate.get(i).getFirst();
+                        SettableFuture<T> futureToSet = toCreate.get(i).getSecond();
+                        GetOrCreateDeviceFromGatewayResponse msg = msgs.get(i);
+                        try {
+                            if (msg.getError() != null) {
+                                throw new RuntimeException(msg.getError());
+                            }
+                            futureToSet.set(registerDeviceSession(deviceName, DEFAULT_DEVICE_TYPE, msg));
+                        } catch (Throwable t) {
+                            logDeviceCreationError(t, deviceName);
+                            futureToSet.setException(t);
+                        }
+                        deviceFutures.remove(deviceName, futureToSet);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    toCreate.forEach(pair -> {
+                        logDeviceCreationError(t, pair.getFirst());
+                        pair.getSecond().setException(t);
+                        deviceFutures.remove(pair.getFirst(), pair.getSecond());
+                    });
+                }
+            });
+        } catch (Throwable e) {
+            toCreate.forEach(pair -> {
+                pair.getSecond().setException(e);
+                deviceFutures.remove(pair.getFirst(), pair.getSecond());
+            });
+        }
+    }
+
+    private T registerDeviceSession(String deviceName, String deviceType, GetOrCreateDeviceFromGatewayResponse msg) {
+        T deviceSessionCtx = newDeviceSessionCtx(msg);
+        if (devices.putIfAbsent(deviceName, deviceSessionCtx) == null) {
+            log.trace("[{}][{}][{}] First got or created device [{}], type [{}] for the gateway session", gateway.getTenantId(), gateway.getDeviceId(), sessionId, deviceName, deviceType);
+            SessionInfoProto deviceSessionInfo = deviceSessionCtx.getSessionInfo();
+            transportService.registerAsyncSession(deviceSessionInfo, deviceSessionCtx);
+            /**
+             *  3.0.0 Device Session Establishment:
+             * dcmd-subscribe
+             * [tck-id-message-flow-device-dcmd-subscribe] If the Device supports writing to outputs, the
+             * MQTT client associated with the Device MUST subscribe to a topic of the form
+             * spBv1.0/group_id/DCMD/edge_node_id/device_id where group_id is the Sparkplug Group ID
+             * the edge_node_id is the Sparkplug Edge Node ID and the device_id is the Sparkplug Device ID
+             * for this Device. It MUST subscribe on this topic with a QoS of 1
+             */
+            transportService.process(TransportProtos.TransportToDeviceActorMsg.newBuilder()
+                    .setSessionInfo(deviceSessionInfo)
+                    .setSessionEvent(SESSION_EVENT_MSG_OPEN)
+                    .setSubscribeToAttributes(SUBSCRIBE_TO_ATTRIBUTE_UPDATES_ASYNC_MSG)
+                    .setSubscribeToRPC(SUBSCRIBE_TO_RPC_ASYNC_MSG)
+                    .build(), null);
+        }
+        return devices.get(deviceName);
+    }
+
     private void logDeviceCreationError(Throwable t, String deviceName) {
         if (DataConstants.MAXIMUM_NUMBER_OF_DEVICES_REACHED.equals(t.getMessage())) {
             log.info("[{}][{}][{}] Failed to process device connect command: [{}] due to [{}]", gateway.getTenantId(), gateway.getDeviceId(), sessionId, deviceName,
@@ -403,6 +497,16 @@ public abstract class AbstractGatewaySessionHandler<T extends AbstractGatewayDev
     }
 
     protected void onDeviceTelemetryJson(int msgId, ByteBuf payload) throws AdaptorException {
+        if (context.isGatewayBatchEnabled()) {
+            long systemTs = System.currentTimeMillis();
+            Map<String, TbPair<TransportProtos.PostTelemetryMsg, List<GatewayMetadata>>> telemetry = payload.hasArray() ?
+                    StreamingJsonConverter.convertToGatewayTelemetry(payload.array(), payload.arrayOffset() + payload.readerIndex(), payload.readableBytes(), systemTs) :
+                    StreamingJsonConverter.convertToGatewayTelemetry(new ByteBufInputStream(payload.duplicate()), systemTs);
+            if (!CollectionUtils.isEmpty(telemetry)) {
+                processTelemetryBatch(msgId, telemetry, systemTs);
+                return;
+            }
+        }
         JsonElement json = JsonMqttAdaptor.validateJsonPayload(sessionId, payload);
         validateJsonObject(json);
 
@@ -432,6 +536,38 @@ public abstract class AbstractGatewaySessionHandler<T extends AbstractGatewayDev
         }
     }
 
+    /*
+     * Submits the telemetry of all devices of the payload together, once all device sessions are resolved.
+     * The payload is acknowledged when the telemetry of every device is processed.
+     */
+    private void processTelemetryBatch(int msgId, Map<String, TbPair<TransportProtos.PostTelemetryMsg, List<GatewayMetadata>>> telemetry, long systemTs) {
+        List<GatewayMetadata> metadata = new ArrayList<>();
+        telemetry.values().forEach(pair -> {
+            if (pair.getSecond() != null) {
+                metadata.addAll(pair.getSecond());
+            }
+        });
+        if (!metadata.isEmpty()) {
+            gatewayMetricsService.process(deviceSessionCtx.getSessionInfo(), gateway.getDeviceId(), metadata, systemTs);
+        }
+
+        AtomicInteger remaining = new AtomicInteger(telemetry.size());
+        AtomicBoolean ackSent = new AtomicBoolean(false);
+        Map<String, ListenableFuture<T>> deviceCtxFutures = onDevicesConnect(telemetry.keySet());
+        boolean allDone = deviceCtxFutures.values().stream().allMatch(Future::isDone);
+        Futures.whenAllComplete(deviceCtxFutures.values()).run(() -> deviceCtxFutures.forEach((deviceName, deviceCtxFuture) -> {
+            try {
+                T deviceCtx = Futures.getDone(deviceCtxFuture);
+                TransportProtos.PostTelemetryMsg postTelemetryMsg = telemetry.get(deviceName).getFirst();
+                transportService.process(deviceCtx.getSessionInfo(), postTelemetryMsg, getAggregatePubAckCallback(channel, msgId, deviceName, postTelemetryMsg, remaining, ackSent));
+            } catch (ExecutionException e) {
+                processFailure(msgId, deviceName, TELEMETRY, ackSent, e.getCause());
+            } catch (Throwable t) {
+                processFailure(msgId, deviceName, TELEMETRY, ackSent, t);
+            }
+        }), allDone ? MoreExecutors.directExecutor() : context.getExecutor());
+    }
+
     private void processPostTelemetryMsg(T deviceCtx, JsonElement msg, String deviceName, int msgId, AtomicInteger remaining, AtomicBoolean ackSent) {
         try {
             long systemTs = System.currentTimeMillis();
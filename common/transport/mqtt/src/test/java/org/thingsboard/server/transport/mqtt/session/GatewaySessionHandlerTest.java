@@ -15,9 +15,19 @@
  */
 package org.thingsboard.server.transport.mqtt.session;
 
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.mqtt.MqttMessage;
+import io.netty.handler.codec.mqtt.MqttMessageBuilders;
+import io.netty.handler.codec.mqtt.MqttPubReplyMessageVariableHeader;
+import io.netty.handler.codec.mqtt.MqttPublishMessage;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import io.netty.handler.codec.mqtt.MqttReasonCodes;
+import io.netty.handler.codec.mqtt.MqttVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.util.ConcurrentReferenceHashMap;
@@ -25,20 +35,34 @@ import org.thingsboard.server.common.data.id.CustomerId;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.id.DeviceProfileId;
 import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.device.profile.MqttTopics;
 import org.thingsboard.server.common.transport.TransportService;
+import org.thingsboard.server.common.transport.TransportServiceCallback;
+import org.thingsboard.server.common.transport.auth.GetOrCreateDeviceFromGatewayResponse;
 import org.thingsboard.server.common.transport.auth.TransportDeviceInfo;
+import org.thingsboard.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.GetOrCreateDevicesFromGatewayRequestMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.PostTelemetryMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.SessionInfoProto;
 import org.thingsboard.server.transport.mqtt.MqttTransportContext;
 
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willCallRealMethod;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,11 +77,15 @@ public class GatewaySessionHandlerTest {
     @Mock
     private MqttTransportContext transportContext;
 
+    @Mock
+    private ChannelHandlerContext channel;
+
     private GatewaySessionHandler handler;
 
     @BeforeEach
     public void setup() {
         lenient().when(deviceSessionCtx.getSessionId()).thenReturn(UUID.randomUUID());
+        lenient().when(deviceSessionCtx.getChannel()).thenReturn(channel);
         lenient().doNothing().when(transportService).recordActivity(any());
         lenient().when(transportContext.getTransportService()).thenReturn(transportService);
         lenient().when(deviceSessionCtx.getContext()).thenReturn(transportContext);
@@ -111,6 +139,84 @@ public class GatewaySessionHandlerTest {
         verify(transportService, never()).recordActivity(any());
     }
 
+    @Test
+    public void givenConnectedUnknownAndFailedDevices_whenTelemetryBatch_thenUnknownDevicesAreLookedUpOnceAndMappedByIndex() throws Exception {
+        givenBatchEnabled();
+        GatewayDeviceSessionContext deviceA = new GatewayDeviceSessionContext(handler, deviceInfo("Device A"), null, null, transportService);
+        getDevices().put("Device A", deviceA);
+        TransportDeviceInfo deviceB = deviceInfo("Device B");
+        List<GetOrCreateDevicesFromGatewayRequestMsg> requests = new ArrayList<>();
+        willAnswer(invocation -> {
+            requests.add(invocation.getArgument(1));
+            TransportServiceCallback<List<GetOrCreateDeviceFromGatewayResponse>> callback = invocation.getArgument(2);
+            callback.onSuccess(List.of(
+                    GetOrCreateDeviceFromGatewayResponse.builder().deviceInfo(deviceB).build(),
+                    GetOrCreateDeviceFromGatewayResponse.builder().error("Failed to get or create device Device C").build()));
+            return null;
+        }).given(transportService).process(any(TenantId.class), any(GetOrCreateDevicesFromGatewayRequestMsg.class), any());
+
+        handler.onDeviceTelemetry(telemetryMsg("{\"Device A\":[{\"temperature\":1}],\"Device B\":[{\"temperature\":2}],\"Device C\":[{\"temperature\":3}]}"));
+
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getDevicesList()).extracting(GetOrCreateDeviceFromGatewayRequestMsg::getDeviceName)
+                .containsExactly("Device B", "Device C");
+        assertThat(getDevices()).containsOnlyKeys("Device A", "Device B");
+        assertThat(getDevices().get("Device B").getDeviceId()).isEqualTo(deviceB.getDeviceId());
+
+        ArgumentCaptor<SessionInfoProto> sessionInfoCaptor = ArgumentCaptor.forClass(SessionInfoProto.class);
+        ArgumentCaptor<TransportServiceCallback<Void>> callbackCaptor = ArgumentCaptor.forClass(TransportServiceCallback.class);
+        verify(transportService, times(2)).process(sessionInfoCaptor.capture(), any(PostTelemetryMsg.class), callbackCaptor.capture());
+        assertThat(sessionInfoCaptor.getAllValues()).extracting(SessionInfoProto::getDeviceName).containsExactly("Device A", "Device B");
+
+        // the failed device acknowledges the payload with an error right away, the other devices do not ack it again
+        callbackCaptor.getAllValues().forEach(callback -> callback.onSuccess(null));
+        assertThat(capturePubAckReasonCodes()).containsExactly(MqttReasonCodes.PubAck.UNSPECIFIED_ERROR.byteValue());
+    }
+
+    @Test
+    public void givenUnknownDevices_whenTelemetryBatch_thenSinglePubAckIsSentAfterAllDevicesAreProcessed() throws Exception {
+        givenBatchEnabled();
+        willAnswer(invocation -> {
+            GetOrCreateDevicesFromGatewayRequestMsg request = invocation.getArgument(1);
+            TransportServiceCallback<List<GetOrCreateDeviceFromGatewayResponse>> callback = invocation.getArgument(2);
+            callback.onSuccess(request.getDevicesList().stream()
+                    .map(device -> GetOrCreateDeviceFromGatewayResponse.builder().deviceInfo(deviceInfo(device.getDeviceName())).build())
+                    .toList());
+            return null;
+        }).given(transportService).process(any(TenantId.class), any(GetOrCreateDevicesFromGatewayRequestMsg.class), any());
+
+        handler.onDeviceTelemetry(telemetryMsg("{\"Device A\":[{\"temperature\":1}],\"Device B\":[{\"ts\":1000,\"values\":{\"temperature\":2}}]}"));
+
+        ArgumentCaptor<TransportServiceCallback<Void>> callbackCaptor = ArgumentCaptor.forClass(TransportServiceCallback.class);
+        verify(transportService, times(2)).process(any(SessionInfoProto.class), any(PostTelemetryMsg.class), callbackCaptor.capture());
+        verify(transportService).process(any(TenantId.class), any(GetOrCreateDevicesFromGatewayRequestMsg.class), any());
+
+        callbackCaptor.getAllValues().get(0).onSuccess(null);
+        verify(channel, never()).writeAndFlush(any());
+
+        callbackCaptor.getAllValues().get(1).onSuccess(null);
+        assertThat(capturePubAckReasonCodes()).containsExactly(MqttReasonCodes.PubAck.SUCCESS.byteValue());
+    }
+
+    @Test
+    public void givenFailedBulkLookup_whenTelemetryBatch_thenPayloadIsRejectedOnceAndDevicesCanBeLookedUpAgain() throws Exception {
+        givenBatchEnabled();
+        willAnswer(invocation -> {
+            TransportServiceCallback<List<GetOrCreateDeviceFromGatewayResponse>> callback = invocation.getArgument(2);
+            callback.onError(new RuntimeException("Transport API is not available"));
+            return null;
+        }).given(transportService).process(any(TenantId.class), any(GetOrCreateDevicesFromGatewayRequestMsg.class), any());
+
+        handler.onDeviceTelemetry(telemetryMsg("{\"Device A\":[{\"temperature\":1}],\"Device B\":[{\"temperature\":2}]}"));
+
+        verify(transportService, never()).process(any(SessionInfoProto.class), any(PostTelemetryMsg.class), any());
+        assertThat(capturePubAckReasonCodes()).containsExactly(MqttReasonCodes.PubAck.UNSPECIFIED_ERROR.byteValue());
+        assertThat(getDevices()).isEmpty();
+
+        handler.onDevicesConnect(List.of("Device A", "Device B"));
+        verify(transportService, times(2)).process(any(TenantId.class), any(GetOrCreateDevicesFromGatewayRequestMsg.class), any());
+    }
+
     @Test
     public void givenGatewaySessionHandler_WhenCreateWeakMap_thenConcurrentReferenceHashMapClass() {
         GatewaySessionHandler gsh = mock(GatewaySessionHandler.class);
@@ -119,4 +225,46 @@ public class GatewaySessionHandlerTest {
         assertThat(gsh.createWeakMap()).isInstanceOf(ConcurrentReferenceHashMap.class);
     }
 
+    private void givenBatchEnabled() {
+        given(transportContext.isGatewayBatchEnabled()).willReturn(true);
+        given(transportContext.getGatewayBatchLookupSize()).willReturn(100);
+        given(deviceSessionCtx.isJsonPayloadType()).willReturn(true);
+        lenient().when(deviceSessionCtx.getMqttVersion()).thenReturn(MqttVersion.MQTT_5);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentHashMap<String, GatewayDeviceSessionContext> getDevices() throws Exception {
+        Field devicesField = AbstractGatewaySessionHandler.class.getDeclaredField("devices");
+        devicesField.setAccessible(true);
+        return (ConcurrentHashMap<String, GatewayDeviceSessionContext>) devicesField.get(handler);
+    }
+
+    private List<Byte> capturePubAckReasonCodes() {
+        ArgumentCaptor<Object> msgCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(channel, atLeast(0)).writeAndFlush(msgCaptor.capture());
+        return msgCaptor.getAllValues().stream()
+                .map(msg -> ((MqttPubReplyMessageVariableHeader) ((MqttMessage) msg).variableHeader()).reasonCode())
+                .toList();
+    }
+
+    private static MqttPublishMessage telemetryMsg(String payload) {
+        return MqttMessageBuilders.publish()
+                .topicName(MqttTopics.GATEWAY_TELEMETRY_TOPIC)
+                .qos(MqttQoS.AT_LEAST_ONCE)
+                .messageId(1)
+                .payload(Unpooled.wrappedBuffer(payload.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    private static TransportDeviceInfo deviceInfo(String deviceName) {
+        TransportDeviceInfo deviceInfo = new TransportDeviceInfo();
+        deviceInfo.setDeviceId(new DeviceId(UUID.randomUUID()));
+        deviceInfo.setTenantId(TenantId.fromUUID(UUID.randomUUID()));
+        deviceInfo.setCustomerId(new CustomerId(UUID.randomUUID()));
+        deviceInfo.setDeviceProfileId(new DeviceProfileId(UUID.randomUUID()));
+        deviceInfo.setDeviceName(deviceName);
+        deviceInfo.setDeviceType("default");
+        return deviceInfo;
+    }
+
 }
@@ -0,0 +1,46 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.transport;
+
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.security.DeviceCredentialsType;
+import org.thingsboard.server.gen.transport.TransportProtos.ValidateDeviceCredentialsResponseMsg;
+
+/**
+ * Transport-local cache of the device credentials validation responses, including the negative ones.
+ * Entries are invalidated by the device and device credentials notifications broadcasted to the transports.
+ */
+public interface TransportDeviceCredentialsCache {
+
+    boolean isEnabled();
+
+    ValidateDeviceCredentialsResponseMsg get(DeviceCredentialsType credentialsType, String credentialsId);
+
+    /**
+     * Version of the cache content, to be taken before the credentials are requested from the core.
+     * The response is not cached if any entry was invalidated in the meantime.
+     */
+    long getVersion();
+
+    void put(DeviceCredentialsType credentialsType, String credentialsId, ValidateDeviceCredentialsResponseMsg msg, long version);
+
+    void evict(DeviceCredentialsType credentialsType, String credentialsId);
+
+    void evict(DeviceId deviceId);
+
+    void evictAll();
+
+}
@@ -25,5 +25,6 @@ public class GetOrCreateDeviceFromGatewayResponse implements DeviceProfileAware
 
     private TransportDeviceInfo deviceInfo;
     private DeviceProfile deviceProfile;
+    private String error;
 
 }
@@ -0,0 +1,155 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.transport.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.security.DeviceCredentialsType;
+import org.thingsboard.server.common.transport.TransportDeviceCredentialsCache;
+import org.thingsboard.server.gen.transport.TransportProtos.ValidateDeviceCredentialsResponseMsg;
+import org.thingsboard.server.queue.util.TbTransportComponent;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@TbTransportComponent
+public class DefaultTransportDeviceCredentialsCache implements TransportDeviceCredentialsCache {
+
+    private final Cache<String, ValidateDeviceCredentialsResponseMsg> cache;
+    private final ConcurrentMap<UUID, Set<String>> keysByDevice = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public DefaultTransportDeviceCredentialsCache(@Value("${cache.deviceCredentials.timeToLiveInMinutes:60}") int ttl,
+                                                  @Value("${cache.deviceCredentials.negativeTimeToLiveInSeconds:30}") int negativeTtl,
+                                                  @Value("${cache.deviceCredentials.maxSize:0}") int maxSize) {
+        if (maxSize <= 0) {
+            cache = null;
+            return;
+        }
+        long ttlNanos = TimeUnit.MINUTES.toNanos(ttl);
+        long negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtl);
+        cache = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, ValidateDeviceCredentialsResponseMsg>() {
+                    @Override
+                    public long expireAfterCreate(@NotNull String key, @NotNull ValidateDeviceCredentialsResponseMsg value, long currentTime) {
+                        return value.hasDeviceInfo() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(@NotNull String key, @NotNull ValidateDeviceCredentialsResponseMsg value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(@NotNull String key, @NotNull ValidateDeviceCredentialsResponseMsg value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .maximumSize(maxSize)
+                .executor(Runnable::run)
+                .removalListener((key, value, cause) -> {
+                    // Explicit removals are done by the device, or leave at most a stale key in the index
+                    if (cause != RemovalCause.EXPLICIT && key != null && value != null && value.hasDeviceInfo()) {
+                        keysByDevice.computeIfPresent(getDeviceUuid(value), (id, keys) -> {
+                            keys.remove(key);
+                            return keys.isEmpty() ? null : keys;
+                        });
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    @Override
+    public ValidateDeviceCredentialsResponseMsg get(DeviceCredentialsType credentialsType, String credentialsId) {
+        return cache != null ? cache.getIfPresent(toKey(credentialsType, credentialsId)) : null;
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public void put(DeviceCredentialsType credentialsType, String credentialsId, ValidateDeviceCredentialsResponseMsg msg, long version) {
+        if (cache == null) {
+            return;
+        }
+        String key = toKey(credentialsType, credentialsId);
+        cache.put(key, msg);
+        if (msg.hasDeviceInfo()) {
+            keysByDevice.computeIfAbsent(getDeviceUuid(msg), id -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        // The entry could be invalidated while the response was on its way, it is not trusted then
+        if (this.version.get() != version) {
+            cache.invalidate(key);
+        }
+    }
+
+    @Override
+    public void evict(DeviceCredentialsType credentialsType, String credentialsId) {
+        if (cache != null) {
+            version.incrementAndGet();
+            cache.invalidate(toKey(credentialsType, credentialsId));
+        }
+    }
+
+    @Override
+    public void evict(DeviceId deviceId) {
+        if (cache != null) {
+            version.incrementAndGet();
+            Set<String> keys = keysByDevice.remove(deviceId.getId());
+            if (keys != null) {
+                log.trace("[{}] Evicting cached credentials: {}", deviceId, keys);
+                cache.invalidateAll(keys);
+            }
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        if (cache != null) {
+            version.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+
+    private static String toKey(DeviceCredentialsType credentialsType, String credentialsId) {
+        return credentialsType.name() + ":" + credentialsId;
+    }
+
+    private static UUID getDeviceUuid(ValidateDeviceCredentialsResponseMsg msg) {
+        return new UUID(msg.getDeviceInfo().getDeviceIdMSB(), msg.getDeviceInfo().getDeviceIdLSB());
+    }
+
+}
@@ -57,6 +57,7 @@ import org.thingsboard.server.common.data.msg.TbMsgType;
 import org.thingsboard.server.common.data.notification.rule.trigger.RateLimitsTrigger;
 import org.thingsboard.server.common.data.plugin.ComponentLifecycleEvent;
 import org.thingsboard.server.common.data.rpc.RpcStatus;
+import org.thingsboard.server.common.data.security.DeviceCredentialsType;
 import org.thingsboard.server.common.msg.TbMsg;
 import org.thingsboard.server.common.msg.TbMsgMetaData;
 import org.thingsboard.server.common.msg.notification.NotificationRuleProcessor;
@@ -71,6 +72,7 @@ import org.thingsboard.server.common.transport.DeviceDeletedEvent;
 import org.thingsboard.server.common.transport.DeviceProfileUpdatedEvent;
 import org.thingsboard.server.common.transport.DeviceUpdatedEvent;
 import org.thingsboard.server.common.transport.SessionMsgListener;
+import org.thingsboard.server.common.transport.TransportDeviceCredentialsCache;
 import org.thingsboard.server.common.transport.TransportDeviceProfileCache;
 import org.thingsboard.server.common.transport.TransportResourceCache;
 import org.thingsboard.server.common.transport.TransportService;
@@ -111,6 +113,8 @@ import org.thingsboard.server.queue.scheduler.SchedulerComponent;
 import org.thingsboard.server.queue.util.AfterStartUp;
 import org.thingsboard.server.queue.util.TbTransportComponent;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -180,6 +184,7 @@ public class DefaultTransportService extends TransportActivityManager implements
     private final TransportResourceCache transportResourceCache;
     private final NotificationRuleProcessor notificationRuleProcessor;
     private final EntityLimitsCache entityLimitsCache;
+    private final TransportDeviceCredentialsCache deviceCredentialsCache;
 
     protected TbQueueRequestTemplate<TbProtoQueueMsg<TransportApiRequestMsg>, TbProtoQueueMsg<TransportApiResponseMsg>> transportApiRequestTemplate;
     protected TbQueueProducer<TbProtoQueueMsg<ToRuleEngineMsg>> ruleEngineMsgProducer;
@@ -355,7 +360,7 @@ public class DefaultTransportService extends TransportActivityManager implements
         log.trace("Processing msg: {}", msg);
         TbProtoQueueMsg<TransportApiRequestMsg> protoMsg = new TbProtoQueueMsg<>(UUID.randomUUID(),
                 TransportApiRequestMsg.newBuilder().setValidateTokenRequestMsg(msg).build());
-        doProcess(transportType, protoMsg, callback);
+        doProcess(transportType, protoMsg, DeviceCredentialsType.ACCESS_TOKEN, msg.getToken(), callback);
     }
 
     @Override
@@ -392,7 +397,7 @@ public class DefaultTransportService extends TransportActivityManager implements
     public void process(DeviceTransportType transportType, TransportProtos.ValidateDeviceX509CertRequestMsg msg, TransportServiceCallback<ValidateDeviceCredentialsResponse> callback) {
         log.trace("Processing msg: {}", msg);
         TbProtoQueueMsg<TransportApiRequestMsg> protoMsg = new TbProtoQueueMsg<>(UUID.randomUUID(), TransportApiRequestMsg.newBuilder().setValidateX509CertRequestMsg(msg).build());
-        doProcess(transportType, protoMsg, callback);
+        doProcess(transportType, protoMsg, DeviceCredentialsType.X509_CERTIFICATE, msg.getHash(), callback);
     }
 
     @Override
@@ -404,8 +409,33 @@ public class DefaultTransportService extends TransportActivityManager implements
 
     private void doProcess(DeviceTransportType transportType, TbProtoQueueMsg<TransportApiRequestMsg> protoMsg,
                            TransportServiceCallback<ValidateDeviceCredentialsResponse> callback) {
-        ListenableFuture<ValidateDeviceCredentialsResponse> response = Futures.transform(transportApiRequestTemplate.send(protoMsg), tmp -> {
-            TransportProtos.ValidateDeviceCredentialsResponseMsg msg = tmp.getValue().getValidateCredResponseMsg();
+        doProcess(transportType, protoMsg, null, null, callback);
+    }
+
+    /*
+     * Token and X.509 validation responses, both positive and negative, are served from the transport-local cache
+     * to avoid a round trip to the core per connection, e.g. when all devices reconnect after a network outage.
+     */
+    private void doProcess(DeviceTransportType transportType, TbProtoQueueMsg<TransportApiRequestMsg> protoMsg,
+                           DeviceCredentialsType credentialsType, String credentialsId,
+                           TransportServiceCallback<ValidateDeviceCredentialsResponse> callback) {
+        boolean cacheable = credentialsType != null && deviceCredentialsCache.isEnabled();
+        TransportProtos.ValidateDeviceCredentialsResponseMsg cached = cacheable ? deviceCredentialsCache.get(credentialsType, credentialsId) : null;
+        ListenableFuture<TransportProtos.ValidateDeviceCredentialsResponseMsg> responseMsg;
+        if (cached != null) {
+            log.trace("[{}] Found cached credentials validation response", credentialsType);
+            responseMsg = Futures.immediateFuture(cached);
+        } else {
+            long cacheVersion = deviceCredentialsCache.getVersion();
+            responseMsg = Futures.transform(transportApiRequestTemplate.send(protoMsg), tmp -> {
+                TransportProtos.ValidateDeviceCredentialsResponseMsg msg = tmp.getValue().getValidateCredResponseMsg();
+                if (cacheable) {
+                    deviceCredentialsCache.put(credentialsType, credentialsId, msg, cacheVersion);
+                }
+                return msg;
+            }, MoreExecutors.directExecutor());
+        }
+        ListenableFuture<ValidateDeviceCredentialsResponse> response = Futures.transform(responseMsg, msg -> {
             ValidateDeviceCredentialsResponse.ValidateDeviceCredentialsResponseBuilder result = ValidateDeviceCredentialsResponse.builder();
             if (msg.hasDeviceInfo()) {
                 result.credentials(msg.getCredentialsBody());
@@ -439,25 +469,91 @@ public class DefaultTransportService extends TransportActivityManager implements
         if (entityLimitsCache.get(key)) {
             transportCallbackExecutor.submit(() -> callback.onError(new RuntimeException(DataConstants.MAXIMUM_NUMBER_OF_DEVICES_REACHED)));
         } else {
-            ListenableFuture<GetOrCreateDeviceFromGatewayResponse> response = Futures.transform(transportApiRequestTemplate.send(protoMsg), tmp -> {
-                TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg msg = tmp.getValue().getGetOrCreateDeviceResponseMsg();
-                GetOrCreateDeviceFromGatewayResponse.GetOrCreateDeviceFromGatewayResponseBuilder result = GetOrCreateDeviceFromGatewayResponse.builder();
-                if (msg.hasDeviceInfo()) {
-                    TransportDeviceInfo tdi = getTransportDeviceInfo(msg.getDeviceInfo());
-                    result.deviceInfo(tdi);
-                    if (msg.hasDeviceProfile()) {
-                        result.deviceProfile(deviceProfileCache.getOrCreate(tdi.getDeviceProfileId(), msg.getDeviceProfile()));
-                    }
-                } else if (TransportProtos.TransportApiRequestErrorCode.ENTITY_LIMIT.equals(msg.getError())) {
-                    entityLimitsCache.put(key, true);
-                    throw new RuntimeException(DataConstants.MAXIMUM_NUMBER_OF_DEVICES_REACHED);
-                }
-                return result.build();
-            }, MoreExecutors.directExecutor());
+            ListenableFuture<GetOrCreateDeviceFromGatewayResponse> response = Futures.transform(transportApiRequestTemplate.send(protoMsg),
+                    tmp -> toGetOrCreateDeviceFromGatewayResponse(tmp.getValue().getGetOrCreateDeviceResponseMsg(), key), MoreExecutors.directExecutor());
             AsyncCallbackTemplate.withCallback(response, callback::onSuccess, callback::onError, transportCallbackExecutor);
         }
     }
 
+    @Override
+    public void process(TenantId tenantId, TransportProtos.GetOrCreateDevicesFromGatewayRequestMsg requestMsg, TransportServiceCallback<List<GetOrCreateDeviceFromGatewayResponse>> callback) {
+        log.trace("Processing msg: {}", requestMsg);
+        List<TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg> devices = requestMsg.getDevicesList();
+        GetOrCreateDeviceFromGatewayResponse[] result = new GetOrCreateDeviceFromGatewayResponse[devices.size()];
+        if (devices.isEmpty()) {
+            transportCallbackExecutor.submit(() -> callback.onSuccess(Arrays.asList(result)));
+            return;
+        }
+        List<Integer> requestedIdx = new ArrayList<>(devices.size());
+        List<EntityLimitKey> requestedKeys = new ArrayList<>(devices.size());
+        TransportProtos.GetOrCreateDevicesFromGatewayRequestMsg.Builder request = TransportProtos.GetOrCreateDevicesFromGatewayRequestMsg.newBuilder();
+        for (int i = 0; i < devices.size(); i++) {
+            TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg device = devices.get(i);
+            DeviceId gatewayId = new DeviceId(new UUID(device.getGatewayIdMSB(), device.getGatewayIdLSB()));
+            int idx = i;
+            // same limits as a separate request per device, only the entries over the limit fail
+            if (!checkLimits(tenantId, gatewayId, null, device.getDeviceName(), device, new TransportServiceCallback<Void>() {
+                @Override
+                public void onSuccess(Void msg) {
+                }
+
+                @Override
+                public void onError(Throwable e) {
+                    result[idx] = GetOrCreateDeviceFromGatewayResponse.builder().error(e.getMessage()).build();
+                }
+            }, 0, false)) {
+                continue;
+            }
+            var key = new EntityLimitKey(tenantId, StringUtils.truncate(device.getDeviceName(), 256));
+            if (entityLimitsCache.get(key)) {
+                result[i] = GetOrCreateDeviceFromGatewayResponse.builder().error(DataConstants.MAXIMUM_NUMBER_OF_DEVICES_REACHED).build();
+            } else {
+                requestedIdx.add(i);
+                requestedKeys.add(key);
+                request.addDevices(device);
+            }
+        }
+        if (requestedIdx.isEmpty()) {
+            transportCallbackExecutor.submit(() -> callback.onSuccess(Arrays.asList(result)));
+            return;
+        }
+
+        TbProtoQueueMsg<TransportApiRequestMsg> protoMsg = new TbProtoQueueMsg<>(UUID.randomUUID(), TransportApiRequestMsg.newBuilder().setGetOrCreateDevicesRequestMsg(request).build());
+        ListenableFuture<List<GetOrCreateDeviceFromGatewayResponse>> response = Futures.transform(transportApiRequestTemplate.send(protoMsg), tmp -> {
+            List<TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg> responseMsgs = tmp.getValue().getGetOrCreateDevicesResponseMsg().getDevicesList();
+            for (int i = 0; i < requestedIdx.size(); i++) {
+                GetOrCreateDeviceFromGatewayResponse deviceResponse;
+                try {
+                    deviceResponse = toGetOrCreateDeviceFromGatewayResponse(i < responseMsgs.size() ? responseMsgs.get(i) :
+                            TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.getDefaultInstance(), requestedKeys.get(i));
+                } catch (RuntimeException e) {
+                    deviceResponse = GetOrCreateDeviceFromGatewayResponse.builder().error(e.getMessage()).build();
+                }
+                if (deviceResponse.getDeviceInfo() == null && deviceResponse.getError() == null) {
+                    deviceResponse.setError("Failed to get or create device " + devices.get(requestedIdx.get(i)).getDeviceName());
+                }
+                result[requestedIdx.get(i)] = deviceResponse;
+            }
+            return Arrays.asList(result);
+        }, MoreExecutors.directExecutor());
+        AsyncCallbackTemplate.withCallback(response, callback::onSuccess, callback::onError, transportCallbackExecutor);
+    }
+
+    private GetOrCreateDeviceFromGatewayResponse toGetOrCreateDeviceFromGatewayResponse(TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg msg, EntityLimitKey key) {
+        GetOrCreateDeviceFromGatewayResponse.GetOrCreateDeviceFromGatewayResponseBuilder result = GetOrCreateDeviceFromGatewayResponse.builder();
+        if (msg.hasDeviceInfo()) {
+            TransportDeviceInfo tdi = getTransportDeviceInfo(msg.getDeviceInfo());
+            result.deviceInfo(tdi);
+            if (msg.hasDeviceProfile()) {
+                result.deviceProfile(deviceProfileCache.getOrCreate(tdi.getDeviceProfileId(), msg.getDeviceProfile()));
+            }
+        } else if (TransportProtos.TransportApiRequestErrorCode.ENTITY_LIMIT.equals(msg.getError())) {
+            entityLimitsCache.put(key, true);
+            throw new RuntimeException(DataConstants.MAXIMUM_NUMBER_OF_DEVICES_REACHED);
+        }
+        return result.build();
+    }
+
     @Override
     public void process(TransportProtos.LwM2MRequestMsg msg, TransportServiceCallback<TransportProtos.LwM2MResponseMsg> callback) {
         log.trace("Processing msg: {}", msg);
@@ -931,10 +1027,16 @@ public class DefaultTransportService extends TransportActivityManager implements
                     TenantId tenantId = TenantId.fromUUID(entityUuid);
                     rateLimitService.remove(tenantId);
                     partitionService.removeTenant(tenantId);
+                    deviceCredentialsCache.evictAll();
                 } else if (EntityType.DEVICE.equals(entityType)) {
                     rateLimitService.remove(new DeviceId(entityUuid));
+                    deviceCredentialsCache.evict(new DeviceId(entityUuid));
                     onDeviceDeleted(new DeviceId(entityUuid));
                 }
+            } else if (toSessionMsg.hasDeviceCredentialsUpdateMsg()) {
+                TransportProtos.DeviceCredentialsUpdateMsg msg = toSessionMsg.getDeviceCredentialsUpdateMsg();
+                deviceCredentialsCache.evict(new DeviceId(new UUID(msg.getDeviceIdMSB(), msg.getDeviceIdLSB())));
+                deviceCredentialsCache.evict(DeviceCredentialsType.valueOf(msg.getCredentialsType()), msg.getCredentialsId());
             } else if (toSessionMsg.hasResourceUpdateMsg()) {
                 TransportProtos.ResourceUpdateMsg msg = toSessionMsg.getResourceUpdateMsg();
                 TenantId tenantId = TenantId.fromUUID(new UUID(msg.getTenantIdMSB(), msg.getTenantIdLSB()));
@@ -1020,6 +1122,7 @@ public class DefaultTransportService extends TransportActivityManager implements
     }
 
     private void onDeviceUpdate(Device device) {
+        deviceCredentialsCache.evict(device.getId());
         long deviceIdMSB = device.getId().getId().getMostSignificantBits();
         long deviceIdLSB = device.getId().getId().getLeastSignificantBits();
         long deviceProfileIdMSB = device.getDeviceProfileId().getId().getMostSignificantBits();
@@ -0,0 +1,96 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.transport.service;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.security.DeviceCredentialsType;
+import org.thingsboard.server.gen.transport.TransportProtos;
+import org.thingsboard.server.gen.transport.TransportProtos.ValidateDeviceCredentialsResponseMsg;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefaultTransportDeviceCredentialsCacheTest {
+
+    private static final String TOKEN = "token";
+    private static final String OTHER_TOKEN = "other-token";
+
+    private final DeviceId deviceId = new DeviceId(UUID.randomUUID());
+    private final DefaultTransportDeviceCredentialsCache cache = new DefaultTransportDeviceCredentialsCache(60, 30, 100);
+
+    @Test
+    void givenDisabledCache_whenPut_thenNothingIsCached() {
+        var disabled = new DefaultTransportDeviceCredentialsCache(60, 30, 0);
+
+        disabled.put(DeviceCredentialsType.ACCESS_TOKEN, TOKEN, deviceResponse(), disabled.getVersion());
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.get(DeviceCredentialsType.ACCESS_TOKEN, TOKEN)).isNull();
+    }
+
+    @Test
+    void givenPositiveAndNegativeResponses_whenGet_thenBothAreCached() {
+        cache.put(DeviceCredentialsType.ACCESS_TOKEN, TOKEN, deviceResponse(), cache.getVersion());
+        cache.put(DeviceCredentialsType.ACCESS_TOKEN, OTHER_TOKEN, ValidateDeviceCredentialsResponseMsg.getDefaultInstance(), cache.getVersion());
+
+        assertThat(cache.get(DeviceCredentialsType.ACCESS_TOKEN, TOKEN)).isEqualTo(deviceResponse());
+        assertThat(cache.get(DeviceCredentialsType.ACCESS_TOKEN, OTHER_TOKEN)).isEqualTo(ValidateDeviceCredentialsResponseMsg.getDefaultInstance());
+        assertThat(cache.get(DeviceCredentialsType.X509_CERTIFICATE, TOKEN)).isNull();
+    }
+
+    @Test
+    void givenCachedResponses_whenEvictDevice_thenOnlyDeviceEntriesAreRemoved() {
+        cache.put(DeviceCredentialsType.ACCESS_TOKEN, TOKEN, deviceResponse(), cache.getVersion());
+        cache.put(DeviceCredentialsType.ACCESS_TOKEN, OTHER_TOKEN, ValidateDeviceCredentialsResponseMsg.getDefaultInstance(), cache.getVersion());
+
+        cache.evict(deviceId);
+
+        assertThat(cache.get(DeviceCredentialsType.ACCESS_TOKEN, TOKEN)).isNull();
+        assertThat(cache.get(DeviceCredentialsType.ACCESS_TOKEN, OTHER_TOKEN)).isNotNull();
+    }
+
+    @Test
+    void givenNegativeResponse_whenCredentialsAreEvicted_thenRemoved() {
+        cache.put(DeviceCredentialsType.ACCESS_TOKEN, OTHER_TOKEN, ValidateDeviceCredentialsResponseMsg.getDefaultInstance(), cache.getVersion());
+
+        cache.evict(DeviceCredentialsType.ACCESS_TOKEN, OTHER_TOKEN);
+
+        assertThat(cache.get(DeviceCredentialsType.ACCESS_TOKEN, OTHER_TOKEN)).isNull();
+    }
+
+    @Test
+    void givenEvictionDuringRequest_whenPut_thenResponseIsNotCached() {
+        long version = cache.getVersion();
+
+        cache.evict(deviceId);
+        cache.put(DeviceCredentialsType.ACCESS_TOKEN, TOKEN, deviceResponse(), version);
+
+        assertThat(cache.get(DeviceCredentialsType.ACCESS_TOKEN, TOKEN)).isNull();
+    }
+
+    private ValidateDeviceCredentialsResponseMsg deviceResponse() {
+        return ValidateDeviceCredentialsResponseMsg.newBuilder()
+                .setDeviceInfo(TransportProtos.DeviceInfoProto.newBuilder()
+                        .setDeviceIdMSB(deviceId.getId().getMostSignificantBits())
+                        .setDeviceIdLSB(deviceId.getId().getLeastSignificantBits())
+                        .setDeviceName("Device A"))
+                .setCredentialsBody(TOKEN)
+                .build();
+    }
+
+}
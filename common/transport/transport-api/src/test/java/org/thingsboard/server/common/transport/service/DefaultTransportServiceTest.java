@@ -0,0 +1,159 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.transport.service;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.security.DeviceCredentialsType;
+import org.thingsboard.server.common.data.util.TbPair;
+import org.thingsboard.server.common.transport.TransportServiceCallback;
+import org.thingsboard.server.common.transport.auth.GetOrCreateDeviceFromGatewayResponse;
+import org.thingsboard.server.common.transport.limits.EntityLimitsCache;
+import org.thingsboard.server.common.transport.limits.TransportRateLimitService;
+import org.thingsboard.server.gen.transport.TransportProtos;
+import org.thingsboard.server.gen.transport.TransportProtos.ToTransportMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.TransportApiRequestMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.TransportApiResponseMsg;
+import org.thingsboard.server.gen.transport.TransportProtos.ValidateDeviceCredentialsResponseMsg;
+import org.thingsboard.server.queue.TbQueueRequestTemplate;
+import org.thingsboard.server.queue.common.TbProtoQueueMsg;
+import org.thingsboard.server.common.msg.notification.NotificationRuleProcessor;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class DefaultTransportServiceTest {
+
+    private final TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+    private final DeviceId gatewayId = new DeviceId(UUID.randomUUID());
+
+    private DefaultTransportService transportService;
+    private TransportRateLimitService rateLimitService;
+    private TbQueueRequestTemplate<TbProtoQueueMsg<TransportApiRequestMsg>, TbProtoQueueMsg<TransportApiResponseMsg>> transportApiRequestTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        transportService = mock(DefaultTransportService.class);
+        rateLimitService = mock(TransportRateLimitService.class);
+        transportApiRequestTemplate = mock(TbQueueRequestTemplate.class);
+        ReflectionTestUtils.setField(transportService, "rateLimitService", rateLimitService);
+        ReflectionTestUtils.setField(transportService, "entityLimitsCache", mock(EntityLimitsCache.class));
+        ReflectionTestUtils.setField(transportService, "notificationRuleProcessor", mock(NotificationRuleProcessor.class));
+        ReflectionTestUtils.setField(transportService, "transportCallbackExecutor", MoreExecutors.newDirectExecutorService());
+        ReflectionTestUtils.setField(transportService, "transportApiRequestTemplate", transportApiRequestTemplate);
+        doCallRealMethod().when(transportService).process(any(TenantId.class), any(TransportProtos.GetOrCreateDevicesFromGatewayRequestMsg.class), any());
+    }
+
+    @Test
+    void givenRateLimitedDevice_whenGetOrCreateDevices_thenOnlyThisDeviceFails() {
+        given(rateLimitService.checkLimits(eq(tenantId), eq(gatewayId), isNull(), anyInt(), anyBoolean()))
+                .willReturn(null, TbPair.of(EntityType.DEVICE, true), null);
+        DeviceId deviceA = new DeviceId(UUID.randomUUID());
+        DeviceId deviceC = new DeviceId(UUID.randomUUID());
+        given(transportApiRequestTemplate.send(any())).willReturn(Futures.immediateFuture(new TbProtoQueueMsg<>(UUID.randomUUID(),
+                TransportApiResponseMsg.newBuilder().setGetOrCreateDevicesResponseMsg(TransportProtos.GetOrCreateDevicesFromGatewayResponseMsg.newBuilder()
+                        .addDevices(deviceResponse(deviceA))
+                        .addDevices(deviceResponse(deviceC))).build())));
+
+        AtomicReference<List<GetOrCreateDeviceFromGatewayResponse>> result = new AtomicReference<>();
+        transportService.process(tenantId, TransportProtos.GetOrCreateDevicesFromGatewayRequestMsg.newBuilder()
+                .addDevices(deviceRequest("A"))
+                .addDevices(deviceRequest("B"))
+                .addDevices(deviceRequest("C"))
+                .build(), new TransportServiceCallback<>() {
+            @Override
+            public void onSuccess(List<GetOrCreateDeviceFromGatewayResponse> msg) {
+                result.set(msg);
+            }
+
+            @Override
+            public void onError(Throwable e) {
+            }
+        });
+
+        ArgumentCaptor<TbProtoQueueMsg<TransportApiRequestMsg>> requestCaptor = ArgumentCaptor.forClass(TbProtoQueueMsg.class);
+        verify(transportApiRequestTemplate).send(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().getValue().getGetOrCreateDevicesRequestMsg().getDevicesList())
+                .extracting(TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg::getDeviceName).containsExactly("A", "C");
+
+        assertThat(result.get()).hasSize(3);
+        assertThat(result.get().get(0).getDeviceInfo().getDeviceId()).isEqualTo(deviceA);
+        assertThat(result.get().get(1).getDeviceInfo()).isNull();
+        assertThat(result.get().get(1).getError()).isEqualTo("DEVICE rate limits reached!");
+        assertThat(result.get().get(2).getDeviceInfo().getDeviceId()).isEqualTo(deviceC);
+    }
+
+    @Test
+    void givenCachedNegativeResponse_whenDeviceIsCreatedWithTheseCredentials_thenRemoved() {
+        DeviceId deviceId = new DeviceId(UUID.randomUUID());
+        DefaultTransportDeviceCredentialsCache cache = new DefaultTransportDeviceCredentialsCache(60, 30, 100);
+        cache.put(DeviceCredentialsType.ACCESS_TOKEN, "token", ValidateDeviceCredentialsResponseMsg.getDefaultInstance(), cache.getVersion());
+        ReflectionTestUtils.setField(transportService, "sessions", new ConcurrentHashMap<>());
+        ReflectionTestUtils.setField(transportService, "deviceCredentialsCache", cache);
+        doCallRealMethod().when(transportService).processToTransportMsg(any());
+
+        transportService.processToTransportMsg(ToTransportMsg.newBuilder()
+                .setDeviceCredentialsUpdateMsg(TransportProtos.DeviceCredentialsUpdateMsg.newBuilder()
+                        .setDeviceIdMSB(deviceId.getId().getMostSignificantBits())
+                        .setDeviceIdLSB(deviceId.getId().getLeastSignificantBits())
+                        .setCredentialsType(DeviceCredentialsType.ACCESS_TOKEN.name())
+                        .setCredentialsId("token"))
+                .build());
+
+        assertThat(cache.get(DeviceCredentialsType.ACCESS_TOKEN, "token")).isNull();
+    }
+
+    private TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg deviceRequest(String name) {
+        return TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.newBuilder()
+                .setGatewayIdMSB(gatewayId.getId().getMostSignificantBits())
+                .setGatewayIdLSB(gatewayId.getId().getLeastSignificantBits())
+                .setDeviceName(name)
+                .setDeviceType("default")
+                .build();
+    }
+
+    private TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg deviceResponse(DeviceId deviceId) {
+        return TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.newBuilder()
+                .setDeviceInfo(TransportProtos.DeviceInfoProto.newBuilder()
+                        .setTenantIdMSB(tenantId.getId().getMostSignificantBits())
+                        .setTenantIdLSB(tenantId.getId().getLeastSignificantBits())
+                        .setDeviceIdMSB(deviceId.getId().getMostSignificantBits())
+                        .setDeviceIdLSB(deviceId.getId().getLeastSignificantBits()))
+                .build();
+    }
+
+}
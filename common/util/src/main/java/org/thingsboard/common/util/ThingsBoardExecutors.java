@@ -15,16 +15,23 @@
  */
 package org.thingsboard.common.util;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public class ThingsBoardExecutors {
 
+    /*
+     * The project is compiled for Java 17, so the virtual threads API (Java 21+) is resolved at runtime.
+     * */
+    private static final Method[] VIRTUAL_THREAD_METHODS = findVirtualThreadMethods();
+
     /** Cannot instantiate. */
     private ThingsBoardExecutors(){}
 
@@ -76,4 +83,43 @@ public class ThingsBoardExecutors {
         return new ThingsBoardScheduledThreadPoolExecutor(corePoolSize, ThingsBoardThreadFactory.forName(name));
     }
 
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_THREAD_METHODS != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     * Virtual threads are named using the given prefix and a sequence number.
+     *
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        if (VIRTUAL_THREAD_METHODS == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by the current JVM: " + Runtime.version());
+        }
+        try {
+            // Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix + "-", 0).factory())
+            Object builder = VIRTUAL_THREAD_METHODS[0].invoke(null);
+            builder = VIRTUAL_THREAD_METHODS[1].invoke(builder, namePrefix + "-", 0L);
+            ThreadFactory threadFactory = (ThreadFactory) VIRTUAL_THREAD_METHODS[2].invoke(builder);
+            return (ExecutorService) VIRTUAL_THREAD_METHODS[3].invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    private static Method[] findVirtualThreadMethods() {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            return new Method[]{
+                    Thread.class.getMethod("ofVirtual"),
+                    builderClass.getMethod("name", String.class, long.class),
+                    builderClass.getMethod("factory"),
+                    Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+            };
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
 }
@@ -0,0 +1,165 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.common.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel that keeps values ordered by their deadline with the precision of a single tick.
+ * Scheduling is O(1) and advancing the wheel touches only the values whose deadline has elapsed,
+ * plus the values that are moved from the upper levels to the lower ones once per level period.
+ * <p>
+ * There is no explicit cancellation: the consumer is expected to validate the expired values and re-schedule them if needed.
+ * Values never expire before their deadline, except the ones beyond the wheel range (2^24 ticks) that expire at the end of the range.
+ */
+public class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMs;
+    private final Bucket[][] levels;
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMs, long startTimeMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickMs);
+        }
+        this.tickMs = tickMs;
+        this.currentTick = Math.floorDiv(startTimeMs, tickMs);
+        this.levels = new Bucket[LEVELS][SLOTS];
+        for (Bucket[] level : levels) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * Schedules the value to expire on the first {@link #advance(long)} call with the time greater or equal to the deadline.
+     * Values with elapsed deadlines expire on the next tick.
+     */
+    public synchronized void schedule(T value, long deadlineMs) {
+        long deadlineTick;
+        if (deadlineMs >= (currentTick + MAX_DELAY_TICKS) * tickMs) {
+            deadlineTick = currentTick + MAX_DELAY_TICKS;
+        } else {
+            deadlineTick = Math.max(-Math.floorDiv(-deadlineMs, tickMs), currentTick + 1);
+        }
+        place(value, deadlineTick);
+        size++;
+    }
+
+    /**
+     * Moves the wheel to the given time and returns the values whose deadline has elapsed, in the deadline order.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> advance(long nowMs) {
+        long targetTick = Math.floorDiv(nowMs, tickMs);
+        if (targetTick <= currentTick) {
+            return new ArrayList<>(0);
+        }
+        if (size == 0) {
+            currentTick = targetTick;
+            return new ArrayList<>(0);
+        }
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick && size > 0) {
+            currentTick++;
+            int level = 0;
+            while (level < LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+                level++;
+            }
+            // upper levels first, so the values moved down are never placed into a slot that was already processed
+            for (; level > 0; level--) {
+                Bucket bucket = levels[level][slot(currentTick, level)];
+                for (int i = 0; i < bucket.size; i++) {
+                    place(bucket.values[i], bucket.ticks[i]);
+                }
+                bucket.clear();
+            }
+            Bucket bucket = levels[0][slot(currentTick, 0)];
+            for (int i = 0; i < bucket.size; i++) {
+                expired.add((T) bucket.values[i]);
+            }
+            size -= bucket.size;
+            bucket.clear();
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        for (Bucket[] level : levels) {
+            for (Bucket bucket : level) {
+                bucket.clear();
+            }
+        }
+        size = 0;
+    }
+
+    private void place(Object value, long deadlineTick) {
+        long delay = deadlineTick - currentTick;
+        int level = delay < SLOTS ? 0 : (63 - Long.numberOfLeadingZeros(delay)) / SLOT_BITS;
+        levels[level][slot(deadlineTick, level)].add(deadlineTick, value);
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) (tick >> (SLOT_BITS * level)) & SLOT_MASK;
+    }
+
+    private static class Bucket {
+
+        private static final int INITIAL_CAPACITY = 8;
+        private static final int MAX_RETAINED_CAPACITY = 1024;
+
+        private long[] ticks = new long[INITIAL_CAPACITY];
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        private int size;
+
+        void add(long tick, Object value) {
+            if (size == values.length) {
+                ticks = Arrays.copyOf(ticks, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            ticks[size] = tick;
+            values[size] = value;
+            size++;
+        }
+
+        void clear() {
+            if (values.length > MAX_RETAINED_CAPACITY) {
+                ticks = new long[INITIAL_CAPACITY];
+                values = new Object[INITIAL_CAPACITY];
+            } else {
+                Arrays.fill(values, 0, size, null);
+            }
+            size = 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+
+    @Test
+    void testExpiresValuesOnDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 1000);
+        wheel.schedule("a", 1025);
+        wheel.schedule("b", 1010);
+        wheel.schedule("c", 5000);
+
+        assertThat(wheel.advance(1009)).isEmpty();
+        assertThat(wheel.advance(1010)).containsExactly("b");
+        assertThat(wheel.advance(1029)).isEmpty();
+        assertThat(wheel.advance(1030)).containsExactly("a");
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(4999)).isEmpty();
+        assertThat(wheel.advance(6000)).containsExactly("c");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void testElapsedDeadlineExpiresOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 1000);
+        wheel.schedule("a", 500);
+
+        assertThat(wheel.advance(1009)).isEmpty();
+        assertThat(wheel.advance(1010)).containsExactly("a");
+    }
+
+    @Test
+    void testValuesOnAllLevelsExpireInDeadlineOrder() {
+        long tickMs = 1000;
+        long startTs = 1_700_000_123_456L;
+        TimingWheel<Long> wheel = new TimingWheel<>(tickMs, startTs);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = startTs + (long) (random.nextDouble() * Math.pow(64, 1 + random.nextInt(4)) * tickMs);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        long ts = startTs;
+        while (wheel.size() > 0) {
+            ts += 37 * tickMs;
+            for (Long deadline : wheel.advance(ts)) {
+                assertThat(deadline).isLessThanOrEqualTo(ts);
+                assertThat(deadline).isGreaterThan(ts - 38 * tickMs);
+                expired.add(deadline);
+            }
+        }
+        assertThat(expired).containsExactlyInAnyOrderElementsOf(deadlines);
+    }
+
+    @Test
+    void testDeadlineBeyondRangeExpiresAtTheEndOfRange() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.schedule("a", Long.MAX_VALUE);
+
+        assertThat(wheel.advance((1L << 24) - 2)).isEmpty();
+        assertThat(wheel.advance((1L << 24) - 1)).containsExactly("a");
+    }
+
+    @Test
+    void testClear() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 0);
+        wheel.schedule("a", 100);
+        wheel.schedule("b", 100_000);
+        wheel.clear();
+
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.advance(200_000)).isEmpty();
+    }
+
+    @Test
+    void testInvalidTick() {
+        assertThatThrownBy(() -> new TimingWheel<>(0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
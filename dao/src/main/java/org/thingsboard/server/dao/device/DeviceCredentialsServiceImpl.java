@@ -109,7 +109,9 @@ public class DeviceCredentialsServiceImpl extends AbstractCachedEntityService<St
         try {
             var value = deviceCredentialsDao.saveAndFlush(tenantId, deviceCredentials);
             publishEvictEvent(new DeviceCredentialsEvictEvent(value.getCredentialsId(), oldDeviceCredentials != null ? oldDeviceCredentials.getCredentialsId() : null));
-            if (oldDeviceCredentials != null && isCredentialsChanged(oldDeviceCredentials, value)) {
+            if (oldDeviceCredentials == null) {
+                eventPublisher.publishEvent(new DeviceCredentialsCreatedEvent(tenantId, value));
+            } else if (isCredentialsChanged(oldDeviceCredentials, value)) {
                 eventPublisher.publishEvent(ActionEntityEvent.builder().tenantId(tenantId).entity(value).entityId(value.getDeviceId()).actionType(ActionType.CREDENTIALS_UPDATED).build());
             }
             return value;
@@ -49,12 +49,16 @@ public class CassandraBufferedRateWriteExecutor extends AbstractBufferedRateExec
             @Value("${cassandra.query.poll_ms:50}") long pollMs,
             @Value("${cassandra.query.tenant_rate_limits.print_tenant_names}") boolean printTenantNames,
             @Value("${cassandra.query.print_queries_freq:0}") int printQueriesFreq,
+            @Value("${cassandra.query.fair_scheduling.enabled:false}") boolean fairScheduling,
+            @Value("${cassandra.query.fair_scheduling.tenant_weights:}") String tenantWeights,
+            @Value("${cassandra.query.fair_scheduling.tenant_buffer_size:0}") int tenantQueueLimit,
             @Autowired StatsFactory statsFactory,
             @Autowired EntityService entityService,
             @Autowired RateLimitService rateLimitService,
             @Autowired(required = false) TbServiceInfoProvider serviceInfoProvider) {
         super(queueLimit, concurrencyLimit, maxWaitTime, dispatcherThreads, callbackThreads, pollMs, printQueriesFreq,
-                BufferedRateExecutorType.WRITE, serviceInfoProvider, rateLimitService, statsFactory, entityService, printTenantNames);
+                BufferedRateExecutorType.WRITE, serviceInfoProvider, rateLimitService, statsFactory, entityService, printTenantNames,
+                fairScheduling, tenantWeights, tenantQueueLimit, 0);
     }
 
     @Scheduled(fixedDelayString = "${cassandra.query.rate_limit_print_interval_ms}")
@@ -90,6 +90,7 @@ public class BaseRelationService implements RelationService {
     private final JpaExecutorService executor;
     private final JpaRelationQueryExecutorService relationsExecutor;
     private final ApiLimitService apiLimitService;
+    private final RelationGraphCache relationGraphCache;
 
     protected ScheduledExecutorService timeoutExecutorService;
 
@@ -99,7 +100,8 @@ public class BaseRelationService implements RelationService {
     public BaseRelationService(RelationDao relationDao, @Lazy EntityService entityService,
                                TbTransactionalCache<RelationCacheKey, RelationCacheValue> cache,
                                ApplicationEventPublisher eventPublisher, JpaExecutorService executor,
-                               JpaRelationQueryExecutorService relationsExecutor, ApiLimitService apiLimitService) {
+                               JpaRelationQueryExecutorService relationsExecutor, ApiLimitService apiLimitService,
+                               RelationGraphCache relationGraphCache) {
         this.relationDao = relationDao;
         this.entityService = entityService;
         this.cache = cache;
@@ -107,6 +109,7 @@ public class BaseRelationService implements RelationService {
         this.executor = executor;
         this.relationsExecutor = relationsExecutor;
         this.apiLimitService = apiLimitService;
+        this.relationGraphCache = relationGraphCache;
     }
 
     @PostConstruct
@@ -130,6 +133,7 @@ public class BaseRelationService implements RelationService {
         keys.add(new RelationCacheKey(null, event.getTo(), event.getType(), event.getTypeGroup(), EntitySearchDirection.TO));
         keys.add(new RelationCacheKey(null, event.getTo(), null, event.getTypeGroup(), EntitySearchDirection.TO));
         cache.evict(keys);
+        relationGraphCache.evict(event);
         log.debug("Processed evict event: {}", event);
     }
 
@@ -696,6 +700,11 @@ public class BaseRelationService implements RelationService {
         if (lvl == 0) {
             return Futures.immediateFuture(Collections.emptySet());
         }
+        if (relationGraphCache.isEnabled()) {
+            ListenableFuture<Set<EntityRelation>> future = relationsExecutor.submit(() -> relationGraphCache.findRelations(tenantId, rootId, direction,
+                    relationTypeGroup, lvl, fetchLastLevelOnly, entityId -> findRelations(tenantId, entityId, direction, relationTypeGroup)));
+            return Futures.withTimeout(future, relationQueryTimeout, TimeUnit.SECONDS, timeoutExecutorService);
+        }
         var relationQueueCtx = new RelationQueueCtx(tenantId, direction, relationTypeGroup, fetchLastLevelOnly, lvl, uniqueMap);
         relationQueueCtx.tasks.add(new RelationTask(1, rootId, Collections.emptyList()));
         relationsExecutor.submit(() -> processQueue(relationQueueCtx));
@@ -0,0 +1,226 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.relation;
+
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.relation.EntityRelation;
+import org.thingsboard.server.common.data.relation.EntitySearchDirection;
+import org.thingsboard.server.common.data.relation.RelationTypeGroup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Adjacency lists of the tenant entities, loaded on demand and kept in memory.
+ * Entities are mapped to int indexes, so traversal uses arrays and a {@link BitSet} instead of hash lookups per hop.
+ * Adjacency of a node is dropped when any of its relations changes and is loaded again on the next traversal.
+ */
+class RelationGraph {
+
+    private static final int GROUPS = RelationTypeGroup.values().length;
+    private static final int LANES = EntitySearchDirection.values().length * GROUPS;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<EntityId, Integer> nodeIndexes = new HashMap<>();
+    private EntityId[] nodes = new EntityId[64];
+    // lanes are allocated on first use, usually only the COMMON group is queried
+    private final NodeRelations[][] adjacency = new NodeRelations[LANES][];
+    private long version;
+
+    /**
+     * Same semantics as the hop-by-hop relations query: each entity is expanded at most once,
+     * the root entity is not marked as visited.
+     */
+    Set<EntityRelation> findRelations(EntityId rootId, EntitySearchDirection direction, RelationTypeGroup typeGroup,
+                                      int maxLvl, boolean fetchLastLevelOnly, Function<EntityId, List<EntityRelation>> loader) {
+        if (maxLvl == 0) {
+            return Collections.emptySet();
+        }
+        int lane = lane(direction, typeGroup);
+        Set<EntityRelation> result = new LinkedHashSet<>();
+        BitSet visited = new BitSet();
+        ArrayDeque<Task> tasks = new ArrayDeque<>();
+        tasks.add(new Task(1, getOrCreateIndex(rootId), Collections.emptyList()));
+        Task task;
+        while ((task = tasks.poll()) != null) {
+            NodeRelations relations = getRelations(task.node, lane, direction, loader);
+            Map<Integer, List<EntityRelation>> lastLevelRelations = fetchLastLevelOnly ? new HashMap<>() : null;
+            int[] newChildren = new int[relations.targets.length];
+            int newChildrenCount = 0;
+            for (int i = 0; i < relations.targets.length; i++) {
+                int child = relations.targets[i];
+                if (!visited.get(child)) {
+                    visited.set(child);
+                    newChildren[newChildrenCount++] = child;
+                    if (fetchLastLevelOnly) {
+                        lastLevelRelations.put(child, new ArrayList<>());
+                    }
+                }
+                if (fetchLastLevelOnly) {
+                    List<EntityRelation> list = lastLevelRelations.get(child);
+                    if (list != null) {
+                        list.add(relations.relations[i]);
+                    }
+                }
+            }
+            if (fetchLastLevelOnly) {
+                if (relations.targets.length == 0) {
+                    result.addAll(task.prevRelations);
+                } else if (task.lvl == maxLvl) {
+                    Collections.addAll(result, relations.relations);
+                }
+            } else {
+                Collections.addAll(result, relations.relations);
+            }
+            int newLvl = task.lvl + 1;
+            if (newLvl <= maxLvl) {
+                for (int i = 0; i < newChildrenCount; i++) {
+                    int child = newChildren[i];
+                    tasks.add(new Task(newLvl, child, fetchLastLevelOnly ? lastLevelRelations.get(child) : Collections.emptyList()));
+                }
+            }
+        }
+        return result;
+    }
+
+    void evict(EntityId from, EntityId to, RelationTypeGroup typeGroup) {
+        lock.writeLock().lock();
+        try {
+            version++;
+            Integer fromIdx = nodeIndexes.get(from);
+            Integer toIdx = nodeIndexes.get(to);
+            for (RelationTypeGroup group : RelationTypeGroup.values()) {
+                if (typeGroup == null || typeGroup == group) {
+                    evict(lane(EntitySearchDirection.FROM, group), fromIdx);
+                    evict(lane(EntitySearchDirection.TO, group), toIdx);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void evict(int lane, Integer node) {
+        if (node != null && adjacency[lane] != null) {
+            adjacency[lane][node] = null;
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return nodeIndexes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private NodeRelations getRelations(int node, int lane, EntitySearchDirection direction, Function<EntityId, List<EntityRelation>> loader) {
+        EntityId nodeId;
+        long loadVersion;
+        lock.readLock().lock();
+        try {
+            NodeRelations[] laneRelations = adjacency[lane];
+            if (laneRelations != null && laneRelations[node] != null) {
+                return laneRelations[node];
+            }
+            nodeId = nodes[node];
+            loadVersion = version;
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<EntityRelation> loaded = loader.apply(nodeId);
+        lock.writeLock().lock();
+        try {
+            int[] targets = new int[loaded.size()];
+            EntityRelation[] relations = new EntityRelation[loaded.size()];
+            for (int i = 0; i < targets.length; i++) {
+                EntityRelation relation = loaded.get(i);
+                targets[i] = getOrCreateIndexLocked(direction == EntitySearchDirection.FROM ? relation.getTo() : relation.getFrom());
+                relations[i] = relation;
+            }
+            NodeRelations nodeRelations = new NodeRelations(targets, relations);
+            // the relations might have changed while loading, such a result is returned but not cached
+            if (loadVersion == version) {
+                if (adjacency[lane] == null) {
+                    adjacency[lane] = new NodeRelations[nodes.length];
+                }
+                adjacency[lane][node] = nodeRelations;
+            }
+            return nodeRelations;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int getOrCreateIndex(EntityId entityId) {
+        lock.readLock().lock();
+        try {
+            Integer idx = nodeIndexes.get(entityId);
+            if (idx != null) {
+                return idx;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            return getOrCreateIndexLocked(entityId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int getOrCreateIndexLocked(EntityId entityId) {
+        Integer idx = nodeIndexes.get(entityId);
+        if (idx != null) {
+            return idx;
+        }
+        int newIdx = nodeIndexes.size();
+        if (newIdx == nodes.length) {
+            int newLength = nodes.length * 2;
+            nodes = Arrays.copyOf(nodes, newLength);
+            for (int i = 0; i < LANES; i++) {
+                if (adjacency[i] != null) {
+                    adjacency[i] = Arrays.copyOf(adjacency[i], newLength);
+                }
+            }
+        }
+        nodes[newIdx] = entityId;
+        nodeIndexes.put(entityId, newIdx);
+        return newIdx;
+    }
+
+    private static int lane(EntitySearchDirection direction, RelationTypeGroup typeGroup) {
+        return direction.ordinal() * GROUPS + typeGroup.ordinal();
+    }
+
+    private record NodeRelations(int[] targets, EntityRelation[] relations) {}
+
+    private record Task(int lvl, int node, List<EntityRelation> prevRelations) {}
+
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.relation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.relation.EntityRelation;
+import org.thingsboard.server.common.data.relation.EntitySearchDirection;
+import org.thingsboard.server.common.data.relation.RelationTypeGroup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Per-tenant in-memory relation graphs used to answer recursive relation queries.
+ * Graphs are filled while traversing and invalidated with the same {@link EntityRelationEvent} that evicts the relations cache.
+ * Relation events are local to the service, so in a cluster a graph may be stale for up to 'ttl_sec' after a relation change on another node.
+ */
+@Slf4j
+@Component
+public class RelationGraphCache {
+
+    @Getter
+    private final boolean enabled;
+    private final int maxNodesPerTenant;
+    private final Cache<TenantId, RelationGraph> graphs;
+
+    public RelationGraphCache(@Value("${sql.relations.graph_cache.enabled:false}") boolean enabled,
+                              @Value("${sql.relations.graph_cache.ttl_sec:60}") long ttlSec,
+                              @Value("${sql.relations.graph_cache.max_tenants:1000}") int maxTenants,
+                              @Value("${sql.relations.graph_cache.max_nodes_per_tenant:1000000}") int maxNodesPerTenant) {
+        this.enabled = enabled;
+        this.maxNodesPerTenant = maxNodesPerTenant;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maxTenants);
+        if (ttlSec > 0) {
+            builder.expireAfterWrite(ttlSec, TimeUnit.SECONDS);
+        }
+        this.graphs = builder.build();
+    }
+
+    public Set<EntityRelation> findRelations(TenantId tenantId, EntityId rootId, EntitySearchDirection direction, RelationTypeGroup typeGroup,
+                                             int maxLvl, boolean fetchLastLevelOnly, Function<EntityId, List<EntityRelation>> loader) {
+        RelationGraph graph = graphs.get(tenantId, id -> new RelationGraph());
+        Set<EntityRelation> relations = graph.findRelations(rootId, direction, typeGroup != null ? typeGroup : RelationTypeGroup.COMMON,
+                maxLvl, fetchLastLevelOnly, loader);
+        if (graph.size() > maxNodesPerTenant) {
+            log.debug("[{}] Relation graph exceeded {} nodes, dropping it", tenantId, maxNodesPerTenant);
+            graphs.asMap().remove(tenantId, graph);
+        }
+        return relations;
+    }
+
+    public void evict(EntityRelationEvent event) {
+        if (!enabled) {
+            return;
+        }
+        graphs.asMap().values().forEach(graph -> graph.evict(event.getFrom(), event.getTo(), event.getTypeGroup()));
+    }
+
+}
@@ -15,6 +15,7 @@
  */
 package org.thingsboard.server.dao.sql;
 
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +30,7 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -36,15 +38,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
 
+    private static final int MIN_TARGET_BATCH_SIZE = 16;
+
     private final BlockingQueue<TbSqlQueueElement<E, R>> queue = new LinkedBlockingQueue<>();
     private final TbSqlBlockingQueueParams params;
 
     private ExecutorService executor;
     private final MessagesStats stats;
+    private volatile int targetBatchSize;
 
     public TbSqlBlockingQueue(TbSqlBlockingQueueParams params, MessagesStats stats) {
         this.params = params;
         this.stats = stats;
+        this.targetBatchSize = params.isAdaptiveBatching() ? Math.min(MIN_TARGET_BATCH_SIZE, params.getBatchSize()) : params.getBatchSize();
     }
 
     @Override
@@ -54,6 +60,7 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
             String logName = params.getLogName();
             int batchSize = params.getBatchSize();
             long maxDelay = params.getMaxDelay();
+            boolean adaptive = params.isAdaptiveBatching();
             final List<TbSqlQueueElement<E, R>> entities = new ArrayList<>(batchSize);
             while (!Thread.interrupted()) {
                 try {
@@ -65,6 +72,9 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
                         entities.add(attr);
                     }
                     queue.drainTo(entities, batchSize - 1);
+                    if (adaptive) {
+                        lingerForBatch(entities, targetBatchSize, System.currentTimeMillis() + maxDelay);
+                    }
                     boolean fullPack = entities.size() == batchSize;
                     if (log.isDebugEnabled()) {
                         log.debug("[{}] Going to save {} entities", logName, entities.size());
@@ -77,7 +87,11 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
                         entitiesToSave = entitiesToSave.stream().sorted((o1, o2) -> batchUpdateComparator.compare(o1.getEntity(), o2.getEntity())).toList();
                     }
 
+                    long saveStartTs = System.currentTimeMillis();
                     List<R> result = saveFunction.apply(entitiesToSave.stream().map(TbSqlQueueElement::getEntity).collect(Collectors.toList()));
+                    if (adaptive) {
+                        adjustTargetBatchSize(entities.size(), System.currentTimeMillis() - saveStartTs);
+                    }
 
                     if (params.isWithResponse()) {
                         for (int i = 0; i < entitiesToSave.size(); i++) {
@@ -92,7 +106,7 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
                     }
 
                     stats.incrementSuccessful(entities.size());
-                    if (!fullPack) {
+                    if (!fullPack && !adaptive) {
                         long remainingDelay = maxDelay - (System.currentTimeMillis() - currentTs);
                         if (remainingDelay > 0) {
                             Thread.sleep(remainingDelay);
@@ -120,8 +134,8 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
 
         logExecutor.scheduleAtFixedRate(() -> {
             if (!queue.isEmpty() || stats.getTotal() > 0 || stats.getSuccessful() > 0 || stats.getFailed() > 0) {
-                log.info("Queue-{} [{}] queueSize [{}] totalAdded [{}] totalSaved [{}] totalFailed [{}]", index,
-                        params.getLogName(), queue.size(), stats.getTotal(), stats.getSuccessful(), stats.getFailed());
+                log.info("Queue-{} [{}] queueSize [{}] targetBatchSize [{}] totalAdded [{}] totalSaved [{}] totalFailed [{}]", index,
+                        params.getLogName(), queue.size(), targetBatchSize, stats.getTotal(), stats.getSuccessful(), stats.getFailed());
                 stats.reset();
             }
         }, params.getStatsPrintIntervalMs(), params.getStatsPrintIntervalMs(), TimeUnit.MILLISECONDS);
@@ -134,8 +148,63 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
         }
     }
 
+    /**
+     * Keeps draining the queue until the batch reaches the target size or the deadline passes.
+     * Unlike the fixed sleep after an incomplete batch, the batch is flushed as soon as enough elements arrive.
+     */
+    private void lingerForBatch(List<TbSqlQueueElement<E, R>> entities, int batchSize, long deadline) throws InterruptedException {
+        while (entities.size() < batchSize) {
+            long remainingDelay = deadline - System.currentTimeMillis();
+            if (remainingDelay <= 0) {
+                break;
+            }
+            TbSqlQueueElement<E, R> element = queue.poll(remainingDelay, TimeUnit.MILLISECONDS);
+            if (element == null) {
+                break;
+            }
+            entities.add(element);
+            queue.drainTo(entities, batchSize - entities.size());
+        }
+    }
+
+    /**
+     * Grows the target batch size while saves are faster than the target latency and shrinks it otherwise.
+     */
+    void adjustTargetBatchSize(int savedCount, long saveLatencyMs) {
+        int current = targetBatchSize;
+        int updated = current;
+        if (params.getTargetLatencyMs() > 0 && saveLatencyMs > params.getTargetLatencyMs()) {
+            updated = Math.min(params.getBatchSize(), Math.max(MIN_TARGET_BATCH_SIZE, current / 2));
+        } else if (savedCount >= current) {
+            updated = Math.min(params.getBatchSize(), current + Math.max(MIN_TARGET_BATCH_SIZE, current / 4));
+        }
+        if (updated != current) {
+            log.trace("[{}] Target batch size changed from {} to {}, save latency: {} ms", params.getLogName(), current, updated, saveLatencyMs);
+            targetBatchSize = updated;
+        }
+    }
+
+    int getTargetBatchSize() {
+        return targetBatchSize;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Back-pressure signal: true if the queue reached the configured max size and new elements will be rejected.
+     */
+    public boolean isFull() {
+        return params.getMaxQueueSize() > 0 && queue.size() >= params.getMaxQueueSize();
+    }
+
     @Override
     public ListenableFuture<R> add(E element) {
+        if (isFull()) {
+            stats.incrementFailed();
+            return Futures.immediateFailedFuture(new RejectedExecutionException("[" + params.getLogName() + "] Queue is full, max size: " + params.getMaxQueueSize()));
+        }
         SettableFuture<R> future = SettableFuture.create();
         queue.add(new TbSqlQueueElement<>(future, element));
         stats.incrementTotal();
@@ -31,4 +31,7 @@ public class TbSqlBlockingQueueParams {
     private final String statsNamePrefix;
     private final boolean batchSortEnabled;
     private final boolean withResponse;
+    private final boolean adaptiveBatching;
+    private final long targetLatencyMs;
+    private final int maxQueueSize;
 }
@@ -58,8 +58,23 @@ public class TbSqlBlockingQueueWrapper<E, R> {
     }
 
     public ListenableFuture<R> add(E element) {
+        return getQueue(element).add(element);
+    }
+
+    /**
+     * Back-pressure signal for the callers: true if the queue for the element is full and the element will be rejected.
+     */
+    public boolean isFull(E element) {
+        return getQueue(element).isFull();
+    }
+
+    public int getQueueSize() {
+        return queues.stream().mapToInt(TbSqlBlockingQueue::size).sum();
+    }
+
+    private TbSqlBlockingQueue<E, R> getQueue(E element) {
         int queueIndex = element != null ? (hashCodeFunction.apply(element) & 0x7FFFFFFF) % maxThreads : 0;
-        return queues.get(queueIndex).add(element);
+        return queues.get(queueIndex);
     }
 
     public void destroy() {
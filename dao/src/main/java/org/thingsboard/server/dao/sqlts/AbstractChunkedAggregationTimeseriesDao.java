@@ -21,6 +21,7 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
 import org.thingsboard.server.common.data.id.EntityId;
@@ -39,10 +40,12 @@ import org.thingsboard.server.dao.model.sqlts.ts.TsKvEntity;
 import org.thingsboard.server.dao.sql.TbSqlBlockingQueueParams;
 import org.thingsboard.server.dao.sql.TbSqlBlockingQueueWrapper;
 import org.thingsboard.server.dao.sqlts.insert.InsertTsRepository;
+import org.thingsboard.server.dao.sqlts.ts.TsKvBucketAggregationRepository;
 import org.thingsboard.server.dao.sqlts.ts.TsKvRepository;
 import org.thingsboard.server.dao.timeseries.TimeseriesDao;
 import org.thingsboard.server.dao.util.TimeUtils;
 
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -60,10 +63,16 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
     @Autowired
     protected InsertTsRepository<TsKvEntity> insertRepository;
 
+    @Autowired
+    protected TsKvBucketAggregationRepository bucketAggregationRepository;
+
     protected TbSqlBlockingQueueWrapper<TsKvEntity, Void> tsQueue;
     @Autowired
     private StatsFactory statsFactory;
 
+    @Value("${sql.ts.bucketed_aggregation_enabled:false}")
+    protected boolean bucketedAggregationEnabled;
+
     @Autowired
     private KeyDictionaryDao keyDictionaryDao;
 
@@ -76,6 +85,9 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
                 .statsPrintIntervalMs(tsStatsPrintIntervalMs)
                 .statsNamePrefix("ts")
                 .batchSortEnabled(batchSortEnabled)
+                .adaptiveBatching(tsAdaptiveBatching)
+                .targetLatencyMs(tsBatchTargetLatencyMs)
+                .maxQueueSize(tsBatchMaxQueueSize)
                 .build();
 
         Function<TsKvEntity, Integer> hashcodeFunction = entity -> entity.getEntityId().hashCode();
@@ -121,6 +133,8 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
         var aggParams = query.getAggParameters();
         if (Aggregation.NONE.equals(aggParams.getAggregation()) || aggParams.getInterval() < 1) {
             return Futures.immediateFuture(findAllAsyncWithLimit(entityId, query));
+        } else if (bucketedAggregationEnabled) {
+            return getReadTsKvQueryResultFuture(query, findAllAndAggregateInBucketsAsync(entityId, query));
         } else {
             List<ListenableFuture<Optional<TsKvEntity>>> futures = new ArrayList<>();
             var intervalType = aggParams.getIntervalType();
@@ -158,6 +172,45 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
         return new ReadTsKvQueryResult(query.getId(), tsKvEntries, lastTs);
     }
 
+    ListenableFuture<List<Optional<? extends AbstractTsKvEntity>>> findAllAndAggregateInBucketsAsync(EntityId entityId, ReadTsKvQuery query) {
+        var aggParams = query.getAggParameters();
+        long startTs = query.getStartTs();
+        long endTs = Math.max(query.getStartTs() + 1, query.getEndTs());
+        return service.submit(() -> {
+            Integer keyId = keyDictionaryDao.getOrSaveKeyId(query.getKey());
+            List<TsKvEntity> entities;
+            if (IntervalType.MILLISECONDS.equals(aggParams.getIntervalType())) {
+                entities = bucketAggregationRepository.findAggregates(entityId.getId(), keyId, startTs, endTs, aggParams.getInterval(), query.getAggregation());
+            } else {
+                long[] boundaries = calculateIntervalBoundaries(startTs, endTs, aggParams.getIntervalType(), aggParams.getTzId());
+                entities = bucketAggregationRepository.findAggregates(entityId.getId(), keyId, boundaries, query.getAggregation());
+            }
+            List<Optional<? extends AbstractTsKvEntity>> result = new ArrayList<>(entities.size());
+            for (TsKvEntity entity : entities) {
+                if (entity.isNotEmpty()) {
+                    entity.setStrKey(query.getKey());
+                    result.add(Optional.of(entity));
+                }
+            }
+            if (result.isEmpty()) {
+                // same as in the chunked mode: no data in range still produces an empty query result
+                result.add(Optional.empty());
+            }
+            return result;
+        });
+    }
+
+    static long[] calculateIntervalBoundaries(long startTs, long endTs, IntervalType intervalType, ZoneId tzId) {
+        List<Long> boundaries = new ArrayList<>();
+        long startPeriod = startTs;
+        boundaries.add(startPeriod);
+        while (startPeriod < endTs) {
+            startPeriod = Math.min(TimeUtils.calculateIntervalEnd(startPeriod, intervalType, tzId), endTs);
+            boundaries.add(startPeriod);
+        }
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
     ListenableFuture<Optional<TsKvEntity>> findAndAggregateAsync(EntityId entityId, String key, long startTs, long endTs, long ts, Aggregation aggregation) {
         return service.submit(() -> {
             TsKvEntity entity = switchAggregation(entityId, key, startTs, endTs, aggregation);
@@ -59,6 +59,15 @@ public abstract class AbstractSqlTimeseriesDao extends BaseAbstractSqlTimeseries
     @Value("${sql.ts.batch_threads:4}")
     protected int tsBatchThreads;
 
+    @Value("${sql.ts.adaptive_batching:false}")
+    protected boolean tsAdaptiveBatching;
+
+    @Value("${sql.ts.batch_target_latency_ms:50}")
+    protected long tsBatchTargetLatencyMs;
+
+    @Value("${sql.ts.batch_max_queue_size:0}")
+    protected int tsBatchMaxQueueSize;
+
     @Value("${sql.timescale.batch_threads:4}")
     protected int timescaleBatchThreads;
 
@@ -0,0 +1,126 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sqlts.insert;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Encodes rows in the PostgreSQL binary COPY format ('COPY ... FROM STDIN (FORMAT BINARY)').
+ * Each row must be started with {@link #startRow(int)} followed by exactly the declared number of fields.
+ */
+public class PgBinaryCopyWriter extends ByteArrayOutputStream {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final int NULL_LENGTH = -1;
+
+    public PgBinaryCopyWriter(int initialSize) {
+        super(initialSize);
+        write(SIGNATURE, 0, SIGNATURE.length);
+        writeInt32(0); // flags
+        writeInt32(0); // header extension length
+    }
+
+    public void startRow(int fieldCount) {
+        writeInt16(fieldCount);
+    }
+
+    public void writeNull() {
+        writeInt32(NULL_LENGTH);
+    }
+
+    public void writeUuid(UUID value) {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        writeInt32(16);
+        writeInt64(value.getMostSignificantBits());
+        writeInt64(value.getLeastSignificantBits());
+    }
+
+    public void writeInt(int value) {
+        writeInt32(4);
+        writeInt32(value);
+    }
+
+    public void writeLong(Long value) {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        writeInt32(8);
+        writeInt64(value);
+    }
+
+    public void writeDouble(Double value) {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        writeInt32(8);
+        writeInt64(Double.doubleToLongBits(value));
+    }
+
+    public void writeBoolean(Boolean value) {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        writeInt32(1);
+        write(value ? 1 : 0);
+    }
+
+    /**
+     * Writes text, varchar and json values. The binary representation of these types is the UTF-8 encoded string.
+     */
+    public void writeText(String value) {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt32(bytes.length);
+        write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Writes the file trailer and returns the encoded data.
+     */
+    public byte[] finish() {
+        writeInt16(-1);
+        return toByteArray();
+    }
+
+    private void writeInt16(int value) {
+        write(value >>> 8);
+        write(value);
+    }
+
+    private void writeInt32(int value) {
+        write(value >>> 24);
+        write(value >>> 16);
+        write(value >>> 8);
+        write(value);
+    }
+
+    private void writeInt64(long value) {
+        writeInt32((int) (value >>> 32));
+        writeInt32((int) value);
+    }
+
+}
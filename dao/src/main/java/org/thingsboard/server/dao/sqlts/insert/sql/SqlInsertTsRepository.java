@@ -15,18 +15,28 @@
  */
 package org.thingsboard.server.dao.sqlts.insert.sql;
 
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.thingsboard.server.dao.model.sqlts.ts.TsKvEntity;
 import org.thingsboard.server.dao.sqlts.insert.AbstractInsertRepository;
 import org.thingsboard.server.dao.sqlts.insert.InsertTsRepository;
+import org.thingsboard.server.dao.sqlts.insert.PgBinaryCopyWriter;
 import org.thingsboard.server.dao.util.SqlTsDao;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @SqlTsDao
 @Repository
@@ -36,8 +46,72 @@ public class SqlInsertTsRepository extends AbstractInsertRepository implements I
     private static final String INSERT_ON_CONFLICT_DO_UPDATE = "INSERT INTO ts_kv (entity_id, key, ts, bool_v, str_v, long_v, dbl_v, json_v) VALUES (?, ?, ?, ?, ?, ?, ?, cast(? AS json)) " +
             "ON CONFLICT (entity_id, key, ts) DO UPDATE SET bool_v = ?, str_v = ?, long_v = ?, dbl_v = ?, json_v = cast(? AS json);";
 
+    private static final String CREATE_STAGING_TABLE = "CREATE TEMP TABLE IF NOT EXISTS ts_kv_staging (LIKE ts_kv INCLUDING DEFAULTS) ON COMMIT DELETE ROWS;";
+    private static final String COPY_TO_STAGING_TABLE = "COPY ts_kv_staging (entity_id, key, ts, bool_v, str_v, long_v, dbl_v, json_v) FROM STDIN (FORMAT BINARY)";
+    private static final String MERGE_FROM_STAGING_TABLE = "INSERT INTO ts_kv (entity_id, key, ts, bool_v, str_v, long_v, dbl_v, json_v) " +
+            "SELECT entity_id, key, ts, bool_v, str_v, long_v, dbl_v, json_v FROM ts_kv_staging " +
+            "ON CONFLICT (entity_id, key, ts) DO UPDATE SET bool_v = EXCLUDED.bool_v, str_v = EXCLUDED.str_v, " +
+            "long_v = EXCLUDED.long_v, dbl_v = EXCLUDED.dbl_v, json_v = EXCLUDED.json_v;";
+    private static final int COPY_FIELDS_COUNT = 8;
+    private static final int COPY_ROW_SIZE_ESTIMATE = 64;
+
+    @Value("${sql.ts.copy_insert_enabled:false}")
+    private boolean copyInsertEnabled;
+
+    @Value("${sql.ts.copy_insert_min_batch_size:100}")
+    private int copyInsertMinBatchSize;
+
     @Override
     public void saveOrUpdate(List<TsKvEntity> entities) {
+        if (copyInsertEnabled && entities.size() >= copyInsertMinBatchSize) {
+            copyAndMerge(entities);
+        } else {
+            batchInsert(entities);
+        }
+    }
+
+    /**
+     * Streams the batch into a session-local staging table with binary COPY and merges it into ts_kv with a single statement.
+     * The staging table is cleared on commit, so it must be used inside the transaction.
+     */
+    private void copyAndMerge(List<TsKvEntity> entities) {
+        Collection<TsKvEntity> uniqueEntities = deduplicate(entities);
+        PgBinaryCopyWriter writer = new PgBinaryCopyWriter(uniqueEntities.size() * COPY_ROW_SIZE_ESTIMATE);
+        for (TsKvEntity tsKvEntity : uniqueEntities) {
+            writer.startRow(COPY_FIELDS_COUNT);
+            writer.writeUuid(tsKvEntity.getEntityId());
+            writer.writeInt(tsKvEntity.getKey());
+            writer.writeLong(tsKvEntity.getTs());
+            writer.writeBoolean(tsKvEntity.getBooleanValue());
+            writer.writeText(replaceNullChars(tsKvEntity.getStrValue()));
+            writer.writeLong(tsKvEntity.getLongValue());
+            writer.writeDouble(tsKvEntity.getDoubleValue());
+            writer.writeText(replaceNullChars(tsKvEntity.getJsonValue()));
+        }
+        byte[] data = writer.finish();
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_TO_STAGING_TABLE, new ByteArrayInputStream(data));
+            } catch (IOException e) {
+                throw new SQLException("Failed to copy timeseries to the staging table", e);
+            }
+        });
+        jdbcTemplate.update(MERGE_FROM_STAGING_TABLE);
+    }
+
+    /**
+     * A single merge statement can't update the same row twice, so only the last value for each (entity_id, key, ts) is kept.
+     */
+    private static Collection<TsKvEntity> deduplicate(List<TsKvEntity> entities) {
+        Map<TsKvPrimaryKey, TsKvEntity> unique = new LinkedHashMap<>(entities.size() * 2);
+        for (TsKvEntity entity : entities) {
+            unique.put(new TsKvPrimaryKey(entity.getEntityId(), entity.getKey(), entity.getTs()), entity);
+        }
+        return unique.values();
+    }
+
+    private void batchInsert(List<TsKvEntity> entities) {
         jdbcTemplate.batchUpdate(INSERT_ON_CONFLICT_DO_UPDATE, new BatchPreparedStatementSetter() {
             @Override
             public void setValues(PreparedStatement ps, int i) throws SQLException {
@@ -85,4 +159,6 @@ public class SqlInsertTsRepository extends AbstractInsertRepository implements I
         });
     }
 
+    private record TsKvPrimaryKey(UUID entityId, int key, long ts) {}
+
 }
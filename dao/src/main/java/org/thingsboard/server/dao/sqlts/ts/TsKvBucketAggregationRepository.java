@@ -0,0 +1,153 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sqlts.ts;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.thingsboard.server.common.data.kv.Aggregation;
+import org.thingsboard.server.dao.model.sqlts.ts.TsKvEntity;
+import org.thingsboard.server.dao.util.SqlTsDao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Computes aggregates for all intervals of a time range with a single grouped query
+ * instead of issuing one query per interval.
+ * Returned entities have the 'ts' set to the middle of the corresponding interval.
+ */
+@Repository
+@SqlTsDao
+public class TsKvBucketAggregationRepository {
+
+    private static final String MILLIS_BUCKET = "(ts - ?) / ?";
+    private static final String CALENDAR_BUCKET = "width_bucket(ts, ?) - 1";
+
+    private static final String FROM_WHERE_CLAUSE = "FROM ts_kv WHERE entity_id = ? AND key = ? AND ts >= ? AND ts < ? " +
+            "GROUP BY bucket ORDER BY bucket";
+
+    private static final String AVG_OR_SUM_COLUMNS = "SUM(COALESCE(long_v, 0)) AS long_value, " +
+            "SUM(COALESCE(dbl_v, 0.0)) AS double_value, " +
+            "SUM(CASE WHEN long_v IS NULL THEN 0 ELSE 1 END) AS long_count, " +
+            "SUM(CASE WHEN dbl_v IS NULL THEN 0 ELSE 1 END) AS double_count, " +
+            "MAX(ts) AS max_ts ";
+
+    private static final String MAX_COLUMNS = "MAX(COALESCE(long_v, -9223372036854775807)) AS long_value, " +
+            "MAX(COALESCE(dbl_v, -1.79769E+308)) AS double_value, " +
+            "SUM(CASE WHEN long_v IS NULL THEN 0 ELSE 1 END) AS long_count, " +
+            "SUM(CASE WHEN dbl_v IS NULL THEN 0 ELSE 1 END) AS double_count, " +
+            "MAX(str_v) AS str_value, MAX(CASE WHEN str_v IS NULL THEN NULL ELSE ts END) AS str_max_ts, " +
+            "MAX(ts) AS max_ts ";
+
+    private static final String MIN_COLUMNS = "MIN(COALESCE(long_v, 9223372036854775807)) AS long_value, " +
+            "MIN(COALESCE(dbl_v, 1.79769E+308)) AS double_value, " +
+            "SUM(CASE WHEN long_v IS NULL THEN 0 ELSE 1 END) AS long_count, " +
+            "SUM(CASE WHEN dbl_v IS NULL THEN 0 ELSE 1 END) AS double_count, " +
+            "MIN(str_v) AS str_value, MAX(CASE WHEN str_v IS NULL THEN NULL ELSE ts END) AS str_max_ts, " +
+            "MAX(ts) AS max_ts ";
+
+    private static final String COUNT_COLUMNS = "SUM(CASE WHEN bool_v IS NULL THEN 0 ELSE 1 END) AS bool_count, " +
+            "SUM(CASE WHEN str_v IS NULL THEN 0 ELSE 1 END) AS str_count, " +
+            "SUM(CASE WHEN long_v IS NULL THEN 0 ELSE 1 END) AS long_count, " +
+            "SUM(CASE WHEN dbl_v IS NULL THEN 0 ELSE 1 END) AS double_count, " +
+            "SUM(CASE WHEN json_v IS NULL THEN 0 ELSE 1 END) AS json_count, " +
+            "MAX(ts) AS max_ts ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Aggregates fixed-size intervals of {@code interval} milliseconds starting at {@code startTs}.
+     * The last interval is truncated by {@code endTs}.
+     */
+    public List<TsKvEntity> findAggregates(UUID entityId, int keyId, long startTs, long endTs, long interval, Aggregation aggregation) {
+        String sql = "SELECT " + MILLIS_BUCKET + " AS bucket, " + getColumns(aggregation) + FROM_WHERE_CLAUSE;
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setLong(1, startTs);
+            ps.setLong(2, interval);
+            ps.setObject(3, entityId);
+            ps.setInt(4, keyId);
+            ps.setLong(5, startTs);
+            ps.setLong(6, endTs);
+        }, (rs, rowNum) -> {
+            long bucketStartTs = startTs + rs.getLong("bucket") * interval;
+            long bucketEndTs = Math.min(bucketStartTs + interval, endTs);
+            return toEntity(rs, entityId, bucketStartTs, bucketEndTs, aggregation);
+        });
+    }
+
+    /**
+     * Aggregates arbitrary (e.g. calendar aligned) intervals.
+     * The {@code boundaries} array contains N + 1 ascending timestamps that describe N consecutive intervals.
+     */
+    public List<TsKvEntity> findAggregates(UUID entityId, int keyId, long[] boundaries, Aggregation aggregation) {
+        Long[] thresholds = new Long[boundaries.length - 1];
+        for (int i = 0; i < thresholds.length; i++) {
+            thresholds[i] = boundaries[i];
+        }
+        String sql = "SELECT " + CALENDAR_BUCKET + " AS bucket, " + getColumns(aggregation) + FROM_WHERE_CLAUSE;
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", thresholds));
+            ps.setObject(2, entityId);
+            ps.setInt(3, keyId);
+            ps.setLong(4, boundaries[0]);
+            ps.setLong(5, boundaries[boundaries.length - 1]);
+        }, (rs, rowNum) -> {
+            int bucket = rs.getInt("bucket");
+            return toEntity(rs, entityId, boundaries[bucket], boundaries[bucket + 1], aggregation);
+        });
+    }
+
+    private static String getColumns(Aggregation aggregation) {
+        switch (aggregation) {
+            case AVG:
+            case SUM:
+                return AVG_OR_SUM_COLUMNS;
+            case MAX:
+                return MAX_COLUMNS;
+            case MIN:
+                return MIN_COLUMNS;
+            case COUNT:
+                return COUNT_COLUMNS;
+            default:
+                throw new IllegalArgumentException("Not supported aggregation type: " + aggregation);
+        }
+    }
+
+    private static TsKvEntity toEntity(ResultSet rs, UUID entityId, long bucketStartTs, long bucketEndTs, Aggregation aggregation) throws SQLException {
+        TsKvEntity entity;
+        if (Aggregation.COUNT.equals(aggregation)) {
+            entity = new TsKvEntity(rs.getLong("bool_count"), rs.getLong("str_count"), rs.getLong("long_count"),
+                    rs.getLong("double_count"), rs.getLong("json_count"), rs.getLong("max_ts"));
+        } else {
+            entity = new TsKvEntity(rs.getLong("long_value"), rs.getDouble("double_value"), rs.getLong("long_count"),
+                    rs.getLong("double_count"), aggregation.name(), rs.getLong("max_ts"));
+            if (!entity.isNotEmpty() && (Aggregation.MIN.equals(aggregation) || Aggregation.MAX.equals(aggregation))) {
+                String strValue = rs.getString("str_value");
+                if (strValue != null) {
+                    entity = new TsKvEntity(strValue, rs.getLong("str_max_ts"));
+                }
+            }
+        }
+        entity.setEntityId(entityId);
+        entity.setTs(bucketStartTs + (bucketEndTs - bucketStartTs) / 2);
+        return entity;
+    }
+
+}
@@ -19,7 +19,6 @@ import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
-import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
 import com.datastax.oss.driver.api.querybuilder.select.Select;
 import com.google.common.base.Function;
@@ -120,6 +119,14 @@ public class CassandraBaseTimeseriesDao extends AbstractCassandraBaseTimeseriesD
     @Value("${cassandra.query.ts_key_value_partitions_max_cache_size:100000}")
     private long partitionsCacheSize;
 
+    @Getter
+    @Value("${cassandra.query.ts_key_value_parallel_partitions_read:false}")
+    private boolean parallelPartitionsRead;
+
+    @Getter
+    @Value("${cassandra.query.ts_key_value_parallel_partitions_read_window:4}")
+    private int parallelPartitionsReadWindow;
+
     @Value("${cassandra.query.ts_key_value_ttl}")
     private long systemTtl;
 
@@ -324,8 +331,13 @@ public class CassandraBaseTimeseriesDao extends AbstractCassandraBaseTimeseriesD
         Futures.addCallback(partitionsListFuture, new FutureCallback<>() {
             @Override
             public void onSuccess(@Nullable List<Long> partitions) {
-                TsKvQueryCursor cursor = new TsKvQueryCursor(entityId.getEntityType().name(), entityId.getId(), query, partitions);
-                findAllAsyncSequentiallyWithLimit(tenantId, cursor, resultFuture);
+                if (parallelPartitionsRead && partitions.size() > 1) {
+                    TsKvParallelQueryCursor cursor = new TsKvParallelQueryCursor(entityId.getEntityType().name(), entityId.getId(), query, partitions, parallelPartitionsReadWindow);
+                    findAllAsyncInParallelWithLimit(tenantId, cursor, resultFuture);
+                } else {
+                    TsKvQueryCursor cursor = new TsKvQueryCursor(entityId.getEntityType().name(), entityId.getId(), query, partitions);
+                    findAllAsyncSequentiallyWithLimit(tenantId, cursor, resultFuture);
+                }
             }
 
             @Override
@@ -352,52 +364,81 @@ public class CassandraBaseTimeseriesDao extends AbstractCassandraBaseTimeseriesD
         if (cursor.isFull() || !cursor.hasNextPartition()) {
             resultFuture.set(cursor.getData());
         } else {
-            PreparedStatement proto = getFetchStmt(Aggregation.NONE, cursor.getOrderBy());
-            BoundStatementBuilder stmtBuilder = new BoundStatementBuilder(proto.bind());
-
-            stmtBuilder.setString(0, cursor.getEntityType());
-            stmtBuilder.setUuid(1, cursor.getEntityId());
-            stmtBuilder.setString(2, cursor.getKey());
-            stmtBuilder.setLong(3, cursor.getNextPartition());
-            stmtBuilder.setLong(4, cursor.getStartTs());
-            stmtBuilder.setLong(5, cursor.getEndTs());
-            stmtBuilder.setInt(6, cursor.getCurrentLimit());
+            long partition = cursor.getNextPartition();
+            Futures.addCallback(fetchPartitionAsync(tenantId, cursor, partition, cursor.getCurrentLimit()), new FutureCallback<>() {
+                @Override
+                public void onSuccess(List<TsKvEntry> result) {
+                    cursor.addData(result);
+                    findAllAsyncSequentiallyWithLimit(tenantId, cursor, resultFuture);
+                }
 
-            BoundStatement stmt = stmtBuilder.build();
+                @Override
+                public void onFailure(Throwable t) {
+                    log.error("[{}][{}] Failed to fetch data for key {} and partition {}", cursor.getEntityType(), cursor.getEntityId(), cursor.getKey(), partition, t);
+                }
+            }, readResultsProcessingExecutor);
+        }
+    }
 
-            Futures.addCallback(executeAsyncRead(tenantId, stmt), new FutureCallback<TbResultSet>() {
+    /*
+     * The result is set only once all submitted reads are merged, either by the read that completes the cursor
+     * or here if there was nothing to read at all.
+     */
+    private void findAllAsyncInParallelWithLimit(TenantId tenantId, final TsKvParallelQueryCursor cursor, final SimpleListenableFuture<List<TsKvEntry>> resultFuture) {
+        if (cursor.completeIfIdle()) {
+            resultFuture.set(cursor.getResult());
+            return;
+        }
+        for (TsKvParallelQueryCursor.PartitionRead read : cursor.nextReads()) {
+            Futures.addCallback(fetchPartitionAsync(tenantId, cursor, read.partition(), read.limit()), new FutureCallback<>() {
                 @Override
-                public void onSuccess(@Nullable TbResultSet result) {
-                    if (result == null) {
-                        cursor.addData(convertResultToTsKvEntryList(Collections.emptyList()));
-                        findAllAsyncSequentiallyWithLimit(tenantId, cursor, resultFuture);
+                public void onSuccess(List<TsKvEntry> result) {
+                    if (cursor.onPartitionRead(read.seq(), result)) {
+                        resultFuture.set(cursor.getResult());
                     } else {
-                        Futures.addCallback(result.allRows(readResultsProcessingExecutor), new FutureCallback<List<Row>>() {
-
-                            @Override
-                            public void onSuccess(@Nullable List<Row> result) {
-                                cursor.addData(convertResultToTsKvEntryList(result == null ? Collections.emptyList() : result));
-                                findAllAsyncSequentiallyWithLimit(tenantId, cursor, resultFuture);
-                            }
-
-                            @Override
-                            public void onFailure(Throwable t) {
-                                log.error("[{}][{}] Failed to fetch data for query {}-{}", stmt, t);
-                            }
-                        }, readResultsProcessingExecutor);
-
-
+                        readNextPartitions(tenantId, cursor, resultFuture);
                     }
                 }
 
                 @Override
                 public void onFailure(Throwable t) {
-                    log.error("[{}][{}] Failed to fetch data for query {}-{}", stmt, t);
+                    log.error("[{}][{}] Failed to fetch data for key {} and partition {}", cursor.getEntityType(), cursor.getEntityId(), cursor.getKey(), read.partition(), t);
+                    if (cursor.onFailure()) {
+                        resultFuture.setException(t);
+                    }
                 }
             }, readResultsProcessingExecutor);
         }
     }
 
+    private void readNextPartitions(TenantId tenantId, final TsKvParallelQueryCursor cursor, final SimpleListenableFuture<List<TsKvEntry>> resultFuture) {
+        if (!cursor.isDone()) {
+            findAllAsyncInParallelWithLimit(tenantId, cursor, resultFuture);
+        }
+    }
+
+    protected ListenableFuture<List<TsKvEntry>> fetchPartitionAsync(TenantId tenantId, TsKvQueryCursor cursor, long partition, int limit) {
+        PreparedStatement proto = getFetchStmt(Aggregation.NONE, cursor.getOrderBy());
+        BoundStatementBuilder stmtBuilder = new BoundStatementBuilder(proto.bind());
+
+        stmtBuilder.setString(0, cursor.getEntityType());
+        stmtBuilder.setUuid(1, cursor.getEntityId());
+        stmtBuilder.setString(2, cursor.getKey());
+        stmtBuilder.setLong(3, partition);
+        stmtBuilder.setLong(4, cursor.getStartTs());
+        stmtBuilder.setLong(5, cursor.getEndTs());
+        stmtBuilder.setInt(6, limit);
+
+        BoundStatement stmt = stmtBuilder.build();
+        return Futures.transformAsync(executeAsyncRead(tenantId, stmt), rs -> {
+            if (rs == null) {
+                return Futures.immediateFuture(convertResultToTsKvEntryList(Collections.emptyList()));
+            }
+            return Futures.transform(rs.allRows(readResultsProcessingExecutor),
+                    rows -> convertResultToTsKvEntryList(rows == null ? Collections.emptyList() : rows), MoreExecutors.directExecutor());
+        }, readResultsProcessingExecutor);
+    }
+
     private ListenableFuture<Optional<TsKvEntryAggWrapper>> findAndAggregateAsync(TenantId tenantId, EntityId entityId, ReadTsKvQuery query, long minPartition, long maxPartition) {
         final Aggregation aggregation = query.getAggregation();
         final String key = query.getKey();
@@ -0,0 +1,118 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.timeseries;
+
+import org.thingsboard.server.common.data.kv.ReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cursor that reads up to 'maxConcurrency' partitions at once.
+ * Partitions are handed out in the query order and their results are merged in the same order,
+ * so the data is identical to the sequential read. No new partitions are requested once the limit is reached.
+ */
+public class TsKvParallelQueryCursor extends TsKvQueryCursor {
+
+    private final int maxConcurrency;
+    private final Map<Integer, List<TsKvEntry>> pendingResults = new HashMap<>();
+    private int submitted;
+    private int merged;
+    private boolean done;
+
+    public TsKvParallelQueryCursor(String entityType, UUID entityId, ReadTsKvQuery baseQuery, List<Long> partitions, int maxConcurrency) {
+        super(entityType, entityId, baseQuery, partitions);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /**
+     * Returns the partitions that may be read now without exceeding the concurrency window.
+     */
+    public synchronized List<PartitionRead> nextReads() {
+        List<PartitionRead> reads = new ArrayList<>();
+        while (!done && !isFull() && hasNextPartition() && submitted - merged < maxConcurrency) {
+            reads.add(new PartitionRead(submitted++, getNextPartition(), getCurrentLimit()));
+        }
+        return reads;
+    }
+
+    /**
+     * Accepts the data of the partition read and merges all results that are ready in order.
+     *
+     * @return true if the cursor has just completed and its data may be returned
+     */
+    public synchronized boolean onPartitionRead(int seq, List<TsKvEntry> partitionData) {
+        if (done) {
+            return false;
+        }
+        pendingResults.put(seq, partitionData);
+        List<TsKvEntry> next;
+        while (!isFull() && (next = pendingResults.remove(merged)) != null) {
+            int limit = getCurrentLimit();
+            addData(next.size() > limit ? next.subList(0, limit) : next);
+            merged++;
+        }
+        if (isFull() || (merged == submitted && !hasNextPartition())) {
+            done = true;
+            pendingResults.clear();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the cursor was not completed before the failure
+     */
+    public synchronized boolean onFailure() {
+        if (done) {
+            return false;
+        }
+        done = true;
+        pendingResults.clear();
+        return true;
+    }
+
+    /**
+     * Completes the cursor if there is nothing left to read and no read is in progress.
+     *
+     * @return true if the cursor has just completed and its data may be returned
+     */
+    public synchronized boolean completeIfIdle() {
+        if (done || merged != submitted || (!isFull() && hasNextPartition())) {
+            return false;
+        }
+        done = true;
+        return true;
+    }
+
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    /**
+     * @return a copy of the merged data
+     */
+    public synchronized List<TsKvEntry> getResult() {
+        return new ArrayList<>(getData());
+    }
+
+    public record PartitionRead(int seq, long partition, int limit) {}
+
+}
@@ -74,6 +74,7 @@ public abstract class AbstractBufferedRateExecutor<T extends AsyncTask, F extend
     private final ScheduledExecutorService timeoutExecutor;
     private final int concurrencyLimit;
     private final int printQueriesFreq;
+    private final boolean fairScheduling;
 
     private final AtomicInteger printQueriesIdx = new AtomicInteger(0);
 
@@ -91,17 +92,36 @@ public abstract class AbstractBufferedRateExecutor<T extends AsyncTask, F extend
     public AbstractBufferedRateExecutor(int queueLimit, int concurrencyLimit, long maxWaitTime, int dispatcherThreads,
                                         int callbackThreads, long pollMs, int printQueriesFreq, BufferedRateExecutorType executorType, TbServiceInfoProvider serviceInfoProvider,
                                         RateLimitService rateLimitService, StatsFactory statsFactory, EntityService entityService, boolean printTenantNames) {
+        this(queueLimit, concurrencyLimit, maxWaitTime, dispatcherThreads, callbackThreads, pollMs, printQueriesFreq, executorType, serviceInfoProvider,
+                rateLimitService, statsFactory, entityService, printTenantNames, false, null, 0, 0);
+    }
+
+    /**
+     * @param fairScheduling  if true, tasks are queued per tenant and dispatched in weighted round-robin order (see {@link TenantFairTaskQueue})
+     * @param tenantWeights   tenant weights in format 'tenantId1:weight1;tenantId2:weight2'. Tenants not listed have weight 1
+     * @param tenantQueueLimit maximum number of queued tasks per tenant, 0 - limited by the queueLimit only
+     * @param sloMs           tasks waiting longer than this are dispatched first regardless of the tenant turn, 0 - disabled
+     */
+    public AbstractBufferedRateExecutor(int queueLimit, int concurrencyLimit, long maxWaitTime, int dispatcherThreads,
+                                        int callbackThreads, long pollMs, int printQueriesFreq, BufferedRateExecutorType executorType, TbServiceInfoProvider serviceInfoProvider,
+                                        RateLimitService rateLimitService, StatsFactory statsFactory, EntityService entityService, boolean printTenantNames,
+                                        boolean fairScheduling, String tenantWeights, int tenantQueueLimit, long sloMs) {
         this.maxWaitTime = maxWaitTime;
         this.pollMs = pollMs;
         this.bufferName = executorType.getDisplayName();
         this.myLimitedApi = resolveLimitedApi(serviceInfoProvider, executorType);
         this.concurrencyLimit = concurrencyLimit;
         this.printQueriesFreq = printQueriesFreq;
-        this.queue = new LinkedBlockingDeque<>(queueLimit);
+        this.fairScheduling = fairScheduling;
+        if (fairScheduling) {
+            this.queue = new TenantFairTaskQueue<>(queueLimit, tenantQueueLimit, sloMs, TenantFairTaskQueue.parseTenantWeights(tenantWeights));
+        } else {
+            this.queue = new LinkedBlockingDeque<>(queueLimit);
+        }
         this.dispatcherExecutor = Executors.newFixedThreadPool(dispatcherThreads, ThingsBoardThreadFactory.forName("nosql-" + bufferName + "-dispatcher"));
         this.callbackExecutor = ThingsBoardExecutors.newWorkStealingPool(callbackThreads, "nosql-" + bufferName + "-callback");
         this.timeoutExecutor = ThingsBoardExecutors.newSingleThreadScheduledExecutor("nosql-" + bufferName + "-timeout");
-        this.stats = new BufferedRateExecutorStats(statsFactory);
+        this.stats = new BufferedRateExecutorStats(statsFactory, bufferName);
         String concurrencyLevelKey = StatsType.RATE_EXECUTOR.getName() + "." + CONCURRENCY_LEVEL + bufferName; //metric name may change with buffer name suffix
         this.concurrencyLevel = statsFactory.createGauge(concurrencyLevelKey, new AtomicInteger(0));
 
@@ -181,6 +201,9 @@ public abstract class AbstractBufferedRateExecutor<T extends AsyncTask, F extend
                 if (curLvl <= concurrencyLimit) {
                     taskCtx = queue.take();
                     final AsyncTaskContext<T, V> finalTaskCtx = taskCtx;
+                    if (fairScheduling) {
+                        stats.recordQueueingDelay(System.currentTimeMillis() - taskCtx.getCreateTime());
+                    }
                     if (printQueriesFreq > 0) {
                         if (printQueriesIdx.incrementAndGet() >= printQueriesFreq) {
                             printQueriesIdx.set(0);
@@ -15,6 +15,7 @@
  */
 package org.thingsboard.server.dao.util;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.thingsboard.server.common.data.id.TenantId;
@@ -27,11 +28,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Getter
 public class BufferedRateExecutorStats {
     private static final String TENANT_ID_TAG = "tenantId";
+    private static final String BUFFER_TAG = "buffer";
 
 
     private static final String TOTAL_ADDED = "totalAdded";
@@ -43,6 +46,7 @@ public class BufferedRateExecutorStats {
     private static final String TOTAL_RATE_LIMITED = "totalRateLimited";
 
     private final StatsFactory statsFactory;
+    private final String bufferName;
 
     private final ConcurrentMap<TenantId, DefaultCounter> rateLimitedTenants = new ConcurrentHashMap<>();
 
@@ -55,9 +59,11 @@ public class BufferedRateExecutorStats {
     private final StatsCounter totalExpired;
     private final StatsCounter totalRejected;
     private final StatsCounter totalRateLimited;
+    private final Timer queueingDelay;
 
-    public BufferedRateExecutorStats(StatsFactory statsFactory) {
+    public BufferedRateExecutorStats(StatsFactory statsFactory, String bufferName) {
         this.statsFactory = statsFactory;
+        this.bufferName = bufferName;
 
         String key = StatsType.RATE_EXECUTOR.getName();
 
@@ -68,6 +74,7 @@ public class BufferedRateExecutorStats {
         this.totalExpired = statsFactory.createStatsCounter(key, TOTAL_EXPIRED);
         this.totalRejected = statsFactory.createStatsCounter(key, TOTAL_REJECTED);
         this.totalRateLimited = statsFactory.createStatsCounter(key, TOTAL_RATE_LIMITED);
+        this.queueingDelay = statsFactory.createTimer(key + ".queueingDelay", BUFFER_TAG, bufferName);
 
         this.statsCounters.add(totalAdded);
         this.statsCounters.add(totalLaunched);
@@ -87,4 +94,8 @@ public class BufferedRateExecutorStats {
         )
                 .increment();
     }
+
+    public void recordQueueingDelay(long delayMs) {
+        queueingDelay.record(Math.max(delayMs, 0), TimeUnit.MILLISECONDS);
+    }
 }
@@ -0,0 +1,370 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.util;
+
+import org.thingsboard.server.common.data.StringUtils;
+import org.thingsboard.server.common.data.id.TenantId;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded blocking queue of {@link AsyncTaskContext} that keeps a FIFO sub-queue per tenant and dispatches
+ * the sub-queues in weighted round-robin order, so a single tenant can't occupy the whole buffer and delay the others.
+ * A tenant with weight N gets up to N tasks dispatched per turn.
+ * <p>
+ * If {@code sloMs} is positive, the oldest head task that has been waiting for at least {@code sloMs}
+ * is dispatched first, regardless of the tenant turn. The tasks are also kept in a single queue in the order they were added then,
+ * so the oldest task is found in constant time: it is the first task of this queue that was not dispatched yet.
+ */
+public class TenantFairTaskQueue<T extends AsyncTask, V> extends AbstractQueue<AsyncTaskContext<T, V>> implements BlockingQueue<AsyncTaskContext<T, V>> {
+
+    private final int capacity;
+    private final int tenantCapacity;
+    private final long sloMs;
+    private final Map<TenantId, Integer> tenantWeights;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private final Map<TenantId, TenantTasks> tenantTasks = new HashMap<>();
+    // tenants in the round-robin order, the tenants emptied by the overdue tasks are skipped when they reach the head
+    private final ArrayDeque<TenantTasks> activeTenants = new ArrayDeque<>();
+    // all the tasks in the order they were added, the dispatched tasks are skipped when they reach the head
+    private final ArrayDeque<TaskEntry> addedTasks = new ArrayDeque<>();
+    private int count;
+
+    public TenantFairTaskQueue(int capacity, int tenantCapacity, long sloMs, Map<TenantId, Integer> tenantWeights) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive!");
+        }
+        this.capacity = capacity;
+        this.tenantCapacity = tenantCapacity > 0 ? Math.min(tenantCapacity, capacity) : capacity;
+        this.sloMs = sloMs;
+        this.tenantWeights = tenantWeights != null ? tenantWeights : Collections.emptyMap();
+    }
+
+    /**
+     * Parses tenant weights in format 'tenantId1:weight1;tenantId2:weight2'.
+     */
+    public static Map<TenantId, Integer> parseTenantWeights(String tenantWeights) {
+        Map<TenantId, Integer> result = new HashMap<>();
+        if (StringUtils.isBlank(tenantWeights)) {
+            return result;
+        }
+        for (String tenantWeight : tenantWeights.split(";")) {
+            if (StringUtils.isBlank(tenantWeight)) {
+                continue;
+            }
+            int delimiterPosition = tenantWeight.indexOf(':');
+            if (delimiterPosition < 0) {
+                throw new IllegalArgumentException("Tenant weight must be in format 'tenantId:weight': " + tenantWeight);
+            }
+            String tenantIdStr = tenantWeight.substring(0, delimiterPosition).trim();
+            int weight = Integer.parseInt(tenantWeight.substring(delimiterPosition + 1).trim());
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Tenant weight must be positive: " + tenantWeight);
+            }
+            result.put(TenantId.fromUUID(UUID.fromString(tenantIdStr)), weight);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean offer(AsyncTaskContext<T, V> taskCtx) {
+        if (taskCtx == null) {
+            throw new NullPointerException();
+        }
+        lock.lock();
+        try {
+            return enqueue(taskCtx);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(AsyncTaskContext<T, V> taskCtx, long timeout, TimeUnit unit) throws InterruptedException {
+        if (taskCtx == null) {
+            throw new NullPointerException();
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (!enqueue(taskCtx)) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(AsyncTaskContext<T, V> taskCtx) throws InterruptedException {
+        if (taskCtx == null) {
+            throw new NullPointerException();
+        }
+        lock.lockInterruptibly();
+        try {
+            while (!enqueue(taskCtx)) {
+                notFull.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public AsyncTaskContext<T, V> take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public AsyncTaskContext<T, V> poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public AsyncTaskContext<T, V> poll() {
+        lock.lock();
+        try {
+            return count > 0 ? dequeue() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public AsyncTaskContext<T, V> peek() {
+        lock.lock();
+        try {
+            TenantTasks next = nextTenant();
+            return next != null ? next.tasks.peekFirst().taskCtx : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size(TenantId tenantId) {
+        lock.lock();
+        try {
+            TenantTasks tenant = tenantTasks.get(tenantId);
+            return tenant != null ? tenant.tasks.size() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super AsyncTaskContext<T, V>> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super AsyncTaskContext<T, V>> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        lock.lock();
+        try {
+            int n = 0;
+            while (n < maxElements && count > 0) {
+                c.add(dequeue());
+                n++;
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the queued tasks. The iterator doesn't support removal.
+     */
+    @Override
+    public Iterator<AsyncTaskContext<T, V>> iterator() {
+        lock.lock();
+        try {
+            List<AsyncTaskContext<T, V>> snapshot = new ArrayList<>(count);
+            for (TenantTasks tenant : activeTenants) {
+                tenant.tasks.forEach(entry -> snapshot.add(entry.taskCtx));
+            }
+            return Collections.unmodifiableList(snapshot).iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean enqueue(AsyncTaskContext<T, V> taskCtx) {
+        if (count >= capacity) {
+            return false;
+        }
+        TenantId tenantId = getTenantId(taskCtx);
+        TenantTasks tenant = tenantTasks.get(tenantId);
+        if (tenant == null) {
+            tenant = new TenantTasks(tenantWeights.getOrDefault(tenantId, 1));
+            tenantTasks.put(tenantId, tenant);
+            activeTenants.addLast(tenant);
+        } else if (tenant.tasks.size() >= tenantCapacity) {
+            return false;
+        }
+        TaskEntry entry = new TaskEntry(taskCtx, tenant);
+        tenant.tasks.addLast(entry);
+        if (sloMs > 0) {
+            addedTasks.addLast(entry);
+        }
+        count++;
+        notEmpty.signal();
+        return true;
+    }
+
+    private AsyncTaskContext<T, V> dequeue() {
+        TenantTasks tenant = sloMs > 0 ? findOverdue() : null;
+        boolean overdue = tenant != null;
+        if (!overdue) {
+            tenant = nextTenant();
+        }
+        TaskEntry entry = tenant.tasks.pollFirst();
+        entry.dispatched = true;
+        count--;
+        if (tenant.tasks.isEmpty()) {
+            if (!overdue) {
+                activeTenants.pollFirst();
+            }
+            tenantTasks.remove(getTenantId(entry.taskCtx));
+        } else if (!overdue && --tenant.credits <= 0) {
+            tenant.credits = tenant.weight;
+            activeTenants.addLast(activeTenants.pollFirst());
+        }
+        notFull.signal();
+        return entry.taskCtx;
+    }
+
+    private TenantTasks nextTenant() {
+        TenantTasks tenant = activeTenants.peekFirst();
+        while (tenant != null && tenant.tasks.isEmpty()) {
+            activeTenants.pollFirst();
+            tenant = activeTenants.peekFirst();
+        }
+        return tenant;
+    }
+
+    /*
+     * The tasks of a tenant are dispatched in the order they were added, so the oldest task that was not dispatched yet
+     * is the head task of its tenant.
+     */
+    private TenantTasks findOverdue() {
+        TaskEntry oldest = addedTasks.peekFirst();
+        while (oldest != null && oldest.dispatched) {
+            addedTasks.pollFirst();
+            oldest = addedTasks.peekFirst();
+        }
+        if (oldest == null || oldest.taskCtx.getCreateTime() > System.currentTimeMillis() - sloMs) {
+            return null;
+        }
+        addedTasks.pollFirst();
+        return oldest.tenant;
+    }
+
+    private static TenantId getTenantId(AsyncTaskContext<?, ?> taskCtx) {
+        TenantId tenantId = taskCtx.getTask().getTenantId();
+        return tenantId != null ? tenantId : TenantId.SYS_TENANT_ID;
+    }
+
+    private class TenantTasks {
+
+        private final ArrayDeque<TaskEntry> tasks = new ArrayDeque<>();
+        private final int weight;
+        private int credits;
+
+        private TenantTasks(int weight) {
+            this.weight = weight;
+            this.credits = weight;
+        }
+
+    }
+
+    private class TaskEntry {
+
+        private final AsyncTaskContext<T, V> taskCtx;
+        private final TenantTasks tenant;
+        private boolean dispatched;
+
+        private TaskEntry(AsyncTaskContext<T, V> taskCtx, TenantTasks tenant) {
+            this.taskCtx = taskCtx;
+            this.tenant = tenant;
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.relation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.id.AssetId;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.relation.EntityRelation;
+import org.thingsboard.server.common.data.relation.EntitySearchDirection;
+import org.thingsboard.server.common.data.relation.RelationTypeGroup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelationGraphTest {
+
+    private final Map<EntityId, List<EntityRelation>> fromRelations = new HashMap<>();
+    private final Map<EntityId, List<EntityRelation>> toRelations = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private RelationGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new RelationGraph();
+    }
+
+    @Test
+    void testFindAllLevels() {
+        // A -> B, A -> C, C -> D, C -> E
+        AssetId a = asset(), b = asset(), c = asset(), d = asset(), e = asset();
+        EntityRelation ab = relation(a, b);
+        EntityRelation ac = relation(a, c);
+        EntityRelation cd = relation(c, d);
+        EntityRelation ce = relation(c, e);
+
+        assertThat(find(a, EntitySearchDirection.FROM, Integer.MAX_VALUE, false)).containsExactlyInAnyOrder(ab, ac, cd, ce);
+        assertThat(find(a, EntitySearchDirection.FROM, 1, false)).containsExactlyInAnyOrder(ab, ac);
+        assertThat(find(e, EntitySearchDirection.TO, Integer.MAX_VALUE, false)).containsExactlyInAnyOrder(ce, ac);
+    }
+
+    @Test
+    void testFindLastLevelOnly() {
+        // A -> B, A -> C, C -> D, C -> E, D -> F
+        AssetId a = asset(), b = asset(), c = asset(), d = asset(), e = asset(), f = asset();
+        EntityRelation ab = relation(a, b);
+        relation(a, c);
+        EntityRelation cd = relation(c, d);
+        EntityRelation ce = relation(c, e);
+        EntityRelation df = relation(d, f);
+
+        assertThat(find(a, EntitySearchDirection.FROM, Integer.MAX_VALUE, true)).containsExactlyInAnyOrder(ab, ce, df);
+        assertThat(find(a, EntitySearchDirection.FROM, 2, true)).containsExactlyInAnyOrder(ab, cd, ce);
+    }
+
+    @Test
+    void testCyclicRelations() {
+        // A -> B -> C -> A
+        AssetId a = asset(), b = asset(), c = asset();
+        EntityRelation ab = relation(a, b);
+        EntityRelation bc = relation(b, c);
+        EntityRelation ca = relation(c, a);
+
+        assertThat(find(a, EntitySearchDirection.FROM, Integer.MAX_VALUE, false)).containsExactlyInAnyOrder(ab, bc, ca);
+    }
+
+    @Test
+    void testAdjacencyIsCachedUntilEvicted() {
+        AssetId a = asset(), b = asset(), c = asset();
+        EntityRelation ab = relation(a, b);
+        EntityRelation bc = relation(b, c);
+
+        find(a, EntitySearchDirection.FROM, Integer.MAX_VALUE, false);
+        int initialLoads = loads.get();
+        assertThat(find(a, EntitySearchDirection.FROM, Integer.MAX_VALUE, false)).containsExactlyInAnyOrder(ab, bc);
+        assertThat(loads.get()).isEqualTo(initialLoads);
+
+        AssetId d = asset();
+        EntityRelation bd = relation(b, d);
+        graph.evict(b, d, RelationTypeGroup.COMMON);
+
+        assertThat(find(a, EntitySearchDirection.FROM, Integer.MAX_VALUE, false)).containsExactlyInAnyOrder(ab, bc, bd);
+        assertThat(loads.get()).isEqualTo(initialLoads + 2);
+    }
+
+    private Set<EntityRelation> find(EntityId root, EntitySearchDirection direction, int maxLvl, boolean fetchLastLevelOnly) {
+        Map<EntityId, List<EntityRelation>> relations = direction == EntitySearchDirection.FROM ? fromRelations : toRelations;
+        return graph.findRelations(root, direction, RelationTypeGroup.COMMON, maxLvl, fetchLastLevelOnly, entityId -> {
+            loads.incrementAndGet();
+            return relations.getOrDefault(entityId, List.of());
+        });
+    }
+
+    private EntityRelation relation(EntityId from, EntityId to) {
+        EntityRelation relation = new EntityRelation(from, to, EntityRelation.CONTAINS_TYPE);
+        fromRelations.computeIfAbsent(from, id -> new ArrayList<>()).add(relation);
+        toRelations.computeIfAbsent(to, id -> new ArrayList<>()).add(relation);
+        return relation;
+    }
+
+    private static AssetId asset() {
+        return new AssetId(UUID.randomUUID());
+    }
+
+}
@@ -28,6 +28,7 @@ import org.thingsboard.server.common.data.id.DeviceCredentialsId;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.security.DeviceCredentials;
 import org.thingsboard.server.common.data.security.DeviceCredentialsType;
+import org.thingsboard.server.dao.device.DeviceCredentialsCreatedEvent;
 import org.thingsboard.server.dao.device.DeviceCredentialsService;
 import org.thingsboard.server.dao.device.DeviceService;
 import org.thingsboard.server.dao.eventsourcing.ActionEntityEvent;
@@ -226,4 +227,22 @@ public class DeviceCredentialsServiceTest extends AbstractServiceTest {
         }
     }
 
+    @Test
+    public void testCreateDeviceCredentialsPublishesCreatedEvent() {
+        Device device = new Device();
+        device.setTenantId(tenantId);
+        device.setName("My device");
+        device.setType("default");
+        Device savedDevice = deviceService.saveDevice(device);
+
+        try {
+            DeviceCredentials deviceCredentials = deviceCredentialsService.findDeviceCredentialsByDeviceId(tenantId, savedDevice.getId());
+            Mockito.verify(eventPublisher).publishEvent(Mockito.<Object>argThat(event -> event instanceof DeviceCredentialsCreatedEvent createdEvent &&
+                    tenantId.equals(createdEvent.getTenantId()) && deviceCredentials.getCredentialsId().equals(createdEvent.getDeviceCredentials().getCredentialsId())));
+            Mockito.verify(eventPublisher, Mockito.never()).publishEvent(Mockito.any(ActionEntityEvent.class));
+        } finally {
+            deviceService.deleteDevice(tenantId, savedDevice.getId());
+        }
+    }
+
 }
@@ -0,0 +1,126 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.service.timeseries.sql;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.Tenant;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.kv.BaseReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.DoubleDataEntry;
+import org.thingsboard.server.dao.model.sqlts.ts.TsKvEntity;
+import org.thingsboard.server.dao.service.AbstractServiceTest;
+import org.thingsboard.server.dao.service.DaoSqlTest;
+import org.thingsboard.server.dao.sqlts.insert.InsertTsRepository;
+import org.thingsboard.server.dao.timeseries.TimeseriesDao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the throughput of the batch INSERT ... ON CONFLICT and the COPY + merge ingestion modes of the SQL timeseries DAO.
+ */
+@DaoSqlTest
+@Slf4j
+public class InsertTimeseriesPerformanceTest extends AbstractServiceTest {
+
+    private static final String KEY = "temperature";
+    private static final long START_TS = TimeUnit.DAYS.toMillis(365);
+    private static final int DEVICES = 10;
+    private static final int POINTS_PER_DEVICE = 10000;
+    private static final int TIMEOUT = 300;
+
+    @Autowired
+    private TimeseriesDao timeseriesDao;
+
+    @Autowired
+    private InsertTsRepository<TsKvEntity> insertRepository;
+
+    @Before
+    public void before() {
+        Tenant tenant = new Tenant();
+        tenant.setTitle("My tenant");
+        Tenant savedTenant = tenantService.saveTenant(tenant);
+        Assert.assertNotNull(savedTenant);
+        tenantId = savedTenant.getId();
+    }
+
+    @After
+    public void after() {
+        setCopyInsertEnabled(false);
+        tenantService.deleteTenant(tenantId);
+    }
+
+    @Test
+    public void test_batch_insert_vs_copy_insert() throws Exception {
+        setCopyInsertEnabled(false);
+        List<DeviceId> insertDevices = createDevices();
+        long insertTime = saveAll(insertDevices);
+
+        setCopyInsertEnabled(true);
+        List<DeviceId> copyDevices = createDevices();
+        long copyTime = saveAll(copyDevices);
+
+        for (DeviceId deviceId : copyDevices) {
+            assertThat(timeseriesDao.findAllAsync(tenantId, deviceId,
+                    List.of(new BaseReadTsKvQuery(KEY, START_TS, START_TS + POINTS_PER_DEVICE, POINTS_PER_DEVICE, "ASC"))).get(TIMEOUT, TimeUnit.SECONDS).get(0).getData())
+                    .hasSize(POINTS_PER_DEVICE);
+        }
+
+        int points = DEVICES * POINTS_PER_DEVICE;
+        log.warn("Batch insert: {} points in {} ms ({} points/sec)", points, insertTime, points * 1000L / Math.max(1, insertTime));
+        log.warn("Copy insert: {} points in {} ms ({} points/sec)", points, copyTime, points * 1000L / Math.max(1, copyTime));
+    }
+
+    private long saveAll(List<DeviceId> devices) throws Exception {
+        long startTime = System.currentTimeMillis();
+        List<ListenableFuture<Integer>> futures = new ArrayList<>(DEVICES * POINTS_PER_DEVICE);
+        for (int i = 0; i < POINTS_PER_DEVICE; i++) {
+            long ts = START_TS + i;
+            for (DeviceId deviceId : devices) {
+                futures.add(timeseriesDao.save(tenantId, deviceId, new BasicTsKvEntry(ts, new DoubleDataEntry(KEY, (double) i)), 0));
+            }
+        }
+        Futures.allAsList(futures).get(TIMEOUT, TimeUnit.SECONDS);
+        return System.currentTimeMillis() - startTime;
+    }
+
+    private static List<DeviceId> createDevices() {
+        List<DeviceId> devices = new ArrayList<>(DEVICES);
+        for (int i = 0; i < DEVICES; i++) {
+            devices.add(new DeviceId(UUID.randomUUID()));
+        }
+        return devices;
+    }
+
+    private void setCopyInsertEnabled(boolean enabled) {
+        ReflectionTestUtils.setField(AopTestUtils.getTargetObject(insertRepository), "copyInsertEnabled", enabled);
+    }
+
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.service.timeseries.sql;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.Tenant;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.kv.Aggregation;
+import org.thingsboard.server.common.data.kv.BaseReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.DoubleDataEntry;
+import org.thingsboard.server.common.data.kv.ReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.ReadTsKvQueryResult;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.dao.service.AbstractServiceTest;
+import org.thingsboard.server.dao.service.DaoSqlTest;
+import org.thingsboard.server.dao.timeseries.TimeseriesDao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the single query (bucketed) aggregation returns the same intervals as the per-interval (chunked) aggregation.
+ */
+@DaoSqlTest
+public class TimeseriesDaoSqlBucketedAggregationTest extends AbstractServiceTest {
+
+    private static final String KEY = "temperature";
+    private static final long START_TS = TimeUnit.DAYS.toMillis(365);
+    private static final long POINT_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+    private static final long AGG_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+    private static final int POINTS_PER_INTERVAL = (int) (AGG_INTERVAL / POINT_INTERVAL);
+    private static final int INTERVALS = 60;
+    private static final int TIMEOUT = 100;
+
+    @Autowired
+    private TimeseriesDao timeseriesDao;
+
+    private DeviceId deviceId;
+
+    @Before
+    public void before() throws Exception {
+        Tenant tenant = new Tenant();
+        tenant.setTitle("My tenant");
+        Tenant savedTenant = tenantService.saveTenant(tenant);
+        Assert.assertNotNull(savedTenant);
+        tenantId = savedTenant.getId();
+        deviceId = new DeviceId(UUID.randomUUID());
+
+        List<ListenableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < INTERVALS * POINTS_PER_INTERVAL; i++) {
+            futures.add(timeseriesDao.save(tenantId, deviceId, new BasicTsKvEntry(START_TS + i * POINT_INTERVAL, new DoubleDataEntry(KEY, (double) i)), 0));
+        }
+        Futures.allAsList(futures).get(TIMEOUT, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void after() {
+        setBucketedAggregationEnabled(false);
+        tenantService.deleteTenant(tenantId);
+    }
+
+    @Test
+    public void testBucketedAggregationMatchesChunkedAggregation() throws Exception {
+        for (Aggregation aggregation : List.of(Aggregation.AVG, Aggregation.MIN, Aggregation.MAX, Aggregation.SUM, Aggregation.COUNT)) {
+            ReadTsKvQuery query = new BaseReadTsKvQuery(KEY, START_TS, START_TS + INTERVALS * AGG_INTERVAL, AGG_INTERVAL, Integer.MAX_VALUE, aggregation);
+
+            setBucketedAggregationEnabled(false);
+            ReadTsKvQueryResult chunkedResult = findAll(query);
+            setBucketedAggregationEnabled(true);
+            ReadTsKvQueryResult bucketedResult = findAll(query);
+
+            assertThat(bucketedResult.getData()).as(aggregation.name()).hasSize(INTERVALS);
+            assertThat(bucketedResult.getData()).as(aggregation.name()).isEqualTo(chunkedResult.getData());
+            assertThat(bucketedResult.getLastEntryTs()).as(aggregation.name()).isEqualTo(chunkedResult.getLastEntryTs());
+        }
+    }
+
+    @Test
+    public void testBucketedAggregationValues() throws Exception {
+        setBucketedAggregationEnabled(true);
+        ReadTsKvQuery query = new BaseReadTsKvQuery(KEY, START_TS, START_TS + INTERVALS * AGG_INTERVAL, AGG_INTERVAL, Integer.MAX_VALUE, Aggregation.AVG);
+
+        List<TsKvEntry> data = findAll(query).getData();
+
+        assertThat(data).hasSize(INTERVALS);
+        for (int interval = 0; interval < INTERVALS; interval++) {
+            // the values of the interval are i * POINTS_PER_INTERVAL ... (i + 1) * POINTS_PER_INTERVAL - 1
+            double expectedAvg = interval * POINTS_PER_INTERVAL + (POINTS_PER_INTERVAL - 1) / 2.0;
+            long intervalStartTs = START_TS + interval * AGG_INTERVAL;
+            TsKvEntry entry = data.stream()
+                    .filter(e -> e.getTs() >= intervalStartTs && e.getTs() < intervalStartTs + AGG_INTERVAL)
+                    .findFirst().orElseThrow();
+            assertThat(entry.getDoubleValue()).as("interval %s", interval).hasValue(expectedAvg);
+        }
+    }
+
+    private ReadTsKvQueryResult findAll(ReadTsKvQuery query) throws Exception {
+        return timeseriesDao.findAllAsync(tenantId, deviceId, List.of(query)).get(TIMEOUT, TimeUnit.SECONDS).get(0);
+    }
+
+    private void setBucketedAggregationEnabled(boolean enabled) {
+        ReflectionTestUtils.setField(AopTestUtils.getTargetObject(timeseriesDao), "bucketedAggregationEnabled", enabled);
+    }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sql;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.thingsboard.server.common.stats.MessagesStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class TbSqlBlockingQueueTest {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long MAX_DELAY = 10000;
+
+    private ScheduledLogExecutorComponent logExecutor;
+    private TbSqlBlockingQueue<Integer, Void> queue;
+
+    @Before
+    public void before() {
+        logExecutor = new ScheduledLogExecutorComponent();
+        logExecutor.init();
+    }
+
+    @After
+    public void after() {
+        if (queue != null) {
+            queue.destroy();
+        }
+        logExecutor.stop();
+    }
+
+    @Test
+    public void testAdaptiveBatchIsFlushedOnTargetSizeWithoutWaitingForMaxDelay() throws Exception {
+        queue = createQueue(TbSqlBlockingQueueParams.builder()
+                .logName("Test").batchSize(BATCH_SIZE).maxDelay(MAX_DELAY).statsPrintIntervalMs(MAX_DELAY)
+                .adaptiveBatching(true).targetLatencyMs(MAX_DELAY).build());
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        queue.init(logExecutor, batch -> {
+            batchSizes.add(batch.size());
+            return null;
+        }, Comparator.naturalOrder(), l -> l, 0);
+
+        int targetBatchSize = queue.getTargetBatchSize();
+        assertThat(targetBatchSize).isLessThan(BATCH_SIZE);
+
+        long startTs = System.currentTimeMillis();
+        List<ListenableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < targetBatchSize; i++) {
+            futures.add(queue.add(i));
+        }
+        Futures.allAsList(futures).get(MAX_DELAY / 2, TimeUnit.MILLISECONDS);
+        assertThat(System.currentTimeMillis() - startTs).isLessThan(MAX_DELAY / 2);
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(targetBatchSize);
+        // a full target batch was saved faster than the target latency, so the target grows
+        assertThat(queue.getTargetBatchSize()).isGreaterThan(targetBatchSize);
+    }
+
+    @Test
+    public void testTargetBatchSizeAdjustment() {
+        queue = createQueue(TbSqlBlockingQueueParams.builder()
+                .logName("Test").batchSize(BATCH_SIZE).maxDelay(MAX_DELAY)
+                .adaptiveBatching(true).targetLatencyMs(100).build());
+        int initialTargetBatchSize = queue.getTargetBatchSize();
+
+        queue.adjustTargetBatchSize(initialTargetBatchSize / 2, 10);
+        assertThat(queue.getTargetBatchSize()).isEqualTo(initialTargetBatchSize);
+
+        for (int i = 0; i < 100; i++) {
+            queue.adjustTargetBatchSize(queue.getTargetBatchSize(), 10);
+        }
+        assertThat(queue.getTargetBatchSize()).isEqualTo(BATCH_SIZE);
+
+        queue.adjustTargetBatchSize(BATCH_SIZE, 500);
+        assertThat(queue.getTargetBatchSize()).isEqualTo(BATCH_SIZE / 2);
+
+        for (int i = 0; i < 100; i++) {
+            queue.adjustTargetBatchSize(BATCH_SIZE, 500);
+        }
+        assertThat(queue.getTargetBatchSize()).isEqualTo(initialTargetBatchSize);
+    }
+
+    @Test
+    public void testElementsAreRejectedWhenQueueIsFull() {
+        queue = createQueue(TbSqlBlockingQueueParams.builder()
+                .logName("Test").batchSize(BATCH_SIZE).maxDelay(MAX_DELAY).maxQueueSize(2).build());
+
+        queue.add(1);
+        assertThat(queue.isFull()).isFalse();
+        queue.add(2);
+        assertThat(queue.isFull()).isTrue();
+        assertThat(queue.size()).isEqualTo(2);
+
+        assertThatThrownBy(() -> queue.add(3).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(queue.size()).isEqualTo(2);
+    }
+
+    private static TbSqlBlockingQueue<Integer, Void> createQueue(TbSqlBlockingQueueParams params) {
+        return new TbSqlBlockingQueue<>(params, mock(MessagesStats.class));
+    }
+
+}
@@ -18,11 +18,17 @@ package org.thingsboard.server.dao.sqlts;
 import com.google.common.util.concurrent.Futures;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.kv.AggregationParams;
 import org.thingsboard.server.common.data.kv.BaseReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.IntervalType;
 import org.thingsboard.server.common.data.kv.ReadTsKvQuery;
 import org.thingsboard.server.common.data.kv.ReadTsKvQueryResult;
 import org.thingsboard.server.common.data.kv.TsKvEntry;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -52,6 +58,7 @@ public class AbstractChunkedAggregationTimeseriesDaoTest {
         willReturn(Futures.immediateFuture(optionalListenableFuture)).given(tsDao).findAndAggregateAsync(any(), anyString(), anyLong(), anyLong(), anyLong(), any());
         willReturn(Futures.immediateFuture(mock(ReadTsKvQueryResult.class))).given(tsDao).getReadTsKvQueryResultFuture(any(), any());
         willReturn(mock(ReadTsKvQueryResult.class)).given(tsDao).findAllAsyncWithLimit(any(), any());
+        willReturn(Futures.immediateFuture(List.of(Optional.empty()))).given(tsDao).findAllAndAggregateInBucketsAsync(any(), any());
     }
 
     @Test
@@ -165,6 +172,56 @@ public class AbstractChunkedAggregationTimeseriesDaoTest {
         verify(tsDao, times(0)).findAndAggregateAsync(any(), any(), anyLong(), anyLong(), anyLong(), any());
     }
 
+    @Test
+    public void givenBucketedAggregationEnabled_whenAggregateCount_thenSingleBucketedQuery() {
+        ReflectionTestUtils.setField(tsDao, "bucketedAggregationEnabled", true);
+        ReadTsKvQuery query = new BaseReadTsKvQuery(TEMP, 1, 3000, 3, LIMIT, COUNT, DESC);
+        willCallRealMethod().given(tsDao).findAllAsync(SYS_TENANT_ID, SYS_TENANT_ID, query);
+        tsDao.findAllAsync(SYS_TENANT_ID, SYS_TENANT_ID, query);
+        verify(tsDao, times(1)).findAllAndAggregateInBucketsAsync(SYS_TENANT_ID, query);
+        verify(tsDao, times(0)).findAndAggregateAsync(any(), any(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    public void givenBucketedAggregationEnabled_whenAggregateNone_thenFindAllWithoutAggregation() {
+        ReflectionTestUtils.setField(tsDao, "bucketedAggregationEnabled", true);
+        ReadTsKvQuery query = new BaseReadTsKvQuery(TEMP, 1, 3000, 0, LIMIT, COUNT, DESC);
+        willCallRealMethod().given(tsDao).findAllAsync(SYS_TENANT_ID, SYS_TENANT_ID, query);
+        tsDao.findAllAsync(SYS_TENANT_ID, SYS_TENANT_ID, query);
+        verify(tsDao, times(1)).findAllAsyncWithLimit(any(), any());
+        verify(tsDao, times(0)).findAllAndAggregateInBucketsAsync(any(), any());
+    }
+
+    @Test
+    public void givenMonthInterval_whenCalculateIntervalBoundaries_thenBoundariesAlignedToCalendar() {
+        ZoneId tzId = ZoneId.of("Europe/Kyiv");
+        long startTs = ZonedDateTime.of(2024, 1, 15, 0, 0, 0, 0, tzId).toInstant().toEpochMilli();
+        long endTs = ZonedDateTime.of(2024, 4, 10, 0, 0, 0, 0, tzId).toInstant().toEpochMilli();
+        long[] boundaries = AbstractChunkedAggregationTimeseriesDao.calculateIntervalBoundaries(startTs, endTs, IntervalType.MONTH, tzId);
+        assertThat(boundaries).containsExactly(
+                startTs,
+                ZonedDateTime.of(2024, 2, 1, 0, 0, 0, 0, tzId).toInstant().toEpochMilli(),
+                ZonedDateTime.of(2024, 3, 1, 0, 0, 0, 0, tzId).toInstant().toEpochMilli(),
+                ZonedDateTime.of(2024, 4, 1, 0, 0, 0, 0, tzId).toInstant().toEpochMilli(),
+                endTs);
+    }
+
+    @Test
+    public void givenCalendarQuery_whenCalculateIntervalBoundaries_thenSameIntervalsAsChunkedMode() {
+        ZoneId tzId = ZoneId.of("UTC");
+        long startTs = ZonedDateTime.of(2024, 1, 3, 12, 0, 0, 0, tzId).toInstant().toEpochMilli();
+        long endTs = ZonedDateTime.of(2024, 2, 20, 0, 0, 0, 0, tzId).toInstant().toEpochMilli();
+        ReadTsKvQuery query = new BaseReadTsKvQuery(TEMP, startTs, endTs, AggregationParams.calendar(COUNT, IntervalType.WEEK_ISO, tzId), LIMIT, DESC);
+        willCallRealMethod().given(tsDao).findAllAsync(SYS_TENANT_ID, SYS_TENANT_ID, query);
+        tsDao.findAllAsync(SYS_TENANT_ID, SYS_TENANT_ID, query);
+
+        long[] boundaries = AbstractChunkedAggregationTimeseriesDao.calculateIntervalBoundaries(startTs, endTs, IntervalType.WEEK_ISO, tzId);
+        verify(tsDao, times(boundaries.length - 1)).findAndAggregateAsync(any(), any(), anyLong(), anyLong(), anyLong(), any());
+        for (int i = 0; i < boundaries.length - 1; i++) {
+            verify(tsDao, times(1)).findAndAggregateAsync(SYS_TENANT_ID, TEMP, boundaries[i], boundaries[i + 1], getTsForReadTsKvQuery(boundaries[i], boundaries[i + 1]), COUNT);
+        }
+    }
+
     long getTsForReadTsKvQuery(long startTs, long endTs) {
         return startTs + (endTs - startTs) / 2L;
     }
@@ -0,0 +1,130 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.timeseries;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.kv.Aggregation;
+import org.thingsboard.server.common.data.kv.BaseReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.LongDataEntry;
+import org.thingsboard.server.common.data.kv.ReadTsKvQueryResult;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.dao.cassandra.CassandraCluster;
+import org.thingsboard.server.dao.nosql.CassandraBufferedRateReadExecutor;
+import org.thingsboard.server.dao.nosql.CassandraBufferedRateWriteExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.willAnswer;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = CassandraBaseTimeseriesDao.class)
+@TestPropertySource(properties = {
+        "database.ts.type=cassandra",
+        "cassandra.query.ts_key_value_partitioning=DAYS",
+        "cassandra.query.use_ts_key_value_partitioning_on_read=false",
+        "cassandra.query.ts_key_value_partitions_max_cache_size=100000",
+        "cassandra.query.ts_key_value_partitions_cache_stats_enabled=true",
+        "cassandra.query.ts_key_value_partitions_cache_stats_interval=60",
+        "cassandra.query.ts_key_value_ttl=0",
+        "cassandra.query.set_null_values_enabled=false",
+        "cassandra.query.ts_key_value_parallel_partitions_read=true",
+        "cassandra.query.ts_key_value_parallel_partitions_read_window=4",
+})
+public class CassandraBaseTimeseriesDaoParallelPartitionsReadTest {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+    private static final long START_TS = 1665360000000L; // 2022-10-10T00:00:00Z
+
+    @MockitoSpyBean
+    CassandraBaseTimeseriesDao tsDao;
+
+    @MockBean(answer = Answers.RETURNS_MOCKS)
+    @Qualifier("CassandraCluster")
+    CassandraCluster cassandraCluster;
+
+    @MockBean
+    CassandraBufferedRateReadExecutor cassandraBufferedRateReadExecutor;
+    @MockBean
+    CassandraBufferedRateWriteExecutor cassandraBufferedRateWriteExecutor;
+
+    @Test
+    public void testResultIsCompleteWhenPartitionsFinishOutOfOrder() throws Exception {
+        Map<Long, SettableFuture<List<TsKvEntry>>> reads = new ConcurrentHashMap<>();
+        willAnswer(invocation -> reads.computeIfAbsent(invocation.getArgument(2), p -> SettableFuture.create()))
+                .given(tsDao).fetchPartitionAsync(any(), any(), anyLong(), anyInt());
+
+        var query = new BaseReadTsKvQuery("temperature", START_TS, START_TS + 4 * DAY + 1, 4 * DAY + 1, 100, Aggregation.NONE, "ASC");
+        ListenableFuture<ReadTsKvQueryResult> future = tsDao.findAllAsync(TenantId.fromUUID(UUID.randomUUID()), new DeviceId(UUID.randomUUID()), query);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> reads.size() == 4);
+        assertThat(reads).doesNotContainKey(partition(4));
+
+        // the first partition completes, so the last one is submitted while three reads are still in flight
+        reads.get(partition(0)).set(entries(partition(0)));
+        await().atMost(10, TimeUnit.SECONDS).until(() -> reads.size() == 5);
+
+        reads.get(partition(1)).set(entries(partition(1)));
+        reads.get(partition(4)).set(entries(partition(4)));
+        reads.get(partition(3)).set(entries(partition(3)));
+        Thread.sleep(100);
+        assertThat(future.isDone()).isFalse();
+
+        reads.get(partition(2)).set(entries(partition(2)));
+        ReadTsKvQueryResult result = future.get(10, TimeUnit.SECONDS);
+
+        List<Long> expectedTs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expectedTs.add(partition(i));
+            expectedTs.add(partition(i) + 1);
+        }
+        assertThat(result.getData()).extracting(TsKvEntry::getTs).containsExactlyElementsOf(expectedTs);
+        assertThat(result.getLastEntryTs()).isEqualTo(partition(4) + 1);
+    }
+
+    private static long partition(int i) {
+        return START_TS + i * DAY;
+    }
+
+    private static List<TsKvEntry> entries(long partition) {
+        return List.of(
+                new BasicTsKvEntry(partition, new LongDataEntry("temperature", 0L)),
+                new BasicTsKvEntry(partition + 1, new LongDataEntry("temperature", 1L)));
+    }
+
+}
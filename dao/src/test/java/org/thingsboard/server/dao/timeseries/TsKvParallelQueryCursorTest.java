@@ -0,0 +1,128 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.timeseries;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.kv.Aggregation;
+import org.thingsboard.server.common.data.kv.BaseReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.LongDataEntry;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TsKvParallelQueryCursorTest {
+
+    private static final List<Long> PARTITIONS = List.of(0L, 100L, 200L, 300L, 400L);
+
+    @Test
+    void testReadsAreLimitedByWindowAndMergedInOrder() {
+        TsKvParallelQueryCursor cursor = newCursor("DESC", 100, 2);
+
+        List<TsKvParallelQueryCursor.PartitionRead> reads = cursor.nextReads();
+        assertThat(reads).extracting(TsKvParallelQueryCursor.PartitionRead::partition).containsExactly(400L, 300L);
+        assertThat(cursor.nextReads()).isEmpty();
+
+        assertThat(cursor.onPartitionRead(reads.get(1).seq(), entries(300L, 2))).isFalse();
+        assertThat(cursor.getData()).isEmpty();
+        assertThat(cursor.nextReads()).isEmpty();
+
+        assertThat(cursor.onPartitionRead(reads.get(0).seq(), entries(400L, 3))).isFalse();
+        assertThat(cursor.getData()).extracting(TsKvEntry::getTs).containsExactly(402L, 401L, 400L, 301L, 300L);
+
+        reads = cursor.nextReads();
+        assertThat(reads).extracting(TsKvParallelQueryCursor.PartitionRead::partition).containsExactly(200L, 100L);
+        assertThat(reads).extracting(TsKvParallelQueryCursor.PartitionRead::limit).containsOnly(95);
+        assertThat(cursor.onPartitionRead(reads.get(0).seq(), List.of())).isFalse();
+        assertThat(cursor.onPartitionRead(reads.get(1).seq(), entries(100L, 1))).isFalse();
+
+        reads = cursor.nextReads();
+        assertThat(reads).extracting(TsKvParallelQueryCursor.PartitionRead::partition).containsExactly(0L);
+        assertThat(cursor.onPartitionRead(reads.get(0).seq(), entries(0L, 1))).isTrue();
+        assertThat(cursor.isDone()).isTrue();
+        assertThat(cursor.getData()).extracting(TsKvEntry::getTs).containsExactly(402L, 401L, 400L, 301L, 300L, 100L, 0L);
+    }
+
+    @Test
+    void testLimitStopsReadsEarly() {
+        TsKvParallelQueryCursor cursor = newCursor("ASC", 3, 3);
+
+        List<TsKvParallelQueryCursor.PartitionRead> reads = cursor.nextReads();
+        assertThat(reads).extracting(TsKvParallelQueryCursor.PartitionRead::partition).containsExactly(0L, 100L, 200L);
+
+        assertThat(cursor.onPartitionRead(reads.get(1).seq(), entries(100L, 3))).isFalse();
+        assertThat(cursor.onPartitionRead(reads.get(0).seq(), entries(0L, 2))).isTrue();
+        assertThat(cursor.getData()).extracting(TsKvEntry::getTs).containsExactly(1L, 0L, 102L);
+
+        assertThat(cursor.onPartitionRead(reads.get(2).seq(), entries(200L, 3))).isFalse();
+        assertThat(cursor.nextReads()).isEmpty();
+        assertThat(cursor.getData()).hasSize(3);
+    }
+
+    @Test
+    void testCompleteIfIdleWaitsForReadsInFlight() {
+        TsKvParallelQueryCursor cursor = newCursor("ASC", 100, 5);
+        List<TsKvParallelQueryCursor.PartitionRead> reads = cursor.nextReads();
+        assertThat(cursor.hasNextPartition()).isFalse();
+        assertThat(cursor.completeIfIdle()).isFalse();
+
+        assertThat(cursor.onPartitionRead(reads.get(0).seq(), entries(0L, 1))).isFalse();
+        assertThat(cursor.completeIfIdle()).isFalse();
+        assertThat(cursor.isDone()).isFalse();
+    }
+
+    @Test
+    void testResultIsCopy() {
+        TsKvParallelQueryCursor cursor = newCursor("ASC", 100, 5);
+        List<TsKvParallelQueryCursor.PartitionRead> reads = cursor.nextReads();
+        for (int i = 0; i < reads.size() - 1; i++) {
+            cursor.onPartitionRead(reads.get(i).seq(), entries(reads.get(i).partition(), 1));
+        }
+        List<TsKvEntry> result = cursor.getResult();
+        assertThat(cursor.onPartitionRead(reads.get(reads.size() - 1).seq(), entries(reads.get(reads.size() - 1).partition(), 1))).isTrue();
+        assertThat(result).hasSize(reads.size() - 1);
+        assertThat(cursor.getResult()).hasSize(reads.size());
+    }
+
+    @Test
+    void testFailureCompletesCursorOnce() {
+        TsKvParallelQueryCursor cursor = newCursor("DESC", 10, 2);
+        List<TsKvParallelQueryCursor.PartitionRead> reads = cursor.nextReads();
+
+        assertThat(cursor.onFailure()).isTrue();
+        assertThat(cursor.onFailure()).isFalse();
+        assertThat(cursor.onPartitionRead(reads.get(0).seq(), entries(400L, 1))).isFalse();
+        assertThat(cursor.nextReads()).isEmpty();
+    }
+
+    private static TsKvParallelQueryCursor newCursor(String order, int limit, int window) {
+        var query = new BaseReadTsKvQuery("temperature", 0, 500, 500, limit, Aggregation.NONE, order);
+        return new TsKvParallelQueryCursor("DEVICE", UUID.randomUUID(), query, PARTITIONS, window);
+    }
+
+    private static List<TsKvEntry> entries(long partition, int count) {
+        List<TsKvEntry> entries = new ArrayList<>();
+        for (int i = count - 1; i >= 0; i--) {
+            entries.add(new BasicTsKvEntry(partition + i, new LongDataEntry("temperature", (long) i)));
+        }
+        return entries;
+    }
+
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.util;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.id.TenantId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantFairTaskQueueTest {
+
+    private final TenantId tenantA = TenantId.fromUUID(UUID.randomUUID());
+    private final TenantId tenantB = TenantId.fromUUID(UUID.randomUUID());
+
+    @Test
+    void testRoundRobinAcrossTenants() {
+        TenantFairTaskQueue<AsyncTask, Void> queue = new TenantFairTaskQueue<>(100, 0, 0, null);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            queue.add(task(tenantA, now));
+        }
+        queue.add(task(tenantB, now));
+        queue.add(task(tenantB, now));
+
+        assertThat(queue.size()).isEqualTo(7);
+        assertThat(drainTenants(queue)).containsExactly(tenantA, tenantB, tenantA, tenantB, tenantA, tenantA, tenantA);
+        assertThat(queue).isEmpty();
+    }
+
+    @Test
+    void testWeightedRoundRobin() {
+        TenantFairTaskQueue<AsyncTask, Void> queue = new TenantFairTaskQueue<>(100, 0, 0, Map.of(tenantA, 3));
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 6; i++) {
+            queue.add(task(tenantA, now));
+            queue.add(task(tenantB, now));
+        }
+
+        assertThat(drainTenants(queue).subList(0, 8))
+                .containsExactly(tenantA, tenantA, tenantA, tenantB, tenantA, tenantA, tenantA, tenantB);
+    }
+
+    @Test
+    void testOverdueTaskIsDispatchedFirst() {
+        TenantFairTaskQueue<AsyncTask, Void> queue = new TenantFairTaskQueue<>(100, 0, 1000, Map.of(tenantA, 5));
+        long now = System.currentTimeMillis();
+        queue.add(task(tenantA, now - 6000));
+        queue.add(task(tenantB, now - 5000));
+        for (int i = 0; i < 4; i++) {
+            queue.add(task(tenantA, now));
+        }
+
+        // tenant B doesn't wait for the turn of tenant A to end
+        assertThat(drainTenants(queue)).containsExactly(tenantA, tenantB, tenantA, tenantA, tenantA, tenantA);
+    }
+
+    @Test
+    void testTenantEmptiedByOverdueTaskRejoinsRoundRobin() {
+        TenantFairTaskQueue<AsyncTask, Void> queue = new TenantFairTaskQueue<>(100, 0, 1000, null);
+        long now = System.currentTimeMillis();
+        queue.add(task(tenantA, now - 6000));
+        queue.add(task(tenantB, now - 5000));
+        queue.add(task(tenantA, now));
+        queue.add(task(tenantA, now));
+
+        assertThat(queue.poll().getTask().getTenantId()).isEqualTo(tenantA);
+        assertThat(queue.poll().getTask().getTenantId()).isEqualTo(tenantB);
+        assertThat(queue.size(tenantB)).isZero();
+        queue.add(task(tenantB, now));
+
+        assertThat(queue.peek().getTask().getTenantId()).isEqualTo(tenantA);
+        assertThat(drainTenants(queue)).containsExactly(tenantA, tenantB, tenantA);
+        assertThat(queue).isEmpty();
+    }
+
+    @Test
+    void testCapacityLimits() {
+        TenantFairTaskQueue<AsyncTask, Void> queue = new TenantFairTaskQueue<>(3, 2, 0, null);
+        long now = System.currentTimeMillis();
+        queue.add(task(tenantA, now));
+        queue.add(task(tenantA, now));
+        assertThat(queue.offer(task(tenantA, now))).isFalse();
+        queue.add(task(tenantB, now));
+
+        assertThat(queue.remainingCapacity()).isZero();
+        assertThat(queue.size(tenantA)).isEqualTo(2);
+        assertThatThrownBy(() -> queue.add(task(tenantB, now))).isInstanceOf(IllegalStateException.class);
+
+        queue.poll();
+        assertThat(queue.offer(task(tenantB, now))).isTrue();
+    }
+
+    @Test
+    void testParseTenantWeights() {
+        assertThat(TenantFairTaskQueue.parseTenantWeights(""))
+                .isEmpty();
+        assertThat(TenantFairTaskQueue.parseTenantWeights(tenantA.getId() + ":5;" + tenantB.getId() + ":2"))
+                .containsEntry(tenantA, 5)
+                .containsEntry(tenantB, 2);
+        assertThatThrownBy(() -> TenantFairTaskQueue.parseTenantWeights(tenantA.getId() + ":0"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static AsyncTaskContext<AsyncTask, Void> task(TenantId tenantId, long createTime) {
+        return new AsyncTaskContext<>(UUID.randomUUID(), () -> tenantId, null, createTime);
+    }
+
+    private static List<TenantId> drainTenants(TenantFairTaskQueue<AsyncTask, Void> queue) {
+        List<AsyncTaskContext<AsyncTask, Void>> tasks = new ArrayList<>();
+        queue.drainTo(tasks);
+        return tasks.stream().map(taskCtx -> taskCtx.getTask().getTenantId()).toList();
+    }
+
+}
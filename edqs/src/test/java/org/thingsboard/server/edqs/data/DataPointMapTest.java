@@ -0,0 +1,76 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.edqs.data;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.edqs.DataPoint;
+import org.thingsboard.server.edqs.data.dp.LongDataPoint;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataPointMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        DataPointMap map = new DataPointMap();
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(1)).isNull();
+
+        DataPoint dp1 = new LongDataPoint(1, 1);
+        DataPoint dp2 = new LongDataPoint(2, 2);
+        assertThat(map.put(5, dp1)).isNull();
+        assertThat(map.put(1, dp2)).isNull();
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.get(5)).isSameAs(dp1);
+        assertThat(map.get(1)).isSameAs(dp2);
+
+        DataPoint dp3 = new LongDataPoint(3, 3);
+        assertThat(map.put(5, dp3)).isSameAs(dp1);
+        assertThat(map.get(5)).isSameAs(dp3);
+        assertThat(map.size()).isEqualTo(2);
+
+        assertThat(map.remove(7)).isNull();
+        assertThat(map.remove(1)).isSameAs(dp2);
+        assertThat(map.get(1)).isNull();
+        assertThat(map.remove(5)).isSameAs(dp3);
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        Random random = new Random(42);
+        DataPointMap map = new DataPointMap();
+        Map<Integer, DataPoint> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int keyId = random.nextInt(200) - 20;
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(keyId)).isSameAs(expected.remove(keyId));
+            } else {
+                DataPoint dp = new LongDataPoint(i, i);
+                assertThat(map.put(keyId, dp)).isSameAs(expected.put(keyId, dp));
+            }
+        }
+        assertThat(map.size()).isEqualTo(expected.size());
+        Map<Integer, DataPoint> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.edqs.repo;
+
+import org.junit.Test;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.edqs.LatestTsKv;
+import org.thingsboard.server.common.data.edqs.query.QueryResult;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.DoubleDataEntry;
+import org.thingsboard.server.common.data.kv.KvEntry;
+import org.thingsboard.server.common.data.kv.StringDataEntry;
+import org.thingsboard.server.common.data.page.PageData;
+import org.thingsboard.server.common.data.query.EntityDataPageLink;
+import org.thingsboard.server.common.data.query.EntityDataQuery;
+import org.thingsboard.server.common.data.query.EntityDataSortOrder;
+import org.thingsboard.server.common.data.query.EntityKey;
+import org.thingsboard.server.common.data.query.EntityKeyType;
+import org.thingsboard.server.common.data.query.EntityKeyValueType;
+import org.thingsboard.server.common.data.query.EntityTypeFilter;
+import org.thingsboard.server.common.data.query.FilterPredicateValue;
+import org.thingsboard.server.common.data.query.KeyFilter;
+import org.thingsboard.server.common.data.query.NumericFilterPredicate;
+import org.thingsboard.server.common.data.query.StringFilterPredicate;
+import org.thingsboard.server.edqs.util.RepositoryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {
+        "queue.edqs.indexes.enabled=true",
+        "queue.edqs.indexes.min_entities=0"
+})
+public class EntityKeyIndexTest extends AbstractEDQTest {
+
+    @Test
+    public void testNumericIndex() {
+        List<UUID> devices = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            UUID deviceId = createDevice("Device " + i);
+            devices.add(deviceId);
+            saveTs(deviceId, new DoubleDataEntry("temperature", (double) i));
+        }
+
+        EntityDataQuery query = getQuery(numericFilter("temperature", NumericFilterPredicate.NumericOperation.GREATER_OR_EQUAL, 40.0));
+        assertThat(repository.get(tenantId).findIndexedCandidates(EntityType.DEVICE, RepositoryUtils.toNewQuery(query))).hasSize(10);
+        PageData<QueryResult> result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isEqualTo(10);
+        assertThat(result.getData()).hasSize(5);
+        assertThat(result.getData().get(0).getEntityId().getId()).isEqualTo(devices.get(49));
+
+        saveTs(devices.get(0), new DoubleDataEntry("temperature", 100.0));
+        saveTs(devices.get(49), new DoubleDataEntry("temperature", 1.0));
+        result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isEqualTo(10);
+        assertThat(result.getData().get(0).getEntityId().getId()).isEqualTo(devices.get(0));
+        assertThat(checkContains(result, devices.get(49))).isFalse();
+
+        removeTs(devices.get(0), "temperature");
+        result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isEqualTo(9);
+        assertThat(checkContains(result, devices.get(0))).isFalse();
+
+        query = getQuery(numericFilter("temperature", NumericFilterPredicate.NumericOperation.LESS, 5.0));
+        result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isEqualTo(5);
+
+        query = getQuery(numericFilter("temperature", NumericFilterPredicate.NumericOperation.EQUAL, 25.0));
+        result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isOne();
+        assertThat(result.getData().get(0).getEntityId().getId()).isEqualTo(devices.get(25));
+    }
+
+    @Test
+    public void testStringIndex() {
+        UUID device1 = createDevice("Device 1");
+        UUID device2 = createDevice("Device 2");
+        UUID device3 = createDevice("Device 3");
+        saveTs(device1, new StringDataEntry("state", "Active"));
+        saveTs(device2, new StringDataEntry("state", "active_charging"));
+        saveTs(device3, new StringDataEntry("state", "inactive"));
+
+        var keyFilters = createStringKeyFilters("state", EntityKeyType.TIME_SERIES, StringFilterPredicate.StringOperation.STARTS_WITH, "act");
+        EntityDataQuery query = getQuery(keyFilters);
+        assertThat(repository.get(tenantId).findIndexedCandidates(EntityType.DEVICE, RepositoryUtils.toNewQuery(query))).hasSize(2);
+        PageData<QueryResult> result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(checkContains(result, device1)).isTrue();
+        assertThat(checkContains(result, device2)).isTrue();
+
+        ((StringFilterPredicate) keyFilters.get(0).getPredicate()).setIgnoreCase(false);
+        result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isOne();
+        assertThat(checkContains(result, device2)).isTrue();
+
+        query = getQuery(createStringKeyFilters("state", EntityKeyType.TIME_SERIES, StringFilterPredicate.StringOperation.STARTS_WITH, "a%charging"));
+        result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isOne();
+        assertThat(checkContains(result, device2)).isTrue();
+
+        query = getQuery(createStringKeyFilters("state", EntityKeyType.TIME_SERIES, StringFilterPredicate.StringOperation.EQUAL, "INACTIVE"));
+        result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isOne();
+        assertThat(checkContains(result, device3)).isTrue();
+
+        query = getQuery(createStringKeyFilters("state", EntityKeyType.TIME_SERIES, StringFilterPredicate.StringOperation.ENDS_WITH, "active"));
+        assertThat(repository.get(tenantId).findIndexedCandidates(EntityType.DEVICE, RepositoryUtils.toNewQuery(query))).isNull();
+        result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    public void testIndexIsCreatedForExistingData() {
+        List<UUID> devices = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            UUID deviceId = createDevice("Device " + i);
+            devices.add(deviceId);
+            saveTs(deviceId, new DoubleDataEntry("humidity", (double) i));
+        }
+        EntityDataQuery query = getQuery(numericFilter("humidity", NumericFilterPredicate.NumericOperation.LESS_OR_EQUAL, 9.0));
+        PageData<QueryResult> result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isEqualTo(10);
+
+        UUID newDevice = createDevice("New device");
+        saveTs(newDevice, new DoubleDataEntry("humidity", 0.0));
+        result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isEqualTo(11);
+        assertThat(repository.countEntitiesByQuery(tenantId, null, query, false)).isEqualTo(11);
+    }
+
+    @Test
+    public void testUnusedIndexIsEvicted() {
+        UUID device = createDevice("Device");
+        saveTs(device, new DoubleDataEntry("pressure", 1.0));
+        EntityDataQuery query = getQuery(numericFilter("pressure", NumericFilterPredicate.NumericOperation.GREATER, 0.0));
+        TenantRepo tenantRepo = repository.get(tenantId);
+        assertThat(tenantRepo.findIndexedCandidates(EntityType.DEVICE, RepositoryUtils.toNewQuery(query))).hasSize(1);
+        long usedAt = System.currentTimeMillis();
+
+        tenantRepo.evictUnusedIndexes(usedAt - TimeUnit.MINUTES.toMillis(1));
+        assertThat(getNumericIndexes(tenantRepo)).containsKey(KeyDictionary.get("pressure"));
+
+        tenantRepo.evictUnusedIndexes(usedAt + 1);
+        assertThat(getNumericIndexes(tenantRepo)).isEmpty();
+
+        saveTs(device, new DoubleDataEntry("pressure", 2.0));
+        PageData<QueryResult> result = repository.findEntityDataByQuery(tenantId, null, query, false);
+        assertThat(result.getTotalElements()).isOne();
+        assertThat(getNumericIndexes(tenantRepo)).containsKey(KeyDictionary.get("pressure"));
+    }
+
+    @Test
+    public void testNumericFilterOnNotNumericValueIsSameWithAndWithoutIndex() {
+        UUID device1 = createDevice("Device 1");
+        UUID device2 = createDevice("Device 2");
+        UUID device3 = createDevice("Device 3");
+        saveTs(device1, new StringDataEntry("level", "10"));
+        saveTs(device2, new StringDataEntry("level", "20"));
+        saveTs(device3, new StringDataEntry("level", "n/a"));
+
+        EntityDataQuery query = getQuery(numericFilter("level", NumericFilterPredicate.NumericOperation.GREATER, 15.0));
+        TenantRepo tenantRepo = repository.get(tenantId);
+        assertThat(tenantRepo.findIndexedCandidates(EntityType.DEVICE, RepositoryUtils.toNewQuery(query))).isNull();
+        Object indexed = findTotalOrError(query);
+        // the same query with a full scan
+        ReflectionTestUtils.setField(tenantRepo, "indexesEnabled", false);
+        Object scanned = findTotalOrError(query);
+        ReflectionTestUtils.setField(tenantRepo, "indexesEnabled", true);
+        assertThat(indexed).isEqualTo(scanned);
+
+        saveTs(device3, new StringDataEntry("level", "30"));
+        assertThat(tenantRepo.findIndexedCandidates(EntityType.DEVICE, RepositoryUtils.toNewQuery(query))).hasSize(2);
+        assertThat(findTotalOrError(query)).isEqualTo(2L);
+    }
+
+    private Object findTotalOrError(EntityDataQuery query) {
+        try {
+            return repository.findEntityDataByQuery(tenantId, null, query, false).getTotalElements();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, NumericKeyIndex> getNumericIndexes(TenantRepo tenantRepo) {
+        var indexes = (Map<EntityType, Map<Integer, NumericKeyIndex>>) ReflectionTestUtils.getField(tenantRepo, "numericIndexes");
+        return indexes.getOrDefault(EntityType.DEVICE, Map.of());
+    }
+
+    private void saveTs(UUID deviceId, KvEntry entry) {
+        addOrUpdate(new LatestTsKv(new DeviceId(deviceId), new BasicTsKvEntry(42, entry), 0L));
+    }
+
+    private void removeTs(UUID deviceId, String key) {
+        repository.get(tenantId).remove(new LatestTsKv(new DeviceId(deviceId), key, 0L));
+    }
+
+    private static List<KeyFilter> numericFilter(String key, NumericFilterPredicate.NumericOperation operation, double value) {
+        KeyFilter keyFilter = new KeyFilter();
+        keyFilter.setKey(new EntityKey(EntityKeyType.TIME_SERIES, key));
+        var predicate = new NumericFilterPredicate();
+        predicate.setOperation(operation);
+        predicate.setValue(new FilterPredicateValue<>(value));
+        keyFilter.setPredicate(predicate);
+        keyFilter.setValueType(EntityKeyValueType.NUMERIC);
+        return List.of(keyFilter);
+    }
+
+    private static EntityDataQuery getQuery(List<KeyFilter> keyFilters) {
+        EntityTypeFilter filter = new EntityTypeFilter();
+        filter.setEntityType(EntityType.DEVICE);
+        EntityKey sortKey = keyFilters.get(0).getKey();
+        var pageLink = new EntityDataPageLink(5, 0, null, new EntityDataSortOrder(sortKey, EntityDataSortOrder.Direction.DESC), false);
+        return new EntityDataQuery(filter, pageLink, List.of(new EntityKey(EntityKeyType.ENTITY_FIELD, "name")), List.of(sortKey), keyFilters);
+    }
+
+}
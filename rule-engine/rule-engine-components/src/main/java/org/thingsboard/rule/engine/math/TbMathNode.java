@@ -23,7 +23,6 @@ import com.google.common.util.concurrent.SettableFuture;
 import net.objecthunter.exp4j.Expression;
 import org.springframework.util.ConcurrentReferenceHashMap;
 import org.thingsboard.common.util.ExpressionUtils;
-import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.rule.engine.api.AttributesSaveRequest;
 import org.thingsboard.rule.engine.api.RuleNode;
 import org.thingsboard.rule.engine.api.TbContext;
@@ -186,7 +185,7 @@ public class TbMathNode implements TbNode {
     private Optional<ObjectNode> convertMsgBodyIfRequired(TbMsg msg) {
         Optional<ObjectNode> msgBodyOpt;
         if (msgBodyToJsonConversionRequired) {
-            var jsonNode = JacksonUtil.toJsonNode(msg.getData());
+            var jsonNode = msg.getDataAsJsonCopy();
             if (jsonNode.isObject()) {
                 msgBodyOpt = Optional.of((ObjectNode) jsonNode);
             } else {
@@ -217,7 +216,7 @@ public class TbMathNode implements TbNode {
             body.put(mathResultKey, toDoubleValue(mathResultDef, result));
         }
         return msg.transform()
-                .data(JacksonUtil.toString(body))
+                .dataAsJson(body)
                 .build();
     }
 
@@ -21,7 +21,6 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import org.springframework.util.ConcurrentReferenceHashMap;
-import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.rule.engine.api.RuleNode;
 import org.thingsboard.rule.engine.api.TbContext;
 import org.thingsboard.rule.engine.api.TbNode;
@@ -86,7 +85,7 @@ public class CalculateDeltaNode implements TbNode {
             ctx.tellNext(msg, TbNodeConnectionType.OTHER);
             return;
         }
-        JsonNode msgData = JacksonUtil.toJsonNode(msg.getData());
+        JsonNode msgData = msg.getDataAsJson();
         if (msgData == null || !msgData.has(config.getInputValueKey())) {
             ctx.tellNext(msg, TbNodeConnectionType.OTHER);
             return;
@@ -151,8 +150,7 @@ public class CalculateDeltaNode implements TbNode {
     protected ListenableFuture<TbMsg> processMsgAsync(TbContext ctx, TbMsg msg) {
         ListenableFuture<ValueWithTs> latestValueFuture = getLatestFromCacheOrFetchFromDb(ctx, msg);
         return Futures.transform(latestValueFuture, previousData -> {
-            ObjectNode json = (ObjectNode) JacksonUtil.toJsonNode(msg.getData());
-            double currentValue = json.get(config.getInputValueKey()).asDouble();
+            double currentValue = msg.getDataAsJson().get(config.getInputValueKey()).asDouble();
             if (config.isUseCache()) {
                 cache.put(msg.getOriginator(), new ValueWithTs(msg.getMetaDataTs(), currentValue));
             }
@@ -166,6 +164,7 @@ public class CalculateDeltaNode implements TbNode {
             if (config.getRound() != null) {
                 delta = delta.setScale(config.getRound(), RoundingMode.HALF_UP);
             }
+            ObjectNode json = (ObjectNode) msg.getDataAsJsonCopy();
             if (delta.stripTrailingZeros().scale() > 0) {
                 json.put(config.getOutputValueKey(), delta.doubleValue());
             } else {
@@ -176,7 +175,7 @@ public class CalculateDeltaNode implements TbNode {
                 json.put(config.getPeriodValueKey(), period);
             }
             return msg.transform()
-                    .data(JacksonUtil.toString(json))
+                    .dataAsJson(json)
                     .build();
         }, MoreExecutors.directExecutor());
     }
@@ -63,7 +63,7 @@ public abstract class TbAbstractNodeWithFetchTo<C extends TbAbstractFetchToNodeC
     }
 
     protected ObjectNode getMsgDataAsObjectNode(TbMsg msg) {
-        var msgDataNode = JacksonUtil.toJsonNode(msg.getData());
+        var msgDataNode = msg.getDataAsJsonCopy();
         if (msgDataNode == null || !msgDataNode.isObject()) {
             throw new IllegalArgumentException("Message body is not an object!");
         }
@@ -82,7 +82,7 @@ public abstract class TbAbstractNodeWithFetchTo<C extends TbAbstractFetchToNodeC
         switch (fetchTo) {
             case DATA:
                 return msg.transform()
-                        .data(JacksonUtil.toString(msgDataNode))
+                        .dataAsJson(msgDataNode)
                         .build();
             case METADATA:
                 return msg.transform()
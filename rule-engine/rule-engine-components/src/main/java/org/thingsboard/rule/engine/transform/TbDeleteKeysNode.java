@@ -82,7 +82,7 @@ public class TbDeleteKeysNode extends TbAbstractTransformNodeWithTbMsgSource {
                 hasNoChanges = mdKeysToDelete.isEmpty();
                 break;
             case DATA:
-                JsonNode dataNode = JacksonUtil.toJsonNode(msgDataStr);
+                JsonNode dataNode = msg.getDataAsJsonCopy();
                 if (dataNode.isObject()) {
                     var msgDataObject = (ObjectNode) dataNode;
                     var msgKeysToDelete = new ArrayList<String>();
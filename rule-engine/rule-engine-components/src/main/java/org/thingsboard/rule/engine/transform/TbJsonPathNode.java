@@ -64,7 +64,7 @@ public class TbJsonPathNode implements TbNode {
     public void onMsg(TbContext ctx, TbMsg msg) throws ExecutionException, InterruptedException, TbNodeException {
         if (!TbJsonPathNodeConfiguration.DEFAULT_JSON_PATH.equals(jsonPathValue)) {
             try {
-                Object jsonPathData = jsonPath.read(msg.getData(), configurationJsonPath);
+                Object jsonPathData = jsonPath.read(msg.getDataAsJson(), configurationJsonPath);
                 ctx.tellSuccess(msg.transform()
                         .data(JacksonUtil.toString(jsonPathData))
                         .build());
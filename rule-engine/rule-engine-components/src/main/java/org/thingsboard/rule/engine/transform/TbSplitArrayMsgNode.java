@@ -51,14 +51,14 @@ public class TbSplitArrayMsgNode implements TbNode {
 
     @Override
     public void onMsg(TbContext ctx, TbMsg msg) throws ExecutionException, InterruptedException, TbNodeException {
-        JsonNode jsonNode = JacksonUtil.toJsonNode(msg.getData());
+        JsonNode jsonNode = msg.getDataAsJson();
         if (jsonNode.isArray()) {
             ArrayNode data = (ArrayNode) jsonNode;
             if (data.isEmpty()) {
                 ctx.ack(msg);
             } else if (data.size() == 1) {
                 ctx.tellSuccess(msg.transform()
-                        .data(JacksonUtil.toString(data.get(0)))
+                        .dataAsJson(data.get(0))
                         .build());
             } else {
                 TbMsgCallbackWrapper wrapper = new MultipleTbMsgsCallbackWrapper(data.size(), new TbMsgCallback() {